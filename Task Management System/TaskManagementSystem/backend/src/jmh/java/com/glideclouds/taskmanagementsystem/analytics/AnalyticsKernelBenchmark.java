@@ -0,0 +1,94 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import com.glideclouds.taskmanagementsystem.analytics.dto.AnalyticsOverviewResponse;
+import com.glideclouds.taskmanagementsystem.tasks.Task;
+import com.glideclouds.taskmanagementsystem.tasks.TaskPriority;
+import com.glideclouds.taskmanagementsystem.tasks.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overview computation for one synthetic user, legacy map-based loop vs {@link AnalyticsKernel}. Both feed the
+ * same assembler; the repository load is left out so only the fold is measured. Run with
+ * {@code ./gradlew jmh} (the gc profiler reports allocation per operation).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AnalyticsKernelBenchmark {
+
+    private static final String[] LABELS = {"backend", "Frontend", " ops ", "bug", "infra", "docs", "UX", "release"};
+
+    @Param({"1000", "10000", "100000"})
+    int tasks;
+
+    @Param({"UTC", "Europe/Berlin"})
+    String zone;
+
+    private List<Task> userTasks;
+    private AnalyticsWindow window;
+
+    @Setup
+    public void generate() throws Exception {
+        ZoneId zoneId = ZoneId.of(zone);
+        Instant now = Instant.now();
+        LocalDate today = LocalDate.ofInstant(now, zoneId);
+        window = AnalyticsWindow.of(30, zoneId, now);
+
+        Field createdAt = Task.class.getDeclaredField("createdAt");
+        createdAt.setAccessible(true);
+        SplittableRandom random = new SplittableRandom(42);
+        userTasks = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            Task t = new Task();
+            t.setOwnerUserId("bench-user");
+            t.setTitle("Task " + i);
+            TaskStatus status = TaskStatus.values()[random.nextInt(TaskStatus.values().length)];
+            t.setStatus(status);
+            t.setPriority(TaskPriority.values()[random.nextInt(TaskPriority.values().length)]);
+            t.setFocus(random.nextInt(10) == 0);
+            if (random.nextBoolean()) {
+                t.setDueDate(today.plusDays(random.nextInt(-20, 20)));
+            }
+            t.setLabels(List.of(LABELS[random.nextInt(LABELS.length)], LABELS[random.nextInt(LABELS.length)]));
+            Instant created = now.minus(Duration.ofMinutes(random.nextLong(1, 200L * 24 * 60)));
+            createdAt.set(t, created);
+            if (status == TaskStatus.DONE) {
+                Instant completed = created.plus(Duration.ofMinutes(random.nextLong(1, Duration.between(created, now).toMinutes() + 1)));
+                t.setStartedAt(created.plus(Duration.between(created, completed).dividedBy(2)));
+                t.setCompletedAt(completed);
+            }
+            userTasks.add(t);
+        }
+    }
+
+    @Benchmark
+    public AnalyticsOverviewResponse legacyMapLoop() {
+        return AnalyticsOverviewAssembler.assemble(window, LegacyScanOverview.fold(userTasks, window));
+    }
+
+    @Benchmark
+    public AnalyticsOverviewResponse kernel() {
+        AnalyticsKernel kernel = new AnalyticsKernel(window);
+        for (Task t : userTasks) {
+            kernel.accept(t);
+        }
+        return AnalyticsOverviewAssembler.assemble(window, kernel.toFacts());
+    }
+}
@@ -0,0 +1,86 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import com.glideclouds.taskmanagementsystem.tasks.Task;
+import com.glideclouds.taskmanagementsystem.tasks.TaskStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Baseline for {@link AnalyticsKernelBenchmark}: the map-based loop the scan engine used before
+ * {@link AnalyticsKernel} (boxed counters, a {@link LocalDate} per instant, every quick-view candidate materialized).
+ */
+final class LegacyScanOverview {
+
+    private LegacyScanOverview() {
+    }
+
+    static AnalyticsFacts fold(List<Task> tasks, AnalyticsWindow w) {
+        LocalDate today = w.today();
+        AnalyticsFacts f = new AnalyticsFacts();
+        f.totalTasks = tasks.size();
+
+        for (Task t : tasks) {
+            TaskStatus status = t.getStatus();
+            String statusKey = status == null ? "UNKNOWN" : status.name();
+            f.statusCounts.merge(statusKey, 1L, Long::sum);
+
+            if (status != TaskStatus.DONE) {
+                f.openTasks++;
+                if (t.isFocus()) {
+                    f.focusOpenTasks++;
+                }
+
+                LocalDate due = t.getDueDate();
+                if (due != null) {
+                    if (due.isBefore(today)) {
+                        f.overdueOpenTasks++;
+                        f.overdue.add(AnalyticsOverviewAssembler.toQuickView(t));
+                    }
+                    if (due.isEqual(today)) {
+                        f.dueTodayOpenTasks++;
+                        f.dueToday.add(AnalyticsOverviewAssembler.toQuickView(t));
+                    }
+                    if (due.isEqual(w.tomorrow())) f.dueTomorrowOpenTasks++;
+                    if (!due.isBefore(today) && !due.isAfter(today.plusDays(7))) f.upcoming7DaysOpenTasks++;
+                }
+
+                for (String raw : t.getLabels() == null ? List.<String>of() : t.getLabels()) {
+                    String normalized = AnalyticsOverviewAssembler.normalizeLabel(raw);
+                    if (normalized != null) {
+                        f.openLabelCounts.merge(normalized, 1L, Long::sum);
+                    }
+                }
+
+                Instant createdAt = t.getCreatedAt();
+                if (createdAt != null) {
+                    f.addOpenAge(statusKey, Duration.between(createdAt, w.now()).toDays(), 1);
+                }
+            }
+
+            Instant completedAt = t.getCompletedAt();
+            if (completedAt != null) {
+                LocalDate completedDate = LocalDate.ofInstant(completedAt, w.zone());
+                if (w.contains(completedDate, w.streakStart())) {
+                    f.completedByDay.merge(completedDate, 1L, Long::sum);
+                }
+
+                Instant createdAt = t.getCreatedAt();
+                if (createdAt != null && !completedAt.isBefore(createdAt) && w.contains(completedDate, w.last30Start())) {
+                    long minutes = Duration.between(createdAt, completedAt).toMinutes();
+                    f.cycleMinutesSumLast30 += minutes;
+                    f.cycleCountLast30++;
+                    f.leadTimeLast30.add(minutes);
+                }
+
+                Instant startedAt = t.getStartedAt();
+                if (startedAt != null && !completedAt.isBefore(startedAt) && w.contains(completedDate, w.last30Start())) {
+                    f.cycleTimeLast30.add(Duration.between(startedAt, completedAt).toMinutes());
+                }
+            }
+        }
+        return f;
+    }
+}
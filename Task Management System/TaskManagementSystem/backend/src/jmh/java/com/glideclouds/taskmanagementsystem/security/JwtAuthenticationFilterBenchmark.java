@@ -0,0 +1,94 @@
+package com.glideclouds.taskmanagementsystem.security;
+
+import com.glideclouds.taskmanagementsystem.config.JwtProperties;
+import com.glideclouds.taskmanagementsystem.users.Role;
+import com.glideclouds.taskmanagementsystem.users.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of {@link JwtAuthenticationFilter} with the verified-claims cache off (one HMAC check and parse per
+ * request) and on, next to the former validation path that built a parser and verified the token twice. The epoch
+ * check is stubbed and the revocation check is reduced to its Bloom filter lookup, so no database is involved. Run with {@code ./gradlew jmh -Pjmh.includes=JwtAuthentication}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+    private static final FilterChain NO_OP = (request, response) -> {
+    };
+
+    @Param({"0", "10000"})
+    int claimsCacheSize;
+
+    private String authorization;
+    private String token;
+    private SecretKey key;
+    private JwtAuthenticationFilter filter;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = new JwtService(new JwtProperties(SECRET, 3_600_000), claimsCacheSize);
+        SecurityEpochService epochs = new SecurityEpochService(null, Duration.ofSeconds(30), 10_000) {
+            @Override
+            public boolean isCurrent(String userId, long tokenEpoch) {
+                return true;
+            }
+        };
+        BloomFilter revoked = new BloomFilter(100_000, 0.01);
+        TokenRevocationService revocations = new TokenRevocationService(null, new SimpleMeterRegistry(), 100_000, Duration.ofHours(1)) {
+            @Override
+            public boolean isRevoked(String tokenId) {
+                return revoked.mightContain(tokenId);
+            }
+        };
+        filter = new JwtAuthenticationFilter(jwtService, epochs, revocations);
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+
+        User user = new User("bench@example.com", "hash", Role.USER);
+        user.setId("65f0c0ffee0000000000beef");
+        token = jwtService.generateToken(user);
+        authorization = "Bearer " + token;
+    }
+
+    @Benchmark
+    public Authentication filter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+        filter.doFilter(request, new MockHttpServletResponse(), NO_OP);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    /** isTokenValid + extractUserId as they were: a new parser and a full verification each. */
+    @Benchmark
+    public String formerDoubleParse() {
+        Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
+        Claims claims = Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+        return claims.getSubject();
+    }
+}
@@ -5,6 +5,7 @@ import com.glideclouds.taskmanagementsystem.security.SecurityUtils;
 import com.glideclouds.taskmanagementsystem.tasks.Task;
 import com.glideclouds.taskmanagementsystem.tasks.TaskMapper;
 import com.glideclouds.taskmanagementsystem.tasks.TaskRepository;
+import com.glideclouds.taskmanagementsystem.tasks.TimeLogRollupService;
 import com.glideclouds.taskmanagementsystem.tasks.dto.TaskResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -26,10 +27,17 @@ public class AdminController {
 
     private final AdminService adminService;
     private final TaskRepository taskRepository;
+    private final TimeLogRollupService timeLogRollupService;
+    private final OrgAnalyticsService orgAnalyticsService;
 
-    public AdminController(AdminService adminService, TaskRepository taskRepository) {
+    public AdminController(AdminService adminService,
+                           TaskRepository taskRepository,
+                           TimeLogRollupService timeLogRollupService,
+                           OrgAnalyticsService orgAnalyticsService) {
         this.adminService = adminService;
         this.taskRepository = taskRepository;
+        this.timeLogRollupService = timeLogRollupService;
+        this.orgAnalyticsService = orgAnalyticsService;
     }
 
     @GetMapping("/tasks")
@@ -92,6 +100,18 @@ public class AdminController {
                 .toList();
     }
 
+    @GetMapping("/analytics")
+    @Operation(summary = "Org analytics", description = "Throughput, overdue counts, cycle times and bottlenecks for the organization, per user and per group.")
+    public OrgAnalyticsResponse analytics(@RequestParam(name = "days", required = false) Integer days) {
+        return orgAnalyticsService.compute(days);
+    }
+
+    @PostMapping("/time-log-rollups/rebuild")
+    @Operation(summary = "Rebuild time log rollups", description = "Recomputes per-day logged minutes and task totals from stored time logs.")
+    public TimeLogRollupService.RebuildResult rebuildTimeLogRollups() {
+        return timeLogRollupService.rebuild();
+    }
+
     private String requireUserId() {
         String userId = SecurityUtils.currentUserId();
         if (userId == null) {
@@ -7,6 +7,7 @@ import com.glideclouds.taskmanagementsystem.notifications.NotificationService;
 import com.glideclouds.taskmanagementsystem.tasks.*;
 import com.glideclouds.taskmanagementsystem.users.User;
 import com.glideclouds.taskmanagementsystem.users.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -25,17 +26,20 @@ public class AdminService {
     private final GroupRepository groupRepository;
     private final NotificationService notificationService;
     private final TaskDiscussionRepository taskDiscussionRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public AdminService(UserRepository userRepository,
                         TaskRepository taskRepository,
                         GroupRepository groupRepository,
                         NotificationService notificationService,
-                        TaskDiscussionRepository taskDiscussionRepository) {
+                        TaskDiscussionRepository taskDiscussionRepository,
+                        ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.taskRepository = taskRepository;
         this.groupRepository = groupRepository;
         this.notificationService = notificationService;
         this.taskDiscussionRepository = taskDiscussionRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public GroupResponse createGroup(String adminUserId, CreateGroupRequest request) {
@@ -166,7 +170,11 @@ public class AdminService {
         a.setToStatus(TaskStatus.TODO);
         task.getActivity().add(a);
 
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        if (saved != null) {
+            eventPublisher.publishEvent(new TaskChangedEvent(assigneeUserId, null, TaskSnapshot.of(saved)));
+        }
+        return saved;
     }
 
     private int nextPositionFor(String userId, TaskStatus status, boolean pinned) {
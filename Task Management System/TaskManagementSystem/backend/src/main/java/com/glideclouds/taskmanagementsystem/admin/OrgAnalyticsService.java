@@ -0,0 +1,178 @@
+package com.glideclouds.taskmanagementsystem.admin;
+
+import com.glideclouds.taskmanagementsystem.admin.OrgStatsAccumulator.OrgAnalyticsWindow;
+import com.glideclouds.taskmanagementsystem.admin.dto.GroupAnalyticsRow;
+import com.glideclouds.taskmanagementsystem.admin.dto.OrgAnalyticsResponse;
+import com.glideclouds.taskmanagementsystem.admin.dto.OrgAnalyticsStats;
+import com.glideclouds.taskmanagementsystem.admin.dto.UserAnalyticsRow;
+import com.glideclouds.taskmanagementsystem.admin.groups.Group;
+import com.glideclouds.taskmanagementsystem.admin.groups.GroupRepository;
+import com.glideclouds.taskmanagementsystem.tasks.Task;
+import com.glideclouds.taskmanagementsystem.users.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+/**
+ * Organization-wide task analytics for admins.
+ * <p>
+ * Owners are split into fixed-size partitions. Each partition streams a projection of its owners' tasks through
+ * the (ownerUserId, dueDate) index on a virtual thread, at most {@code parallelism} at a time, and folds it into
+ * per-user accumulators. As partitions finish, those are merged into the org and group totals and reduced to
+ * their summaries, so only partitions in flight hold per-user sketches; memory is bounded by the number of users,
+ * not tasks.
+ */
+@Service
+public class OrgAnalyticsService {
+
+    static final int DEFAULT_DAYS = 30;
+    static final int MAX_DAYS = 365;
+    private static final int CURSOR_BATCH_SIZE = 2_000;
+
+    private final MongoTemplate mongoTemplate;
+    private final UserRepository userRepository;
+    private final GroupRepository groupRepository;
+    private final int partitionSize;
+    private final int parallelism;
+
+    public OrgAnalyticsService(MongoTemplate mongoTemplate,
+                               UserRepository userRepository,
+                               GroupRepository groupRepository,
+                               @Value("${admin.analytics.partition-size:500}") int partitionSize,
+                               @Value("${admin.analytics.parallelism:8}") int parallelism) {
+        this.mongoTemplate = mongoTemplate;
+        this.userRepository = userRepository;
+        this.groupRepository = groupRepository;
+        this.partitionSize = Math.max(1, partitionSize);
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    public OrgAnalyticsResponse compute(Integer daysParam) {
+        long started = System.nanoTime();
+        int days = daysParam == null ? DEFAULT_DAYS : Math.max(1, Math.min(MAX_DAYS, daysParam));
+        ZoneId zone = ZoneId.systemDefault();
+        OrgAnalyticsWindow window = OrgAnalyticsWindow.of(days, zone, LocalDate.now(zone));
+
+        List<String> owners = mongoTemplate.findDistinct(new Query(), "ownerUserId", Task.class, String.class)
+                .stream().filter(id -> id != null).sorted().toList();
+
+        // Group totals are fed as users complete, so per-user sketches can be dropped right after.
+        List<Group> groupList = groupRepository.findAll();
+        Map<String, OrgStatsAccumulator> byGroup = new HashMap<>();
+        Map<String, List<OrgStatsAccumulator>> groupsOfUser = new HashMap<>();
+        for (Group g : groupList) {
+            OrgStatsAccumulator stats = byGroup.computeIfAbsent(g.getId(), k -> new OrgStatsAccumulator());
+            for (String member : g.getMemberUserIds() == null ? List.<String>of() : g.getMemberUserIds().stream().distinct().toList()) {
+                groupsOfUser.computeIfAbsent(member, k -> new ArrayList<>()).add(stats);
+            }
+        }
+
+        List<UserStats> userStats = new ArrayList<>();
+        OrgStatsAccumulator org = new OrgStatsAccumulator();
+        long scanned = 0;
+
+        Semaphore permits = new Semaphore(parallelism);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletionService<PartitionResult> completion = new ExecutorCompletionService<>(executor);
+            int partitions = 0;
+            for (int from = 0; from < owners.size(); from += partitionSize) {
+                List<String> partition = owners.subList(from, Math.min(owners.size(), from + partitionSize));
+                completion.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return scanPartition(partition, window);
+                    } finally {
+                        permits.release();
+                    }
+                });
+                partitions++;
+            }
+
+            for (int i = 0; i < partitions; i++) {
+                PartitionResult result = completion.take().get();
+                scanned += result.tasksScanned();
+                result.byUser().forEach((userId, stats) -> {
+                    org.merge(stats);
+                    groupsOfUser.getOrDefault(userId, List.of()).forEach(g -> g.merge(stats));
+                    userStats.add(new UserStats(userId, stats.completedInWindow(), stats.toStats(days)));
+                });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(SERVICE_UNAVAILABLE, "Analytics computation interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Analytics partition failed", e.getCause());
+        }
+
+        Map<String, String> emails = new HashMap<>();
+        userRepository.findAllById(userStats.stream().map(UserStats::userId).toList())
+                .forEach(u -> emails.put(u.getId(), u.getEmail()));
+
+        List<UserAnalyticsRow> users = userStats.stream()
+                .sorted(Comparator.comparingLong(UserStats::completedInWindow).reversed()
+                        .thenComparing(UserStats::userId))
+                .map(u -> new UserAnalyticsRow(u.userId(), emails.get(u.userId()), u.stats()))
+                .toList();
+
+        List<GroupAnalyticsRow> groups = new ArrayList<>();
+        for (Group g : groupList) {
+            int members = g.getMemberUserIds() == null ? 0 : g.getMemberUserIds().size();
+            groups.add(new GroupAnalyticsRow(g.getId(), g.getName(), members, byGroup.get(g.getId()).toStats(days)));
+        }
+        groups.sort(Comparator.comparing(GroupAnalyticsRow::name, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        return new OrgAnalyticsResponse(
+                Instant.now(),
+                days,
+                scanned,
+                (System.nanoTime() - started) / 1_000_000,
+                org.toStats(days),
+                users,
+                groups
+        );
+    }
+
+    /** Streams the projected tasks of one owner partition; only per-user accumulators are kept. */
+    private PartitionResult scanPartition(List<String> owners, OrgAnalyticsWindow window) {
+        Query query = Query.query(Criteria.where("ownerUserId").in(owners)).cursorBatchSize(CURSOR_BATCH_SIZE);
+        Map<String, OrgStatsAccumulator> byUser = new HashMap<>();
+        long scanned = 0;
+        try (Stream<OrgTaskRow> rows = mongoTemplate.query(Task.class).as(OrgTaskRow.class).matching(query).stream()) {
+            for (OrgTaskRow row : (Iterable<OrgTaskRow>) rows::iterator) {
+                byUser.computeIfAbsent(row.ownerUserId(), k -> new OrgStatsAccumulator()).add(row, window);
+                scanned++;
+            }
+        }
+        return new PartitionResult(byUser, scanned);
+    }
+
+    private record UserStats(String userId, long completedInWindow, OrgAnalyticsStats stats) {
+    }
+
+    private record PartitionResult(Map<String, OrgStatsAccumulator> byUser, long tasksScanned) {
+    }
+}
@@ -0,0 +1,143 @@
+package com.glideclouds.taskmanagementsystem.admin;
+
+import com.glideclouds.taskmanagementsystem.admin.dto.OrgAnalyticsStats;
+import com.glideclouds.taskmanagementsystem.analytics.QuantileSketch;
+import com.glideclouds.taskmanagementsystem.analytics.dto.StatusBottleneck;
+import com.glideclouds.taskmanagementsystem.tasks.TaskStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mergeable task statistics for one user, one group or the whole organization. Distributions are kept as
+ * {@link QuantileSketch}es, so sizes are independent of the number of tasks added and partitions can be merged
+ * without holding task data.
+ */
+final class OrgStatsAccumulator {
+
+    private long totalTasks;
+    private long openTasks;
+    private long overdueOpenTasks;
+    private long completedInWindow;
+    private long cycleMinutesSum;
+    private long cycleCount;
+    private final QuantileSketch leadTimeMinutes = new QuantileSketch();
+    private final QuantileSketch cycleTimeMinutes = new QuantileSketch();
+
+    private final Map<String, OpenAges> openAges = new HashMap<>();
+
+    void add(OrgTaskRow row, OrgAnalyticsWindow w) {
+        totalTasks++;
+        TaskStatus status = row.status();
+        if (status != TaskStatus.DONE) {
+            openTasks++;
+            if (row.dueDate() != null && row.dueDate().isBefore(w.today())) {
+                overdueOpenTasks++;
+            }
+            if (row.createdAt() != null) {
+                long age = Math.max(0, ChronoUnit.DAYS.between(LocalDate.ofInstant(row.createdAt(), w.zone()), w.today()));
+                openAges.computeIfAbsent(status == null ? "UNKNOWN" : status.name(), k -> new OpenAges()).add(age);
+            }
+        }
+
+        Instant completedAt = row.completedAt();
+        if (completedAt != null && !completedAt.isBefore(w.from()) && completedAt.isBefore(w.until())) {
+            completedInWindow++;
+            if (row.createdAt() != null && !completedAt.isBefore(row.createdAt())) {
+                long minutes = Duration.between(row.createdAt(), completedAt).toMinutes();
+                cycleMinutesSum += minutes;
+                cycleCount++;
+                leadTimeMinutes.add(minutes);
+            }
+            if (row.startedAt() != null && !completedAt.isBefore(row.startedAt())) {
+                cycleTimeMinutes.add(Duration.between(row.startedAt(), completedAt).toMinutes());
+            }
+        }
+    }
+
+    OrgStatsAccumulator merge(OrgStatsAccumulator other) {
+        totalTasks += other.totalTasks;
+        openTasks += other.openTasks;
+        overdueOpenTasks += other.overdueOpenTasks;
+        completedInWindow += other.completedInWindow;
+        cycleMinutesSum += other.cycleMinutesSum;
+        cycleCount += other.cycleCount;
+        leadTimeMinutes.merge(other.leadTimeMinutes);
+        cycleTimeMinutes.merge(other.cycleTimeMinutes);
+        other.openAges.forEach((status, ages) -> openAges.computeIfAbsent(status, k -> new OpenAges()).merge(ages));
+        return this;
+    }
+
+    long completedInWindow() {
+        return completedInWindow;
+    }
+
+    OrgAnalyticsStats toStats(int days) {
+        Double avgCycleHours = cycleCount == 0 ? null : (double) cycleMinutesSum / cycleCount / 60.0;
+        List<StatusBottleneck> bottlenecks = openAges.entrySet().stream()
+                .filter(e -> e.getValue().count > 0)
+                .map(e -> e.getValue().toBottleneck(e.getKey()))
+                .sorted((a, b) -> {
+                    int cmp = Long.compare(b.avgAgeDays(), a.avgAgeDays());
+                    if (cmp != 0) return cmp;
+                    cmp = Long.compare(b.openCount(), a.openCount());
+                    if (cmp != 0) return cmp;
+                    return a.status().compareTo(b.status());
+                })
+                .toList();
+        return new OrgAnalyticsStats(
+                totalTasks,
+                openTasks,
+                overdueOpenTasks,
+                completedInWindow,
+                days == 0 ? 0.0 : (double) completedInWindow / days,
+                avgCycleHours,
+                leadTimeMinutes.percentiles(60),
+                cycleTimeMinutes.percentiles(60),
+                bottlenecks
+        );
+    }
+
+    private static final class OpenAges {
+        long count;
+        long ageSum;
+        long oldest;
+        final QuantileSketch ages = new QuantileSketch();
+
+        void add(long age) {
+            count++;
+            ageSum += age;
+            oldest = Math.max(oldest, age);
+            ages.add(age);
+        }
+
+        void merge(OpenAges other) {
+            count += other.count;
+            ageSum += other.ageSum;
+            oldest = Math.max(oldest, other.oldest);
+            ages.merge(other.ages);
+        }
+
+        StatusBottleneck toBottleneck(String status) {
+            return new StatusBottleneck(status, count, Math.round((double) ageSum / count), oldest, ages.percentiles(1));
+        }
+    }
+
+    /**
+     * Dates of one org analytics run (server zone): completions are counted in [from, until).
+     */
+    record OrgAnalyticsWindow(ZoneId zone, LocalDate today, int days, Instant from, Instant until) {
+
+        static OrgAnalyticsWindow of(int days, ZoneId zone, LocalDate today) {
+            return new OrgAnalyticsWindow(zone, today, days,
+                    today.minusDays(days - 1L).atStartOfDay(zone).toInstant(),
+                    today.plusDays(1).atStartOfDay(zone).toInstant());
+        }
+    }
+}
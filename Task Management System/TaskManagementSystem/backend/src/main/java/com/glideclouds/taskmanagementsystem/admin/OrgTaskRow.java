@@ -0,0 +1,17 @@
+package com.glideclouds.taskmanagementsystem.admin;
+
+import com.glideclouds.taskmanagementsystem.tasks.TaskStatus;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/** The task fields org analytics reads; used as a DTO projection so nothing else leaves the database. */
+record OrgTaskRow(
+        String ownerUserId,
+        TaskStatus status,
+        LocalDate dueDate,
+        Instant createdAt,
+        Instant startedAt,
+        Instant completedAt
+) {
+}
@@ -0,0 +1,9 @@
+package com.glideclouds.taskmanagementsystem.admin.dto;
+
+public record GroupAnalyticsRow(
+        String groupId,
+        String name,
+        int memberCount,
+        OrgAnalyticsStats stats
+) {
+}
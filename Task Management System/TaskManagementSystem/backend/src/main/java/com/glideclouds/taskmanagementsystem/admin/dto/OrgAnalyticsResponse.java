@@ -0,0 +1,15 @@
+package com.glideclouds.taskmanagementsystem.admin.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public record OrgAnalyticsResponse(
+        Instant generatedAt,
+        int days,
+        long tasksScanned,
+        long elapsedMs,
+        OrgAnalyticsStats org,
+        List<UserAnalyticsRow> users,
+        List<GroupAnalyticsRow> groups
+) {
+}
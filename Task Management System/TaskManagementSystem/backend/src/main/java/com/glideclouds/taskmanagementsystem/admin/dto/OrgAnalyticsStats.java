@@ -0,0 +1,19 @@
+package com.glideclouds.taskmanagementsystem.admin.dto;
+
+import com.glideclouds.taskmanagementsystem.analytics.dto.Percentiles;
+import com.glideclouds.taskmanagementsystem.analytics.dto.StatusBottleneck;
+
+import java.util.List;
+
+public record OrgAnalyticsStats(
+        long totalTasks,
+        long openTasks,
+        long overdueOpenTasks,
+        long completedInWindow,
+        double throughputPerDay,
+        Double avgCycleTimeHours,
+        Percentiles leadTimeHours,
+        Percentiles cycleTimeHours,
+        List<StatusBottleneck> bottlenecks
+) {
+}
@@ -0,0 +1,8 @@
+package com.glideclouds.taskmanagementsystem.admin.dto;
+
+public record UserAnalyticsRow(
+        String userId,
+        String email,
+        OrgAnalyticsStats stats
+) {
+}
@@ -1,6 +1,8 @@
 package com.glideclouds.taskmanagementsystem.analytics;
 
 import com.glideclouds.taskmanagementsystem.analytics.dto.AnalyticsOverviewResponse;
+import com.glideclouds.taskmanagementsystem.analytics.dto.CfdResponse;
+import com.glideclouds.taskmanagementsystem.analytics.dto.ForecastResponse;
 import com.glideclouds.taskmanagementsystem.security.SecurityUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -19,9 +21,13 @@ import org.springframework.web.server.ResponseStatusException;
 public class AnalyticsController {
 
     private final AnalyticsService analyticsService;
+    private final CfdService cfdService;
+    private final ForecastService forecastService;
 
-    public AnalyticsController(AnalyticsService analyticsService) {
+    public AnalyticsController(AnalyticsService analyticsService, CfdService cfdService, ForecastService forecastService) {
         this.analyticsService = analyticsService;
+        this.cfdService = cfdService;
+        this.forecastService = forecastService;
     }
 
     @GetMapping("/overview")
@@ -31,6 +37,23 @@ public class AnalyticsController {
         return analyticsService.overviewForUser(userId, days);
     }
 
+    @GetMapping("/cfd")
+    @Operation(summary = "Get cumulative flow", description = "Returns tasks per status at the end of each of the last N days.")
+    public CfdResponse cfd(@RequestParam(name = "days", required = false) Integer days) {
+        String userId = requireUserId();
+        return cfdService.cfdForUser(userId, days);
+    }
+
+    @GetMapping("/forecast")
+    @Operation(summary = "Forecast completion", description = "Monte Carlo forecast of when `items` tasks (default: the open tasks, or those with `label`) will be done, as percentile dates.")
+    public ForecastResponse forecast(@RequestParam(name = "items", required = false) Integer items,
+                                     @RequestParam(name = "label", required = false) String label,
+                                     @RequestParam(name = "trials", required = false) Integer trials,
+                                     @RequestParam(name = "seed", required = false) Long seed) {
+        String userId = requireUserId();
+        return forecastService.forecastForUser(userId, items, label, trials, seed);
+    }
+
     private String requireUserId() {
         String userId = SecurityUtils.currentUserId();
         if (userId == null) {
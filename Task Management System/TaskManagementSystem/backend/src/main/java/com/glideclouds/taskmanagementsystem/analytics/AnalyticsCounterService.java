@@ -0,0 +1,174 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import com.glideclouds.taskmanagementsystem.tasks.Task;
+import com.glideclouds.taskmanagementsystem.tasks.TaskChangedEvent;
+import com.glideclouds.taskmanagementsystem.tasks.TaskSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Maintains {@link AnalyticsUserCounters} and {@link AnalyticsDailyCounters}.
+ * <p>
+ * Task changes are applied as {@code $inc} deltas. A user's counters are built lazily on first read (events for users
+ * without counters are ignored until then), and a nightly reconciliation rebuilds everyone from the tasks to repair
+ * drift from failed or racing updates.
+ */
+@Service
+public class AnalyticsCounterService {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsCounterService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final AnalyticsDailyCountersRepository dailyRepository;
+
+    public AnalyticsCounterService(MongoTemplate mongoTemplate, AnalyticsDailyCountersRepository dailyRepository) {
+        this.mongoTemplate = mongoTemplate;
+        this.dailyRepository = dailyRepository;
+    }
+
+    @EventListener
+    @Order(0)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.userId() == null) return;
+        try {
+            CounterContribution delta = new CounterContribution(ZoneId.systemDefault());
+            delta.add(event.before(), -1);
+            delta.add(event.after(), 1);
+            apply(event.userId(), delta.compact());
+        } catch (RuntimeException e) {
+            // The task write already succeeded; reconciliation will repair the counters.
+            log.warn("Failed to update analytics counters for user {}", event.userId(), e);
+        }
+    }
+
+    /** Returns the user's counters, building them from the tasks when they do not exist yet or predate the day buckets. */
+    public AnalyticsUserCounters countersFor(String userId) {
+        AnalyticsUserCounters counters = mongoTemplate.findById(userId, AnalyticsUserCounters.class);
+        return counters != null && counters.getOpenCreatedEpochDays() != null ? counters : rebuildForUser(userId);
+    }
+
+    public List<AnalyticsDailyCounters> dailyFor(String userId, LocalDate from, LocalDate to) {
+        return dailyRepository.findForRange(userId, from, to);
+    }
+
+    /** Recomputes one user's counters from their tasks (projected to the snapshot fields). */
+    public AnalyticsUserCounters rebuildForUser(String userId) {
+        Query query = Query.query(Criteria.where("ownerUserId").is(userId));
+        query.fields().include("ownerUserId", "status", "focus", "labels", "createdAt", "startedAt", "completedAt");
+
+        CounterContribution all = new CounterContribution(ZoneId.systemDefault());
+        try (Stream<Task> tasks = mongoTemplate.stream(query, Task.class)) {
+            tasks.forEach(t -> all.add(TaskSnapshot.of(t), 1));
+        }
+        all.compact();
+
+        AnalyticsUserCounters counters = new AnalyticsUserCounters(userId);
+        counters.setTotalTasks(all.totalTasks);
+        counters.setOpenTasks(all.openTasks);
+        counters.setFocusOpenTasks(all.focusOpenTasks);
+        counters.setStatusCounts(all.statusCounts);
+        counters.setOpenLabels(all.openLabels);
+        counters.setOpenCreatedEpochDays(all.openCreatedEpochDays);
+        counters.setRebuiltAt(Instant.now());
+
+        List<AnalyticsDailyCounters> daily = new ArrayList<>(all.daily.size());
+        for (Map.Entry<LocalDate, CounterContribution.DayCounts> e : all.daily.entrySet()) {
+            CounterContribution.DayCounts counts = e.getValue();
+            AnalyticsDailyCounters d = new AnalyticsDailyCounters();
+            d.setId(AnalyticsDailyCounters.idFor(userId, e.getKey()));
+            d.setUserId(userId);
+            d.setDay(e.getKey());
+            d.setCompleted(counts.completed);
+            d.setCycleMinutesSum(counts.cycleMinutesSum);
+            d.setCycleCount(counts.cycleCount);
+            d.setLeadTimeBuckets(byKey(counts.leadTimeBuckets));
+            d.setCycleTimeBuckets(byKey(counts.cycleTimeBuckets));
+            daily.add(d);
+        }
+
+        dailyRepository.deleteByUserId(userId);
+        if (!daily.isEmpty()) {
+            dailyRepository.saveAll(daily);
+        }
+        return mongoTemplate.save(counters);
+    }
+
+    /** Nightly full rebuild for every task owner. */
+    @Scheduled(cron = "${analytics.counters.reconcile-cron:0 30 3 * * *}")
+    public void reconcileAll() {
+        List<String> owners = mongoTemplate.findDistinct(new Query(), "ownerUserId", Task.class, String.class);
+        int rebuilt = 0;
+        for (String userId : owners) {
+            if (userId == null) continue;
+            try {
+                rebuildForUser(userId);
+                rebuilt++;
+            } catch (RuntimeException e) {
+                log.warn("Analytics counter reconciliation failed for user {}", userId, e);
+            }
+        }
+        // Counters of users that no longer own any task.
+        mongoTemplate.remove(Query.query(Criteria.where("id").nin(owners)), AnalyticsUserCounters.class);
+        log.info("Reconciled analytics counters for {} users", rebuilt);
+    }
+
+    private void apply(String userId, CounterContribution delta) {
+        if (delta.hasUserCounterChanges()) {
+            Update update = new Update();
+            if (delta.totalTasks != 0) update.inc("totalTasks", delta.totalTasks);
+            if (delta.openTasks != 0) update.inc("openTasks", delta.openTasks);
+            if (delta.focusOpenTasks != 0) update.inc("focusOpenTasks", delta.focusOpenTasks);
+            delta.statusCounts.forEach((k, v) -> update.inc("statusCounts." + k, v));
+            delta.openLabels.forEach((k, v) -> update.inc("openLabels." + k, v));
+            delta.openCreatedEpochDays.forEach((status, days) -> days.forEach((day, v) -> update.inc("openCreatedEpochDays." + status + "." + day, v)));
+
+            // No upsert: a missing (or pre-day-bucket) document means "not built yet", and the lazy rebuild
+            // will include this change.
+            Query built = Query.query(Criteria.where("id").is(userId).and("openCreatedEpochDays").exists(true));
+            if (mongoTemplate.updateFirst(built, update, AnalyticsUserCounters.class).getMatchedCount() == 0) {
+                return;
+            }
+        } else if (delta.daily.isEmpty() || !mongoTemplate.exists(Query.query(Criteria.where("id").is(userId)), AnalyticsUserCounters.class)) {
+            return;
+        }
+
+        for (Map.Entry<LocalDate, CounterContribution.DayCounts> e : delta.daily.entrySet()) {
+            CounterContribution.DayCounts d = e.getValue();
+            Update update = new Update()
+                    .setOnInsert("userId", userId)
+                    .setOnInsert("day", e.getKey())
+                    .inc("completed", d.completed)
+                    .inc("cycleMinutesSum", d.cycleMinutesSum)
+                    .inc("cycleCount", d.cycleCount);
+            d.leadTimeBuckets.forEach((bucket, v) -> update.inc("leadTimeBuckets." + bucket, v));
+            d.cycleTimeBuckets.forEach((bucket, v) -> update.inc("cycleTimeBuckets." + bucket, v));
+            mongoTemplate.upsert(
+                    Query.query(Criteria.where("id").is(AnalyticsDailyCounters.idFor(userId, e.getKey()))),
+                    update,
+                    AnalyticsDailyCounters.class);
+        }
+    }
+
+    private static Map<String, Long> byKey(Map<Integer, Long> buckets) {
+        Map<String, Long> out = new HashMap<>();
+        buckets.forEach((bucket, count) -> out.put(String.valueOf(bucket), count));
+        return out;
+    }
+}
@@ -0,0 +1,105 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Completions of one user on one day (by completedAt, server zone), keyed by {@code userId:day}.
+ */
+@Document(collection = "analytics_daily_counters")
+@CompoundIndex(name = "user_day_idx", def = "{'userId': 1, 'day': 1}")
+public class AnalyticsDailyCounters {
+
+    @Id
+    private String id;
+
+    private String userId;
+
+    private LocalDate day;
+
+    private long completed;
+
+    /** Sum of whole-minute cycle times (createdAt -> completedAt) of the day's completions, and how many had one. */
+    private long cycleMinutesSum;
+    private long cycleCount;
+
+    /** {@link QuantileSketch} bucket index -> count, of lead times (createdAt ->) and cycle times (startedAt ->). */
+    private Map<String, Long> leadTimeBuckets = new HashMap<>();
+    private Map<String, Long> cycleTimeBuckets = new HashMap<>();
+
+    public AnalyticsDailyCounters() {
+    }
+
+    public static String idFor(String userId, LocalDate day) {
+        return userId + ":" + day;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+
+    public long getCycleMinutesSum() {
+        return cycleMinutesSum;
+    }
+
+    public void setCycleMinutesSum(long cycleMinutesSum) {
+        this.cycleMinutesSum = cycleMinutesSum;
+    }
+
+    public long getCycleCount() {
+        return cycleCount;
+    }
+
+    public void setCycleCount(long cycleCount) {
+        this.cycleCount = cycleCount;
+    }
+
+    public Map<String, Long> getLeadTimeBuckets() {
+        return leadTimeBuckets;
+    }
+
+    public void setLeadTimeBuckets(Map<String, Long> leadTimeBuckets) {
+        this.leadTimeBuckets = leadTimeBuckets != null ? leadTimeBuckets : new HashMap<>();
+    }
+
+    public Map<String, Long> getCycleTimeBuckets() {
+        return cycleTimeBuckets;
+    }
+
+    public void setCycleTimeBuckets(Map<String, Long> cycleTimeBuckets) {
+        this.cycleTimeBuckets = cycleTimeBuckets != null ? cycleTimeBuckets : new HashMap<>();
+    }
+}
@@ -0,0 +1,16 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AnalyticsDailyCountersRepository extends MongoRepository<AnalyticsDailyCounters, String> {
+
+    /** Daily counters for {@code from..to} inclusive (served by the (userId, day) index). */
+    @Query("{ 'userId': ?0, 'day': { $gte: ?1, $lte: ?2 } }")
+    List<AnalyticsDailyCounters> findForRange(String userId, LocalDate from, LocalDate to);
+
+    void deleteByUserId(String userId);
+}
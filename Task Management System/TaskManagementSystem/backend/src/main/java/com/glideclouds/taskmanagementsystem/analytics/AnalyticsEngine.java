@@ -0,0 +1,15 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import com.glideclouds.taskmanagementsystem.analytics.dto.AnalyticsOverviewResponse;
+
+/**
+ * Computes the analytics overview for one user. Implementations must agree on every field; they only differ in
+ * where the numbers come from. Selected with {@code analytics.engine}.
+ */
+public interface AnalyticsEngine {
+
+    /** Value of {@code analytics.engine} that selects this implementation. */
+    String name();
+
+    AnalyticsOverviewResponse overview(String userId, AnalyticsWindow window);
+}
@@ -0,0 +1,54 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import com.glideclouds.taskmanagementsystem.analytics.dto.TaskQuickView;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Raw inputs of the overview, filled by an {@link AnalyticsEngine} and turned into the response by
+ * {@link AnalyticsOverviewAssembler}. Keeping the final shaping in one place is what makes the engines comparable.
+ */
+final class AnalyticsFacts {
+
+    long totalTasks;
+    long openTasks;
+    long focusOpenTasks;
+    long overdueOpenTasks;
+    long dueTodayOpenTasks;
+    long dueTomorrowOpenTasks;
+    long upcoming7DaysOpenTasks;
+
+    final Map<String, Long> statusCounts = new HashMap<>();
+
+    /** Normalized (trimmed, lower-case) label -> open tasks carrying it. */
+    final Map<String, Long> openLabelCounts = new HashMap<>();
+
+    /** Completions per day in [streakStart, today]. */
+    final Map<LocalDate, Long> completedByDay = new HashMap<>();
+
+    /** Cycle time (createdAt -> completedAt, whole minutes) of completions in the last 30 days. */
+    long cycleMinutesSumLast30;
+    long cycleCountLast30;
+
+    /** Minutes createdAt -> completedAt and startedAt -> completedAt of completions in the last 30 days. */
+    final QuantileSketch leadTimeLast30 = new QuantileSketch();
+    final QuantileSketch cycleTimeLast30 = new QuantileSketch();
+
+    /** Logged minutes per day in [loggedFrom, today]. */
+    final Map<LocalDate, Long> loggedByDay = new HashMap<>();
+
+    /** Open status -> age in days -> tasks. */
+    final Map<String, Map<Long, Long>> openAgeDaysByStatus = new HashMap<>();
+
+    /** Candidates; the assembler sorts and keeps the top 5. */
+    final List<TaskQuickView> overdue = new ArrayList<>();
+    final List<TaskQuickView> dueToday = new ArrayList<>();
+
+    void addOpenAge(String status, long ageDays, long count) {
+        openAgeDaysByStatus.computeIfAbsent(status, k -> new HashMap<>()).merge(Math.max(0, ageDays), count, Long::sum);
+    }
+}
@@ -0,0 +1,333 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import com.glideclouds.taskmanagementsystem.analytics.dto.TaskQuickView;
+import com.glideclouds.taskmanagementsystem.tasks.Task;
+import com.glideclouds.taskmanagementsystem.tasks.TaskStatus;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Allocation-free single-pass fold of tasks into overview facts.
+ * <p>
+ * Everything is kept in primitives: statuses in arrays indexed by enum ordinal, completions in a {@code long[]}
+ * indexed by epoch-day offset from {@code streakStart}, open ages in per-status arrays indexed by age in days, and
+ * labels in a {@link LabelCounter}. Instants are mapped to epoch days with arithmetic for fixed-offset zones and
+ * a binary search over precomputed midnights otherwise, so the per-task loop creates no {@link LocalDate}s. Only
+ * the top overdue / due-today tasks are kept. A kernel is not thread-safe; {@link #reset} prepares it for reuse.
+ */
+final class AnalyticsKernel {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final int UNKNOWN = STATUSES.length;
+    private static final int DONE = TaskStatus.DONE.ordinal();
+    private static final long SECONDS_PER_DAY = 86_400;
+    /** Days before today whose midnights are precomputed; older instants fall back to {@link LocalDate}. */
+    private static final int DAY_INDEX_HORIZON = 400;
+    /** Ages beyond ~100 years are clamped; only corrupt creation dates get there. */
+    private static final int MAX_AGE_DAYS = 36_600;
+
+    private static final Comparator<Task> OVERDUE_ORDER = Comparator
+            .comparing(Task::getDueDate)
+            .thenComparingInt(AnalyticsKernel::priorityRank)
+            .thenComparing(Task::getTitle, Comparator.nullsLast(Comparator.naturalOrder()));
+    private static final Comparator<Task> DUE_TODAY_ORDER = Comparator
+            .comparingInt(AnalyticsKernel::priorityRank)
+            .thenComparing(Task::getTitle, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private AnalyticsWindow window;
+    private ZoneId zone;
+    private boolean fixedOffset;
+    private long offsetSeconds;
+    private long firstIndexedDay;
+    private long[] midnightMillis = new long[0];
+
+    private Instant now;
+    private long today;
+    private long tomorrow;
+    private long upcomingEnd;
+    private long streakStart;
+    private long last30Start;
+
+    private long totalTasks;
+    private long openTasks;
+    private long focusOpenTasks;
+    private long overdueOpenTasks;
+    private long dueTodayOpenTasks;
+    private long dueTomorrowOpenTasks;
+    private long upcoming7DaysOpenTasks;
+    private long cycleMinutesSum;
+    private long cycleCount;
+
+    private final long[] statusCounts = new long[STATUSES.length + 1];
+    private final long[][] openAges = new long[STATUSES.length + 1][];
+    private final long[] completedByDay = new long[AnalyticsWindow.STREAK_LOOKBACK_DAYS + 1];
+    private final LabelCounter labels = new LabelCounter();
+    private final QuantileSketch leadTime = new QuantileSketch();
+    private final QuantileSketch cycleTime = new QuantileSketch();
+    private final TopTasks overdue = new TopTasks(OVERDUE_ORDER);
+    private final TopTasks dueToday = new TopTasks(DUE_TODAY_ORDER);
+
+    AnalyticsKernel(AnalyticsWindow window) {
+        reset(window);
+    }
+
+    /** Clears all state and re-anchors the kernel on {@code window}; buffers are kept. */
+    AnalyticsKernel reset(AnalyticsWindow window) {
+        if (this.window == null || !this.window.zone().equals(window.zone()) || !this.window.today().equals(window.today())) {
+            indexDays(window.zone(), window.today());
+        }
+        this.window = window;
+        now = window.now();
+        today = window.today().toEpochDay();
+        tomorrow = window.tomorrow().toEpochDay();
+        upcomingEnd = today + 7;
+        streakStart = window.streakStart().toEpochDay();
+        last30Start = window.last30Start().toEpochDay();
+
+        totalTasks = 0;
+        openTasks = 0;
+        focusOpenTasks = 0;
+        overdueOpenTasks = 0;
+        dueTodayOpenTasks = 0;
+        dueTomorrowOpenTasks = 0;
+        upcoming7DaysOpenTasks = 0;
+        cycleMinutesSum = 0;
+        cycleCount = 0;
+        Arrays.fill(statusCounts, 0);
+        for (long[] ages : openAges) {
+            if (ages != null) Arrays.fill(ages, 0);
+        }
+        Arrays.fill(completedByDay, 0);
+        labels.clear();
+        leadTime.clear();
+        cycleTime.clear();
+        overdue.clear();
+        dueToday.clear();
+        return this;
+    }
+
+    void accept(Task t) {
+        totalTasks++;
+        TaskStatus status = t.getStatus();
+        int s = status == null ? UNKNOWN : status.ordinal();
+        statusCounts[s]++;
+
+        if (s != DONE) {
+            openTasks++;
+            if (t.isFocus()) {
+                focusOpenTasks++;
+            }
+
+            LocalDate due = t.getDueDate();
+            if (due != null) {
+                long d = due.toEpochDay();
+                if (d < today) {
+                    overdueOpenTasks++;
+                    overdue.offer(t);
+                } else if (d == today) {
+                    dueTodayOpenTasks++;
+                    dueToday.offer(t);
+                }
+                if (d == tomorrow) dueTomorrowOpenTasks++;
+                if (d >= today && d <= upcomingEnd) upcoming7DaysOpenTasks++;
+            }
+
+            List<String> taskLabels = t.getLabels();
+            if (taskLabels != null) {
+                for (int i = 0, n = taskLabels.size(); i < n; i++) {
+                    String normalized = normalizeLabel(taskLabels.get(i));
+                    if (normalized != null) {
+                        labels.increment(normalized);
+                    }
+                }
+            }
+
+            Instant createdAt = t.getCreatedAt();
+            if (createdAt != null) {
+                addOpenAge(s, daysBetween(createdAt, now));
+            }
+        }
+
+        Instant completedAt = t.getCompletedAt();
+        if (completedAt != null) {
+            long completedDay = epochDay(completedAt);
+            if (completedDay >= streakStart && completedDay <= today) {
+                completedByDay[(int) (completedDay - streakStart)]++;
+            }
+            if (completedDay >= last30Start && completedDay <= today) {
+                Instant createdAt = t.getCreatedAt();
+                if (createdAt != null && !completedAt.isBefore(createdAt)) {
+                    long minutes = minutesBetween(createdAt, completedAt);
+                    cycleMinutesSum += minutes;
+                    cycleCount++;
+                    leadTime.add(minutes);
+                }
+                Instant startedAt = t.getStartedAt();
+                if (startedAt != null && !completedAt.isBefore(startedAt)) {
+                    cycleTime.add(minutesBetween(startedAt, completedAt));
+                }
+            }
+        }
+    }
+
+    /** Copies the folded state into facts; the only place that boxes. Logged minutes are left to the caller. */
+    AnalyticsFacts toFacts() {
+        AnalyticsFacts f = new AnalyticsFacts();
+        f.totalTasks = totalTasks;
+        f.openTasks = openTasks;
+        f.focusOpenTasks = focusOpenTasks;
+        f.overdueOpenTasks = overdueOpenTasks;
+        f.dueTodayOpenTasks = dueTodayOpenTasks;
+        f.dueTomorrowOpenTasks = dueTomorrowOpenTasks;
+        f.upcoming7DaysOpenTasks = upcoming7DaysOpenTasks;
+        f.cycleMinutesSumLast30 = cycleMinutesSum;
+        f.cycleCountLast30 = cycleCount;
+
+        for (int s = 0; s < statusCounts.length; s++) {
+            if (statusCounts[s] == 0) continue;
+            String key = statusKey(s);
+            f.statusCounts.put(key, statusCounts[s]);
+            long[] ages = openAges[s];
+            if (ages == null) continue;
+            for (int age = 0; age < ages.length; age++) {
+                if (ages[age] != 0) f.addOpenAge(key, age, ages[age]);
+            }
+        }
+        for (int i = 0; i < completedByDay.length; i++) {
+            if (completedByDay[i] != 0) {
+                f.completedByDay.put(LocalDate.ofEpochDay(streakStart + i), completedByDay[i]);
+            }
+        }
+        labels.copyTo(f.openLabelCounts);
+        f.leadTimeLast30.merge(leadTime);
+        f.cycleTimeLast30.merge(cycleTime);
+        overdue.copyTo(f.overdue);
+        dueToday.copyTo(f.dueToday);
+        return f;
+    }
+
+    /**
+     * Same result as {@link AnalyticsOverviewAssembler#normalizeLabel}, but returns {@code raw} itself when it is
+     * already trimmed and lower-case (the common case for labels written through the API).
+     */
+    static String normalizeLabel(String raw) {
+        if (raw == null || raw.isBlank()) return null;
+        int n = raw.length();
+        if (raw.charAt(0) <= ' ' || raw.charAt(n - 1) <= ' ') {
+            return AnalyticsOverviewAssembler.normalizeLabel(raw);
+        }
+        for (int i = 0; i < n; i++) {
+            char c = raw.charAt(i);
+            if (Character.toLowerCase(c) != c || Character.isSurrogate(c)) {
+                return AnalyticsOverviewAssembler.normalizeLabel(raw);
+            }
+        }
+        return raw;
+    }
+
+    long epochDay(Instant instant) {
+        if (fixedOffset) {
+            return Math.floorDiv(instant.getEpochSecond() + offsetSeconds, SECONDS_PER_DAY);
+        }
+        long millis = instant.toEpochMilli();
+        int last = midnightMillis.length - 1;
+        if (millis >= midnightMillis[0] && millis < midnightMillis[last]) {
+            int i = Arrays.binarySearch(midnightMillis, millis);
+            return firstIndexedDay + (i >= 0 ? i : -i - 2);
+        }
+        return LocalDate.ofInstant(instant, zone).toEpochDay();
+    }
+
+    private void indexDays(ZoneId zone, LocalDate today) {
+        this.zone = zone;
+        ZoneRules rules = zone.getRules();
+        fixedOffset = rules.isFixedOffset();
+        offsetSeconds = fixedOffset ? rules.getOffset(Instant.EPOCH).getTotalSeconds() : 0;
+        if (fixedOffset) {
+            midnightMillis = new long[0];
+            return;
+        }
+        // Midnights of [today - horizon, today + 2]: completion instants up to tomorrow resolve here.
+        firstIndexedDay = today.toEpochDay() - DAY_INDEX_HORIZON;
+        midnightMillis = new long[DAY_INDEX_HORIZON + 3];
+        for (int i = 0; i < midnightMillis.length; i++) {
+            midnightMillis[i] = LocalDate.ofEpochDay(firstIndexedDay + i).atStartOfDay(zone).toInstant().toEpochMilli();
+        }
+    }
+
+    private void addOpenAge(int status, long age) {
+        int index = (int) Math.min(age, MAX_AGE_DAYS);
+        long[] ages = openAges[status];
+        if (ages == null || index >= ages.length) {
+            int length = Math.max(index + 1, ages == null ? 64 : ages.length * 2);
+            ages = ages == null ? new long[length] : Arrays.copyOf(ages, length);
+            openAges[status] = ages;
+        }
+        ages[index]++;
+    }
+
+    /** Whole minutes of a non-negative interval, as {@code Duration.between(from, to).toMinutes()}. */
+    private static long minutesBetween(Instant from, Instant to) {
+        long seconds = to.getEpochSecond() - from.getEpochSecond();
+        if (to.getNano() < from.getNano()) seconds--;
+        return seconds / 60;
+    }
+
+    /** Whole 24h periods since {@code from}, as {@code Duration.between(from, to).toDays()} clamped at 0. */
+    private static long daysBetween(Instant from, Instant to) {
+        long seconds = to.getEpochSecond() - from.getEpochSecond();
+        if (to.getNano() < from.getNano()) seconds--;
+        return seconds <= 0 ? 0 : seconds / SECONDS_PER_DAY;
+    }
+
+    private static String statusKey(int s) {
+        return s == UNKNOWN ? "UNKNOWN" : STATUSES[s].name();
+    }
+
+    private static int priorityRank(Task t) {
+        return AnalyticsOverviewAssembler.priorityRank(t.getPriority() == null ? null : t.getPriority().name());
+    }
+
+    /**
+     * The first {@link AnalyticsOverviewAssembler#TOP_QUICK_VIEWS} tasks by {@code order}; ties keep encounter
+     * order, so the result equals a stable sort of every candidate.
+     */
+    private static final class TopTasks {
+        private final Comparator<Task> order;
+        private final Task[] top = new Task[AnalyticsOverviewAssembler.TOP_QUICK_VIEWS];
+        private int size;
+
+        TopTasks(Comparator<Task> order) {
+            this.order = order;
+        }
+
+        void offer(Task t) {
+            if (size == top.length && order.compare(t, top[size - 1]) >= 0) {
+                return;
+            }
+            int i = size == top.length ? size - 1 : size++;
+            while (i > 0 && order.compare(t, top[i - 1]) < 0) {
+                top[i] = top[i - 1];
+                i--;
+            }
+            top[i] = t;
+        }
+
+        void clear() {
+            Arrays.fill(top, null);
+            size = 0;
+        }
+
+        void copyTo(List<TaskQuickView> target) {
+            for (int i = 0; i < size; i++) {
+                target.add(AnalyticsOverviewAssembler.toQuickView(top[i]));
+            }
+        }
+    }
+}
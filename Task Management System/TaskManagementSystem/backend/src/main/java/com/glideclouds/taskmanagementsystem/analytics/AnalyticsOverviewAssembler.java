@@ -0,0 +1,186 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import com.glideclouds.taskmanagementsystem.analytics.dto.AnalyticsOverviewResponse;
+import com.glideclouds.taskmanagementsystem.analytics.dto.AnalyticsTrendPoint;
+import com.glideclouds.taskmanagementsystem.analytics.dto.LabelCount;
+import com.glideclouds.taskmanagementsystem.analytics.dto.StatusBottleneck;
+import com.glideclouds.taskmanagementsystem.analytics.dto.TaskQuickView;
+import com.glideclouds.taskmanagementsystem.tasks.Task;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Turns {@link AnalyticsFacts} into the overview response (top-N selection, trend, streak, bottlenecks).
+ */
+final class AnalyticsOverviewAssembler {
+
+    static final int TOP_LABELS = 8;
+    static final int TOP_QUICK_VIEWS = 5;
+
+    static final Comparator<TaskQuickView> OVERDUE_ORDER = Comparator
+            .comparing(TaskQuickView::dueDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparingInt(v -> priorityRank(v.priority()))
+            .thenComparing(TaskQuickView::title, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    static final Comparator<TaskQuickView> DUE_TODAY_ORDER = Comparator
+            .comparingInt((TaskQuickView v) -> priorityRank(v.priority()))
+            .thenComparing(TaskQuickView::title, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private AnalyticsOverviewAssembler() {
+    }
+
+    static AnalyticsOverviewResponse assemble(AnalyticsWindow w, AnalyticsFacts f) {
+        LocalDate today = w.today();
+
+        long completedToday = f.completedByDay.getOrDefault(today, 0L);
+        long completedThisWeek = sumBetween(f.completedByDay, w.weekStart(), today);
+        long completedLast30Days = sumBetween(f.completedByDay, w.last30Start(), today);
+
+        Double avgCycleTimeHoursLast30Days = null;
+        if (f.cycleCountLast30 > 0) {
+            double avgMinutes = (double) f.cycleMinutesSumLast30 / f.cycleCountLast30;
+            avgCycleTimeHoursLast30Days = avgMinutes / 60.0;
+        }
+
+        long loggedMinutesToday = f.loggedByDay.getOrDefault(today, 0L);
+        long loggedMinutesThisWeek = sumBetween(f.loggedByDay, w.weekStart(), today);
+        long loggedMinutesLast30Days = sumBetween(f.loggedByDay, w.last30Start(), today);
+
+        Map<String, Long> statusCounts = new HashMap<>();
+        f.statusCounts.forEach((k, v) -> {
+            if (v != null && v > 0) statusCounts.put(k, v);
+        });
+
+        List<LabelCount> topOpenLabels = f.openLabelCounts.entrySet()
+                .stream()
+                .filter(e -> e.getValue() != null && e.getValue() > 0)
+                .sorted((a, b) -> {
+                    int cmp = Long.compare(b.getValue(), a.getValue());
+                    if (cmp != 0) return cmp;
+                    return a.getKey().compareTo(b.getKey());
+                })
+                .limit(TOP_LABELS)
+                .map(e -> new LabelCount(e.getKey(), e.getValue()))
+                .toList();
+
+        List<TaskQuickView> overdueTop = f.overdue.stream().sorted(OVERDUE_ORDER).limit(TOP_QUICK_VIEWS).toList();
+        List<TaskQuickView> dueTodayTop = f.dueToday.stream().sorted(DUE_TODAY_ORDER).limit(TOP_QUICK_VIEWS).toList();
+
+        List<AnalyticsTrendPoint> trend = new ArrayList<>(w.days());
+        for (int i = 0; i < w.days(); i++) {
+            LocalDate d = w.trendStart().plusDays(i);
+            trend.add(new AnalyticsTrendPoint(
+                    d,
+                    f.completedByDay.getOrDefault(d, 0L),
+                    f.loggedByDay.getOrDefault(d, 0L)
+            ));
+        }
+
+        long completionStreakDays = 0;
+        for (LocalDate d = today; !d.isBefore(w.streakStart()); d = d.minusDays(1)) {
+            if (f.completedByDay.getOrDefault(d, 0L) <= 0) break;
+            completionStreakDays++;
+        }
+
+        List<StatusBottleneck> bottlenecks = f.openAgeDaysByStatus.entrySet().stream()
+                .filter(e -> e.getKey() != null && !e.getKey().equalsIgnoreCase("DONE"))
+                .map(e -> {
+                    long count = 0;
+                    long ageSum = 0;
+                    long oldest = 0;
+                    QuantileSketch ages = new QuantileSketch();
+                    for (Map.Entry<Long, Long> age : e.getValue().entrySet()) {
+                        if (age.getValue() == null || age.getValue() <= 0) continue;
+                        count += age.getValue();
+                        ageSum += age.getKey() * age.getValue();
+                        oldest = Math.max(oldest, age.getKey());
+                        ages.add(age.getKey(), age.getValue());
+                    }
+                    long avg = count == 0 ? 0 : Math.round((double) ageSum / count);
+                    return new StatusBottleneck(e.getKey(), count, avg, oldest, ages.percentiles(1));
+                })
+                .filter(b -> b.openCount() > 0)
+                .sorted((a, b) -> {
+                    int cmp = Long.compare(b.avgAgeDays(), a.avgAgeDays());
+                    if (cmp != 0) return cmp;
+                    cmp = Long.compare(b.openCount(), a.openCount());
+                    if (cmp != 0) return cmp;
+                    return String.valueOf(a.status()).compareTo(String.valueOf(b.status()));
+                })
+                .limit(5)
+                .collect(Collectors.toList());
+
+        return new AnalyticsOverviewResponse(
+                Instant.now(),
+                today,
+                f.totalTasks,
+                f.openTasks,
+                f.focusOpenTasks,
+                statusCounts,
+                f.overdueOpenTasks,
+                f.dueTodayOpenTasks,
+                f.dueTomorrowOpenTasks,
+                f.upcoming7DaysOpenTasks,
+                completedToday,
+                completedThisWeek,
+                completedLast30Days,
+                completionStreakDays,
+                avgCycleTimeHoursLast30Days,
+                f.leadTimeLast30.percentiles(60),
+                f.cycleTimeLast30.percentiles(60),
+                loggedMinutesToday,
+                loggedMinutesThisWeek,
+                loggedMinutesLast30Days,
+                topOpenLabels,
+                overdueTop,
+                dueTodayTop,
+                trend,
+                bottlenecks
+        );
+    }
+
+    static TaskQuickView toQuickView(Task t) {
+        return new TaskQuickView(
+                t.getId(),
+                t.getTitle(),
+                t.getStatus() == null ? null : t.getStatus().name(),
+                t.getPriority() == null ? null : t.getPriority().name(),
+                t.getDueDate(),
+                t.getLabels() == null ? List.of() : t.getLabels(),
+                t.isFocus()
+        );
+    }
+
+    /** Trimmed, lower-cased label, or null when blank. */
+    static String normalizeLabel(String raw) {
+        if (raw == null) return null;
+        String normalized = raw.trim().toLowerCase();
+        return normalized.isBlank() ? null : normalized;
+    }
+
+    static int priorityRank(String priority) {
+        if (priority == null) return 99;
+        return switch (priority) {
+            case "HIGH" -> 0;
+            case "MEDIUM" -> 1;
+            case "LOW" -> 2;
+            default -> 50;
+        };
+    }
+
+    private static long sumBetween(Map<LocalDate, Long> byDay, LocalDate from, LocalDate to) {
+        long sum = 0;
+        for (Map.Entry<LocalDate, Long> e : byDay.entrySet()) {
+            LocalDate d = e.getKey();
+            if (!d.isBefore(from) && !d.isAfter(to)) sum += e.getValue();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,212 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import com.glideclouds.taskmanagementsystem.analytics.dto.AnalyticsOverviewResponse;
+import com.glideclouds.taskmanagementsystem.config.AnalyticsCacheProperties;
+import com.glideclouds.taskmanagementsystem.tasks.TaskChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Per-(user, days) cache of overview responses with stale-while-revalidate.
+ * <p>
+ * An entry is fresh for {@code freshFor} unless a {@link TaskChangedEvent} for its user arrived after it was computed.
+ * Non-fresh entries younger than {@code maxStale} are returned immediately while one background refresh per key
+ * recomputes them; older ones (or entries from a previous day) are recomputed before responding. Concurrent
+ * recomputes of the same key share one computation.
+ */
+@Component
+public class AnalyticsOverviewCache {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsOverviewCache.class);
+
+    private final AnalyticsCacheProperties properties;
+    private final long freshNanos;
+    private final long maxStaleNanos;
+    private final Executor refreshExecutor;
+    private final ConcurrentHashMap<String, UserEntries> users = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Timer recomputeTimer;
+    private final MeterRegistry meterRegistry;
+
+    public AnalyticsOverviewCache(AnalyticsCacheProperties properties,
+                                  MeterRegistry meterRegistry,
+                                  @Qualifier("overviewRefreshExecutor") Executor refreshExecutor) {
+        this.properties = properties;
+        this.refreshExecutor = refreshExecutor;
+        this.freshNanos = nanos(properties.freshFor());
+        this.maxStaleNanos = Math.max(freshNanos, nanos(properties.maxStale()));
+
+        this.hits = lookups(meterRegistry, "hit");
+        this.staleHits = lookups(meterRegistry, "stale");
+        this.misses = lookups(meterRegistry, "miss");
+        this.recomputeTimer = Timer.builder("analytics.overview.recompute")
+                .description("Time to compute an analytics overview for the cache")
+                .register(meterRegistry);
+        Gauge.builder("analytics.overview.cache.users", users, ConcurrentHashMap::size)
+                .register(meterRegistry);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** Registered after construction, as the gauge holds on to this cache to compute the ratio. */
+    @PostConstruct
+    void registerHitRatioGauge() {
+        Gauge.builder("analytics.overview.cache.hit.ratio", this, AnalyticsOverviewCache::hitRatio)
+                .description("Share of overview lookups answered from the cache (fresh or stale)")
+                .register(meterRegistry);
+    }
+
+    /** Returns the cached overview for (userId, days), computing it with {@code compute} when needed. */
+    public AnalyticsOverviewResponse get(String userId, int days, Supplier<AnalyticsOverviewResponse> compute) {
+        if (!properties.enabled()) {
+            return compute.get();
+        }
+        UserEntries entries = entriesFor(userId);
+        Entry entry = entries.byDays.get(days);
+        long now = System.nanoTime();
+
+        if (entry != null && entry.isServable(now, maxStaleNanos)) {
+            if (entry.generation() == entries.generation.get() && now - entry.computedAtNanos() < freshNanos) {
+                hits.increment();
+            } else {
+                staleHits.increment();
+                refresh(entries, days, compute);
+            }
+            return entry.response();
+        }
+
+        misses.increment();
+        try {
+            return refresh(entries, days, compute).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Marks every cached overview of the user as stale. Runs after the counter listener so a refresh triggered by
+     * this change already sees the updated counters.
+     */
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onTaskChanged(TaskChangedEvent event) {
+        invalidate(event.userId());
+        if (event.before() != null && event.before().ownerUserId() != null
+                && !event.before().ownerUserId().equals(event.userId())) {
+            invalidate(event.before().ownerUserId());
+        }
+    }
+
+    public void invalidate(String userId) {
+        if (userId == null) return;
+        UserEntries entries = users.get(userId);
+        if (entries != null) {
+            entries.generation.incrementAndGet();
+        }
+    }
+
+    double hitRatio() {
+        double served = hits.count() + staleHits.count();
+        double total = served + misses.count();
+        return total == 0 ? 0.0 : served / total;
+    }
+
+    /**
+     * Starts (or joins) the single computation for this key; the result is stored under the generation it saw. The
+     * future leaves {@code inFlight} before it completes, so a caller woken by it can always start the next refresh.
+     */
+    private CompletableFuture<AnalyticsOverviewResponse> refresh(UserEntries entries, int days,
+                                                                 Supplier<AnalyticsOverviewResponse> compute) {
+        CompletableFuture<AnalyticsOverviewResponse> future = new CompletableFuture<>();
+        CompletableFuture<AnalyticsOverviewResponse> running = entries.inFlight.putIfAbsent(days, future);
+        if (running != null) {
+            return running;
+        }
+        long generation = entries.generation.get();
+        try {
+            refreshExecutor.execute(() -> {
+                AnalyticsOverviewResponse response;
+                try {
+                    response = recomputeTimer.record(compute);
+                    entries.byDays.put(days, new Entry(response, generation, System.nanoTime()));
+                } catch (RuntimeException e) {
+                    log.warn("Analytics overview refresh failed", e);
+                    entries.inFlight.remove(days, future);
+                    future.completeExceptionally(e);
+                    return;
+                }
+                entries.inFlight.remove(days, future);
+                future.complete(response);
+            });
+        } catch (RejectedExecutionException e) {
+            entries.inFlight.remove(days, future);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private UserEntries entriesFor(String userId) {
+        UserEntries existing = users.get(userId);
+        if (existing != null) {
+            return existing;
+        }
+        if (users.size() >= properties.maxUsers()) {
+            long now = System.nanoTime();
+            users.values().removeIf(u -> u.inFlight.isEmpty()
+                    && u.byDays.values().stream().noneMatch(e -> e.isServable(now, maxStaleNanos)));
+            if (users.size() >= properties.maxUsers()) {
+                users.clear();
+            }
+        }
+        return users.computeIfAbsent(userId, k -> new UserEntries());
+    }
+
+    private static Counter lookups(MeterRegistry registry, String result) {
+        return Counter.builder("analytics.overview.cache.lookups")
+                .description("Analytics overview cache lookups by result")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static long nanos(Duration duration) {
+        return duration == null || duration.isNegative() ? 0 : duration.toNanos();
+    }
+
+    private static final class UserEntries {
+        final AtomicLong generation = new AtomicLong();
+        final ConcurrentHashMap<Integer, Entry> byDays = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<Integer, CompletableFuture<AnalyticsOverviewResponse>> inFlight = new ConcurrentHashMap<>();
+    }
+
+    private record Entry(AnalyticsOverviewResponse response, long generation, long computedAtNanos) {
+        /** Within the staleness bound and still about today (every window is anchored on the current date). */
+        boolean isServable(long now, long maxStaleNanos) {
+            return now - computedAtNanos < maxStaleNanos && LocalDate.now().equals(response.today());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-user analytics counters, kept current with {@code $inc} deltas from task change events.
+ * <p>
+ * Map keys that come from user input (labels) are percent-encoded, since Mongo field names cannot contain '.' or '$'.
+ * Zero-valued entries can linger until the next rebuild; readers ignore them.
+ */
+@Document(collection = "analytics_user_counters")
+public class AnalyticsUserCounters {
+
+    @Id
+    private String id;
+
+    private long totalTasks;
+    private long openTasks;
+    private long focusOpenTasks;
+
+    private Map<String, Long> statusCounts = new HashMap<>();
+
+    /** Encoded normalized label -> open tasks. */
+    private Map<String, Long> openLabels = new HashMap<>();
+
+    /**
+     * Open status -> creation epoch day (server zone) -> tasks; ages are derived at read time, so the map stays
+     * bounded by the days tasks were created on. Null in documents written before this field existed.
+     */
+    private Map<String, Map<String, Long>> openCreatedEpochDays;
+
+    private Instant rebuiltAt;
+
+    public AnalyticsUserCounters() {
+    }
+
+    public AnalyticsUserCounters(String userId) {
+        this.id = userId;
+    }
+
+    static String encodeKey(String key) {
+        return key.replace("%", "%25").replace(".", "%2E").replace("$", "%24");
+    }
+
+    static String decodeKey(String key) {
+        return key.replace("%2E", ".").replace("%24", "$").replace("%25", "%");
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public long getTotalTasks() {
+        return totalTasks;
+    }
+
+    public void setTotalTasks(long totalTasks) {
+        this.totalTasks = totalTasks;
+    }
+
+    public long getOpenTasks() {
+        return openTasks;
+    }
+
+    public void setOpenTasks(long openTasks) {
+        this.openTasks = openTasks;
+    }
+
+    public long getFocusOpenTasks() {
+        return focusOpenTasks;
+    }
+
+    public void setFocusOpenTasks(long focusOpenTasks) {
+        this.focusOpenTasks = focusOpenTasks;
+    }
+
+    public Map<String, Long> getStatusCounts() {
+        return statusCounts;
+    }
+
+    public void setStatusCounts(Map<String, Long> statusCounts) {
+        this.statusCounts = statusCounts;
+    }
+
+    public Map<String, Long> getOpenLabels() {
+        return openLabels;
+    }
+
+    public void setOpenLabels(Map<String, Long> openLabels) {
+        this.openLabels = openLabels;
+    }
+
+    public Map<String, Map<String, Long>> getOpenCreatedEpochDays() {
+        return openCreatedEpochDays;
+    }
+
+    public void setOpenCreatedEpochDays(Map<String, Map<String, Long>> openCreatedEpochDays) {
+        this.openCreatedEpochDays = openCreatedEpochDays;
+    }
+
+    public Instant getRebuiltAt() {
+        return rebuiltAt;
+    }
+
+    public void setRebuiltAt(Instant rebuiltAt) {
+        this.rebuiltAt = rebuiltAt;
+    }
+}
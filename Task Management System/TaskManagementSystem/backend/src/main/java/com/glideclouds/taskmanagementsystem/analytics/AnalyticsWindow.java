@@ -0,0 +1,72 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Date ranges of one overview request (all in the server zone).
+ *
+ * @param days        trend length (7..60)
+ * @param streakStart oldest day inspected for the completion streak (also the oldest completion day any engine needs)
+ * @param now         instant open-task ages are measured to (whole 24h periods since creation)
+ */
+public record AnalyticsWindow(
+        ZoneId zone,
+        int days,
+        LocalDate today,
+        LocalDate tomorrow,
+        LocalDate weekStart,
+        LocalDate trendStart,
+        LocalDate last30Start,
+        LocalDate streakStart,
+        Instant now
+) {
+
+    static final int STREAK_LOOKBACK_DAYS = 60;
+
+    public static AnalyticsWindow of(Integer daysParam) {
+        return of(daysParam, ZoneId.systemDefault(), Instant.now());
+    }
+
+    public static AnalyticsWindow of(Integer daysParam, ZoneId zone, Instant now) {
+        return of(daysParam, zone, LocalDate.ofInstant(now, zone), now);
+    }
+
+    /** Window for a whole {@code today}; ages are measured to its start. */
+    public static AnalyticsWindow of(Integer daysParam, ZoneId zone, LocalDate today) {
+        return of(daysParam, zone, today, today.atStartOfDay(zone).toInstant());
+    }
+
+    private static AnalyticsWindow of(Integer daysParam, ZoneId zone, LocalDate today, Instant now) {
+        int days = normalizeDays(daysParam);
+        return new AnalyticsWindow(
+                zone,
+                days,
+                today,
+                today.plusDays(1),
+                today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)),
+                today.minusDays(days - 1L),
+                today.minusDays(29),
+                today.minusDays(STREAK_LOOKBACK_DAYS),
+                now
+        );
+    }
+
+    /** Trend length actually used for a requested {@code days} (default 14, clamped to 7..60). */
+    public static int normalizeDays(Integer daysParam) {
+        return daysParam == null ? 14 : Math.max(7, Math.min(60, daysParam));
+    }
+
+    /** Oldest day whose logged minutes are reported (trend, week or last 30 days). */
+    public LocalDate loggedFrom() {
+        LocalDate from = trendStart.isBefore(last30Start) ? trendStart : last30Start;
+        return weekStart.isBefore(from) ? weekStart : from;
+    }
+
+    public boolean contains(LocalDate day, LocalDate from) {
+        return day != null && !day.isBefore(from) && !day.isAfter(today);
+    }
+}
@@ -0,0 +1,108 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import com.glideclouds.taskmanagementsystem.tasks.TaskActivity;
+import com.glideclouds.taskmanagementsystem.tasks.TaskStatus;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Replays status transitions recorded in task activity onto the days after a base day.
+ * <p>
+ * Each task contributes its status at the end of the base day (or at creation, if it was created later) and then
+ * one -1/+1 pair per transition on the day it happened. A transition only applies when its {@code fromStatus} is the
+ * status the task is in at that point: a move to DONE records both COMPLETED and MOVED, and the second one is
+ * skipped that way. The status before the first transition after the base is taken from that transition, so
+ * activity trimmed before the base day does not matter.
+ */
+final class CfdReplay {
+
+    static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final long baseEndMillis;
+    /** Midnights of base+1 .. to+1: day i covers [midnights[i], midnights[i + 1]). */
+    private final long[] midnights;
+    private final long[] base = new long[STATUSES.length];
+    private final long[][] delta;
+
+    CfdReplay(LocalDate baseDay, LocalDate to, ZoneId zone) {
+        int days = (int) (to.toEpochDay() - baseDay.toEpochDay());
+        this.midnights = new long[days + 1];
+        for (int i = 0; i <= days; i++) {
+            midnights[i] = baseDay.plusDays(i + 1L).atStartOfDay(zone).toInstant().toEpochMilli();
+        }
+        this.baseEndMillis = midnights[0];
+        this.delta = new long[days][STATUSES.length];
+    }
+
+    void accept(Instant createdAt, TaskStatus current, List<TaskActivity> activity) {
+        List<TaskActivity> log = activity == null ? List.of() : activity;
+        TaskStatus state = null;
+        for (TaskActivity a : log) {
+            if (isTransitionAfterBase(a)) {
+                state = a.getFromStatus();
+                break;
+            }
+        }
+        if (state == null) {
+            state = current;
+        }
+        if (state == null) {
+            return;
+        }
+
+        if (createdAt == null || createdAt.toEpochMilli() < baseEndMillis) {
+            base[state.ordinal()]++;
+        } else {
+            int day = dayIndex(createdAt.toEpochMilli());
+            if (day < 0) return;
+            delta[day][state.ordinal()]++;
+        }
+
+        for (TaskActivity a : log) {
+            if (!isTransitionAfterBase(a) || a.getFromStatus() != state) continue;
+            int day = dayIndex(a.getCreatedAt().toEpochMilli());
+            if (day < 0) break;
+            delta[day][state.ordinal()]--;
+            delta[day][a.getToStatus().ordinal()]++;
+            state = a.getToStatus();
+        }
+    }
+
+    /** Counts at the end of the base day of every task passed to {@link #accept}. */
+    long[] base() {
+        return base.clone();
+    }
+
+    /** Counts at the end of each replayed day, starting from {@code baseCounts}. */
+    long[][] series(long[] baseCounts) {
+        long[][] out = new long[delta.length][];
+        long[] running = Arrays.copyOf(baseCounts, STATUSES.length);
+        for (int i = 0; i < delta.length; i++) {
+            for (int s = 0; s < running.length; s++) {
+                running[s] += delta[i][s];
+            }
+            out[i] = running.clone();
+        }
+        return out;
+    }
+
+    private boolean isTransitionAfterBase(TaskActivity a) {
+        return a.getCreatedAt() != null
+                && a.getFromStatus() != null
+                && a.getToStatus() != null
+                && a.getFromStatus() != a.getToStatus()
+                && a.getCreatedAt().toEpochMilli() >= baseEndMillis;
+    }
+
+    /** Replayed day of an instant after the base; anything past the last day counts on it, -1 if there are none. */
+    private int dayIndex(long millis) {
+        if (delta.length == 0) return -1;
+        int i = Arrays.binarySearch(midnights, millis);
+        int day = i >= 0 ? i : -i - 2;
+        return Math.min(Math.max(day, 0), delta.length - 1);
+    }
+}
@@ -0,0 +1,169 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import com.glideclouds.taskmanagementsystem.analytics.dto.CfdPoint;
+import com.glideclouds.taskmanagementsystem.analytics.dto.CfdResponse;
+import com.glideclouds.taskmanagementsystem.tasks.Task;
+import com.glideclouds.taskmanagementsystem.tasks.TaskChangedEvent;
+import com.glideclouds.taskmanagementsystem.tasks.TaskStatus;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Cumulative flow (tasks per status per day) rebuilt from the status transitions in task activity.
+ * <p>
+ * Finished days are persisted as {@link CfdSnapshot}s covering the last {@link #MAX_DAYS} days. While those are
+ * contiguous up to the day before the requested window, a request only replays transitions recorded after the
+ * newest snapshot (tasks matched through the (ownerUserId, activity.createdAt) index). Otherwise, e.g. for a new
+ * user or after a task was deleted, the user's tasks are streamed once and the snapshots rewritten.
+ */
+@Service
+public class CfdService {
+
+    static final int DEFAULT_DAYS = 30;
+    static final int MAX_DAYS = 180;
+    private static final int CURSOR_BATCH_SIZE = 1_000;
+
+    private final MongoTemplate mongoTemplate;
+    private final CfdSnapshotRepository snapshotRepository;
+
+    public CfdService(MongoTemplate mongoTemplate, CfdSnapshotRepository snapshotRepository) {
+        this.mongoTemplate = mongoTemplate;
+        this.snapshotRepository = snapshotRepository;
+    }
+
+    public CfdResponse cfdForUser(String userId, Integer daysParam) {
+        ZoneId zone = ZoneId.systemDefault();
+        return compute(userId, daysParam, zone, LocalDate.now(zone));
+    }
+
+    CfdResponse compute(String userId, Integer daysParam, ZoneId zone, LocalDate today) {
+        int days = daysParam == null ? DEFAULT_DAYS : Math.max(1, Math.min(MAX_DAYS, daysParam));
+        LocalDate start = today.minusDays(days - 1L);
+        LocalDate yesterday = today.minusDays(1);
+
+        // Stored days from the one before the window (the replay base when the window starts today) onwards.
+        List<CfdSnapshot> stored = snapshotRepository.findForRange(userId, start.minusDays(1), yesterday);
+        Map<LocalDate, long[]> byDay = new LinkedHashMap<>();
+        if (isContiguousFrom(stored, start.minusDays(1))) {
+            CfdSnapshot newest = stored.getLast();
+            stored.forEach(s -> byDay.put(s.getDay(), fromCounts(s.getCounts())));
+            if (newest.getDay().isBefore(today)) {
+                replayTail(userId, newest.getDay(), byDay.get(newest.getDay()), today, zone, byDay);
+            }
+        } else {
+            rebuild(userId, today, zone, byDay);
+        }
+
+        List<CfdPoint> points = new ArrayList<>(days);
+        for (LocalDate d = start; !d.isAfter(today); d = d.plusDays(1)) {
+            points.add(new CfdPoint(d, toCounts(byDay.getOrDefault(d, new long[CfdReplay.STATUSES.length]))));
+        }
+        return new CfdResponse(
+                Instant.now(),
+                today,
+                days,
+                Arrays.stream(CfdReplay.STATUSES).map(TaskStatus::name).toList(),
+                points
+        );
+    }
+
+    /** Snapshots of a deleted task's days can no longer be replayed consistently; the next request rebuilds them. */
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.after() == null && event.before() != null && event.before().ownerUserId() != null) {
+            snapshotRepository.deleteByUserId(event.before().ownerUserId());
+        }
+    }
+
+    /** Replays only tasks with activity after {@code baseDay} onto its stored counts, persisting finished days. */
+    private void replayTail(String userId, LocalDate baseDay, long[] baseCounts, LocalDate today, ZoneId zone,
+                            Map<LocalDate, long[]> byDay) {
+        CfdReplay replay = new CfdReplay(baseDay, today, zone);
+        Instant baseEnd = baseDay.plusDays(1).atStartOfDay(zone).toInstant();
+        stream(Criteria.where("ownerUserId").is(userId).and("activity.createdAt").gte(baseEnd), replay);
+        long[][] series = replay.series(baseCounts);
+        collect(baseDay, series, byDay);
+        persist(userId, baseDay.plusDays(1), today, byDay);
+        if (baseDay.plusDays(1).isBefore(today)) {
+            snapshotRepository.deleteByUserIdAndDayBefore(userId, today.minusDays(MAX_DAYS));
+        }
+    }
+
+    /** Streams every task of the user once and rewrites the snapshots of the last {@link #MAX_DAYS} days. */
+    private void rebuild(String userId, LocalDate today, ZoneId zone, Map<LocalDate, long[]> byDay) {
+        LocalDate baseDay = today.minusDays(MAX_DAYS);
+        CfdReplay replay = new CfdReplay(baseDay, today, zone);
+        stream(Criteria.where("ownerUserId").is(userId), replay);
+        long[] base = replay.base();
+        byDay.put(baseDay, base);
+        collect(baseDay, replay.series(base), byDay);
+        snapshotRepository.deleteByUserId(userId);
+        persist(userId, baseDay, today, byDay);
+    }
+
+    private void stream(Criteria criteria, CfdReplay replay) {
+        Query query = Query.query(criteria).cursorBatchSize(CURSOR_BATCH_SIZE);
+        query.fields().include("createdAt", "status", "activity.createdAt", "activity.fromStatus", "activity.toStatus");
+        try (Stream<Task> tasks = mongoTemplate.stream(query, Task.class)) {
+            tasks.forEach(t -> replay.accept(t.getCreatedAt(), t.getStatus(), t.getActivity()));
+        }
+    }
+
+    private static void collect(LocalDate baseDay, long[][] series, Map<LocalDate, long[]> byDay) {
+        for (int i = 0; i < series.length; i++) {
+            byDay.put(baseDay.plusDays(i + 1L), series[i]);
+        }
+    }
+
+    /** Saves finished days in {@code [from, today)}; today keeps changing and is never stored. */
+    private void persist(String userId, LocalDate from, LocalDate today, Map<LocalDate, long[]> byDay) {
+        List<CfdSnapshot> snapshots = new ArrayList<>();
+        for (LocalDate d = from; d.isBefore(today); d = d.plusDays(1)) {
+            snapshots.add(new CfdSnapshot(userId, d, toCounts(byDay.get(d))));
+        }
+        if (!snapshots.isEmpty()) {
+            snapshotRepository.saveAll(snapshots);
+        }
+    }
+
+    private static boolean isContiguousFrom(List<CfdSnapshot> stored, LocalDate first) {
+        if (stored.isEmpty() || !stored.getFirst().getDay().equals(first)) {
+            return false;
+        }
+        LocalDate expected = first;
+        for (CfdSnapshot s : stored) {
+            if (!s.getDay().equals(expected)) return false;
+            expected = expected.plusDays(1);
+        }
+        return true;
+    }
+
+    private static Map<String, Long> toCounts(long[] counts) {
+        Map<String, Long> out = new LinkedHashMap<>();
+        for (TaskStatus status : CfdReplay.STATUSES) {
+            out.put(status.name(), counts[status.ordinal()]);
+        }
+        return out;
+    }
+
+    private static long[] fromCounts(Map<String, Long> counts) {
+        long[] out = new long[CfdReplay.STATUSES.length];
+        for (TaskStatus status : CfdReplay.STATUSES) {
+            out[status.ordinal()] = counts.getOrDefault(status.name(), 0L);
+        }
+        return out;
+    }
+}
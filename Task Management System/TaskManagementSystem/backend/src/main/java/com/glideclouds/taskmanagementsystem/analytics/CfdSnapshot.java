@@ -0,0 +1,74 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tasks per status of one user at the end of one finished day (server zone), keyed by {@code userId:day}.
+ * Written by {@link CfdService}; a user's snapshots always form one contiguous run of days.
+ */
+@Document(collection = "analytics_cfd_snapshots")
+@CompoundIndex(name = "user_day_idx", def = "{'userId': 1, 'day': 1}")
+public class CfdSnapshot {
+
+    @Id
+    private String id;
+
+    private String userId;
+
+    private LocalDate day;
+
+    /** Status name -> tasks in that status at the end of the day. */
+    private Map<String, Long> counts = new LinkedHashMap<>();
+
+    public CfdSnapshot() {
+    }
+
+    public CfdSnapshot(String userId, LocalDate day, Map<String, Long> counts) {
+        this.id = idFor(userId, day);
+        this.userId = userId;
+        this.day = day;
+        this.counts = counts;
+    }
+
+    public static String idFor(String userId, LocalDate day) {
+        return userId + ":" + day;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public Map<String, Long> getCounts() {
+        return counts;
+    }
+
+    public void setCounts(Map<String, Long> counts) {
+        this.counts = counts != null ? counts : new LinkedHashMap<>();
+    }
+}
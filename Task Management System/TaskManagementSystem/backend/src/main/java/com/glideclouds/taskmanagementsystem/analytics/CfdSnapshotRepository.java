@@ -0,0 +1,18 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface CfdSnapshotRepository extends MongoRepository<CfdSnapshot, String> {
+
+    /** Snapshots for {@code from..to} inclusive, oldest first (served by the (userId, day) index). */
+    @Query(value = "{ 'userId': ?0, 'day': { $gte: ?1, $lte: ?2 } }", sort = "{ 'day': 1 }")
+    List<CfdSnapshot> findForRange(String userId, LocalDate from, LocalDate to);
+
+    void deleteByUserId(String userId);
+
+    void deleteByUserIdAndDayBefore(String userId, LocalDate day);
+}
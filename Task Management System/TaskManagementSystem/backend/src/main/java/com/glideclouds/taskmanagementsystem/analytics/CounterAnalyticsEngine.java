@@ -0,0 +1,116 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import com.glideclouds.taskmanagementsystem.analytics.dto.AnalyticsOverviewResponse;
+import com.glideclouds.taskmanagementsystem.tasks.Task;
+import com.glideclouds.taskmanagementsystem.tasks.TaskStatus;
+import com.glideclouds.taskmanagementsystem.tasks.TimeLogRollupService;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Default engine: reads the event-maintained counters plus a handful of indexed (ownerUserId, dueDate) queries,
+ * so the cost grows with the number of days shown and open tasks were created on rather than the number of tasks.
+ */
+@Component
+public class CounterAnalyticsEngine implements AnalyticsEngine {
+
+    private final AnalyticsCounterService counterService;
+    private final TimeLogRollupService timeLogRollupService;
+    private final MongoTemplate mongoTemplate;
+
+    public CounterAnalyticsEngine(AnalyticsCounterService counterService,
+                                  TimeLogRollupService timeLogRollupService,
+                                  MongoTemplate mongoTemplate) {
+        this.counterService = counterService;
+        this.timeLogRollupService = timeLogRollupService;
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public String name() {
+        return "counters";
+    }
+
+    @Override
+    public AnalyticsOverviewResponse overview(String userId, AnalyticsWindow w) {
+        LocalDate today = w.today();
+        AnalyticsFacts f = new AnalyticsFacts();
+
+        AnalyticsUserCounters counters = counterService.countersFor(userId);
+        f.totalTasks = counters.getTotalTasks();
+        f.openTasks = counters.getOpenTasks();
+        f.focusOpenTasks = counters.getFocusOpenTasks();
+        f.statusCounts.putAll(counters.getStatusCounts());
+        counters.getOpenLabels().forEach((k, v) -> f.openLabelCounts.merge(AnalyticsUserCounters.decodeKey(k), v, Long::sum));
+        // Calendar days since the creation day: up to one day more than the elapsed 24h periods the scan and facet
+        // engines report, for tasks created later in the day than the current time.
+        counters.getOpenCreatedEpochDays().forEach((status, days) -> days.forEach((day, count) -> {
+            if (count > 0) {
+                f.addOpenAge(status, today.toEpochDay() - Long.parseLong(day), count);
+            }
+        }));
+
+        for (AnalyticsDailyCounters d : counterService.dailyFor(userId, w.streakStart(), today)) {
+            if (d.getCompleted() > 0) {
+                f.completedByDay.merge(d.getDay(), d.getCompleted(), Long::sum);
+            }
+            if (w.contains(d.getDay(), w.last30Start())) {
+                f.cycleMinutesSumLast30 += d.getCycleMinutesSum();
+                f.cycleCountLast30 += d.getCycleCount();
+                d.getLeadTimeBuckets().forEach((bucket, count) -> f.leadTimeLast30.addToBucket(Integer.parseInt(bucket), count));
+                d.getCycleTimeBuckets().forEach((bucket, count) -> f.cycleTimeLast30.addToBucket(Integer.parseInt(bucket), count));
+            }
+        }
+
+        f.loggedByDay.putAll(timeLogRollupService.minutesByDay(userId, w.loggedFrom(), today));
+
+        f.overdueOpenTasks = count(openDue(userId).lt(today));
+        f.dueTodayOpenTasks = count(openDue(userId).is(today));
+        f.dueTomorrowOpenTasks = count(openDue(userId).is(w.tomorrow()));
+        f.upcoming7DaysOpenTasks = count(openDue(userId).gte(today).lte(today.plusDays(7)));
+
+        f.overdue.addAll(overdueCandidates(userId, today).stream().map(AnalyticsOverviewAssembler::toQuickView).toList());
+        f.dueToday.addAll(quickViews(Query.query(openDue(userId).is(today))).stream().map(AnalyticsOverviewAssembler::toQuickView).toList());
+
+        return AnalyticsOverviewAssembler.assemble(w, f);
+    }
+
+    /**
+     * Everything that can rank in the overdue top 5: the ordering is by due date first, so only tasks due on or
+     * before the 5th-earliest overdue date are fetched.
+     */
+    private List<Task> overdueCandidates(String userId, LocalDate today) {
+        Query earliest = Query.query(openDue(userId).lt(today))
+                .with(Sort.by("dueDate"))
+                .limit(AnalyticsOverviewAssembler.TOP_QUICK_VIEWS);
+        earliest.fields().include("dueDate");
+        List<Task> head = mongoTemplate.find(earliest, Task.class);
+        if (head.size() < AnalyticsOverviewAssembler.TOP_QUICK_VIEWS) {
+            return quickViews(Query.query(openDue(userId).lt(today)));
+        }
+        LocalDate cutoff = head.getLast().getDueDate();
+        return quickViews(Query.query(openDue(userId).lte(cutoff)));
+    }
+
+    private List<Task> quickViews(Query query) {
+        query.fields().include("title", "status", "priority", "dueDate", "labels", "focus");
+        return mongoTemplate.find(query, Task.class);
+    }
+
+    /** Open tasks of the user, with the dueDate criterion left for the caller to complete. */
+    private static Criteria openDue(String userId) {
+        return Criteria.where("ownerUserId").is(userId)
+                .and("status").ne(TaskStatus.DONE)
+                .and("dueDate");
+    }
+
+    private long count(Criteria criteria) {
+        return mongoTemplate.count(Query.query(criteria), Task.class);
+    }
+}
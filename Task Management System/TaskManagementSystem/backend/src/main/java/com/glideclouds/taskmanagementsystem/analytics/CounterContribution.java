@@ -0,0 +1,104 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import com.glideclouds.taskmanagementsystem.tasks.TaskSnapshot;
+import com.glideclouds.taskmanagementsystem.tasks.TaskStatus;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * What a set of tasks contributes to the analytics counters. Adding a task with sign -1 and its new state with +1
+ * yields the delta of a change; adding every task with +1 yields a full rebuild.
+ */
+final class CounterContribution {
+
+    long totalTasks;
+    long openTasks;
+    long focusOpenTasks;
+    final Map<String, Long> statusCounts = new HashMap<>();
+    final Map<String, Long> openLabels = new HashMap<>();
+    final Map<String, Map<String, Long>> openCreatedEpochDays = new HashMap<>();
+    final Map<LocalDate, DayCounts> daily = new HashMap<>();
+
+    private final ZoneId zone;
+
+    CounterContribution(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    void add(TaskSnapshot t, long sign) {
+        if (t == null) return;
+
+        String statusKey = t.status() == null ? "UNKNOWN" : t.status().name();
+        totalTasks += sign;
+        statusCounts.merge(statusKey, sign, Long::sum);
+
+        if (t.status() != TaskStatus.DONE) {
+            openTasks += sign;
+            if (t.focus()) focusOpenTasks += sign;
+
+            for (String raw : t.labels()) {
+                String normalized = AnalyticsOverviewAssembler.normalizeLabel(raw);
+                if (normalized != null) {
+                    openLabels.merge(AnalyticsUserCounters.encodeKey(normalized), sign, Long::sum);
+                }
+            }
+
+            if (t.createdAt() != null) {
+                String createdDay = String.valueOf(LocalDate.ofInstant(t.createdAt(), zone).toEpochDay());
+                openCreatedEpochDays.computeIfAbsent(statusKey, k -> new HashMap<>()).merge(createdDay, sign, Long::sum);
+            }
+        }
+
+        if (t.completedAt() != null) {
+            DayCounts day = daily.computeIfAbsent(LocalDate.ofInstant(t.completedAt(), zone), k -> new DayCounts());
+            day.completed += sign;
+            if (t.createdAt() != null && !t.completedAt().isBefore(t.createdAt())) {
+                long minutes = Duration.between(t.createdAt(), t.completedAt()).toMinutes();
+                day.cycleMinutesSum += sign * minutes;
+                day.cycleCount += sign;
+                day.leadTimeBuckets.merge(QuantileSketch.indexOf(minutes), sign, Long::sum);
+            }
+            if (t.startedAt() != null && !t.completedAt().isBefore(t.startedAt())) {
+                long minutes = Duration.between(t.startedAt(), t.completedAt()).toMinutes();
+                day.cycleTimeBuckets.merge(QuantileSketch.indexOf(minutes), sign, Long::sum);
+            }
+        }
+    }
+
+    /** Drops entries that cancelled out, so a delta only touches fields that actually changed. */
+    CounterContribution compact() {
+        statusCounts.values().removeIf(v -> v == 0);
+        openLabels.values().removeIf(v -> v == 0);
+        openCreatedEpochDays.values().forEach(m -> m.values().removeIf(v -> v == 0));
+        openCreatedEpochDays.values().removeIf(Map::isEmpty);
+        daily.values().forEach(d -> {
+            d.leadTimeBuckets.values().removeIf(v -> v == 0);
+            d.cycleTimeBuckets.values().removeIf(v -> v == 0);
+        });
+        daily.values().removeIf(DayCounts::isEmpty);
+        return this;
+    }
+
+    boolean hasUserCounterChanges() {
+        return totalTasks != 0 || openTasks != 0 || focusOpenTasks != 0
+                || !statusCounts.isEmpty() || !openLabels.isEmpty() || !openCreatedEpochDays.isEmpty();
+    }
+
+    /** Completions of one day, with lead time (createdAt ->) and cycle time (startedAt ->) sketch buckets. */
+    static final class DayCounts {
+        long completed;
+        long cycleMinutesSum;
+        long cycleCount;
+        final Map<Integer, Long> leadTimeBuckets = new HashMap<>();
+        final Map<Integer, Long> cycleTimeBuckets = new HashMap<>();
+
+        boolean isEmpty() {
+            return completed == 0 && cycleMinutesSum == 0 && cycleCount == 0
+                    && leadTimeBuckets.isEmpty() && cycleTimeBuckets.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import com.glideclouds.taskmanagementsystem.analytics.dto.AnalyticsOverviewResponse;
+import com.glideclouds.taskmanagementsystem.tasks.Task;
+import com.glideclouds.taskmanagementsystem.tasks.TaskStatus;
+import com.glideclouds.taskmanagementsystem.tasks.TimeLogRollupService;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Aggregation engine: one {@code $match}/{@code $facet} pipeline over the user's tasks computes every count, the
+ * label histogram, the top-5 candidates, completions per day, cycle-time sums, lead/cycle time sketch buckets and
+ * open-task ages inside MongoDB. Only those summaries cross the wire; logged minutes come from the
+ * per-day rollups.
+ */
+@Component
+public class FacetAnalyticsEngine implements AnalyticsEngine {
+
+    private static final String DONE = TaskStatus.DONE.name();
+
+    private final MongoTemplate mongoTemplate;
+    private final TimeLogRollupService timeLogRollupService;
+
+    public FacetAnalyticsEngine(MongoTemplate mongoTemplate, TimeLogRollupService timeLogRollupService) {
+        this.mongoTemplate = mongoTemplate;
+        this.timeLogRollupService = timeLogRollupService;
+    }
+
+    @Override
+    public String name() {
+        return "facet";
+    }
+
+    @Override
+    public AnalyticsOverviewResponse overview(String userId, AnalyticsWindow w) {
+        LocalDate today = w.today();
+        Object todayValue = mongoValue(today);
+        Object tomorrowValue = mongoValue(w.tomorrow());
+        Object upcomingEndValue = mongoValue(today.plusDays(7));
+        Date endOfToday = startOf(w.tomorrow(), w.zone());
+        String tz = timezone(w.zone());
+
+        Document open = new Document("status", new Document("$ne", DONE));
+
+        Document facets = new Document()
+                .append("status", List.of(
+                        group(new Document("$ifNull", List.of("$status", "UNKNOWN")), new Document("n", sum(1)))))
+                .append("open", List.of(
+                        match(open),
+                        group(null, new Document("n", sum(1))
+                                .append("focus", sum(new Document("$cond", List.of(
+                                        new Document("$eq", List.of("$focus", true)), 1, 0)))))))
+                .append("upcoming", List.of(
+                        match(and(open, new Document("dueDate", new Document("$gte", todayValue).append("$lte", upcomingEndValue)))),
+                        group(null, new Document("n", sum(1))
+                                .append("today", sum(countIf("$dueDate", todayValue)))
+                                .append("tomorrow", sum(countIf("$dueDate", tomorrowValue))))))
+                .append("overdueCount", List.of(
+                        match(and(open, new Document("dueDate", new Document("$lt", todayValue)))),
+                        new Document("$count", "n")))
+                .append("overdueTop", quickViewPipeline(
+                        and(open, new Document("dueDate", new Document("$lt", todayValue))),
+                        new Document("dueDate", 1).append("rank", 1).append("titleMissing", 1).append("title", 1)))
+                .append("dueTodayTop", quickViewPipeline(
+                        and(open, new Document("dueDate", todayValue)),
+                        new Document("rank", 1).append("titleMissing", 1).append("title", 1)))
+                .append("labels", List.of(
+                        match(open),
+                        new Document("$unwind", "$labels"),
+                        new Document("$project", new Document("label", new Document("$toLower",
+                                new Document("$trim", new Document("input", new Document("$toString", "$labels")))))),
+                        match(new Document("label", new Document("$nin", Arrays.asList("", null)))),
+                        group("$label", new Document("n", sum(1)))))
+                .append("openAges", List.of(
+                        match(and(open, new Document("createdAt", new Document("$ne", null)))),
+                        group(new Document("status", new Document("$ifNull", List.of("$status", "UNKNOWN")))
+                                        .append("ageDays", daysSinceCreated(w.now())),
+                                new Document("n", sum(1)))))
+                .append("completed", List.of(
+                        match(new Document("completedAt", new Document("$gte", startOf(w.streakStart(), w.zone())).append("$lt", endOfToday))),
+                        group(day("$completedAt", tz), new Document("n", sum(1)))))
+                .append("cycle", List.of(
+                        match(completedLast30(w, endOfToday, "createdAt")),
+                        group(null, new Document("n", sum(1)).append("minutes", sum(minutesToCompletion("$createdAt"))))))
+                .append("leadTime", List.of(
+                        match(completedLast30(w, endOfToday, "createdAt")),
+                        sketchBuckets(minutesToCompletion("$createdAt"))))
+                .append("cycleTime", List.of(
+                        match(completedLast30(w, endOfToday, "startedAt")),
+                        sketchBuckets(minutesToCompletion("$startedAt"))));
+
+        List<AggregationOperation> pipeline = List.of(
+                Aggregation.match(Criteria.where("ownerUserId").is(userId)),
+                context -> new Document("$facet", facets));
+        Document result = mongoTemplate.aggregate(Aggregation.newAggregation(pipeline), Task.class, Document.class)
+                .getUniqueMappedResult();
+
+        AnalyticsFacts f = new AnalyticsFacts();
+        if (result != null) {
+            read(result, f, w);
+        }
+        f.loggedByDay.putAll(timeLogRollupService.minutesByDay(userId, w.loggedFrom(), today));
+        return AnalyticsOverviewAssembler.assemble(w, f);
+    }
+
+    private void read(Document result, AnalyticsFacts f, AnalyticsWindow w) {
+        for (Document d : facet(result, "status")) {
+            long n = number(d, "n");
+            f.statusCounts.merge(String.valueOf(d.get("_id")), n, Long::sum);
+            f.totalTasks += n;
+        }
+        for (Document d : facet(result, "open")) {
+            f.openTasks = number(d, "n");
+            f.focusOpenTasks = number(d, "focus");
+        }
+        for (Document d : facet(result, "upcoming")) {
+            f.upcoming7DaysOpenTasks = number(d, "n");
+            f.dueTodayOpenTasks = number(d, "today");
+            f.dueTomorrowOpenTasks = number(d, "tomorrow");
+        }
+        for (Document d : facet(result, "overdueCount")) {
+            f.overdueOpenTasks = number(d, "n");
+        }
+        for (Document d : facet(result, "overdueTop")) {
+            f.overdue.add(AnalyticsOverviewAssembler.toQuickView(mongoTemplate.getConverter().read(Task.class, d)));
+        }
+        for (Document d : facet(result, "dueTodayTop")) {
+            f.dueToday.add(AnalyticsOverviewAssembler.toQuickView(mongoTemplate.getConverter().read(Task.class, d)));
+        }
+        for (Document d : facet(result, "labels")) {
+            f.openLabelCounts.merge(d.getString("_id"), number(d, "n"), Long::sum);
+        }
+        for (Document d : facet(result, "openAges")) {
+            Document key = d.get("_id", Document.class);
+            f.addOpenAge(String.valueOf(key.get("status")), number(key, "ageDays"), number(d, "n"));
+        }
+        for (Document d : facet(result, "completed")) {
+            f.completedByDay.merge(LocalDate.parse(d.getString("_id")), number(d, "n"), Long::sum);
+        }
+        for (Document d : facet(result, "cycle")) {
+            f.cycleCountLast30 = number(d, "n");
+            f.cycleMinutesSumLast30 = number(d, "minutes");
+        }
+        readSketch(facet(result, "leadTime"), f.leadTimeLast30);
+        readSketch(facet(result, "cycleTime"), f.cycleTimeLast30);
+    }
+
+    /** Bucket ids are lower bounds of {@link QuantileSketch} buckets; anything past the last one is clamped into it. */
+    private static void readSketch(List<Document> buckets, QuantileSketch sketch) {
+        for (Document d : buckets) {
+            long lowerBound = d.get("_id") instanceof Number n ? n.longValue() : QuantileSketch.MAX_VALUE;
+            sketch.addToBucket(QuantileSketch.indexOf(lowerBound), number(d, "n"));
+        }
+    }
+
+    /** Completions in the last 30 days that started at or after {@code startField}. */
+    private static Document completedLast30(AnalyticsWindow w, Date endOfToday, String startField) {
+        return new Document("completedAt", new Document("$gte", startOf(w.last30Start(), w.zone())).append("$lt", endOfToday))
+                .append(startField, new Document("$ne", null))
+                .append("$expr", new Document("$gte", List.of("$completedAt", "$" + startField)));
+    }
+
+    /** Whole minutes from a date field to completedAt (same truncation as {@code Duration.toMinutes()}). */
+    private static Document minutesToCompletion(String startField) {
+        return new Document("$trunc", new Document("$divide", List.of(
+                new Document("$subtract", List.of("$completedAt", startField)), 60_000)));
+    }
+
+    /** Whole 24h periods from createdAt to {@code now} (same truncation as {@code Duration.toDays()} for past dates). */
+    private static Document daysSinceCreated(Instant now) {
+        return new Document("$floor", new Document("$divide", List.of(
+                new Document("$subtract", List.of(Date.from(now), "$createdAt")), 86_400_000)));
+    }
+
+    /** Counts values per {@link QuantileSketch} bucket using the sketch's own boundaries. */
+    private static Document sketchBuckets(Document value) {
+        return new Document("$bucket", new Document("groupBy", value)
+                .append("boundaries", QuantileSketch.boundaries())
+                .append("default", "overflow")
+                .append("output", new Document("n", sum(1))));
+    }
+
+    /**
+     * Open tasks matching {@code criteria}, sorted the way the assembler orders them and cut to the top 5.
+     * {@code rank} mirrors {@link AnalyticsOverviewAssembler#priorityRank} and {@code titleMissing} keeps
+     * null titles last.
+     */
+    private static List<Document> quickViewPipeline(Document criteria, Document sort) {
+        Document rank = new Document("$switch", new Document()
+                .append("branches", List.of(
+                        branch("HIGH", 0),
+                        branch("MEDIUM", 1),
+                        branch("LOW", 2)))
+                .append("default", new Document("$cond", List.of(
+                        new Document("$eq", List.of(new Document("$ifNull", Arrays.asList("$priority", null)), null)), 99, 50))));
+        return List.of(
+                match(criteria),
+                new Document("$addFields", new Document("rank", rank)
+                        .append("titleMissing", new Document("$cond", List.of(
+                                new Document("$eq", List.of(new Document("$ifNull", Arrays.asList("$title", null)), null)), 1, 0)))),
+                new Document("$sort", sort),
+                new Document("$limit", AnalyticsOverviewAssembler.TOP_QUICK_VIEWS),
+                new Document("$project", new Document("title", 1).append("status", 1).append("priority", 1)
+                        .append("dueDate", 1).append("labels", 1).append("focus", 1)));
+    }
+
+    private static Document branch(String priority, int rank) {
+        return new Document("case", new Document("$eq", List.of("$priority", priority))).append("then", rank);
+    }
+
+    private static Document match(Document criteria) {
+        return new Document("$match", criteria);
+    }
+
+    private static Document and(Document a, Document b) {
+        return new Document("$and", List.of(a, b));
+    }
+
+    private static Document group(Object id, Document accumulators) {
+        Document group = new Document("_id", id);
+        group.putAll(accumulators);
+        return new Document("$group", group);
+    }
+
+    private static Document sum(Object expression) {
+        return new Document("$sum", expression);
+    }
+
+    private static Document countIf(String field, Object value) {
+        return new Document("$cond", List.of(new Document("$eq", List.of(field, value)), 1, 0));
+    }
+
+    /** ISO day of a date field in the overview zone. */
+    private static Document day(String field, String tz) {
+        return new Document("$dateToString", new Document("format", "%Y-%m-%d").append("date", field).append("timezone", tz));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Document> facet(Document result, String name) {
+        Object value = result.get(name);
+        return value instanceof List<?> list ? (List<Document>) list : List.of();
+    }
+
+    private static long number(Document d, String key) {
+        Object value = d.get(key);
+        return value instanceof Number n ? n.longValue() : 0L;
+    }
+
+    /** Stored representation of a value, so raw stages compare against what the mapping layer wrote. */
+    private Object mongoValue(Object value) {
+        return mongoTemplate.getConverter().convertToMongoType(value);
+    }
+
+    private static Date startOf(LocalDate day, ZoneId zone) {
+        return Date.from(day.atStartOfDay(zone).toInstant());
+    }
+
+    /** MongoDB accepts Olson ids and "+hh:mm" offsets, but not Java's "Z". */
+    static String timezone(ZoneId zone) {
+        ZoneId normalized = zone.normalized();
+        if (normalized instanceof ZoneOffset offset) {
+            return offset.getTotalSeconds() == 0 ? "+00:00" : offset.getId();
+        }
+        return zone.getId();
+    }
+}
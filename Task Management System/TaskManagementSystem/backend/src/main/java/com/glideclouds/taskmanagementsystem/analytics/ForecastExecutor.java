@@ -0,0 +1,63 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import com.glideclouds.taskmanagementsystem.common.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Small dedicated pool for Monte Carlo trial chunks, so forecasts never run on the JVM-wide common pool and cannot
+ * take every core from request handling and other parallel work. The queue is bounded: when it is full the forecast
+ * is refused with a 429.
+ */
+@Component
+public class ForecastExecutor implements Executor, DisposableBean {
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final ThreadPoolExecutor executor;
+    private final Counter rejected;
+
+    public ForecastExecutor(MeterRegistry meterRegistry,
+                            @Value("${analytics.forecast.threads:0}") int threads,
+                            @Value("${analytics.forecast.queue-capacity:16}") int queueCapacity) {
+        // CPU-bound; by default leave half the cores to request handling.
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                Thread.ofPlatform().name("forecast-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.rejected = Counter.builder("analytics.forecast.rejected")
+                .description("Forecast chunks refused because the forecast pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("analytics.forecast.queue", executor, e -> e.getQueue().size())
+                .description("Forecast chunks waiting for a worker")
+                .register(meterRegistry);
+    }
+
+    /** Runs a chunk on the pool; throws a 429 when the queue is full. */
+    @Override
+    public void execute(Runnable chunk) {
+        try {
+            executor.execute(chunk);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException("Too many forecasts running, please retry shortly", RETRY_AFTER);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
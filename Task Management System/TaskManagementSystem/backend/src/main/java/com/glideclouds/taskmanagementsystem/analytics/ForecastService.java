@@ -0,0 +1,126 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import com.glideclouds.taskmanagementsystem.analytics.dto.ForecastPercentile;
+import com.glideclouds.taskmanagementsystem.analytics.dto.ForecastResponse;
+import com.glideclouds.taskmanagementsystem.tasks.Task;
+import com.glideclouds.taskmanagementsystem.tasks.TaskStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * "When will these tasks be done": a Monte Carlo forecast over the user's daily completions.
+ * <p>
+ * Throughput is sampled from every day of the last {@code historyDays} (zero days included). The work item count is
+ * either given, the open tasks carrying a label, or all open tasks; a label forecast still uses the overall
+ * throughput, since label work competes for the same capacity.
+ */
+@Service
+public class ForecastService {
+
+    static final int[] PERCENTILES = {50, 70, 85, 95};
+    static final int HORIZON_DAYS = 3_650;
+
+    private final MongoTemplate mongoTemplate;
+    private final ForecastExecutor executor;
+    private final int defaultTrials;
+    private final int maxTrials;
+    private final int historyDays;
+
+    public ForecastService(MongoTemplate mongoTemplate,
+                           ForecastExecutor executor,
+                           @Value("${analytics.forecast.default-trials:10000}") int defaultTrials,
+                           @Value("${analytics.forecast.max-trials:100000}") int maxTrials,
+                           @Value("${analytics.forecast.history-days:90}") int historyDays) {
+        this.mongoTemplate = mongoTemplate;
+        this.executor = executor;
+        this.maxTrials = Math.max(1, maxTrials);
+        this.defaultTrials = Math.max(1, Math.min(this.maxTrials, defaultTrials));
+        this.historyDays = Math.max(7, historyDays);
+    }
+
+    public ForecastResponse forecastForUser(String userId, Integer items, String label, Integer trials, Long seed) {
+        ZoneId zone = ZoneId.systemDefault();
+        return forecast(userId, items, label, trials, seed, zone, LocalDate.now(zone));
+    }
+
+    ForecastResponse forecast(String userId, Integer itemsParam, String labelParam, Integer trialsParam, Long seedParam,
+                              ZoneId zone, LocalDate today) {
+        if (itemsParam != null && itemsParam < 0) {
+            throw new ResponseStatusException(BAD_REQUEST, "items must not be negative");
+        }
+        String label = labelParam == null || labelParam.isBlank() ? null : labelParam.trim();
+        if (trialsParam != null && (trialsParam < 1 || trialsParam > maxTrials)) {
+            throw new ResponseStatusException(BAD_REQUEST, "trials must be between 1 and " + maxTrials);
+        }
+        int trials = trialsParam == null ? defaultTrials : trialsParam;
+        long seed = seedParam != null ? seedParam : ThreadLocalRandom.current().nextLong();
+
+        long[] throughput = dailyCompletions(userId, zone, today);
+        long items = itemsParam != null ? itemsParam : openItems(userId, label);
+
+        int[] days = new MonteCarloForecaster(throughput).simulate(items, trials, seed, HORIZON_DAYS, executor);
+
+        List<ForecastPercentile> percentiles = new ArrayList<>();
+        for (int p : PERCENTILES) {
+            int d = MonteCarloForecaster.percentile(days, p);
+            percentiles.add(d > HORIZON_DAYS
+                    ? new ForecastPercentile(p, null, null)
+                    : new ForecastPercentile(p, d, today.plusDays(d)));
+        }
+
+        long completed = 0;
+        for (long v : throughput) completed += v;
+        return new ForecastResponse(
+                Instant.now(),
+                today,
+                label,
+                items,
+                historyDays,
+                (double) completed / historyDays,
+                trials,
+                seed,
+                percentiles
+        );
+    }
+
+    /** Completions per day for the {@code historyDays} days before today (today is still in progress). */
+    private long[] dailyCompletions(String userId, ZoneId zone, LocalDate today) {
+        LocalDate first = today.minusDays(historyDays);
+        Instant from = first.atStartOfDay(zone).toInstant();
+        Instant until = today.atStartOfDay(zone).toInstant();
+
+        Query query = Query.query(Criteria.where("ownerUserId").is(userId).and("completedAt").gte(from).lt(until));
+        query.fields().include("completedAt");
+        long[] perDay = new long[historyDays];
+        for (Task t : mongoTemplate.find(query, Task.class)) {
+            int day = (int) (LocalDate.ofInstant(t.getCompletedAt(), zone).toEpochDay() - first.toEpochDay());
+            if (day >= 0 && day < historyDays) {
+                perDay[day]++;
+            }
+        }
+        return perDay;
+    }
+
+    private long openItems(String userId, String label) {
+        Criteria open = Criteria.where("ownerUserId").is(userId).and("status").ne(TaskStatus.DONE);
+        if (label != null) {
+            // Labels match case-insensitively, as on the board.
+            open = open.and("labels").regex("^" + Pattern.quote(label) + "$", "i");
+        }
+        return mongoTemplate.count(Query.query(open), Task.class);
+    }
+}
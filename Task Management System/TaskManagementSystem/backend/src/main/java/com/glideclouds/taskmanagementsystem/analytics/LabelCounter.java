@@ -0,0 +1,95 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * String -> long counter with open addressing (linear probing) over parallel arrays. Counting an existing key
+ * neither boxes nor allocates; the table only grows when a new key pushes it past 3/4 full.
+ */
+final class LabelCounter {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private String[] keys = new String[INITIAL_CAPACITY];
+    private long[] counts = new long[INITIAL_CAPACITY];
+    private int size;
+
+    void increment(String key) {
+        add(key, 1);
+    }
+
+    void add(String key, long delta) {
+        int mask = keys.length - 1;
+        int slot = spread(key.hashCode()) & mask;
+        while (true) {
+            String existing = keys[slot];
+            if (existing == null) {
+                keys[slot] = key;
+                counts[slot] = delta;
+                if (++size * 4 > keys.length * 3) {
+                    grow();
+                }
+                return;
+            }
+            if (existing.equals(key)) {
+                counts[slot] += delta;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    long get(String key) {
+        int mask = keys.length - 1;
+        int slot = spread(key.hashCode()) & mask;
+        for (String existing; (existing = keys[slot]) != null; slot = (slot + 1) & mask) {
+            if (existing.equals(key)) {
+                return counts[slot];
+            }
+        }
+        return 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Empties the counter but keeps the table, so a reused counter does not reallocate. */
+    void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(counts, 0);
+        size = 0;
+    }
+
+    void copyTo(Map<String, Long> target) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                target.merge(keys[i], counts[i], Long::sum);
+            }
+        }
+    }
+
+    private void grow() {
+        String[] oldKeys = keys;
+        long[] oldCounts = counts;
+        keys = new String[oldKeys.length * 2];
+        counts = new long[oldKeys.length * 2];
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == null) continue;
+            int slot = spread(oldKeys[i].hashCode()) & mask;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            counts[slot] = oldCounts[i];
+        }
+    }
+
+    /** String hashes of short similar labels differ mostly in low bits; mix the high ones in before masking. */
+    private static int spread(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
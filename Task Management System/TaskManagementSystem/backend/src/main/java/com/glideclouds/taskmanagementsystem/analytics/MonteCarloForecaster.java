@@ -0,0 +1,122 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Monte Carlo simulation of "days until N items are done" from a sample of daily throughput.
+ * <p>
+ * Each trial replays randomly drawn historical days until the items are used up. Zero days are not drawn one by
+ * one: the gap to the next productive day is sampled from the geometric distribution with the historical share of
+ * productive days, so a trial costs one step per productive day, and a trial stops as soon as even the best
+ * historical day repeated until the horizon could not finish the remaining items. Trials run in fixed-size chunks
+ * on the given executor; every chunk gets its own generator split from the seeded root in chunk order, so results
+ * depend only on the seed, not on thread scheduling or core count.
+ */
+final class MonteCarloForecaster {
+
+    static final int CHUNK_SIZE = 4_096;
+
+    private final long[] productiveDays;
+    private final double productiveShare;
+    private final long bestDay;
+
+    /** @param dailyThroughput items completed on each day of the history (zeros included) */
+    MonteCarloForecaster(long[] dailyThroughput) {
+        this.productiveDays = Arrays.stream(dailyThroughput).filter(v -> v > 0).toArray();
+        this.productiveShare = dailyThroughput.length == 0 ? 0 : (double) productiveDays.length / dailyThroughput.length;
+        this.bestDay = Arrays.stream(productiveDays).max().orElse(0);
+    }
+
+    boolean canForecast() {
+        return productiveDays.length > 0;
+    }
+
+    /** {@link #simulate(long, int, long, int, Executor)} on the calling thread. */
+    int[] simulate(long items, int trials, long seed, int horizonDays) {
+        return simulate(items, trials, seed, horizonDays, Runnable::run);
+    }
+
+    /**
+     * Days needed per trial, sorted ascending; {@code horizonDays + 1} marks trials that did not finish within the
+     * horizon. Chunks are handed to {@code executor}; if it refuses one, the chunks not yet started are cancelled and
+     * the refusal is rethrown.
+     */
+    int[] simulate(long items, int trials, long seed, int horizonDays, Executor executor) {
+        int[] days = new int[trials];
+        if (items <= 0 || trials == 0) {
+            return days;
+        }
+        if (!canForecast() || cannotFinish(items, 1, horizonDays)) {
+            Arrays.fill(days, horizonDays + 1);
+            return days;
+        }
+
+        int chunks = (trials + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) {
+            randoms[c] = root.split();
+        }
+        // Geometric gap sampling: log(1 - p) is constant for the run.
+        double logMiss = productiveShare < 1 ? Math.log1p(-productiveShare) : 0;
+
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[chunks];
+        try {
+            for (int c = 0; c < chunks; c++) {
+                int chunk = c;
+                futures[c] = CompletableFuture.runAsync(() -> {
+                    SplittableRandom random = randoms[chunk];
+                    int end = Math.min(trials, (chunk + 1) * CHUNK_SIZE);
+                    for (int t = chunk * CHUNK_SIZE; t < end; t++) {
+                        days[t] = trial(random, items, horizonDays, logMiss);
+                    }
+                }, executor);
+            }
+        } catch (RuntimeException e) {
+            for (CompletableFuture<?> future : futures) {
+                if (future != null) future.cancel(false);
+            }
+            throw e;
+        }
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        Arrays.sort(days);
+        return days;
+    }
+
+    private int trial(SplittableRandom random, long items, int horizonDays, double logMiss) {
+        long remaining = items;
+        long day = 0;
+        while (remaining > 0) {
+            day += logMiss == 0 ? 1 : 1 + (long) (Math.log(1 - random.nextDouble()) / logMiss);
+            if (day > horizonDays || cannotFinish(remaining, day, horizonDays)) {
+                return horizonDays + 1;
+            }
+            remaining -= productiveDays[random.nextInt(productiveDays.length)];
+        }
+        return (int) day;
+    }
+
+    /** Whether {@code remaining} items exceed the best day repeated on every day from {@code day} to the horizon. */
+    private boolean cannotFinish(long remaining, long day, int horizonDays) {
+        long daysLeft = horizonDays - day + 1;
+        return daysLeft <= 0 || remaining > daysLeft * bestDay;
+    }
+
+    /** Nearest-rank percentile of sorted trial results. */
+    static int percentile(int[] sorted, int percentile) {
+        if (sorted.length == 0) return 0;
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length, rank) - 1)];
+    }
+}
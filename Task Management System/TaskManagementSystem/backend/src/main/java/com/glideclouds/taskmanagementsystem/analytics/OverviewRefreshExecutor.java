@@ -0,0 +1,29 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs background overview refreshes for {@link AnalyticsOverviewCache}, one virtual thread each: a refresh mostly
+ * waits on MongoDB, and at most one runs per cached key.
+ */
+@Component
+public class OverviewRefreshExecutor implements Executor, DisposableBean {
+
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("analytics-refresh-", 0).factory());
+
+    @Override
+    public void execute(Runnable refresh) {
+        executor.execute(refresh);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
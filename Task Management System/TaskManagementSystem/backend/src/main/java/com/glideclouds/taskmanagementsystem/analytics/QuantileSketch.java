@@ -0,0 +1,137 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import com.glideclouds.taskmanagementsystem.analytics.dto.Percentiles;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mergeable log-linear histogram of non-negative longs (HDR-style).
+ * <p>
+ * Values below 16 are counted exactly; above that every power of two is split into 16 equal buckets, so a
+ * reported quantile is within 1/16 (6.25%) of the true value. Values are clamped to [0, 2^40), which bounds the
+ * sketch at {@link #BUCKETS} counters whatever the number of values. Two sketches merge by adding bucket counts,
+ * so per-day or per-user sketches combine into exactly the sketch of the union.
+ */
+public final class QuantileSketch {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final long MAX_VALUE = (1L << 40) - 1;
+    public static final int BUCKETS = indexOf(MAX_VALUE) + 1;
+
+    /** Grown up to the highest bucket in use; most sketches (ages in days, durations in minutes) stay small. */
+    private long[] counts = new long[0];
+    private long total;
+
+    public static int indexOf(long value) {
+        long v = Math.max(0, Math.min(MAX_VALUE, value));
+        if (v < SUB_BUCKETS) {
+            return (int) v;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(v);
+        int sub = (int) ((v >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + sub;
+    }
+
+    /** Smallest value that falls into the bucket. */
+    public static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = (index - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+        int sub = (index - SUB_BUCKETS) % SUB_BUCKETS;
+        return (1L << exponent) + ((long) sub << (exponent - SUB_BUCKET_BITS));
+    }
+
+    /** Lower bounds of every bucket followed by the exclusive upper bound of the last one (for {@code $bucket}). */
+    public static List<Long> boundaries() {
+        List<Long> bounds = new ArrayList<>(BUCKETS + 1);
+        for (int i = 0; i < BUCKETS; i++) {
+            bounds.add(lowerBound(i));
+        }
+        bounds.add(MAX_VALUE + 1);
+        return bounds;
+    }
+
+    public void add(long value) {
+        addToBucket(indexOf(value), 1);
+    }
+
+    public void add(long value, long count) {
+        addToBucket(indexOf(value), count);
+    }
+
+    public void addToBucket(int index, long count) {
+        if (count <= 0 || index < 0 || index >= BUCKETS) {
+            return;
+        }
+        if (index >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.min(BUCKETS, Math.max(index + 1, counts.length * 2)));
+        }
+        counts[index] += count;
+        total += count;
+    }
+
+    public QuantileSketch merge(QuantileSketch other) {
+        for (int i = other.counts.length - 1; i >= 0; i--) {
+            addToBucket(i, other.counts[i]);
+        }
+        return this;
+    }
+
+    /** Resets every bucket to zero, keeping the allocated counters for reuse. */
+    public void clear() {
+        Arrays.fill(counts, 0);
+        total = 0;
+    }
+
+    public long count() {
+        return total;
+    }
+
+    /**
+     * Value at quantile {@code q} (nearest rank): the midpoint of the bucket holding it, exact below 16.
+     * Null when the sketch is empty.
+     */
+    public Double quantile(double q) {
+        if (total == 0) {
+            return null;
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return midpoint(i);
+            }
+        }
+        return midpoint(counts.length - 1);
+    }
+
+    /** p50/p90/p99 with every value divided by {@code unit} (e.g. 60 to report minutes as hours). */
+    public Percentiles percentiles(double unit) {
+        if (total == 0) {
+            return new Percentiles(0, null, null, null);
+        }
+        return new Percentiles(total, quantile(0.50) / unit, quantile(0.90) / unit, quantile(0.99) / unit);
+    }
+
+    /** Non-empty buckets by index, for persisting a sketch sparsely. */
+    public Map<Integer, Long> buckets() {
+        Map<Integer, Long> out = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) out.put(i, counts[i]);
+        }
+        return out;
+    }
+
+    private static double midpoint(int index) {
+        long low = lowerBound(index);
+        long high = index + 1 < BUCKETS ? lowerBound(index + 1) - 1 : MAX_VALUE;
+        return (low + high) / 2.0;
+    }
+}
@@ -0,0 +1,39 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import com.glideclouds.taskmanagementsystem.analytics.dto.AnalyticsOverviewResponse;
+import com.glideclouds.taskmanagementsystem.tasks.Task;
+import com.glideclouds.taskmanagementsystem.tasks.TaskRepository;
+import com.glideclouds.taskmanagementsystem.tasks.TimeLogRollupService;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reference engine: loads every task of the user and folds it through an {@link AnalyticsKernel} in one pass.
+ * O(tasks) per request; kept as the source of truth the faster engines are tested against.
+ */
+@Component
+public class TaskScanAnalyticsEngine implements AnalyticsEngine {
+
+    private final TaskRepository taskRepository;
+    private final TimeLogRollupService timeLogRollupService;
+
+    public TaskScanAnalyticsEngine(TaskRepository taskRepository, TimeLogRollupService timeLogRollupService) {
+        this.taskRepository = taskRepository;
+        this.timeLogRollupService = timeLogRollupService;
+    }
+
+    @Override
+    public String name() {
+        return "scan";
+    }
+
+    @Override
+    public AnalyticsOverviewResponse overview(String userId, AnalyticsWindow w) {
+        AnalyticsKernel kernel = new AnalyticsKernel(w);
+        for (Task t : taskRepository.findByOwnerUserId(userId)) {
+            kernel.accept(t);
+        }
+        AnalyticsFacts f = kernel.toFacts();
+        f.loggedByDay.putAll(timeLogRollupService.minutesByDay(userId, w.loggedFrom(), w.today()));
+        return AnalyticsOverviewAssembler.assemble(w, f);
+    }
+}
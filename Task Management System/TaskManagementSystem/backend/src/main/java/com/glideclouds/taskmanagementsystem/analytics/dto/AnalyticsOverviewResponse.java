@@ -24,6 +24,8 @@ public record AnalyticsOverviewResponse(
         long completedLast30Days,
         long completionStreakDays,
         Double avgCycleTimeHoursLast30Days,
+        Percentiles leadTimeHoursLast30Days,
+        Percentiles cycleTimeHoursLast30Days,
 
         long loggedMinutesToday,
         long loggedMinutesThisWeek,
@@ -0,0 +1,11 @@
+package com.glideclouds.taskmanagementsystem.analytics.dto;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/** Tasks per status at the end of {@code date} (for today: now). */
+public record CfdPoint(
+        LocalDate date,
+        Map<String, Long> counts
+) {
+}
@@ -0,0 +1,14 @@
+package com.glideclouds.taskmanagementsystem.analytics.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+public record CfdResponse(
+        Instant generatedAt,
+        LocalDate today,
+        int days,
+        List<String> statuses,
+        List<CfdPoint> points
+) {
+}
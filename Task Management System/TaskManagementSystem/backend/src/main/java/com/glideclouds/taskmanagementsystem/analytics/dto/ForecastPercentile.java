@@ -0,0 +1,14 @@
+package com.glideclouds.taskmanagementsystem.analytics.dto;
+
+import java.time.LocalDate;
+
+/**
+ * {@code percentile}% of the simulated trials finished within {@code days} (on or before {@code date}); both are
+ * null when that share of trials did not finish within the forecast horizon.
+ */
+public record ForecastPercentile(
+        int percentile,
+        Integer days,
+        LocalDate date
+) {
+}
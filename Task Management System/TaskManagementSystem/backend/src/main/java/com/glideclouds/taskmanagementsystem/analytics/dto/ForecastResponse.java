@@ -0,0 +1,18 @@
+package com.glideclouds.taskmanagementsystem.analytics.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+public record ForecastResponse(
+        Instant generatedAt,
+        LocalDate today,
+        String label,
+        long openItems,
+        int historyDays,
+        double avgThroughputPerDay,
+        int trials,
+        long seed,
+        List<ForecastPercentile> percentiles
+) {
+}
@@ -0,0 +1,12 @@
+package com.glideclouds.taskmanagementsystem.analytics.dto;
+
+/**
+ * Distribution summary; percentiles are null when {@code count} is 0.
+ */
+public record Percentiles(
+        long count,
+        Double p50,
+        Double p90,
+        Double p99
+) {
+}
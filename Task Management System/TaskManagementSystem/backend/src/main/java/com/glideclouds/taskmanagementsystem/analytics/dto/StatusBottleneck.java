@@ -4,6 +4,7 @@ public record StatusBottleneck(
         String status,
         long openCount,
         long avgAgeDays,
-        long oldestAgeDays
+        long oldestAgeDays,
+        Percentiles ageDays
 ) {
 }
@@ -2,13 +2,17 @@ package com.glideclouds.taskmanagementsystem.auth;
 
 import com.glideclouds.taskmanagementsystem.auth.dto.AuthResponse;
 import com.glideclouds.taskmanagementsystem.auth.dto.LoginRequest;
+import com.glideclouds.taskmanagementsystem.auth.dto.LogoutRequest;
 import com.glideclouds.taskmanagementsystem.auth.dto.MeResponse;
+import com.glideclouds.taskmanagementsystem.auth.dto.RefreshTokenRequest;
 import com.glideclouds.taskmanagementsystem.auth.dto.RegisterRequest;
 import com.glideclouds.taskmanagementsystem.security.CustomUserDetails;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -33,9 +37,26 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    @Operation(summary = "Login", description = "Authenticates a user and returns a JWT token.")
-    public AuthResponse login(@Valid @RequestBody LoginRequest request) {
-        return authService.login(request);
+    @Operation(summary = "Login", description = "Authenticates a user and returns a short-lived JWT access token and a refresh token.")
+    public AuthResponse login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        return authService.login(request, httpRequest.getRemoteAddr());
+    }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Refresh tokens", description = "Exchanges a refresh token for a new access token and a new refresh token; the presented refresh token stops working.")
+    public AuthResponse refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return authService.refresh(request.refreshToken());
+    }
+
+    @PostMapping("/logout")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Logout", description = "Revokes the refresh token's family and the bearer access token, if present.")
+    public void logout(@Valid @RequestBody(required = false) LogoutRequest request,
+                       @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ")
+                ? authorization.substring("Bearer ".length()).trim()
+                : null;
+        authService.logout(request != null ? request.refreshToken() : null, accessToken);
     }
 
     @GetMapping("/me")
@@ -4,13 +4,11 @@ import com.glideclouds.taskmanagementsystem.auth.dto.AuthResponse;
 import com.glideclouds.taskmanagementsystem.auth.dto.LoginRequest;
 import com.glideclouds.taskmanagementsystem.auth.dto.RegisterRequest;
 import com.glideclouds.taskmanagementsystem.security.JwtService;
+import com.glideclouds.taskmanagementsystem.security.TokenRevocationService;
+import com.glideclouds.taskmanagementsystem.security.VerifiedToken;
 import com.glideclouds.taskmanagementsystem.users.Role;
 import com.glideclouds.taskmanagementsystem.users.User;
 import com.glideclouds.taskmanagementsystem.users.UserRepository;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -22,18 +20,28 @@ import static org.springframework.http.HttpStatus.UNAUTHORIZED;
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
-    private final AuthenticationManager authenticationManager;
+    private final PasswordHashingExecutor passwordHashing;
+    private final LoginThrottle loginThrottle;
     private final JwtService jwtService;
+    private final RefreshTokenService refreshTokens;
+    private final TokenRevocationService revocations;
+    /** Checked for unknown emails so they take as long as a wrong password. */
+    private final String unknownUserHash;
 
     public AuthService(UserRepository userRepository,
                        PasswordEncoder passwordEncoder,
-                       AuthenticationManager authenticationManager,
-                       JwtService jwtService) {
+                       PasswordHashingExecutor passwordHashing,
+                       LoginThrottle loginThrottle,
+                       JwtService jwtService,
+                       RefreshTokenService refreshTokens,
+                       TokenRevocationService revocations) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
-        this.authenticationManager = authenticationManager;
+        this.passwordHashing = passwordHashing;
+        this.loginThrottle = loginThrottle;
         this.jwtService = jwtService;
+        this.refreshTokens = refreshTokens;
+        this.revocations = revocations;
+        this.unknownUserHash = passwordEncoder.encode("unknown-user-placeholder");
     }
 
     public void register(RegisterRequest request) {
@@ -42,25 +50,58 @@ public class AuthService {
             throw new ResponseStatusException(CONFLICT, "Email already registered");
         }
 
-        String hash = passwordEncoder.encode(request.password());
+        String hash = passwordHashing.encode(request.password());
         Role role = email.startsWith("admin") ? Role.ADMIN : Role.USER;
         User user = new User(email, hash, role);
         userRepository.save(user);
     }
 
-    public AuthResponse login(LoginRequest request) {
+    /** Checks the password on the hashing pool; throttled emails and addresses are refused before hashing. */
+    public AuthResponse login(LoginRequest request, String clientAddress) {
         String email = request.email().trim().toLowerCase();
-        try {
-            authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(email, request.password())
-            );
-        } catch (AuthenticationException e) {
+        loginThrottle.check(email, clientAddress);
+
+        User user = userRepository.findByEmail(email).orElse(null);
+        String hash = user != null && user.getPasswordHash() != null ? user.getPasswordHash() : unknownUserHash;
+        boolean matches = passwordHashing.matches(request.password(), hash);
+        if (user == null || !matches) {
+            loginThrottle.recordFailure(email, clientAddress);
             throw new ResponseStatusException(UNAUTHORIZED, "Invalid email or password");
         }
 
-        User user = userRepository.findByEmail(email)
-            .orElseThrow(() -> new ResponseStatusException(UNAUTHORIZED, "Invalid email or password"));
+        loginThrottle.recordSuccess(email);
+        return tokensFor(user, null);
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and its successor. The family ends when the user is gone or
+     * its security epoch moved since the family was issued.
+     */
+    public AuthResponse refresh(String refreshToken) {
+        RefreshToken consumed = refreshTokens.consume(refreshToken);
+        User user = userRepository.findById(consumed.getUserId()).orElse(null);
+        if (user == null || user.getSecurityEpoch() != consumed.getSecurityEpoch()) {
+            refreshTokens.revokeFamily(consumed.getFamilyId());
+            throw new ResponseStatusException(UNAUTHORIZED, "Invalid refresh token");
+        }
+        return tokensFor(user, consumed.getFamilyId());
+    }
+
+    /** Ends the refresh token's family and revokes the presented access token for the rest of its lifetime. */
+    public void logout(String refreshToken, String accessToken) {
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokens.revoke(refreshToken);
+        }
+        if (accessToken != null && !accessToken.isBlank()) {
+            VerifiedToken verified = jwtService.verify(accessToken);
+            if (verified != null) {
+                revocations.revoke(verified.tokenId(), verified.userId(), verified.expiresAt());
+            }
+        }
+    }
 
-        return new AuthResponse(jwtService.generateToken(user));
+    private AuthResponse tokensFor(User user, String familyId) {
+        return new AuthResponse(jwtService.generateToken(user), refreshTokens.issue(user, familyId),
+                jwtService.accessTokenTtlSeconds());
     }
 }
@@ -0,0 +1,93 @@
+package com.glideclouds.taskmanagementsystem.auth;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Counts recent failures per key and blocks a key with exponential backoff once it exceeds {@code freeFailures}:
+ * {@code baseDelay}, then doubling up to {@code maxDelay}. Failures older than {@code window} start the count over.
+ * <p>
+ * Lock-free: each key holds an immutable state swapped with compare-and-set, so concurrent failures for one key are
+ * all counted without a lock. At most {@code maxKeys} keys are tracked; when full and nothing has expired, new keys
+ * go untracked rather than evicting keys that are currently blocked.
+ */
+final class FailureBackoffTracker {
+
+    private final int freeFailures;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final long windowMillis;
+    private final int maxKeys;
+    private final ConcurrentHashMap<String, AtomicReference<State>> states = new ConcurrentHashMap<>();
+
+    FailureBackoffTracker(int freeFailures, Duration baseDelay, Duration maxDelay, Duration window, int maxKeys) {
+        this.freeFailures = Math.max(0, freeFailures);
+        this.baseDelayMillis = Math.max(1, baseDelay.toMillis());
+        this.maxDelayMillis = Math.max(baseDelayMillis, maxDelay.toMillis());
+        this.windowMillis = Math.max(1, window.toMillis());
+        this.maxKeys = Math.max(1, maxKeys);
+    }
+
+    /** Time before {@code key} may try again; zero when it is not blocked. */
+    Duration blockedFor(String key, long nowMillis) {
+        AtomicReference<State> ref = states.get(key);
+        long left = ref == null ? 0 : ref.get().blockedUntilMillis() - nowMillis;
+        return left > 0 ? Duration.ofMillis(left) : Duration.ZERO;
+    }
+
+    void recordFailure(String key, long nowMillis) {
+        AtomicReference<State> ref = states.get(key);
+        if (ref == null) {
+            if (states.size() >= maxKeys) {
+                evictExpired(nowMillis);
+                if (states.size() >= maxKeys) {
+                    return;
+                }
+            }
+            AtomicReference<State> created = new AtomicReference<>(State.NONE);
+            ref = states.putIfAbsent(key, created);
+            if (ref == null) {
+                ref = created;
+            }
+        }
+        State current;
+        State next;
+        do {
+            current = ref.get();
+            int failures = nowMillis - current.lastFailureMillis() > windowMillis ? 1 : current.failures() + 1;
+            long delay = delayAfter(failures);
+            next = new State(failures, nowMillis, delay > 0 ? nowMillis + delay : 0);
+        } while (!ref.compareAndSet(current, next));
+    }
+
+    void reset(String key) {
+        states.remove(key);
+    }
+
+    /** Drops keys that are neither blocked nor inside the failure window; returns how many. */
+    int evictExpired(long nowMillis) {
+        int before = states.size();
+        states.values().removeIf(ref -> {
+            State state = ref.get();
+            return state.blockedUntilMillis() <= nowMillis && nowMillis - state.lastFailureMillis() > windowMillis;
+        });
+        return Math.max(0, before - states.size());
+    }
+
+    int size() {
+        return states.size();
+    }
+
+    long delayAfter(int failures) {
+        if (failures <= freeFailures) {
+            return 0;
+        }
+        int doublings = Math.min(failures - freeFailures - 1, 30);
+        return Math.min(maxDelayMillis, baseDelayMillis << doublings);
+    }
+
+    private record State(int failures, long lastFailureMillis, long blockedUntilMillis) {
+        static final State NONE = new State(0, 0, 0);
+    }
+}
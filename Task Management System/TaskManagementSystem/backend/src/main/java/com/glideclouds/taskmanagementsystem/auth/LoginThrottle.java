@@ -0,0 +1,90 @@
+package com.glideclouds.taskmanagementsystem.auth;
+
+import com.glideclouds.taskmanagementsystem.common.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Login failure backoff per email and per client address. Checked before the password is hashed, so repeated
+ * guesses against one account or from one address are refused without spending BCrypt time on them. A successful
+ * login clears the email's count; the address count only decays, so mixing in a known-good login does not reset it.
+ * <p>
+ * The address is the request's remote address, which is only the client's when the app is reached directly or
+ * {@code server.forward-headers-strategy} resolves it from a trusted proxy; with {@code auth.throttle.by-address}
+ * off, only emails are throttled.
+ */
+@Component
+public class LoginThrottle {
+
+    private final FailureBackoffTracker byEmail;
+    private final FailureBackoffTracker byAddress;
+    private final boolean addressThrottled;
+    private final Counter rejected;
+    private final MeterRegistry meterRegistry;
+
+    public LoginThrottle(MeterRegistry meterRegistry,
+                         @Value("${auth.throttle.email-free-failures:5}") int emailFreeFailures,
+                         @Value("${auth.throttle.address-free-failures:20}") int addressFreeFailures,
+                         @Value("${auth.throttle.base-delay:1s}") Duration baseDelay,
+                         @Value("${auth.throttle.max-delay:15m}") Duration maxDelay,
+                         @Value("${auth.throttle.window:15m}") Duration window,
+                         @Value("${auth.throttle.max-keys:100000}") int maxKeys,
+                         @Value("${auth.throttle.by-address:true}") boolean addressThrottled) {
+        this.byEmail = new FailureBackoffTracker(emailFreeFailures, baseDelay, maxDelay, window, maxKeys);
+        this.byAddress = new FailureBackoffTracker(addressFreeFailures, baseDelay, maxDelay, window, maxKeys);
+        this.addressThrottled = addressThrottled;
+        this.rejected = Counter.builder("auth.login.throttled")
+                .description("Login attempts refused by failure backoff before hashing")
+                .register(meterRegistry);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** Registered after construction, as the gauge holds on to this throttle to size its trackers. */
+    @PostConstruct
+    void registerKeysGauge() {
+        Gauge.builder("auth.login.throttle.keys", this, t -> t.byEmail.size() + t.byAddress.size())
+                .register(meterRegistry);
+    }
+
+    /** Throws a 429 when the email or the address is backing off. */
+    public void check(String email, String address) {
+        long now = System.currentTimeMillis();
+        Duration wait = byEmail.blockedFor(email, now);
+        if (addressThrottled && address != null) {
+            Duration addressWait = byAddress.blockedFor(address, now);
+            if (addressWait.compareTo(wait) > 0) {
+                wait = addressWait;
+            }
+        }
+        if (!wait.isZero()) {
+            rejected.increment();
+            throw new TooManyRequestsException("Too many failed sign-in attempts, please retry later", wait);
+        }
+    }
+
+    public void recordFailure(String email, String address) {
+        long now = System.currentTimeMillis();
+        byEmail.recordFailure(email, now);
+        if (addressThrottled && address != null) {
+            byAddress.recordFailure(address, now);
+        }
+    }
+
+    public void recordSuccess(String email) {
+        byEmail.reset(email);
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        byEmail.evictExpired(now);
+        byAddress.evictExpired(now);
+    }
+}
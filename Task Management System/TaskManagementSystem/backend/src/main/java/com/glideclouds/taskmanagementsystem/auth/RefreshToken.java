@@ -0,0 +1,74 @@
+package com.glideclouds.taskmanagementsystem.auth;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * One refresh token, stored under the SHA-256 of its value (the raw token is never persisted). Every refresh marks
+ * the token used and issues a successor in the same family; used tokens stay until they expire so that presenting
+ * one again is recognised as reuse.
+ */
+@Document(collection = "refresh_tokens")
+public class RefreshToken {
+
+    @Id
+    private String id;
+
+    @Indexed
+    private String familyId;
+
+    private String userId;
+
+    /** The user's security epoch at issue; a later bump ends the family on its next refresh. */
+    private long securityEpoch;
+
+    private Instant createdAt;
+
+    private Instant usedAt;
+
+    @Indexed(name = "expire_at_ttl_idx", expireAfter = "0s")
+    private Instant expiresAt;
+
+    public RefreshToken() {
+    }
+
+    public RefreshToken(String id, String familyId, String userId, long securityEpoch, Instant createdAt, Instant expiresAt) {
+        this.id = id;
+        this.familyId = familyId;
+        this.userId = userId;
+        this.securityEpoch = securityEpoch;
+        this.createdAt = createdAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getFamilyId() {
+        return familyId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public long getSecurityEpoch() {
+        return securityEpoch;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getUsedAt() {
+        return usedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -0,0 +1,95 @@
+package com.glideclouds.taskmanagementsystem.auth;
+
+import com.glideclouds.taskmanagementsystem.users.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import static org.springframework.http.HttpStatus.UNAUTHORIZED;
+
+/**
+ * Rotating refresh tokens. A login starts a family; each refresh consumes the presented token and issues its
+ * successor. Presenting a token that was already consumed means two parties hold the family, so the whole family is
+ * revoked. Tokens are 256 random bits, stored only as SHA-256 (no salt needed at that entropy).
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration ttl;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(MongoTemplate mongoTemplate,
+                               @Value("${app.jwt.refresh-ttl:30d}") Duration ttl) {
+        this.mongoTemplate = mongoTemplate;
+        this.ttl = ttl;
+    }
+
+    /** Issues a refresh token for {@code user} in {@code familyId} (null starts a new family); returns its value. */
+    public String issue(User user, String familyId) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        Instant now = Instant.now();
+        mongoTemplate.insert(new RefreshToken(hash(token), familyId != null ? familyId : UUID.randomUUID().toString(),
+                user.getId(), user.getSecurityEpoch(), now, now.plus(ttl)));
+        return token;
+    }
+
+    /** Marks the token used and returns it; 401 when it is unknown, expired or (after revoking its family) reused. */
+    public RefreshToken consume(String token) {
+        String id = hash(token);
+        Instant now = Instant.now();
+        RefreshToken consumed = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(id).and("usedAt").is(null).and("expiresAt").gt(now)),
+                Update.update("usedAt", now), RefreshToken.class);
+        if (consumed != null) {
+            return consumed;
+        }
+        RefreshToken existing = mongoTemplate.findById(id, RefreshToken.class);
+        if (existing != null && existing.getUsedAt() != null) {
+            log.warn("Refresh token reuse for user {}; revoking its family", existing.getUserId());
+            revokeFamily(existing.getFamilyId());
+        }
+        throw new ResponseStatusException(UNAUTHORIZED, "Invalid refresh token");
+    }
+
+    /** Ends the family of {@code token}, if it is known. */
+    public void revoke(String token) {
+        RefreshToken existing = mongoTemplate.findById(hash(token), RefreshToken.class);
+        if (existing != null) {
+            revokeFamily(existing.getFamilyId());
+        }
+    }
+
+    public void revokeFamily(String familyId) {
+        mongoTemplate.remove(Query.query(Criteria.where("familyId").is(familyId)), RefreshToken.class);
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
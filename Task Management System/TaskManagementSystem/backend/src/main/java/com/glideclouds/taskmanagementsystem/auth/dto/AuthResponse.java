@@ -1,4 +1,5 @@
 package com.glideclouds.taskmanagementsystem.auth.dto;
 
-public record AuthResponse(String token) {
+/** A short-lived access token ({@code expiresIn} seconds) and the refresh token that renews it. */
+public record AuthResponse(String token, String refreshToken, long expiresIn) {
 }
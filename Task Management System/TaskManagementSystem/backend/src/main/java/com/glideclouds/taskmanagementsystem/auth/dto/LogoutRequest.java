@@ -0,0 +1,8 @@
+package com.glideclouds.taskmanagementsystem.auth.dto;
+
+import jakarta.validation.constraints.Size;
+
+public record LogoutRequest(
+        @Size(max = 200) String refreshToken
+) {
+}
@@ -0,0 +1,9 @@
+package com.glideclouds.taskmanagementsystem.auth.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record RefreshTokenRequest(
+        @NotBlank @Size(max = 200) String refreshToken
+) {
+}
@@ -46,6 +46,7 @@ public class AdminBootstrapRunner implements ApplicationRunner {
         if (existing != null) {
             if (existing.getRole() != Role.ADMIN) {
                 existing.setRole(Role.ADMIN);
+                existing.setSecurityEpoch(existing.getSecurityEpoch() + 1);
                 userRepository.save(existing);
                 log.info("Bootstrapped ADMIN role for existing user {}", email);
             } else {
@@ -0,0 +1,54 @@
+package com.glideclouds.taskmanagementsystem.bootstrap;
+
+import com.glideclouds.taskmanagementsystem.tasks.Task;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Initializes checklistDone/checklistTotal on tasks written before the counters existed, so positional
+ * {@code $inc} updates start from the right values. Runs server-side as a single pipeline update.
+ */
+@Component
+public class ChecklistCounterBackfillRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ChecklistCounterBackfillRunner.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    public ChecklistCounterBackfillRunner(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Document checklist = new Document("$ifNull", List.of("$checklist", List.of()));
+        Document counters = new Document("$set", new Document()
+                .append("checklistTotal", new Document("$size", checklist))
+                .append("checklistDone", new Document("$size", new Document("$filter", new Document()
+                        .append("input", checklist)
+                        .append("as", "c")
+                        .append("cond", new Document("$eq", List.of("$$c.done", true)))))));
+
+        try {
+            long updated = mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("checklistTotal").exists(false)),
+                    AggregationUpdate.from(List.of(context -> counters)),
+                    Task.class).getModifiedCount();
+            if (updated > 0) {
+                log.info("Backfilled checklist counters on {} tasks", updated);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Checklist counter backfill failed", e);
+        }
+    }
+}
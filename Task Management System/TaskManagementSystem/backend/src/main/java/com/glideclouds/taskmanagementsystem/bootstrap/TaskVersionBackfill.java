@@ -0,0 +1,39 @@
+package com.glideclouds.taskmanagementsystem.bootstrap;
+
+import com.glideclouds.taskmanagementsystem.tasks.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sets version 0 on tasks written before {@link Task} was versioned. A task loaded without a version counts as new,
+ * so saving it would be an insert that fails on the existing id; this therefore runs once the beans are ready but
+ * before the web server starts taking requests (unlike the {@code ApplicationRunner} backfills).
+ */
+@Component
+public class TaskVersionBackfill implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskVersionBackfill.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    public TaskVersionBackfill(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long updated = mongoTemplate.updateMulti(
+                Query.query(Criteria.where("version").exists(false)),
+                Update.update("version", 0L),
+                Task.class).getModifiedCount();
+        if (updated > 0) {
+            log.info("Initialized the version of {} tasks", updated);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.glideclouds.taskmanagementsystem.bootstrap;
+
+import com.glideclouds.taskmanagementsystem.tasks.TimeLogRollupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-time backfill: builds the time log rollups (and task totals) on the first start after they were introduced.
+ */
+@Component
+public class TimeLogRollupBackfillRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(TimeLogRollupBackfillRunner.class);
+
+    private final TimeLogRollupService timeLogRollupService;
+
+    public TimeLogRollupBackfillRunner(TimeLogRollupService timeLogRollupService) {
+        this.timeLogRollupService = timeLogRollupService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!timeLogRollupService.isEmpty()) {
+            return;
+        }
+        try {
+            timeLogRollupService.rebuild();
+        } catch (RuntimeException e) {
+            // Not fatal: analytics just shows zero logged time until an admin triggers the rebuild.
+            log.warn("Time log rollup backfill failed", e);
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.glideclouds.taskmanagementsystem.common;
 import com.mongodb.DuplicateKeyException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.MDC;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -37,6 +39,11 @@ public class GlobalExceptionHandler {
         return build(HttpStatus.CONFLICT, "Resource already exists", request);
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiErrorResponse> handleOptimisticLock(OptimisticLockingFailureException ex, HttpServletRequest request) {
+        return build(HttpStatus.CONFLICT, "Changed by another request; refresh and retry", request);
+    }
+
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<ApiErrorResponse> handleBadCredentials(BadCredentialsException ex, HttpServletRequest request) {
         return build(HttpStatus.UNAUTHORIZED, "Invalid credentials", request);
@@ -53,7 +60,7 @@ public class GlobalExceptionHandler {
         if (status == null) {
             status = HttpStatus.INTERNAL_SERVER_ERROR;
         }
-        return build(status, ex.getReason() != null ? ex.getReason() : status.getReasonPhrase(), request);
+        return build(status, ex.getReason() != null ? ex.getReason() : status.getReasonPhrase(), request, ex.getHeaders());
     }
 
     @ExceptionHandler(Exception.class)
@@ -62,6 +69,11 @@ public class GlobalExceptionHandler {
     }
 
     private ResponseEntity<ApiErrorResponse> build(HttpStatus status, String message, HttpServletRequest request) {
+        return build(status, message, request, HttpHeaders.EMPTY);
+    }
+
+    private ResponseEntity<ApiErrorResponse> build(HttpStatus status, String message, HttpServletRequest request,
+                                                   HttpHeaders headers) {
         String requestId = MDC.get(RequestIdFilter.REQUEST_ID_MDC_KEY);
         ApiErrorResponse body = new ApiErrorResponse(
                 Instant.now(),
@@ -71,7 +83,7 @@ public class GlobalExceptionHandler {
                 request.getRequestURI(),
                 requestId
         );
-        return ResponseEntity.status(status).body(body);
+        return ResponseEntity.status(status).headers(headers).body(body);
     }
 
     private String formatFieldError(FieldError fe) {
@@ -0,0 +1,30 @@
+package com.glideclouds.taskmanagementsystem.common;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+
+/** 429 carrying a Retry-After header in whole seconds (at least 1). */
+public class TooManyRequestsException extends ResponseStatusException {
+
+    private final Duration retryAfter;
+
+    public TooManyRequestsException(String reason, Duration retryAfter) {
+        super(HttpStatus.TOO_MANY_REQUESTS, reason);
+        this.retryAfter = retryAfter;
+    }
+
+    public long getRetryAfterSeconds() {
+        long millis = retryAfter == null ? 0 : retryAfter.toMillis();
+        return Math.max(1, (millis + 999) / 1000);
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(getRetryAfterSeconds()));
+        return headers;
+    }
+}
@@ -0,0 +1,22 @@
+package com.glideclouds.taskmanagementsystem.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Freshness bounds of the per-(user, days) analytics overview cache.
+ *
+ * @param freshFor how long a computed overview is served without revalidation
+ * @param maxStale oldest overview that may still be served while a background refresh runs; older entries are
+ *                 recomputed before responding
+ * @param maxUsers users kept in the cache before expired entries are evicted
+ */
+@ConfigurationProperties(prefix = "analytics.cache")
+public record AnalyticsCacheProperties(
+        boolean enabled,
+        Duration freshFor,
+        Duration maxStale,
+        int maxUsers
+) {
+}
@@ -47,6 +47,7 @@ public class BootstrapAdminInitializer implements ApplicationRunner {
             User user = existing.get();
             if (user.getRole() != Role.ADMIN) {
                 user.setRole(Role.ADMIN);
+                user.setSecurityEpoch(user.getSecurityEpoch() + 1);
                 userRepository.save(user);
                 log.info("Promoted existing user to ADMIN (email={})", email);
             } else {
@@ -0,0 +1,32 @@
+package com.glideclouds.taskmanagementsystem.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Delivery settings of the {@code email_outbox} workers.
+ *
+ * @param concurrency    SMTP sessions open at the same time (one worker thread each)
+ * @param batchSize      messages claimed together and sent over one SMTP session
+ * @param pollInterval   how long an idle worker loop waits before looking for due messages again
+ * @param maxAttempts    attempts before a message is dead-lettered
+ * @param initialBackoff delay before the first retry; doubles per attempt (with jitter) up to {@code maxBackoff}
+ * @param maxBackoff     longest delay between two attempts
+ * @param lease          how long a claimed message stays locked; messages of a crashed instance are retried after it
+ * @param drainTimeout   how long shutdown keeps sending due messages before giving up
+ * @param sentRetention  how long sent messages are kept (TTL index)
+ */
+@ConfigurationProperties(prefix = "app.mail.outbox")
+public record EmailOutboxProperties(
+        int concurrency,
+        int batchSize,
+        Duration pollInterval,
+        int maxAttempts,
+        Duration initialBackoff,
+        Duration maxBackoff,
+        Duration lease,
+        Duration drainTimeout,
+        Duration sentRetention
+) {
+}
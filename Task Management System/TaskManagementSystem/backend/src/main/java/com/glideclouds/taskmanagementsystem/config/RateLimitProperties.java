@@ -0,0 +1,36 @@
+package com.glideclouds.taskmanagementsystem.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * Per-user token buckets in front of the API (authenticated {@code /api/**} requests).
+ *
+ * @param enabled          whether requests are metered at all
+ * @param capacity         tokens a user can spend in a burst
+ * @param refillPerSecond  tokens returned to each bucket per second
+ * @param readCost         cost of a GET/HEAD that no rule matches
+ * @param writeCost        cost of any other request that no rule matches
+ * @param maxUsers         buckets kept before full (idle) ones are dropped early
+ * @param rules            per-endpoint costs, first match wins
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+public record RateLimitProperties(
+        boolean enabled,
+        int capacity,
+        double refillPerSecond,
+        int readCost,
+        int writeCost,
+        int maxUsers,
+        List<Rule> rules
+) {
+
+    /**
+     * @param method  HTTP method, or blank for any
+     * @param pattern Ant-style path pattern, e.g. {@code /api/tasks/move}
+     * @param cost    tokens taken per request
+     */
+    public record Rule(String method, String pattern, int cost) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.glideclouds.taskmanagementsystem.notifications;
+
+import java.time.LocalDate;
+
+/** The task fields a reminder digest reads; used as a DTO projection of the reminder cursor. */
+record DueReminderRow(String id, String ownerUserId, String title, LocalDate dueDate) {
+}
@@ -2,130 +2,336 @@ package com.glideclouds.taskmanagementsystem.notifications;
 
 import com.glideclouds.taskmanagementsystem.config.ClientProperties;
 import com.glideclouds.taskmanagementsystem.tasks.Task;
-import com.glideclouds.taskmanagementsystem.tasks.TaskRepository;
 import com.glideclouds.taskmanagementsystem.tasks.TaskStatus;
 import com.glideclouds.taskmanagementsystem.users.User;
-import com.glideclouds.taskmanagementsystem.users.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
+/**
+ * Daily due-date digests at each user's local reminder time.
+ * <p>
+ * Every user has a {@code nextReminderAt} (their zone and reminder time plus a stable offset inside
+ * {@code spread}, so users sharing a time do not fire in the same second). Once a minute the users due within
+ * {@code horizon} are loaded from that index into a {@link HierarchicalTimingWheel}; every second the wheel hands
+ * over the reminders that are due, and at most {@code batchSize} of them are sent per second. A reminder is claimed
+ * by moving {@code nextReminderAt} to the next day only if it still holds the fired instant, so a rescheduled user
+ * or another instance that already sent it is skipped.
+ * <p>
+ * A batch reads the open tasks due up to tomorrow of all its users with one cursor, projected to
+ * {@link DueReminderRow} and ordered by owner then due date (the (ownerUserId, dueDate) index order), so each digest
+ * is complete when the owner changes.
+ */
 @Component
 public class DueReminderScheduler {
 
     private static final Logger log = LoggerFactory.getLogger(DueReminderScheduler.class);
 
+    /** Reminders missed by more than this (e.g. the service was down) are skipped rather than sent late. */
+    static final Duration STALE_AFTER = Duration.ofHours(12);
+    private static final int BACKFILL_LIMIT = 1_000;
+    private static final String SUBJECT = "Task reminders";
+
     private final EmailService emailService;
-    private final TaskRepository taskRepository;
-    private final UserRepository userRepository;
+    private final NotificationFeedService feedService;
+    private final MongoTemplate mongoTemplate;
     private final ClientProperties clientProperties;
+    private final boolean enabled;
+    private final Duration spread;
+    private final Duration horizon;
+    private final int batchSize;
+
+    private final HierarchicalTimingWheel<ReminderTarget> wheel =
+            new HierarchicalTimingWheel<>(1_000, 60, 3, System.currentTimeMillis());
+    /** The latest target per user in the wheel; superseded targets still fire but are dropped. */
+    private final Map<String, ReminderTarget> scheduled = new ConcurrentHashMap<>();
+    /** Fired reminders waiting for a batch; only touched by {@link #tick()}. */
+    private final Queue<ReminderTarget> ready = new ArrayDeque<>();
 
     public DueReminderScheduler(EmailService emailService,
-                               TaskRepository taskRepository,
-                               UserRepository userRepository,
-                               ClientProperties clientProperties) {
+                                NotificationFeedService feedService,
+                                MongoTemplate mongoTemplate,
+                                ClientProperties clientProperties,
+                                @Value("${notifications.reminders.enabled:true}") boolean enabled,
+                                @Value("${notifications.reminders.spread-minutes:15}") int spreadMinutes,
+                                @Value("${notifications.reminders.horizon-minutes:5}") int horizonMinutes,
+                                @Value("${notifications.reminders.batch-size:100}") int batchSize) {
         this.emailService = emailService;
-        this.taskRepository = taskRepository;
-        this.userRepository = userRepository;
+        this.feedService = feedService;
+        this.mongoTemplate = mongoTemplate;
         this.clientProperties = clientProperties;
+        this.enabled = enabled;
+        this.spread = Duration.ofMinutes(Math.max(0, spreadMinutes));
+        this.horizon = Duration.ofMinutes(Math.max(1, horizonMinutes));
+        this.batchSize = Math.max(1, batchSize);
     }
 
-    // Daily at 08:00 server local time
-    @Scheduled(cron = "0 0 8 * * *")
-    public void sendDailyDueReminders() {
-        // EmailService no-ops if disabled.
-        LocalDate today = LocalDate.now();
-        LocalDate tomorrow = today.plusDays(1);
-
-        List<Task> dueToday = taskRepository.findByDueDateAndStatusNot(today, TaskStatus.DONE);
-        List<Task> dueTomorrow = taskRepository.findByDueDateAndStatusNot(tomorrow, TaskStatus.DONE);
-        List<Task> overdue = taskRepository.findByDueDateBeforeAndStatusNot(today, TaskStatus.DONE);
-
-        if (dueToday.isEmpty() && dueTomorrow.isEmpty() && overdue.isEmpty()) {
+    /** Loads users whose reminder is due within the horizon (and gives users without one their first). */
+    @Scheduled(fixedDelayString = "${notifications.reminders.refill-interval-ms:60000}")
+    public void refill() {
+        if (!enabled) {
             return;
         }
+        Instant now = Instant.now();
+        backfillMissing(now);
 
-        Map<String, List<Task>> dueTodayByUser = groupByOwner(dueToday);
-        Map<String, List<Task>> dueTomorrowByUser = groupByOwner(dueTomorrow);
-        Map<String, List<Task>> overdueByUser = groupByOwner(overdue);
+        Query query = Query.query(Criteria.where("nextReminderAt").lte(now.plus(horizon)));
+        query.fields().include("email", "timeZone", "reminderTime", "nextReminderAt");
+        int loaded = 0;
+        try (Stream<User> users = mongoTemplate.stream(query, User.class)) {
+            for (User user : (Iterable<User>) users::iterator) {
+                ReminderTarget current = scheduled.get(user.getId());
+                if (current == null || !current.fireAt().equals(user.getNextReminderAt())) {
+                    schedule(ReminderTarget.of(user, user.getNextReminderAt(), spread));
+                    loaded++;
+                }
+            }
+        }
+        if (loaded > 0) {
+            log.debug("Reminder wheel loaded {} user(s) ({} scheduled)", loaded, wheel.size());
+        }
+    }
 
-        Set<String> userIds = new HashSet<>();
-        userIds.addAll(dueTodayByUser.keySet());
-        userIds.addAll(dueTomorrowByUser.keySet());
-        userIds.addAll(overdueByUser.keySet());
+    /** Hands due reminders from the wheel to a batch; at most {@code batchSize} are sent per tick. */
+    @Scheduled(fixedDelay = 1_000)
+    public void tick() {
+        if (!enabled) {
+            return;
+        }
+        wheel.advance(System.currentTimeMillis(), ready::add);
+        List<ReminderTarget> batch = new ArrayList<>(batchSize);
+        while (batch.size() < batchSize && !ready.isEmpty()) {
+            batch.add(ready.poll());
+        }
+        if (!batch.isEmpty()) {
+            dispatch(batch, Instant.now());
+        }
+    }
 
-        Map<String, String> emailById = userRepository.findAllById(userIds)
-                .stream()
-                .collect(Collectors.toMap(User::getId, User::getEmail));
+    /**
+     * Stores the next reminder of {@code user} after a preferences change and schedules it here when it falls in the
+     * loaded horizon; returns it.
+     */
+    public Instant reschedule(User user) {
+        Duration offset = ReminderSchedule.offsetOf(user.getId(), spread);
+        Instant next = ReminderSchedule.nextFire(ReminderSchedule.zoneOf(user.getTimeZone()),
+                ReminderSchedule.timeOf(user.getReminderTime()), offset, Instant.now());
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(user.getId())),
+                Update.update("nextReminderAt", next), User.class);
+        user.setNextReminderAt(next);
+        if (enabled) {
+            scheduled.remove(user.getId());
+            if (!next.isAfter(Instant.now().plus(horizon))) {
+                schedule(ReminderTarget.of(user, next, spread));
+            }
+        }
+        return next;
+    }
 
-        for (String userId : userIds) {
-            String to = emailById.get(userId);
-            if (to == null || to.isBlank()) {
+    /** Claims each target, then sends the digests of those claimed. Returns the number of digests. */
+    int dispatch(List<ReminderTarget> batch, Instant now) {
+        Map<String, ReminderTarget> claimed = new HashMap<>();
+        for (ReminderTarget target : batch) {
+            if (!scheduled.remove(target.userId(), target)) {
                 continue;
             }
+            if (claim(target) && !target.fireAt().isBefore(now.minus(STALE_AFTER))) {
+                claimed.put(target.userId(), target);
+            }
+        }
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        LocalDate lastTomorrow = claimed.values().stream().map(ReminderTarget::day).max(LocalDate::compareTo)
+                .orElseThrow().plusDays(1);
+        Query query = Query.query(Criteria.where("ownerUserId").in(claimed.keySet())
+                        .and("dueDate").lte(lastTomorrow)
+                        .and("status").ne(TaskStatus.DONE))
+                .with(Sort.by("ownerUserId", "dueDate"));
+        try (Stream<DueReminderRow> rows = mongoTemplate.query(Task.class).as(DueReminderRow.class).matching(query).stream()) {
+            return sendDigests(claimed, rows.iterator());
+        }
+    }
 
-            String subject = "Task reminders";
-            String body = buildBody(today,
-                    overdueByUser.getOrDefault(userId, List.of()),
-                    dueTodayByUser.getOrDefault(userId, List.of()),
-                    dueTomorrowByUser.getOrDefault(userId, List.of()),
-                    clientProperties.baseUrl());
+    /**
+     * Folds rows sorted by owner into one digest per owner, posts it to the owner's feed and emails it; returns the
+     * number of digests.
+     */
+    int sendDigests(Map<String, ReminderTarget> targets, Iterator<DueReminderRow> rows) {
+        Digest digest = null;
+        int sent = 0;
+        while (rows.hasNext()) {
+            DueReminderRow row = rows.next();
+            ReminderTarget target = targets.get(row.ownerUserId());
+            if (target == null) continue;
+            if (digest == null || !digest.target.userId().equals(row.ownerUserId())) {
+                sent += send(digest);
+                digest = new Digest(target);
+            }
+            digest.add(row);
+        }
+        sent += send(digest);
+        return sent;
+    }
 
-            emailService.send(to, subject, body);
+    private int send(Digest digest) {
+        if (digest == null || digest.isEmpty()) {
+            return 0;
         }
+        try {
+            feedService.publish(List.of(digest.target.userId()), NotificationType.TASKS_DUE, digest.headline(),
+                    digest.summary(), digest.singleTaskId());
+        } catch (RuntimeException e) {
+            log.warn("Failed to write the due-tasks notification of user {}", digest.target.userId(), e);
+        }
+        String to = digest.target.email();
+        if (to != null && !to.isBlank()) {
+            emailService.send(to, SUBJECT, digest.render(clientProperties.baseUrl()));
+        }
+        return 1;
+    }
 
-        log.info("Daily reminders processed (users={})", userIds.size());
+    private void schedule(ReminderTarget target) {
+        scheduled.put(target.userId(), target);
+        wheel.schedule(target, target.fireAt().toEpochMilli());
     }
 
-    private static Map<String, List<Task>> groupByOwner(List<Task> tasks) {
-        Map<String, List<Task>> by = new HashMap<>();
-        for (Task t : tasks) {
-            if (t.getOwnerUserId() == null) continue;
-            by.computeIfAbsent(t.getOwnerUserId(), k -> new ArrayList<>()).add(t);
+    private boolean claim(ReminderTarget target) {
+        Instant next = ReminderSchedule.nextFire(target.zone(), target.time(), target.offset(),
+                Instant.now().isAfter(target.fireAt()) ? Instant.now() : target.fireAt());
+        return mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(target.userId()).and("nextReminderAt").is(target.fireAt())),
+                Update.update("nextReminderAt", next), User.class).getModifiedCount() == 1;
+    }
+
+    /** Users created before reminders were scheduled, or since the last refill, get their first reminder. */
+    private void backfillMissing(Instant now) {
+        Query query = Query.query(Criteria.where("nextReminderAt").is(null)).limit(BACKFILL_LIMIT);
+        query.fields().include("timeZone", "reminderTime");
+        for (User user : mongoTemplate.find(query, User.class)) {
+            Duration offset = ReminderSchedule.offsetOf(user.getId(), spread);
+            Instant next = ReminderSchedule.nextFire(ReminderSchedule.zoneOf(user.getTimeZone()),
+                    ReminderSchedule.timeOf(user.getReminderTime()), offset, now);
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(user.getId()).and("nextReminderAt").is(null)),
+                    Update.update("nextReminderAt", next), User.class);
         }
-        return by;
     }
 
-    private static String buildBody(LocalDate today,
-                                    List<Task> overdue,
-                                    List<Task> dueToday,
-                                    List<Task> dueTomorrow,
-                                    String baseUrl) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("Here are your task reminders for ").append(today).append(".\n\n");
-
-        if (!overdue.isEmpty()) {
-            sb.append("Overdue:\n");
-            for (Task t : overdue) {
-                sb.append("- ").append(safe(t.getTitle())).append(" (due ").append(t.getDueDate()).append(")\n");
-            }
-            sb.append("\n");
+    /** A user's reminder as scheduled in the wheel. */
+    record ReminderTarget(String userId, String email, ZoneId zone, LocalTime time, Duration offset, Instant fireAt) {
+
+        static ReminderTarget of(User user, Instant fireAt, Duration spread) {
+            return new ReminderTarget(user.getId(), user.getEmail(), ReminderSchedule.zoneOf(user.getTimeZone()),
+                    ReminderSchedule.timeOf(user.getReminderTime()), ReminderSchedule.offsetOf(user.getId(), spread), fireAt);
         }
 
-        if (!dueToday.isEmpty()) {
-            sb.append("Due today:\n");
-            for (Task t : dueToday) {
-                sb.append("- ").append(safe(t.getTitle())).append("\n");
-            }
-            sb.append("\n");
+        /** The user's local date the digest reports on. */
+        LocalDate day() {
+            return ReminderSchedule.dayOf(fireAt, zone, offset);
+        }
+    }
+
+    /** One user's reminder lines, split by how the due date relates to their local today. */
+    private static final class Digest {
+        final ReminderTarget target;
+        final LocalDate today;
+        final List<DueReminderRow> overdue = new ArrayList<>();
+        final List<DueReminderRow> dueToday = new ArrayList<>();
+        final List<DueReminderRow> dueTomorrow = new ArrayList<>();
+
+        Digest(ReminderTarget target) {
+            this.target = target;
+            this.today = target.day();
         }
 
-        if (!dueTomorrow.isEmpty()) {
-            sb.append("Due tomorrow:\n");
-            for (Task t : dueTomorrow) {
-                sb.append("- ").append(safe(t.getTitle())).append("\n");
+        void add(DueReminderRow row) {
+            if (row.dueDate().isBefore(today)) {
+                overdue.add(row);
+            } else if (row.dueDate().isEqual(today)) {
+                dueToday.add(row);
+            } else if (row.dueDate().isEqual(today.plusDays(1))) {
+                dueTomorrow.add(row);
             }
-            sb.append("\n");
         }
 
-        String link = (baseUrl == null ? "" : baseUrl) + "/board";
-        sb.append("Open your board to take action: ").append(link);
-        return sb.toString();
+        boolean isEmpty() {
+            return size() == 0;
+        }
+
+        int size() {
+            return overdue.size() + dueToday.size() + dueTomorrow.size();
+        }
+
+        String headline() {
+            return size() == 1 ? "1 task needs attention" : size() + " tasks need attention";
+        }
+
+        String summary() {
+            return overdue.size() + " overdue, " + dueToday.size() + " due today, " + dueTomorrow.size() + " due tomorrow";
+        }
+
+        /** The task to link to when the digest has exactly one. */
+        String singleTaskId() {
+            if (size() != 1) return null;
+            List<DueReminderRow> only = !overdue.isEmpty() ? overdue : !dueToday.isEmpty() ? dueToday : dueTomorrow;
+            return only.getFirst().id();
+        }
+
+        String render(String baseUrl) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("Here are your task reminders for ").append(today).append(".\n\n");
+
+            if (!overdue.isEmpty()) {
+                sb.append("Overdue:\n");
+                for (DueReminderRow t : overdue) {
+                    sb.append("- ").append(safe(t.title())).append(" (due ").append(t.dueDate()).append(")\n");
+                }
+                sb.append("\n");
+            }
+
+            if (!dueToday.isEmpty()) {
+                sb.append("Due today:\n");
+                for (DueReminderRow t : dueToday) {
+                    sb.append("- ").append(safe(t.title())).append("\n");
+                }
+                sb.append("\n");
+            }
+
+            if (!dueTomorrow.isEmpty()) {
+                sb.append("Due tomorrow:\n");
+                for (DueReminderRow t : dueTomorrow) {
+                    sb.append("- ").append(safe(t.title())).append("\n");
+                }
+                sb.append("\n");
+            }
+
+            String link = (baseUrl == null ? "" : baseUrl) + "/board";
+            sb.append("Open your board to take action: ").append(link);
+            return sb.toString();
+        }
     }
 
     private static String safe(String s) {
@@ -0,0 +1,461 @@
+package com.glideclouds.taskmanagementsystem.notifications;
+
+import com.glideclouds.taskmanagementsystem.config.AppMailProperties;
+import com.glideclouds.taskmanagementsystem.config.EmailOutboxProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Drains the {@code email_outbox} collection.
+ * <p>
+ * One loop claims due messages atomically (findAndModify to SENDING with a lease, so several instances can share
+ * the collection), up to {@code batchSize} at a time, and hands each batch to a worker; a semaphore caps
+ * batches in flight at {@code concurrency}. Workers are platform threads: Jakarta Mail's transport is synchronized
+ * around its socket I/O, which would pin the carrier of a virtual thread for the whole SMTP session. A batch goes out through one
+ * {@link JavaMailSender#send(SimpleMailMessage...)} call, i.e. one SMTP connection and TLS handshake for the whole
+ * batch instead of one per message. Failed sends go back to PENDING with exponential backoff and jitter until
+ * {@code maxAttempts}, then to DEAD. {@link EmailService} wakes the loop after an insert; otherwise it polls.
+ * On shutdown the loop keeps sending due messages for up to {@code drainTimeout} before it stops; a batch it claimed
+ * after that is handed back as PENDING instead of waiting for its lease to expire.
+ */
+@Component
+public class EmailOutboxDispatcher implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    /** Stops after the web server (which stops first, at a higher phase) has finished in-flight requests. */
+    static final int PHASE = Integer.MAX_VALUE - 2048;
+    private static final long DEPTH_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final EmailOutboxRepository repository;
+    private final ObjectProvider<JavaMailSender> mailSenderProvider;
+    private final AppMailProperties mailProperties;
+    private final EmailOutboxProperties properties;
+    private final Semaphore permits;
+    private final MeterRegistry meterRegistry;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition workArrived = lock.newCondition();
+    private boolean signalled;
+
+    private final AtomicLong pendingDepth = new AtomicLong();
+    private final AtomicLong deadDepth = new AtomicLong();
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter deadLettered;
+    private final Timer batchTimer;
+    private final DistributionSummary batchSizes;
+    private final DistributionSummary batchThroughput;
+
+    private volatile boolean running;
+    private volatile boolean draining;
+    private Thread loop;
+    private ExecutorService workers;
+
+    public EmailOutboxDispatcher(MongoTemplate mongoTemplate,
+                                 EmailOutboxRepository repository,
+                                 ObjectProvider<JavaMailSender> mailSenderProvider,
+                                 AppMailProperties mailProperties,
+                                 EmailOutboxProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.repository = repository;
+        this.mailSenderProvider = mailSenderProvider;
+        this.mailProperties = mailProperties;
+        this.properties = properties;
+        this.permits = new Semaphore(Math.max(1, properties.concurrency()));
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("email.outbox.depth", pendingDepth, AtomicLong::get)
+                .description("Messages waiting in the email outbox")
+                .tag("status", "pending")
+                .register(meterRegistry);
+        Gauge.builder("email.outbox.depth", deadDepth, AtomicLong::get)
+                .tag("status", "dead")
+                .register(meterRegistry);
+        this.sent = outcomes(meterRegistry, "sent");
+        this.retried = outcomes(meterRegistry, "retried");
+        this.deadLettered = outcomes(meterRegistry, "dead");
+        this.batchTimer = Timer.builder("email.outbox.batch")
+                .description("SMTP session time per batch (connect, send every message, close)")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("email.outbox.batch.size")
+                .description("Messages per SMTP session")
+                .register(meterRegistry);
+        this.batchThroughput = DistributionSummary.builder("email.outbox.batch.throughput")
+                .description("Messages per second within one SMTP session")
+                .baseUnit("messages/s")
+                .register(meterRegistry);
+    }
+
+    /** Registered after construction, as the gauge holds on to this dispatcher to read its permits. */
+    @PostConstruct
+    void registerInFlightGauge() {
+        Gauge.builder("email.outbox.in.flight", this, d -> Math.max(1, d.properties.concurrency()) - d.permits.availablePermits())
+                .register(meterRegistry);
+    }
+
+    /** Wakes the loop so a freshly inserted message goes out without waiting for the next poll. */
+    public void wakeUp() {
+        lock.lock();
+        try {
+            signalled = true;
+            workArrived.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void start() {
+        if (running || !mailProperties.enabled()) {
+            return;
+        }
+        running = true;
+        draining = false;
+        workers = Executors.newFixedThreadPool(Math.max(1, properties.concurrency()),
+                Thread.ofPlatform().name("email-outbox-", 0).daemon(true).factory());
+        loop = Thread.ofVirtual().name("email-outbox-loop").start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        long deadline = System.nanoTime() + nanos(properties.drainTimeout());
+        draining = true;
+        wakeUp();
+        try {
+            loop.join(Duration.ofNanos(Math.max(0, deadline - System.nanoTime())));
+            running = false;
+            loop.interrupt();
+            workers.shutdown();
+            if (!workers.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                log.warn("Email outbox did not drain within {}; unsent messages stay queued", properties.drainTimeout());
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workers.shutdownNow();
+        } finally {
+            running = false;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void run() {
+        long nextDepthRefresh = 0;
+        while (running) {
+            try {
+                if (System.nanoTime() - nextDepthRefresh >= 0) {
+                    refreshDepth();
+                    nextDepthRefresh = System.nanoTime() + DEPTH_REFRESH_NANOS;
+                }
+                if (!permits.tryAcquire(nanos(properties.pollInterval()), TimeUnit.NANOSECONDS)) {
+                    continue;
+                }
+                List<EmailOutboxMessage> batch = claimBatch();
+                if (batch.isEmpty()) {
+                    permits.release();
+                    if (draining) {
+                        return;
+                    }
+                    awaitWork();
+                    continue;
+                }
+                if (!running) {
+                    // stop() gave up waiting while this batch was being claimed; the workers are shutting down.
+                    permits.release();
+                    handBack(batch);
+                    return;
+                }
+                try {
+                    workers.execute(() -> {
+                        try {
+                            deliver(batch);
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    permits.release();
+                    handBack(batch);
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Email outbox loop failed; retrying after the poll interval", e);
+                sleepQuietly(properties.pollInterval());
+            }
+        }
+    }
+
+    /** Claims up to {@code batchSize} messages, oldest first; empty when nothing is due. */
+    List<EmailOutboxMessage> claimBatch() {
+        int size = Math.max(1, properties.batchSize());
+        List<EmailOutboxMessage> batch = new ArrayList<>(Math.min(size, 64));
+        while (batch.size() < size) {
+            EmailOutboxMessage message;
+            try {
+                message = claimNext();
+            } catch (RuntimeException e) {
+                if (batch.isEmpty()) {
+                    throw e;
+                }
+                // Keep what is already claimed so it is either sent or handed back, not stranded until its lease ends.
+                log.warn("Email outbox claim failed; continuing with {} claimed message(s)", batch.size(), e);
+                break;
+            }
+            if (message == null) {
+                break;
+            }
+            batch.add(message);
+        }
+        return batch;
+    }
+
+    /** Claims the oldest due message, or one whose lease ran out on another (crashed) worker. */
+    EmailOutboxMessage claimNext() {
+        Instant now = Instant.now();
+        Query query = Query.query(new Criteria().orOperator(
+                        Criteria.where("status").is(EmailOutboxStatus.PENDING).and("nextAttemptAt").lte(now),
+                        Criteria.where("status").is(EmailOutboxStatus.SENDING).and("lockedUntil").lt(now)))
+                .with(Sort.by("nextAttemptAt"));
+        Update update = new Update()
+                .set("status", EmailOutboxStatus.SENDING)
+                .set("lockedUntil", now.plus(properties.lease()))
+                .inc("attempts", 1);
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), EmailOutboxMessage.class);
+    }
+
+    void deliver(List<EmailOutboxMessage> batch) {
+        JavaMailSender mailSender = mailSenderProvider.getIfAvailable();
+        if (mailSender == null) {
+            IllegalStateException e = new IllegalStateException("No JavaMailSender is configured");
+            batch.forEach(m -> fail(m, e));
+            return;
+        }
+        SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < messages.length; i++) {
+            messages[i] = toMail(batch.get(i));
+        }
+
+        long started = System.nanoTime();
+        try {
+            mailSender.send(messages);
+            recordBatch(batch.size(), System.nanoTime() - started);
+            batch.forEach(this::markSent);
+        } catch (MailSendException e) {
+            // Per-message failures are keyed by the message passed in; the rest of the session went through.
+            // No failed messages means only closing the connection failed, after every message was accepted.
+            recordBatch(batch.size(), System.nanoTime() - started);
+            Map<Object, Exception> failed = e.getFailedMessages();
+            for (int i = 0; i < messages.length; i++) {
+                Exception cause = failed.get(messages[i]);
+                if (cause == null) {
+                    markSent(batch.get(i));
+                } else {
+                    fail(batch.get(i), cause);
+                }
+            }
+        } catch (MailParseException | MailPreparationException e) {
+            // One malformed message fails the whole conversion; send singly so only it is dead-lettered.
+            if (batch.size() == 1) {
+                markDead(batch.getFirst(), e);
+            } else {
+                batch.forEach(m -> deliver(List.of(m)));
+            }
+        } catch (RuntimeException e) {
+            batch.forEach(m -> fail(m, e));
+        }
+    }
+
+    private SimpleMailMessage toMail(EmailOutboxMessage message) {
+        SimpleMailMessage msg = new SimpleMailMessage();
+        msg.setTo(message.getTo());
+        String from = mailProperties.from();
+        if (from != null && !from.isBlank()) {
+            msg.setFrom(from);
+        }
+        msg.setSubject(message.getSubject());
+        msg.setText(message.getBody());
+        return msg;
+    }
+
+    private void recordBatch(int size, long nanos) {
+        batchTimer.record(nanos, TimeUnit.NANOSECONDS);
+        batchSizes.record(size);
+        if (nanos > 0) {
+            batchThroughput.record(size * 1e9 / nanos);
+        }
+    }
+
+    private void fail(EmailOutboxMessage message, Exception e) {
+        if (message.getAttempts() >= properties.maxAttempts()) {
+            markDead(message, e);
+        } else {
+            markForRetry(message, e);
+        }
+    }
+
+    /**
+     * Delay before retry number {@code attempt} (1-based): {@code initial * 2^(attempt - 1)} capped at {@code max},
+     * of which a random half is subtracted so that failed batches do not retry in lockstep.
+     */
+    static Duration backoff(int attempt, Duration initial, Duration max, double random) {
+        long capped = Math.min(max.toMillis(), initial.toMillis() << Math.min(30, Math.max(0, attempt - 1)));
+        return Duration.ofMillis(capped / 2 + (long) (capped / 2.0 * random));
+    }
+
+    private void markSent(EmailOutboxMessage message) {
+        Instant now = Instant.now();
+        mongoTemplate.updateFirst(claimed(message), new Update()
+                .set("status", EmailOutboxStatus.SENT)
+                .set("sentAt", now)
+                .set("expireAt", now.plus(properties.sentRetention()))
+                .unset("lockedUntil")
+                .unset("lastError"), EmailOutboxMessage.class);
+        sent.increment();
+    }
+
+    private void markForRetry(EmailOutboxMessage message, Exception e) {
+        Duration delay = backoff(message.getAttempts(), properties.initialBackoff(), properties.maxBackoff(),
+                ThreadLocalRandom.current().nextDouble());
+        mongoTemplate.updateFirst(claimed(message), new Update()
+                .set("status", EmailOutboxStatus.PENDING)
+                .set("nextAttemptAt", Instant.now().plus(delay))
+                .set("lastError", describe(e))
+                .unset("lockedUntil"), EmailOutboxMessage.class);
+        retried.increment();
+        log.info("Email send failed (attempt {}/{}), retrying in {}: {}", message.getAttempts(), properties.maxAttempts(), delay, e.toString());
+    }
+
+    private void markDead(EmailOutboxMessage message, Exception e) {
+        mongoTemplate.updateFirst(claimed(message), new Update()
+                .set("status", EmailOutboxStatus.DEAD)
+                .set("lastError", describe(e))
+                .unset("lockedUntil"), EmailOutboxMessage.class);
+        deadLettered.increment();
+        log.warn("Email dead-lettered after {} attempt(s) (id={}, subject={})", message.getAttempts(), message.getId(), message.getSubject(), e);
+    }
+
+    /**
+     * Returns claimed messages that will not be sent to PENDING, due immediately and without the attempt the claim
+     * counted. Runs during shutdown, so a pending interrupt is set aside for the updates and restored afterwards.
+     */
+    void handBack(List<EmailOutboxMessage> batch) {
+        boolean interrupted = Thread.interrupted();
+        try {
+            for (EmailOutboxMessage message : batch) {
+                mongoTemplate.updateFirst(claimed(message), new Update()
+                        .set("status", EmailOutboxStatus.PENDING)
+                        .inc("attempts", -1)
+                        .unset("lockedUntil"), EmailOutboxMessage.class);
+            }
+            log.info("Handed {} unsent email(s) back to the outbox on shutdown", batch.size());
+        } catch (RuntimeException e) {
+            log.warn("Could not hand {} email(s) back to the outbox; they are retried once their lease expires", batch.size(), e);
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /** Only the claim this worker holds: a message re-claimed after an expired lease is left to its new owner. */
+    private static Query claimed(EmailOutboxMessage message) {
+        return Query.query(Criteria.where("_id").is(message.getId())
+                .and("status").is(EmailOutboxStatus.SENDING)
+                .and("lockedUntil").is(message.getLockedUntil()));
+    }
+
+    private void refreshDepth() {
+        pendingDepth.set(repository.countByStatus(EmailOutboxStatus.PENDING) + repository.countByStatus(EmailOutboxStatus.SENDING));
+        deadDepth.set(repository.countByStatus(EmailOutboxStatus.DEAD));
+    }
+
+    private void awaitWork() throws InterruptedException {
+        lock.lock();
+        try {
+            if (!signalled && !draining) {
+                workArrived.awaitNanos(nanos(properties.pollInterval()));
+            }
+            signalled = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static String describe(Exception e) {
+        String text = e.toString();
+        return text.length() > MAX_ERROR_LENGTH ? text.substring(0, MAX_ERROR_LENGTH) : text;
+    }
+
+    private static void sleepQuietly(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Counter outcomes(MeterRegistry registry, String outcome) {
+        return Counter.builder("email.outbox.messages")
+                .description("Email outbox deliveries by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static long nanos(Duration duration) {
+        return duration == null || duration.isNegative() ? 0 : duration.toNanos();
+    }
+}
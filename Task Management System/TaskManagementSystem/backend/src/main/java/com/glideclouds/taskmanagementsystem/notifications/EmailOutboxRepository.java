@@ -0,0 +1,8 @@
+package com.glideclouds.taskmanagementsystem.notifications;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface EmailOutboxRepository extends MongoRepository<EmailOutboxMessage, String> {
+
+    long countByStatus(EmailOutboxStatus status);
+}
@@ -0,0 +1,11 @@
+package com.glideclouds.taskmanagementsystem.notifications;
+
+public enum EmailOutboxStatus {
+    /** Waiting for its next attempt ({@code nextAttemptAt}). */
+    PENDING,
+    /** Claimed by a worker until {@code lockedUntil}. */
+    SENDING,
+    SENT,
+    /** Gave up: out of attempts or rejected as malformed. */
+    DEAD
+}
@@ -0,0 +1,125 @@
+package com.glideclouds.taskmanagementsystem.notifications;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel (Varghese and Lauck): {@code levels} wheels of {@code wheelSize} slots, where a slot on
+ * level L spans {@code wheelSize^L} ticks. An item goes on the lowest level whose higher-order digits of its
+ * deadline tick match the current tick, in the slot of its own digit on that level; when the clock enters that slot
+ * the items are re-inserted and so cascade down one level at a time until they fire from level 0. Scheduling is
+ * O(1) and advancing costs one slot visit per tick plus one move per item and level. Deadlines beyond the top level
+ * wait in an overflow list that is re-examined each time the top level wraps.
+ * <p>
+ * Ticks are whole multiples of {@code tickMillis} since the epoch; items fire on the first advance at or after their
+ * deadline tick. Synchronized, as items are added by request threads and fired by the scheduler.
+ */
+final class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long[] spans;
+    private final List<Entry<T>>[][] slots;
+    private final List<Entry<T>> overflow = new ArrayList<>();
+    private final List<Entry<T>> due = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    HierarchicalTimingWheel(long tickMillis, int wheelSize, int levels, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2 || levels < 1) {
+            throw new IllegalArgumentException("tickMillis > 0, wheelSize >= 2 and levels >= 1 are required");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.spans = new long[levels + 1];
+        spans[0] = 1;
+        for (int level = 1; level <= levels; level++) {
+            spans[level] = Math.multiplyExact(spans[level - 1], wheelSize);
+        }
+        // Java cannot create a generic array; the slots are private and only ever hold List<Entry<T>>.
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        List<Entry<T>>[][] table = new List[levels][wheelSize];
+        this.slots = table;
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    /** Adds {@code item} to fire at {@code deadlineMillis}; a deadline that has already passed fires on the next advance. */
+    synchronized void schedule(T item, long deadlineMillis) {
+        insert(new Entry<>(item, Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis)));
+        size++;
+    }
+
+    /**
+     * Moves the clock to {@code nowMillis}, handing every item whose deadline has been reached to {@code sink},
+     * earliest tick first. Returns the number of items fired.
+     */
+    synchronized int advance(long nowMillis, Consumer<T> sink) {
+        long target = Math.floorDiv(nowMillis, tickMillis);
+        List<Entry<T>> fired = new ArrayList<>(due);
+        due.clear();
+        while (currentTick < target) {
+            currentTick++;
+            int top = spans.length - 1;
+            if (currentTick % spans[top] == 0 && !overflow.isEmpty()) {
+                List<Entry<T>> waiting = new ArrayList<>(overflow);
+                overflow.clear();
+                waiting.forEach(this::insert);
+            }
+            for (int level = slots.length - 1; level >= 1; level--) {
+                if (currentTick % spans[level] == 0) {
+                    List<Entry<T>> cascading = take(level, digit(currentTick, level));
+                    if (cascading != null) {
+                        cascading.forEach(this::insert);
+                    }
+                }
+            }
+            List<Entry<T>> expired = take(0, digit(currentTick, 0));
+            if (expired != null) {
+                fired.addAll(expired);
+            }
+            fired.addAll(due);
+            due.clear();
+        }
+        size -= fired.size();
+        for (Entry<T> entry : fired) {
+            sink.accept(entry.item());
+        }
+        return fired.size();
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private void insert(Entry<T> entry) {
+        if (entry.deadlineTick <= currentTick) {
+            due.add(entry);
+            return;
+        }
+        for (int level = 0; level < slots.length; level++) {
+            if (entry.deadlineTick / spans[level + 1] == currentTick / spans[level + 1]) {
+                int slot = digit(entry.deadlineTick, level);
+                if (slots[level][slot] == null) {
+                    slots[level][slot] = new ArrayList<>();
+                }
+                slots[level][slot].add(entry);
+                return;
+            }
+        }
+        overflow.add(entry);
+    }
+
+    private List<Entry<T>> take(int level, int slot) {
+        List<Entry<T>> entries = slots[level][slot];
+        slots[level][slot] = null;
+        return entries;
+    }
+
+    private int digit(long tick, int level) {
+        return (int) ((tick / spans[level]) % wheelSize);
+    }
+
+    private record Entry<T>(T item, long deadlineTick) {
+    }
+}
@@ -0,0 +1,111 @@
+package com.glideclouds.taskmanagementsystem.notifications;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * One entry of a user's in-app feed. Ids are ObjectIds, so the feed index (userId, _id desc) returns newest first and
+ * the last id of a page is the cursor of the next one. Entries expire 90 days after creation.
+ */
+@Document(collection = "notifications")
+@CompoundIndex(name = "user_feed_idx", def = "{'userId': 1, '_id': -1}")
+public class Notification {
+
+    @Id
+    private String id;
+
+    private String userId;
+
+    private NotificationType type;
+
+    private String title;
+
+    private String message;
+
+    private String taskId;
+
+    private boolean read;
+
+    @Indexed(expireAfter = "90d")
+    private Instant createdAt;
+
+    public Notification() {
+    }
+
+    public Notification(String userId, NotificationType type, String title, String message, String taskId, Instant createdAt) {
+        this.userId = userId;
+        this.type = type;
+        this.title = title;
+        this.message = message;
+        this.taskId = taskId;
+        this.createdAt = createdAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public NotificationType getType() {
+        return type;
+    }
+
+    public void setType(NotificationType type) {
+        this.type = type;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(String taskId) {
+        this.taskId = taskId;
+    }
+
+    public boolean isRead() {
+        return read;
+    }
+
+    public void setRead(boolean read) {
+        this.read = read;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
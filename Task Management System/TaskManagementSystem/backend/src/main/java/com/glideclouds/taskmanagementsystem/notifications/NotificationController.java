@@ -0,0 +1,66 @@
+package com.glideclouds.taskmanagementsystem.notifications;
+
+import com.glideclouds.taskmanagementsystem.notifications.dto.NotificationPageResponse;
+import com.glideclouds.taskmanagementsystem.notifications.dto.UnreadCountResponse;
+import com.glideclouds.taskmanagementsystem.security.SecurityUtils;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/notifications")
+@Tag(name = "Notifications", description = "In-app notification feed and reminder preferences")
+@SecurityRequirement(name = "bearerAuth")
+public class NotificationController {
+
+    private final NotificationFeedService feedService;
+
+    public NotificationController(NotificationFeedService feedService) {
+        this.feedService = feedService;
+    }
+
+    @GetMapping
+    @Operation(summary = "List notifications", description = "Newest first. Pass the returned `nextCursor` as `cursor` for the next page.")
+    public NotificationPageResponse list(@RequestParam(name = "cursor", required = false) String cursor,
+                                         @RequestParam(name = "limit", required = false) Integer limit) {
+        return feedService.list(requireUserId(), cursor, limit);
+    }
+
+    @GetMapping("/unread-count")
+    @Operation(summary = "Count unread notifications")
+    public UnreadCountResponse unreadCount() {
+        return new UnreadCountResponse(feedService.unreadCount(requireUserId()));
+    }
+
+    @PostMapping("/{id}/read")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Mark a notification read")
+    public void markRead(@PathVariable String id) {
+        feedService.markRead(requireUserId(), id);
+    }
+
+    @PostMapping("/read-all")
+    @Operation(summary = "Mark all notifications read", description = "Returns the unread count afterwards.")
+    public UnreadCountResponse markAllRead() {
+        String userId = requireUserId();
+        feedService.markAllRead(userId);
+        return new UnreadCountResponse(feedService.unreadCount(userId));
+    }
+
+    private String requireUserId() {
+        String userId = SecurityUtils.currentUserId();
+        if (userId == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized");
+        }
+        return userId;
+    }
+}
@@ -0,0 +1,30 @@
+package com.glideclouds.taskmanagementsystem.notifications;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/** Unread notifications of one user, keyed by user id and kept with $inc, so reading it is one _id lookup. */
+@Document(collection = "notification_counters")
+public class NotificationCounter {
+
+    @Id
+    private String userId;
+
+    private long unread;
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public long getUnread() {
+        return unread;
+    }
+
+    public void setUnread(long unread) {
+        this.unread = unread;
+    }
+}
@@ -0,0 +1,133 @@
+package com.glideclouds.taskmanagementsystem.notifications;
+
+import com.glideclouds.taskmanagementsystem.notifications.dto.NotificationPageResponse;
+import com.glideclouds.taskmanagementsystem.notifications.dto.NotificationResponse;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * In-app notification feed.
+ * <p>
+ * Entries live in {@code notifications}; each user's unread total is a separate counter document changed with $inc
+ * as entries are written or read, so {@link #unreadCount} is a single _id read. Pages are keyset-paginated on the
+ * (userId, _id desc) index: the cursor is the last id returned.
+ */
+@Service
+public class NotificationFeedService {
+
+    static final int DEFAULT_LIMIT = 20;
+    static final int MAX_LIMIT = 100;
+
+    private final MongoTemplate mongoTemplate;
+
+    public NotificationFeedService(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /** Adds the same entry to the feed of every user in {@code userIds} (nulls and duplicates ignored). */
+    public void publish(Collection<String> userIds, NotificationType type, String title, String message, String taskId) {
+        Set<String> recipients = new LinkedHashSet<>();
+        for (String userId : userIds) {
+            if (userId != null && !userId.isBlank()) recipients.add(userId);
+        }
+        if (recipients.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        List<Notification> entries = new ArrayList<>(recipients.size());
+        for (String userId : recipients) {
+            entries.add(new Notification(userId, type, title, message, taskId, now));
+        }
+        mongoTemplate.insertAll(entries);
+
+        BulkOperations counters = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, NotificationCounter.class);
+        for (String userId : recipients) {
+            counters.upsert(Query.query(Criteria.where("_id").is(userId)), new Update().inc("unread", 1));
+        }
+        counters.execute();
+    }
+
+    public NotificationPageResponse list(String userId, String cursor, Integer limitParam) {
+        int limit = limitParam == null ? DEFAULT_LIMIT : Math.max(1, Math.min(MAX_LIMIT, limitParam));
+        Criteria criteria = Criteria.where("userId").is(userId);
+        if (cursor != null && !cursor.isBlank()) {
+            if (!ObjectId.isValid(cursor)) {
+                throw new ResponseStatusException(BAD_REQUEST, "Invalid cursor");
+            }
+            criteria = criteria.and("_id").lt(new ObjectId(cursor));
+        }
+        // One extra row tells whether another page exists.
+        Query query = Query.query(criteria).with(Sort.by(Sort.Direction.DESC, "_id")).limit(limit + 1);
+        List<Notification> rows = mongoTemplate.find(query, Notification.class);
+
+        boolean more = rows.size() > limit;
+        List<NotificationResponse> items = rows.stream().limit(limit).map(NotificationFeedService::toResponse).toList();
+        return new NotificationPageResponse(items, more ? items.getLast().id() : null);
+    }
+
+    public long unreadCount(String userId) {
+        NotificationCounter counter = mongoTemplate.findById(userId, NotificationCounter.class);
+        return counter == null ? 0 : Math.max(0, counter.getUnread());
+    }
+
+    /** Marks one entry read; returns false when it does not exist, belongs to someone else or was already read. */
+    public boolean markRead(String userId, String notificationId) {
+        if (!ObjectId.isValid(notificationId)) {
+            return false;
+        }
+        long modified = mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(new ObjectId(notificationId)).and("userId").is(userId).and("read").is(false)),
+                Update.update("read", true), Notification.class).getModifiedCount();
+        decrement(userId, modified);
+        return modified > 0;
+    }
+
+    /**
+     * Marks every unread entry read; returns how many changed. The counter is then set from a recount rather than
+     * decremented, which also clears unread entries that expired through the TTL index without being read.
+     */
+    public long markAllRead(String userId) {
+        Query unread = Query.query(Criteria.where("userId").is(userId).and("read").is(false));
+        long modified = mongoTemplate.updateMulti(unread, Update.update("read", true), Notification.class).getModifiedCount();
+        long remaining = mongoTemplate.count(unread, Notification.class);
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(userId)), Update.update("unread", remaining),
+                NotificationCounter.class);
+        return modified;
+    }
+
+    private void decrement(String userId, long by) {
+        if (by > 0) {
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(userId)), new Update().inc("unread", -by),
+                    NotificationCounter.class);
+        }
+    }
+
+    private static NotificationResponse toResponse(Notification n) {
+        return new NotificationResponse(
+                n.getId(),
+                Objects.toString(n.getType(), null),
+                n.getTitle(),
+                n.getMessage(),
+                n.getTaskId(),
+                n.isRead(),
+                n.getCreatedAt()
+        );
+    }
+}
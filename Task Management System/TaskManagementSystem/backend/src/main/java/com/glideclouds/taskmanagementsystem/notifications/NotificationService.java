@@ -2,22 +2,41 @@ package com.glideclouds.taskmanagementsystem.notifications;
 
 import com.glideclouds.taskmanagementsystem.config.ClientProperties;
 import com.glideclouds.taskmanagementsystem.tasks.Task;
+import com.glideclouds.taskmanagementsystem.tasks.TaskCommentedEvent;
+import com.glideclouds.taskmanagementsystem.tasks.TaskRepository;
 import com.glideclouds.taskmanagementsystem.users.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 @Service
 public class NotificationService {
 
+    private static final Logger log = LoggerFactory.getLogger(NotificationService.class);
+
     private static final DateTimeFormatter DATE_FMT = DateTimeFormatter.ISO_LOCAL_DATE;
+    private static final int MAX_PREVIEW = 140;
 
     private final EmailService emailService;
     private final ClientProperties clientProperties;
+    private final NotificationFeedService feedService;
+    private final TaskRepository taskRepository;
 
-    public NotificationService(EmailService emailService, ClientProperties clientProperties) {
+    public NotificationService(EmailService emailService,
+                               ClientProperties clientProperties,
+                               NotificationFeedService feedService,
+                               TaskRepository taskRepository) {
         this.emailService = emailService;
         this.clientProperties = clientProperties;
+        this.feedService = feedService;
+        this.taskRepository = taskRepository;
     }
 
     public void taskAssigned(User assignee, Task task) {
@@ -37,9 +56,50 @@ public class NotificationService {
                 + "Due date: " + due + "\n\n"
                 + "Open your board: " + link + "\n";
 
+        publishQuietly(List.of(safe(assignee.getId())), NotificationType.TASK_ASSIGNED, subject,
+                "Priority " + prio + ", due " + due, task.getId());
         emailService.send(assignee.getEmail(), subject, body);
     }
 
+    /**
+     * Tells everyone else on the task about a new comment: its owner and creator, and for a shared discussion the
+     * owners of every task in it.
+     */
+    @EventListener
+    public void onTaskCommented(TaskCommentedEvent event) {
+        Set<String> recipients = new LinkedHashSet<>();
+        recipients.add(event.ownerUserId());
+        recipients.add(event.createdByUserId());
+        if (event.sharedDiscussionId() != null && !event.sharedDiscussionId().isBlank()) {
+            for (Task t : taskRepository.findParticipantsBySharedDiscussionId(event.sharedDiscussionId())) {
+                recipients.add(t.getOwnerUserId());
+                recipients.add(t.getCreatedByUserId());
+            }
+        }
+        recipients.remove(event.authorUserId());
+        recipients.remove(null);
+        if (recipients.isEmpty()) {
+            return;
+        }
+
+        String author = event.authorEmail() == null || event.authorEmail().isBlank() ? "Someone" : event.authorEmail();
+        publishQuietly(recipients, NotificationType.TASK_COMMENTED, "New comment on " + safe(event.taskTitle()),
+                author + " commented", event.taskId());
+    }
+
+    /** Feed writes must not fail the request that triggered them. */
+    private void publishQuietly(Collection<String> userIds, NotificationType type, String title, String message, String taskId) {
+        try {
+            feedService.publish(userIds, type, preview(title), message, taskId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to write {} notification for task {}", type, taskId, e);
+        }
+    }
+
+    private static String preview(String s) {
+        return s.length() <= MAX_PREVIEW ? s : s.substring(0, MAX_PREVIEW - 3) + "...";
+    }
+
     private static String safe(String s) {
         return s == null ? "" : s;
     }
@@ -0,0 +1,7 @@
+package com.glideclouds.taskmanagementsystem.notifications;
+
+public enum NotificationType {
+    TASK_ASSIGNED,
+    TASK_COMMENTED,
+    TASKS_DUE
+}
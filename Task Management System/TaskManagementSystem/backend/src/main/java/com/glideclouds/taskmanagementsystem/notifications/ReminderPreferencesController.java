@@ -0,0 +1,49 @@
+package com.glideclouds.taskmanagementsystem.notifications;
+
+import com.glideclouds.taskmanagementsystem.notifications.dto.ReminderPreferencesRequest;
+import com.glideclouds.taskmanagementsystem.notifications.dto.ReminderPreferencesResponse;
+import com.glideclouds.taskmanagementsystem.security.SecurityUtils;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/notifications")
+@Tag(name = "Notifications", description = "In-app notification feed and reminder preferences")
+@SecurityRequirement(name = "bearerAuth")
+public class ReminderPreferencesController {
+
+    private final ReminderPreferencesService preferencesService;
+
+    public ReminderPreferencesController(ReminderPreferencesService preferencesService) {
+        this.preferencesService = preferencesService;
+    }
+
+    @GetMapping("/reminders")
+    @Operation(summary = "Get reminder preferences", description = "Returns the zone and local time of the daily reminder email, and when it fires next.")
+    public ReminderPreferencesResponse get() {
+        return preferencesService.get(requireUserId());
+    }
+
+    @PutMapping("/reminders")
+    @Operation(summary = "Update reminder preferences", description = "Sets the IANA time zone (blank for the server zone) and local time of the daily reminder email.")
+    public ReminderPreferencesResponse update(@Valid @RequestBody ReminderPreferencesRequest request) {
+        return preferencesService.update(requireUserId(), request);
+    }
+
+    private String requireUserId() {
+        String userId = SecurityUtils.currentUserId();
+        if (userId == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized");
+        }
+        return userId;
+    }
+}
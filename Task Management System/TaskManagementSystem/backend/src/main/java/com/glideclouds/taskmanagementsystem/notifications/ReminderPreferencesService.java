@@ -0,0 +1,73 @@
+package com.glideclouds.taskmanagementsystem.notifications;
+
+import com.glideclouds.taskmanagementsystem.notifications.dto.ReminderPreferencesRequest;
+import com.glideclouds.taskmanagementsystem.notifications.dto.ReminderPreferencesResponse;
+import com.glideclouds.taskmanagementsystem.users.User;
+import com.glideclouds.taskmanagementsystem.users.UserRepository;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.DateTimeException;
+import java.time.ZoneId;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+/** Reads and changes a user's reminder zone and time; a change reschedules the next reminder right away. */
+@Service
+public class ReminderPreferencesService {
+
+    private final UserRepository userRepository;
+    private final MongoTemplate mongoTemplate;
+    private final DueReminderScheduler reminderScheduler;
+
+    public ReminderPreferencesService(UserRepository userRepository,
+                                      MongoTemplate mongoTemplate,
+                                      DueReminderScheduler reminderScheduler) {
+        this.userRepository = userRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.reminderScheduler = reminderScheduler;
+    }
+
+    public ReminderPreferencesResponse get(String userId) {
+        return toResponse(load(userId));
+    }
+
+    public ReminderPreferencesResponse update(String userId, ReminderPreferencesRequest request) {
+        String timeZone = normalizeZone(request.timeZone());
+        User user = load(userId);
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(userId)), new Update()
+                .set("timeZone", timeZone)
+                .set("reminderTime", request.reminderTime()), User.class);
+        user.setTimeZone(timeZone);
+        user.setReminderTime(request.reminderTime());
+        reminderScheduler.reschedule(user);
+        return toResponse(user);
+    }
+
+    private User load(String userId) {
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "User not found"));
+    }
+
+    /** Validated zone id; blank means the server zone. */
+    private static String normalizeZone(String timeZone) {
+        if (timeZone == null || timeZone.isBlank()) {
+            return null;
+        }
+        try {
+            return ZoneId.of(timeZone.trim()).getId();
+        } catch (DateTimeException e) {
+            throw new ResponseStatusException(BAD_REQUEST, "Unknown time zone: " + timeZone);
+        }
+    }
+
+    private static ReminderPreferencesResponse toResponse(User user) {
+        String zone = user.getTimeZone() == null ? ZoneId.systemDefault().getId() : user.getTimeZone();
+        return new ReminderPreferencesResponse(zone, ReminderSchedule.timeOf(user.getReminderTime()), user.getNextReminderAt());
+    }
+}
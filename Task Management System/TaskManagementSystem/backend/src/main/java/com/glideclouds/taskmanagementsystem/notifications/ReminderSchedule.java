@@ -0,0 +1,60 @@
+package com.glideclouds.taskmanagementsystem.notifications;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+/** When a user's daily reminder fires: their local reminder time plus a stable per-user offset. */
+final class ReminderSchedule {
+
+    static final LocalTime DEFAULT_TIME = LocalTime.of(8, 0);
+
+    private ReminderSchedule() {
+    }
+
+    /** The stored zone, or the server zone when unset or no longer valid. */
+    static ZoneId zoneOf(String timeZone) {
+        if (timeZone == null || timeZone.isBlank()) {
+            return ZoneId.systemDefault();
+        }
+        try {
+            return ZoneId.of(timeZone);
+        } catch (DateTimeException e) {
+            return ZoneId.systemDefault();
+        }
+    }
+
+    static LocalTime timeOf(LocalTime reminderTime) {
+        return reminderTime == null ? DEFAULT_TIME : reminderTime;
+    }
+
+    /**
+     * Offset in [0, spread) derived from the user id, so users sharing a reminder time are spread over the window
+     * instead of firing in the same second, and each user keeps the same offset every day.
+     */
+    static Duration offsetOf(String userId, Duration spread) {
+        long seconds = spread.toSeconds();
+        return seconds <= 0 ? Duration.ZERO : Duration.ofSeconds(Math.floorMod(userId.hashCode(), seconds));
+    }
+
+    /** First reminder strictly after {@code after}; a time skipped by a DST gap moves forward by the gap. */
+    static Instant nextFire(ZoneId zone, LocalTime time, Duration offset, Instant after) {
+        LocalDate day = LocalDate.ofInstant(after.minus(offset), zone);
+        while (true) {
+            Instant at = ZonedDateTime.of(day, time, zone).toInstant().plus(offset);
+            if (at.isAfter(after)) {
+                return at;
+            }
+            day = day.plusDays(1);
+        }
+    }
+
+    /** The local date a reminder fired at {@code fireAt} reports on. */
+    static LocalDate dayOf(Instant fireAt, ZoneId zone, Duration offset) {
+        return LocalDate.ofInstant(fireAt.minus(offset), zone);
+    }
+}
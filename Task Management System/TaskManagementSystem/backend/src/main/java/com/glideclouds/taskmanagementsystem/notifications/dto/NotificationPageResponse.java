@@ -0,0 +1,13 @@
+package com.glideclouds.taskmanagementsystem.notifications.dto;
+
+import java.util.List;
+
+/**
+ * @param items      newest first
+ * @param nextCursor pass as {@code cursor} for the next (older) page; null on the last page
+ */
+public record NotificationPageResponse(
+        List<NotificationResponse> items,
+        String nextCursor
+) {
+}
@@ -0,0 +1,14 @@
+package com.glideclouds.taskmanagementsystem.notifications.dto;
+
+import java.time.Instant;
+
+public record NotificationResponse(
+        String id,
+        String type,
+        String title,
+        String message,
+        String taskId,
+        boolean read,
+        Instant createdAt
+) {
+}
@@ -0,0 +1,12 @@
+package com.glideclouds.taskmanagementsystem.notifications.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalTime;
+
+public record ReminderPreferencesRequest(
+        @Size(max = 64) String timeZone,
+        @NotNull LocalTime reminderTime
+) {
+}
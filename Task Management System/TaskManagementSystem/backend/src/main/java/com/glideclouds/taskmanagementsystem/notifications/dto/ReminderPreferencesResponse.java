@@ -0,0 +1,11 @@
+package com.glideclouds.taskmanagementsystem.notifications.dto;
+
+import java.time.Instant;
+import java.time.LocalTime;
+
+public record ReminderPreferencesResponse(
+        String timeZone,
+        LocalTime reminderTime,
+        Instant nextReminderAt
+) {
+}
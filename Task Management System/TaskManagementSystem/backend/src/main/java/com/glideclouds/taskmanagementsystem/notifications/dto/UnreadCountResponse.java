@@ -0,0 +1,4 @@
+package com.glideclouds.taskmanagementsystem.notifications.dto;
+
+public record UnreadCountResponse(long unread) {
+}
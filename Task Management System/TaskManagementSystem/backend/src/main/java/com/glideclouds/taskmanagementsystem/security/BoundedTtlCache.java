@@ -0,0 +1,57 @@
+package com.glideclouds.taskmanagementsystem.security;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Small concurrent cache whose entries expire {@code ttl} after they were loaded. When {@code maxSize} is reached,
+ * expired entries are dropped first and, if that is not enough, the whole cache is cleared: the values are cheap to
+ * reload and this keeps lookups free of bookkeeping.
+ */
+final class BoundedTtlCache<K, V> {
+
+    private final long ttlNanos;
+    private final int maxSize;
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    BoundedTtlCache(Duration ttl, int maxSize) {
+        this.ttlNanos = Math.max(0, ttl.toNanos());
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    /** Returns the cached value for {@code key}, loading it (outside any lock) when absent or expired. */
+    V get(K key, Function<K, V> loader) {
+        long now = System.nanoTime();
+        Entry<V> entry = entries.get(key);
+        if (entry != null && now - entry.loadedAtNanos < ttlNanos) {
+            return entry.value;
+        }
+        V value = loader.apply(key);
+        if (ttlNanos > 0) {
+            if (entries.size() >= maxSize) {
+                evict(now);
+            }
+            entries.put(key, new Entry<>(value, now));
+        }
+        return value;
+    }
+
+    void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evict(long now) {
+        entries.values().removeIf(e -> now - e.loadedAtNanos >= ttlNanos);
+        if (entries.size() >= maxSize) {
+            entries.clear();
+        }
+    }
+
+    private record Entry<V>(V value, long loadedAtNanos) {
+    }
+}
@@ -1,7 +1,5 @@
 package com.glideclouds.taskmanagementsystem.security;
 
-import com.glideclouds.taskmanagementsystem.users.User;
-import com.glideclouds.taskmanagementsystem.users.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,11 +17,15 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserRepository userRepository;
+    private final SecurityEpochService securityEpochService;
+    private final TokenRevocationService revocations;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserRepository userRepository) {
+    public JwtAuthenticationFilter(JwtService jwtService,
+                                   SecurityEpochService securityEpochService,
+                                   TokenRevocationService revocations) {
         this.jwtService = jwtService;
-        this.userRepository = userRepository;
+        this.securityEpochService = securityEpochService;
+        this.revocations = revocations;
     }
 
     @Override
@@ -37,24 +39,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String token = authHeader.substring("Bearer ".length()).trim();
-        if (token.isBlank() || !jwtService.isTokenValid(token)) {
+        if (token.isBlank() || SecurityContextHolder.getContext().getAuthentication() != null) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        String userId = jwtService.extractUserId(token);
-        if (userId == null || SecurityContextHolder.getContext().getAuthentication() != null) {
+        // The principal comes from the verified claims; the revocation filter and the (cached) epoch check only reach
+        // the database on a filter hit or a cache miss.
+        VerifiedToken verified = jwtService.verify(token);
+        if (verified == null
+                || revocations.isRevoked(verified.tokenId())
+                || !securityEpochService.isCurrent(verified.userId(), verified.securityEpoch())) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        User user = userRepository.findById(userId).orElse(null);
-        if (user == null) {
-            filterChain.doFilter(request, response);
-            return;
-        }
-
-        CustomUserDetails principal = new CustomUserDetails(user.getId(), user.getEmail(), user.getPasswordHash(), user.getRole());
+        CustomUserDetails principal = verified.toPrincipal();
         UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                 principal,
                 null,
@@ -1,63 +1,111 @@
 package com.glideclouds.taskmanagementsystem.security;
 
 import com.glideclouds.taskmanagementsystem.config.JwtProperties;
+import com.glideclouds.taskmanagementsystem.users.Role;
 import com.glideclouds.taskmanagementsystem.users.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.UUID;
 
 @Service
-/** Issues and validates JWTs for authentication (HS256, server-side secret). */
+/**
+ * Issues and validates JWTs for authentication (HS256, server-side secret). Validation uses one immutable parser and
+ * remembers verified tokens in a bounded LRU ({@code app.jwt.claims-cache-size}, 0 disables it).
+ */
 public class JwtService {
 
     private final JwtProperties jwtProperties;
     private final SecretKey key;
+    private final JwtParser parser;
+    private final VerifiedClaimsCache cache;
 
-    public JwtService(JwtProperties jwtProperties) {
+    public JwtService(JwtProperties jwtProperties,
+                      @Value("${app.jwt.claims-cache-size:10000}") int claimsCacheSize) {
         this.jwtProperties = jwtProperties;
         this.key = Keys.hmacShaKeyFor(jwtProperties.secret().getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.cache = new VerifiedClaimsCache(claimsCacheSize);
     }
 
-    /** Creates a signed JWT containing subject=userId and email/role claims. */
+    /** Lifetime of access tokens in seconds. */
+    public long accessTokenTtlSeconds() {
+        return jwtProperties.expirationMs() / 1000;
+    }
+
+    /**
+     * Creates a short-lived signed access token: subject=userId, email/role/security-epoch claims and a random jti
+     * that identifies it for revocation.
+     */
     public String generateToken(User user) {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + jwtProperties.expirationMs());
 
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(user.getId())
                 .claim("email", user.getEmail())
                 .claim("role", user.getRole().name())
+                .claim("epoch", user.getSecurityEpoch())
                 .issuedAt(now)
                 .expiration(expiry)
                 .signWith(key)
                 .compact();
     }
 
-    /** Extracts the user id (JWT subject). */
-    public String extractUserId(String token) {
-        return parseClaims(token).getSubject();
+    /**
+     * Checks signature and expiry and returns the identity claims, or null when the token is invalid or lacks them.
+     * Tokens issued before the epoch claim existed count as epoch 0.
+     */
+    public VerifiedToken verify(String token) {
+        if (!cache.enabled()) {
+            return toVerified(parseClaims(token));
+        }
+        String hash = VerifiedClaimsCache.hash(token);
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = cache.get(hash, now);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = parseClaims(token);
+        VerifiedToken verified = toVerified(claims);
+        if (verified != null && verified.expiresAt() != null) {
+            cache.put(hash, verified, verified.expiresAt().toEpochMilli());
+        }
+        return verified;
     }
 
-    /** Returns true if the token parses and is not expired; otherwise false. */
-    public boolean isTokenValid(String token) {
+    private static VerifiedToken toVerified(Claims claims) {
+        if (claims == null) {
+            return null;
+        }
         try {
-            parseClaims(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            String email = claims.get("email", String.class);
+            String role = claims.get("role", String.class);
+            Number epoch = claims.get("epoch", Number.class);
+            if (claims.getSubject() == null || email == null || role == null) {
+                return null;
+            }
+            return new VerifiedToken(claims.getSubject(), email, Role.valueOf(role), epoch == null ? 0 : epoch.longValue(),
+                    claims.getId(), claims.getExpiration() == null ? null : claims.getExpiration().toInstant());
+        } catch (RuntimeException e) {
+            return null;
         }
     }
 
+    /** Verified claims, or null when the signature, expiry or format is wrong. */
     private Claims parseClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        try {
+            return parser.parseSignedClaims(token).getPayload();
+        } catch (RuntimeException e) {
+            return null;
+        }
     }
 }
@@ -0,0 +1,134 @@
+package com.glideclouds.taskmanagementsystem.security;
+
+import com.glideclouds.taskmanagementsystem.common.TooManyRequestsException;
+import com.glideclouds.taskmanagementsystem.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user request budget for the API. Runs after {@link JwtAuthenticationFilter} and charges each authenticated
+ * {@code /api/**} request against the user's {@link TokenBucket}: board moves and bulk edits rewrite whole columns, so
+ * they cost more than reads (see {@code app.rate-limit.rules}). Refused requests get a 429 with Retry-After through
+ * the regular exception handler. Anonymous requests pass through; sign-in has its own throttle.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitProperties properties;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final MeterRegistry meterRegistry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<Cost> rules = new ArrayList<>();
+    private final Cost read;
+    private final Cost write;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, Counter> throttled = new ConcurrentHashMap<>();
+
+    public RateLimitFilter(RateLimitProperties properties,
+                           @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+                           MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.exceptionResolver = exceptionResolver;
+        this.meterRegistry = meterRegistry;
+        if (properties.rules() != null) {
+            for (RateLimitProperties.Rule rule : properties.rules()) {
+                String method = StringUtils.hasText(rule.method()) ? rule.method().trim().toUpperCase(Locale.ROOT) : null;
+                rules.add(new Cost(method, rule.pattern(), rule.cost(), rule.pattern()));
+            }
+        }
+        this.read = new Cost(null, null, properties.readCost(), "read");
+        this.write = new Cost(null, null, properties.writeCost(), "write");
+        Gauge.builder("http.rate_limit.buckets", buckets, Map::size)
+                .description("Users with a partly spent request budget")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.enabled() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof CustomUserDetails user)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Cost cost = costOf(request);
+        long now = System.nanoTime();
+        long waitNanos = bucketFor(user.getId(), now).tryConsume(cost.tokens(), now);
+        if (waitNanos > 0) {
+            throttledCounter(cost.endpoint()).increment();
+            exceptionResolver.resolveException(request, response, null,
+                    new TooManyRequestsException("Too many requests, please slow down", Duration.ofNanos(waitNanos)));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /** Drops buckets that have refilled completely; a fresh bucket would behave the same. */
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdle() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    Cost costOf(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getRequestURI();
+        for (Cost rule : rules) {
+            if ((rule.method() == null || rule.method().equals(method)) && pathMatcher.match(rule.pattern(), path)) {
+                return rule;
+            }
+        }
+        return "GET".equals(method) || "HEAD".equals(method) ? read : write;
+    }
+
+    private TokenBucket bucketFor(String userId, long now) {
+        TokenBucket bucket = buckets.get(userId);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= properties.maxUsers()) {
+            evictIdle();
+        }
+        return buckets.computeIfAbsent(userId,
+                id -> new TokenBucket(properties.capacity(), properties.refillPerSecond(), now));
+    }
+
+    private Counter throttledCounter(String endpoint) {
+        return throttled.computeIfAbsent(endpoint, e -> Counter.builder("http.rate_limit.throttled")
+                .description("Requests refused by the per-user rate limit")
+                .tag("endpoint", e)
+                .register(meterRegistry));
+    }
+
+    /** Tokens charged for requests matching {@code method} and {@code pattern}; {@code endpoint} is the metric tag. */
+    record Cost(String method, String pattern, int tokens, String endpoint) {
+    }
+}
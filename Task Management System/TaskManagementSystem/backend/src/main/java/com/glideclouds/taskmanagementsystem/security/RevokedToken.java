@@ -0,0 +1,50 @@
+package com.glideclouds.taskmanagementsystem.security;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/** A revoked access token, by jti; removed by the TTL index once the token would have expired anyway. */
+@Document(collection = "revoked_tokens")
+public class RevokedToken {
+
+    @Id
+    private String id;
+
+    private String userId;
+
+    /** Other instances pick up revocations newer than their last sync through this index. */
+    @Indexed
+    private Instant revokedAt;
+
+    @Indexed(name = "expire_at_ttl_idx", expireAfter = "0s")
+    private Instant expiresAt;
+
+    public RevokedToken() {
+    }
+
+    public RevokedToken(String id, String userId, Instant revokedAt, Instant expiresAt) {
+        this.id = id;
+        this.userId = userId;
+        this.revokedAt = revokedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public Instant getRevokedAt() {
+        return revokedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -0,0 +1,45 @@
+package com.glideclouds.taskmanagementsystem.security;
+
+import com.glideclouds.taskmanagementsystem.users.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Decides whether a verified token still belongs to a live user. Each token carries the user's security epoch at
+ * issue time; a token is accepted while the user exists and the epoch is unchanged. Epochs are cached per user for
+ * {@code app.jwt.epoch-cache-ttl}, so a revocation made on another instance takes effect within that window.
+ */
+@Service
+public class SecurityEpochService {
+
+    /** Cached for users that no longer exist. */
+    private static final long MISSING = -1;
+
+    private final MongoTemplate mongoTemplate;
+    private final BoundedTtlCache<String, Long> epochs;
+
+    public SecurityEpochService(MongoTemplate mongoTemplate,
+                                @Value("${app.jwt.epoch-cache-ttl:30s}") Duration ttl,
+                                @Value("${app.jwt.epoch-cache-max-size:10000}") int maxSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.epochs = new BoundedTtlCache<>(ttl, maxSize);
+    }
+
+    /** True when the user exists and its epoch still equals the one in the token. */
+    public boolean isCurrent(String userId, long tokenEpoch) {
+        long current = epochs.get(userId, this::load);
+        return current != MISSING && current == tokenEpoch;
+    }
+
+    private Long load(String userId) {
+        Query query = Query.query(Criteria.where("_id").is(userId));
+        query.fields().include("securityEpoch");
+        User user = mongoTemplate.findOne(query, User.class);
+        return user == null ? MISSING : user.getSecurityEpoch();
+    }
+}
@@ -0,0 +1,53 @@
+package com.glideclouds.taskmanagementsystem.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket of {@code capacity} tokens refilled at a fixed rate.
+ * <p>
+ * The whole state is one {@code long}: the {@link System#nanoTime()} at which the bucket will be full again. Tokens
+ * available at {@code now} are {@code (now + burst - fullAt) / nanosPerToken}, so taking {@code cost} tokens moves
+ * {@code fullAt} forward by {@code cost * nanosPerToken} and is a single compare-and-set; nothing is allocated and
+ * refills need no timer.
+ */
+final class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final int capacity;
+    private final AtomicLong fullAt;
+
+    TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        if (capacity < 1 || !(refillPerSecond > 0)) {
+            throw new IllegalArgumentException("capacity and refillPerSecond must be positive");
+        }
+        this.capacity = capacity;
+        this.nanosPerToken = Math.max(1, Math.round(1_000_000_000d / refillPerSecond));
+        this.burstNanos = capacity * nanosPerToken;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes {@code cost} tokens (capped at the capacity) and returns 0, or leaves the bucket untouched and returns the
+     * nanoseconds until enough tokens will have been refilled.
+     */
+    long tryConsume(int cost, long nowNanos) {
+        long increment = Math.min(Math.max(cost, 1), capacity) * nanosPerToken;
+        while (true) {
+            long current = fullAt.get();
+            long next = (current - nowNanos > 0 ? current : nowNanos) + increment;
+            long wait = next - nowNanos - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /** Whether the bucket has refilled completely, i.e. is indistinguishable from a new one. */
+    boolean isFull(long nowNanos) {
+        return fullAt.get() - nowNanos <= 0;
+    }
+}
@@ -0,0 +1,131 @@
+package com.glideclouds.taskmanagementsystem.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+/**
+ * Revoked access tokens ({@code revoked_tokens}, by jti) with an in-memory Bloom filter in front. A token the filter
+ * has never seen is accepted without any I/O, which is the path nearly every request takes; only a filter hit is
+ * confirmed against MongoDB. Revocations from other instances are folded in by {@link #sync()}, and the filter is
+ * rebuilt from the collection every {@code app.jwt.revocation-rebuild-interval} so expired entries stop occupying
+ * bits. Until the first load completes every check goes to the collection.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    /** Re-read window for incremental syncs, covering clock skew between instances. */
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(10);
+
+    private final MongoTemplate mongoTemplate;
+    private final int expectedRevocations;
+    private final long rebuildIntervalNanos;
+    private final Counter confirmedRevoked;
+    private final Counter falsePositives;
+
+    private volatile BloomFilter filter;
+    private volatile boolean loaded;
+    private volatile Instant syncedFrom;
+    private volatile long rebuiltAtNanos;
+
+    public TokenRevocationService(MongoTemplate mongoTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.jwt.revocation-expected:100000}") int expectedRevocations,
+                                  @Value("${app.jwt.revocation-rebuild-interval:1h}") Duration rebuildInterval) {
+        this.mongoTemplate = mongoTemplate;
+        this.expectedRevocations = Math.max(1_000, expectedRevocations);
+        this.rebuildIntervalNanos = rebuildInterval.toNanos();
+        this.filter = new BloomFilter(this.expectedRevocations, FALSE_POSITIVE_RATE);
+        this.confirmedRevoked = confirmations(meterRegistry, "revoked");
+        this.falsePositives = confirmations(meterRegistry, "false_positive");
+    }
+
+    /** True when the token with this jti was revoked; tokens without a jti cannot be revoked individually. */
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        if (loaded && !filter.mightContain(tokenId)) {
+            return false;
+        }
+        boolean revoked = mongoTemplate.exists(Query.query(Criteria.where("_id").is(tokenId)), RevokedToken.class);
+        if (loaded) {
+            (revoked ? confirmedRevoked : falsePositives).increment();
+        }
+        return revoked;
+    }
+
+    /** Revokes a token until {@code expiresAt}; already expired tokens need no entry. */
+    public void revoke(String tokenId, String userId, Instant expiresAt) {
+        Instant now = Instant.now();
+        if (tokenId == null || expiresAt == null || !expiresAt.isAfter(now)) {
+            return;
+        }
+        mongoTemplate.save(new RevokedToken(tokenId, userId, now, expiresAt));
+        // After the save, so a concurrent rebuild either streams the entry or its follow-up sync finds it.
+        filter.add(tokenId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.jwt.revocation-sync-interval-ms:5000}")
+    public void sync() {
+        try {
+            if (!loaded || System.nanoTime() - rebuiltAtNanos >= rebuildIntervalNanos) {
+                rebuild();
+            } else {
+                Instant now = Instant.now();
+                addSince(syncedFrom, filter);
+                syncedFrom = now;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Revoked token sync failed; will retry", e);
+        }
+    }
+
+    private void rebuild() {
+        Instant started = Instant.now();
+        long count = mongoTemplate.count(new Query(), RevokedToken.class);
+        BloomFilter next = new BloomFilter((int) Math.min(Integer.MAX_VALUE / 2, Math.max(expectedRevocations, count * 2)),
+                FALSE_POSITIVE_RATE);
+        Query all = new Query();
+        all.fields().include("_id");
+        try (Stream<RevokedToken> tokens = mongoTemplate.stream(all, RevokedToken.class)) {
+            tokens.forEach(token -> next.add(token.getId()));
+        }
+        filter = next;
+        // Revocations saved while streaming may have been missed by the cursor and added to the old filter.
+        addSince(started, next);
+        syncedFrom = started;
+        rebuiltAtNanos = System.nanoTime();
+        loaded = true;
+        log.debug("Revoked token filter rebuilt with {} entries", count);
+    }
+
+    private void addSince(Instant from, BloomFilter target) {
+        Query recent = Query.query(Criteria.where("revokedAt").gte(from.minus(SYNC_OVERLAP)));
+        recent.fields().include("_id");
+        for (RevokedToken token : mongoTemplate.find(recent, RevokedToken.class)) {
+            target.add(token.getId());
+        }
+    }
+
+    private static Counter confirmations(MeterRegistry registry, String result) {
+        return Counter.builder("auth.revocation.confirmations")
+                .description("Revocation filter hits confirmed against the store, by result")
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,72 @@
+package com.glideclouds.taskmanagementsystem.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU of tokens whose signature has already been checked, so a client reusing its token costs one SHA-256
+ * instead of an HMAC verification and JSON parse. Keys are the token's SHA-256 (raw bearer tokens are not kept in
+ * memory); an entry is served only until the token's own expiry.
+ */
+final class VerifiedClaimsCache {
+
+    private final int maxSize;
+    private final Map<String, Entry> entries;
+
+    VerifiedClaimsCache(int maxSize) {
+        this.maxSize = Math.max(0, maxSize);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > VerifiedClaimsCache.this.maxSize;
+            }
+        };
+    }
+
+    boolean enabled() {
+        return maxSize > 0;
+    }
+
+    /** Cached claims for {@code tokenHash}, or null when absent or past the token's expiry. */
+    VerifiedToken get(String tokenHash, long nowMillis) {
+        synchronized (entries) {
+            Entry entry = entries.get(tokenHash);
+            if (entry == null) {
+                return null;
+            }
+            if (nowMillis >= entry.expiresAtMillis) {
+                entries.remove(tokenHash);
+                return null;
+            }
+            return entry.token;
+        }
+    }
+
+    void put(String tokenHash, VerifiedToken token, long expiresAtMillis) {
+        synchronized (entries) {
+            entries.put(tokenHash, new Entry(token, expiresAtMillis));
+        }
+    }
+
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record Entry(VerifiedToken token, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.glideclouds.taskmanagementsystem.security;
+
+import com.glideclouds.taskmanagementsystem.users.Role;
+
+import java.time.Instant;
+
+/**
+ * Identity claims of a token whose signature and expiry have been checked. {@code tokenId} (jti) is null for tokens
+ * issued before access tokens carried one.
+ */
+public record VerifiedToken(String userId, String email, Role role, long securityEpoch, String tokenId, Instant expiresAt) {
+
+    public CustomUserDetails toPrincipal() {
+        return new CustomUserDetails(userId, email, null, role);
+    }
+}
@@ -0,0 +1,262 @@
+package com.glideclouds.taskmanagementsystem.tasks;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory dependency graph for one user's tasks (edges: task -> blockedByTaskIds).
+ * <p>
+ * Instances are immutable snapshots: mutations return a new graph that shares unchanged structure and keeps every
+ * resolved node that the change cannot affect. A status change of X only drops the cached node of X and of the
+ * tasks that (transitively) depend on X.
+ * <p>
+ * A resolved node keeps only whether the task is blocked, the next hop of its critical path and the path length;
+ * the path itself and the "blocks" list are built when a {@link DependencyState} is asked for, so memory stays
+ * linear in the graph even for long chains.
+ */
+final class DependencyGraph {
+
+    private final Map<String, TaskStatus> statusById;
+    private final Map<String, List<String>> blockedBy;
+    private final Map<String, Set<String>> blocks;
+    private final ConcurrentHashMap<String, Node> resolved;
+
+    private DependencyGraph(Map<String, TaskStatus> statusById,
+                            Map<String, List<String>> blockedBy,
+                            Map<String, Set<String>> blocks,
+                            ConcurrentHashMap<String, Node> resolved) {
+        this.statusById = statusById;
+        this.blockedBy = blockedBy;
+        this.blocks = blocks;
+        this.resolved = resolved;
+    }
+
+    /** Builds a graph from tasks carrying at least id, status and blockedByTaskIds. */
+    static DependencyGraph build(Collection<Task> tasks) {
+        Map<String, TaskStatus> statusById = new HashMap<>();
+        Map<String, List<String>> blockedBy = new HashMap<>();
+        for (Task t : tasks) {
+            if (t == null || t.getId() == null) continue;
+            statusById.put(t.getId(), t.getStatus());
+            List<String> deps = t.getBlockedByTaskIds();
+            if (deps != null && !deps.isEmpty()) {
+                blockedBy.put(t.getId(), List.copyOf(deps.stream().filter(d -> d != null).toList()));
+            }
+        }
+        return new DependencyGraph(statusById, blockedBy, reverse(blockedBy), new ConcurrentHashMap<>());
+    }
+
+    int size() {
+        return statusById.size();
+    }
+
+    /**
+     * Returns the cycle that adding {@code taskId -> newBlockers} would close (starting and ending at taskId),
+     * or an empty list when the update is acyclic.
+     */
+    List<String> findCycle(String taskId, Collection<String> newBlockers) {
+        for (String start : newBlockers) {
+            if (start.equals(taskId)) {
+                return List.of(taskId, taskId);
+            }
+            // Iterative DFS from the new blocker along existing blockedBy edges, looking for taskId.
+            Map<String, String> parent = new HashMap<>();
+            Deque<String> stack = new ArrayDeque<>();
+            parent.put(start, null);
+            stack.push(start);
+            while (!stack.isEmpty()) {
+                String current = stack.pop();
+                for (String next : blockedBy.getOrDefault(current, List.of())) {
+                    if (next.equals(taskId)) {
+                        List<String> path = new ArrayList<>();
+                        path.add(taskId);
+                        for (String n = current; n != null; n = parent.get(n)) {
+                            path.add(1, n);
+                        }
+                        path.add(taskId);
+                        return path;
+                    }
+                    if (!parent.containsKey(next)) {
+                        parent.put(next, current);
+                        stack.push(next);
+                    }
+                }
+            }
+        }
+        return List.of();
+    }
+
+    /** Resolves blocked/blocks/critical path for a task; unknown tasks resolve to {@link DependencyState#NONE}. */
+    DependencyState stateOf(String taskId) {
+        if (taskId == null || !statusById.containsKey(taskId)) {
+            return DependencyState.NONE;
+        }
+        Node node = resolve(taskId);
+        List<String> criticalPath = new ArrayList<>(node.length());
+        for (String hop = node.next(); hop != null && criticalPath.size() < node.length(); hop = resolve(hop).next()) {
+            criticalPath.add(hop);
+        }
+        return new DependencyState(node.blocked(), List.copyOf(blocks.getOrDefault(taskId, Set.of())),
+                List.copyOf(criticalPath));
+    }
+
+    /** Resolves every task in one memoized pass (O(V + E)). */
+    void resolveAll() {
+        for (String id : statusById.keySet()) {
+            resolve(id);
+        }
+    }
+
+    boolean isResolved(String taskId) {
+        return resolved.containsKey(taskId);
+    }
+
+    DependencyGraph withStatus(String taskId, TaskStatus status) {
+        if (!statusById.containsKey(taskId) || statusById.get(taskId) == status) {
+            return this;
+        }
+        Map<String, TaskStatus> nextStatus = new HashMap<>(statusById);
+        nextStatus.put(taskId, status);
+        return new DependencyGraph(nextStatus, blockedBy, blocks, retainUnaffected(taskId));
+    }
+
+    DependencyGraph withBlockers(String taskId, List<String> blockers) {
+        Map<String, List<String>> nextBlockedBy = new HashMap<>(blockedBy);
+        if (blockers == null || blockers.isEmpty()) {
+            nextBlockedBy.remove(taskId);
+        } else {
+            nextBlockedBy.put(taskId, List.copyOf(blockers));
+        }
+        Map<String, TaskStatus> nextStatus = statusById;
+        if (!statusById.containsKey(taskId)) {
+            nextStatus = new HashMap<>(statusById);
+            nextStatus.put(taskId, null);
+        }
+        return new DependencyGraph(nextStatus, nextBlockedBy, reverse(nextBlockedBy), retainUnaffected(taskId));
+    }
+
+    DependencyGraph withTask(String taskId, TaskStatus status, List<String> blockers) {
+        Map<String, TaskStatus> nextStatus = new HashMap<>(statusById);
+        nextStatus.put(taskId, status);
+        DependencyGraph added = new DependencyGraph(nextStatus, blockedBy, blocks, retainUnaffected(taskId));
+        return blockers == null || blockers.isEmpty() ? added : added.withBlockers(taskId, blockers);
+    }
+
+    DependencyGraph withoutTask(String taskId) {
+        if (!statusById.containsKey(taskId)) {
+            return this;
+        }
+        Map<String, TaskStatus> nextStatus = new HashMap<>(statusById);
+        nextStatus.remove(taskId);
+        Map<String, List<String>> nextBlockedBy = new HashMap<>(blockedBy);
+        nextBlockedBy.remove(taskId);
+        return new DependencyGraph(nextStatus, nextBlockedBy, reverse(nextBlockedBy), retainUnaffected(taskId));
+    }
+
+    /** Copies resolved nodes, dropping taskId and every task that transitively depends on it. */
+    private ConcurrentHashMap<String, Node> retainUnaffected(String taskId) {
+        ConcurrentHashMap<String, Node> kept = new ConcurrentHashMap<>(resolved);
+        Deque<String> queue = new ArrayDeque<>();
+        Set<String> seen = new HashSet<>();
+        queue.add(taskId);
+        seen.add(taskId);
+        while (!queue.isEmpty()) {
+            String current = queue.poll();
+            kept.remove(current);
+            for (String dependent : blocks.getOrDefault(current, Set.of())) {
+                if (seen.add(dependent)) {
+                    queue.add(dependent);
+                }
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Memoized iterative DFS in post-order, so chains of any length resolve without recursion. The critical path of a
+     * task is its longest chain of unfinished blockers (nearest first); a task is blocked when any direct blocker is
+     * not DONE. Back-edges of legacy cycles are ignored.
+     */
+    private Node resolve(String taskId) {
+        Node cached = resolved.get(taskId);
+        if (cached != null) {
+            return cached;
+        }
+        Deque<Frame> stack = new ArrayDeque<>();
+        Set<String> onStack = new HashSet<>();
+        stack.push(new Frame(taskId, blockedBy.getOrDefault(taskId, List.of())));
+        onStack.add(taskId);
+        Node node = null;
+        while (!stack.isEmpty()) {
+            Frame frame = stack.peek();
+            if (frame.index < frame.blockers.size()) {
+                String blocker = frame.blockers.get(frame.index++);
+                if (!statusById.containsKey(blocker) || statusById.get(blocker) == TaskStatus.DONE) continue;
+                frame.blocked = true;
+                if (onStack.contains(blocker)) continue;
+                Node done = resolved.get(blocker);
+                if (done != null) {
+                    frame.consider(blocker, done);
+                } else {
+                    stack.push(new Frame(blocker, blockedBy.getOrDefault(blocker, List.of())));
+                    onStack.add(blocker);
+                }
+                continue;
+            }
+            stack.pop();
+            onStack.remove(frame.taskId);
+            node = new Node(frame.blocked, frame.next, frame.length);
+            resolved.put(frame.taskId, node);
+            Frame parent = stack.peek();
+            if (parent != null) {
+                parent.consider(frame.taskId, node);
+            }
+        }
+        return node;
+    }
+
+    private static Map<String, Set<String>> reverse(Map<String, List<String>> blockedBy) {
+        Map<String, Set<String>> reverse = new HashMap<>();
+        for (Map.Entry<String, List<String>> e : blockedBy.entrySet()) {
+            for (String blocker : e.getValue()) {
+                reverse.computeIfAbsent(blocker, k -> new LinkedHashSet<>()).add(e.getKey());
+            }
+        }
+        return reverse;
+    }
+
+    /** Resolved task: blocked flag, first hop of the critical path (null when empty) and its length. */
+    private record Node(boolean blocked, String next, int length) {
+    }
+
+    /** A task being resolved: its blockers, how many were visited, and the longest path found so far. */
+    private static final class Frame {
+        private final String taskId;
+        private final List<String> blockers;
+        private int index;
+        private boolean blocked;
+        private String next;
+        private int length;
+
+        Frame(String taskId, List<String> blockers) {
+            this.taskId = taskId;
+            this.blockers = blockers;
+        }
+
+        void consider(String blocker, Node resolvedBlocker) {
+            if (resolvedBlocker.length() + 1 > length) {
+                next = blocker;
+                length = resolvedBlocker.length() + 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.glideclouds.taskmanagementsystem.tasks;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Per-user cache of {@link DependencyGraph}s.
+ * <p>
+ * Graphs are built from a (id, status, blockedByTaskIds) projection (or from tasks already loaded for the board)
+ * and then patched in place from {@link TaskChangedEvent}s, so writes from any service (task API, admin assignment)
+ * reach them. Entries expire after a short TTL so writes made by other instances are picked up without coordination.
+ */
+@Service
+public class DependencyGraphService {
+
+    private static final int MAX_USERS = 10_000;
+
+    private final TaskRepository taskRepository;
+    private final long ttlNanos;
+    private final ConcurrentHashMap<String, Entry> graphs = new ConcurrentHashMap<>();
+
+    public DependencyGraphService(TaskRepository taskRepository,
+                                  @Value("${tasks.dependencies.graph-ttl-seconds:300}") long ttlSeconds) {
+        this.taskRepository = taskRepository;
+        this.ttlNanos = Math.max(0, ttlSeconds) * 1_000_000_000L;
+    }
+
+    /** Returns the cached graph for a user, building it from the projection when missing or expired. */
+    DependencyGraph graphFor(String userId) {
+        Entry entry = graphs.get(userId);
+        if (entry != null && !entry.isExpired(ttlNanos)) {
+            return entry.graph();
+        }
+        return reload(userId);
+    }
+
+    /** Rebuilds the user's graph from a fresh projection. */
+    private DependencyGraph reload(String userId) {
+        return refresh(userId, taskRepository.findDependencyNodesByOwnerUserId(userId));
+    }
+
+    /** Rebuilds the user's graph from tasks that are already in memory (e.g. the full board). */
+    DependencyGraph refresh(String userId, Collection<Task> tasks) {
+        DependencyGraph graph = DependencyGraph.build(tasks);
+        put(userId, graph);
+        return graph;
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskSnapshot before = event.before();
+        TaskSnapshot after = event.after();
+        boolean moved = before != null && after != null && !Objects.equals(before.ownerUserId(), after.ownerUserId());
+        if (before != null && (after == null || moved)) {
+            patch(before.ownerUserId(), g -> g.withoutTask(before.id()));
+        }
+        if (after == null || after.id() == null) {
+            return;
+        }
+        if (before == null || moved) {
+            patch(after.ownerUserId(), g -> g.withTask(after.id(), after.status(), after.blockedByTaskIds()));
+            return;
+        }
+        if (before.status() != after.status()) {
+            patch(after.ownerUserId(), g -> g.withStatus(after.id(), after.status()));
+        }
+        if (!Objects.equals(before.blockedByTaskIds(), after.blockedByTaskIds())) {
+            patch(after.ownerUserId(), g -> g.withBlockers(after.id(), after.blockedByTaskIds()));
+        }
+    }
+
+    private void patch(String userId, UnaryOperator<DependencyGraph> change) {
+        if (userId != null) {
+            graphs.computeIfPresent(userId, (k, e) -> e.with(change.apply(e.graph())));
+        }
+    }
+
+    private void put(String userId, DependencyGraph graph) {
+        if (graphs.size() >= MAX_USERS && !graphs.containsKey(userId)) {
+            graphs.values().removeIf(e -> e.isExpired(ttlNanos));
+            if (graphs.size() >= MAX_USERS) {
+                graphs.clear();
+            }
+        }
+        graphs.put(userId, new Entry(graph, System.nanoTime()));
+    }
+
+    private record Entry(DependencyGraph graph, long builtAtNanos) {
+        boolean isExpired(long ttlNanos) {
+            return System.nanoTime() - builtAtNanos >= ttlNanos;
+        }
+
+        /** Patched graphs keep the original build time so the TTL still bounds cross-instance staleness. */
+        Entry with(DependencyGraph next) {
+            return new Entry(next, builtAtNanos);
+        }
+    }
+}
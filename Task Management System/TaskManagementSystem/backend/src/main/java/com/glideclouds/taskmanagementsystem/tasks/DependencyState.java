@@ -0,0 +1,18 @@
+package com.glideclouds.taskmanagementsystem.tasks;
+
+import java.util.List;
+
+/**
+ * Resolved dependency view of a task.
+ *
+ * @param blocked       true when at least one direct blocker is not DONE
+ * @param blocksTaskIds tasks that list this task in their blockedByTaskIds
+ * @param criticalPath  longest chain of unfinished blockers, nearest first
+ */
+public record DependencyState(
+        boolean blocked,
+        List<String> blocksTaskIds,
+        List<String> criticalPath
+) {
+    public static final DependencyState NONE = new DependencyState(false, List.of(), List.of());
+}
@@ -0,0 +1,140 @@
+package com.glideclouds.taskmanagementsystem.tasks;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-memory label index for one user's tasks.
+ * <p>
+ * Every task gets a dense ordinal and every distinct label (trimmed, lower-case: labels match case-insensitively)
+ * an id in a dictionary; each label id maps to a compressed bitmap of the ordinals carrying it. A filter is then a
+ * handful of bitmap AND/OR/ANDNOT operations. The index is mutable and patched in place by label changes; all
+ * access is synchronized on the instance. Ordinals of deleted tasks are not reused, so the index is rebuilt once
+ * half of them are dead.
+ */
+final class LabelIndex {
+
+    private final Map<String, Integer> ordinalByTaskId = new HashMap<>();
+    private final List<String> taskIdByOrdinal = new ArrayList<>();
+    private final List<int[]> labelIdsByOrdinal = new ArrayList<>();
+    private final RoaringBitmap live = new RoaringBitmap();
+
+    private final Map<String, Integer> labelIds = new HashMap<>();
+    private final List<RoaringBitmap> bitmaps = new ArrayList<>();
+
+    private LabelIndex() {
+    }
+
+    /** Builds an index from tasks carrying at least id and labels. */
+    static LabelIndex build(Collection<Task> tasks) {
+        LabelIndex index = new LabelIndex();
+        for (Task t : tasks) {
+            if (t.getId() != null) {
+                index.setLabels(t.getId(), t.getLabels());
+            }
+        }
+        // Switches containers to run-length encoding wherever that is smaller (e.g. labels on most tasks).
+        index.bitmaps.forEach(RoaringBitmap::runOptimize);
+        return index;
+    }
+
+    static String normalize(String label) {
+        if (label == null) return null;
+        String s = label.trim();
+        return s.isEmpty() ? null : s.toLowerCase(Locale.ROOT);
+    }
+
+    /** Replaces the labels of a task, adding the task when it is not indexed yet. */
+    synchronized void setLabels(String taskId, List<String> labels) {
+        Integer existing = ordinalByTaskId.get(taskId);
+        int ordinal;
+        if (existing == null) {
+            ordinal = taskIdByOrdinal.size();
+            ordinalByTaskId.put(taskId, ordinal);
+            taskIdByOrdinal.add(taskId);
+            labelIdsByOrdinal.add(new int[0]);
+            live.add(ordinal);
+        } else {
+            ordinal = existing;
+            for (int id : labelIdsByOrdinal.get(ordinal)) {
+                bitmaps.get(id).remove(ordinal);
+            }
+        }
+
+        int[] ids = new int[labels == null ? 0 : labels.size()];
+        int n = 0;
+        for (String raw : labels == null ? List.<String>of() : labels) {
+            String label = normalize(raw);
+            if (label == null) continue;
+            int id = labelIds.computeIfAbsent(label, k -> {
+                bitmaps.add(new RoaringBitmap());
+                return bitmaps.size() - 1;
+            });
+            if (bitmaps.get(id).checkedAdd(ordinal)) {
+                ids[n++] = id;
+            }
+        }
+        labelIdsByOrdinal.set(ordinal, n == ids.length ? ids : Arrays.copyOf(ids, n));
+    }
+
+    synchronized void remove(String taskId) {
+        Integer ordinal = ordinalByTaskId.remove(taskId);
+        if (ordinal == null) return;
+        for (int id : labelIdsByOrdinal.get(ordinal)) {
+            bitmaps.get(id).remove(ordinal);
+        }
+        labelIdsByOrdinal.set(ordinal, new int[0]);
+        taskIdByOrdinal.set(ordinal, null);
+        live.remove(ordinal);
+    }
+
+    /** Whether dead ordinals make up more than half of the index (worth rebuilding). */
+    synchronized boolean isFragmented() {
+        return taskIdByOrdinal.size() > 64 && live.getCardinality() * 2 < taskIdByOrdinal.size();
+    }
+
+    synchronized int size() {
+        return live.getCardinality();
+    }
+
+    /**
+     * Ids of tasks carrying every label of {@code all}, at least one of {@code any} (ignored when empty) and none of
+     * {@code none}, in index order.
+     */
+    synchronized List<String> filter(Collection<String> all, Collection<String> any, Collection<String> none) {
+        RoaringBitmap result = live.clone();
+        for (String label : all) {
+            RoaringBitmap bitmap = bitmapOf(label);
+            if (bitmap == null) return List.of();
+            result.and(bitmap);
+        }
+        if (!any.isEmpty()) {
+            RoaringBitmap union = new RoaringBitmap();
+            for (String label : any) {
+                RoaringBitmap bitmap = bitmapOf(label);
+                if (bitmap != null) union.or(bitmap);
+            }
+            result.and(union);
+        }
+        for (String label : none) {
+            RoaringBitmap bitmap = bitmapOf(label);
+            if (bitmap != null) result.andNot(bitmap);
+        }
+
+        List<String> ids = new ArrayList<>(result.getCardinality());
+        result.forEach((int ordinal) -> ids.add(taskIdByOrdinal.get(ordinal)));
+        return ids;
+    }
+
+    private RoaringBitmap bitmapOf(String label) {
+        Integer id = labelIds.get(normalize(label));
+        return id == null ? null : bitmaps.get(id);
+    }
+}
@@ -0,0 +1,91 @@
+package com.glideclouds.taskmanagementsystem.tasks;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user cache of {@link LabelIndex}es.
+ * <p>
+ * Indexes are built from an (id, labels) projection on first use and then patched in place from
+ * {@link TaskChangedEvent}s, so writes from any service (task API, admin assignment) reach them. Like dependency graphs they expire after a TTL so writes made by other instances
+ * are picked up without coordination.
+ */
+@Service
+public class LabelIndexService {
+
+    private static final int MAX_USERS = 10_000;
+
+    private final TaskRepository taskRepository;
+    private final long ttlNanos;
+    private final ConcurrentHashMap<String, Entry> indexes = new ConcurrentHashMap<>();
+
+    public LabelIndexService(TaskRepository taskRepository,
+                             @Value("${tasks.labels.index-ttl-seconds:300}") long ttlSeconds) {
+        this.taskRepository = taskRepository;
+        this.ttlNanos = Math.max(0, ttlSeconds) * 1_000_000_000L;
+    }
+
+    /** Ids of the user's tasks matching the label filter (see {@link LabelIndex#filter}). */
+    public List<String> filter(String userId, Collection<String> all, Collection<String> any, Collection<String> none) {
+        return indexFor(userId).filter(all, any, none);
+    }
+
+    LabelIndex indexFor(String userId) {
+        Entry entry = indexes.get(userId);
+        if (entry != null && !entry.isExpired(ttlNanos) && !entry.index().isFragmented()) {
+            return entry.index();
+        }
+        LabelIndex index = LabelIndex.build(taskRepository.findLabelNodesByOwnerUserId(userId));
+        put(userId, index);
+        return index;
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskSnapshot before = event.before();
+        TaskSnapshot after = event.after();
+        boolean moved = before != null && after != null && !Objects.equals(before.ownerUserId(), after.ownerUserId());
+        if (before != null && (after == null || moved)) {
+            remove(before.ownerUserId(), before.id());
+        }
+        if (after != null && (before == null || moved || !Objects.equals(before.labels(), after.labels()))) {
+            setLabels(after.ownerUserId(), after.id(), after.labels());
+        }
+    }
+
+    private void setLabels(String userId, String taskId, List<String> labels) {
+        Entry entry = userId == null ? null : indexes.get(userId);
+        if (entry != null && taskId != null) {
+            entry.index().setLabels(taskId, labels);
+        }
+    }
+
+    private void remove(String userId, String taskId) {
+        Entry entry = userId == null ? null : indexes.get(userId);
+        if (entry != null && taskId != null) {
+            entry.index().remove(taskId);
+        }
+    }
+
+    private void put(String userId, LabelIndex index) {
+        if (indexes.size() >= MAX_USERS && !indexes.containsKey(userId)) {
+            indexes.values().removeIf(e -> e.isExpired(ttlNanos));
+            if (indexes.size() >= MAX_USERS) {
+                indexes.clear();
+            }
+        }
+        indexes.put(userId, new Entry(index, System.nanoTime()));
+    }
+
+    private record Entry(LabelIndex index, long builtAtNanos) {
+        boolean isExpired(long ttlNanos) {
+            return System.nanoTime() - builtAtNanos >= ttlNanos;
+        }
+    }
+}
@@ -3,6 +3,10 @@ package com.glideclouds.taskmanagementsystem.tasks;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
@@ -11,11 +15,23 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Document(collection = "tasks")
+@CompoundIndexes({
+        @CompoundIndex(name = "owner_due_idx", def = "{'ownerUserId': 1, 'dueDate': 1}"),
+        // Tasks with activity since a given instant (cumulative flow tail replay).
+        @CompoundIndex(name = "owner_activity_at_idx", def = "{'ownerUserId': 1, 'activity.createdAt': 1}")
+})
 public class Task {
 
     @Id
     private String id;
 
+    /**
+     * Optimistic lock for whole-document saves. Field-level updates ({@code $inc}/{@code $push}/positional) bump it
+     * too, so a save of a copy loaded before them fails instead of overwriting what they wrote.
+     */
+    @Version
+    private Long version;
+
     private String title;
     private String description;
     private TaskStatus status;
@@ -38,6 +54,13 @@ public class Task {
 
     private List<ChecklistItem> checklist = new ArrayList<>();
 
+    /**
+     * Denormalized checklist counters: kept in step by positional {@code $inc} updates and recomputed on full saves
+     * ({@link TaskChecklistCountersCallback}).
+     */
+    private int checklistDone;
+    private int checklistTotal;
+
     private RecurrenceRule recurrence;
 
     private List<TaskDecision> decisions = new ArrayList<>();
@@ -48,12 +71,20 @@ public class Task {
 
     private List<TaskTimeLog> timeLogs = new ArrayList<>();
 
+    /**
+     * Running sum of logged minutes, incremented when a timer stops (timeLogs itself is capped).
+     */
+    private long totalLoggedMinutes;
+
     private Instant activeTimerStartedAt;
 
     private List<TaskComment> comments = new ArrayList<>();
 
     private List<TaskActivity> activity = new ArrayList<>();
 
+    /** First time the task left TODO (start of its cycle time); kept when it is moved back. */
+    private Instant startedAt;
+
     private Instant completedAt;
 
     /**
@@ -85,6 +116,7 @@ public class Task {
      * Optional shared discussion/thread id.
      * When present, comments + decisions are stored in a shared document so all assignees can see the same discussion.
      */
+    @Indexed(sparse = true)
     private String sharedDiscussionId;
 
     public Task() {
@@ -194,6 +226,22 @@ public class Task {
         this.checklist = checklist;
     }
 
+    public int getChecklistDone() {
+        return checklistDone;
+    }
+
+    public void setChecklistDone(int checklistDone) {
+        this.checklistDone = checklistDone;
+    }
+
+    public int getChecklistTotal() {
+        return checklistTotal;
+    }
+
+    public void setChecklistTotal(int checklistTotal) {
+        this.checklistTotal = checklistTotal;
+    }
+
     public RecurrenceRule getRecurrence() {
         return recurrence;
     }
@@ -234,6 +282,22 @@ public class Task {
         this.timeLogs = timeLogs;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public long getTotalLoggedMinutes() {
+        return totalLoggedMinutes;
+    }
+
+    public void setTotalLoggedMinutes(long totalLoggedMinutes) {
+        this.totalLoggedMinutes = totalLoggedMinutes;
+    }
+
     public Instant getArchivedAt() {
         return archivedAt;
     }
@@ -250,6 +314,14 @@ public class Task {
         this.activeTimerStartedAt = activeTimerStartedAt;
     }
 
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
     public Instant getCompletedAt() {
         return completedAt;
     }
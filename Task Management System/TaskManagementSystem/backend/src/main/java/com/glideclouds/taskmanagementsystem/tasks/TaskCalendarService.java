@@ -0,0 +1,113 @@
+package com.glideclouds.taskmanagementsystem.tasks;
+
+import com.glideclouds.taskmanagementsystem.tasks.dto.CalendarTaskCard;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+
+/**
+ * Calendar range reads.
+ * <p>
+ * Uses one indexed, projected query per range and expands recurring tasks in memory into virtual occurrences
+ * (nothing is materialized; the next real instance is still created when the task is completed).
+ */
+@Service
+public class TaskCalendarService {
+
+    static final int MAX_RANGE_DAYS = 92;
+    private static final int MAX_OCCURRENCES_PER_TASK = 400;
+    // Overdue recurring tasks are walked forward from their due date; bounds the catch-up for very old ones.
+    private static final int MAX_RECURRENCE_STEPS = 5_000;
+
+    private final TaskRepository taskRepository;
+
+    public TaskCalendarService(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    /** Returns cards for tasks due in [from, to] plus projected occurrences of open recurring tasks. */
+    public List<CalendarTaskCard> calendarForUser(String userId, LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new ResponseStatusException(BAD_REQUEST, "from and to are required");
+        }
+        if (to.isBefore(from)) {
+            throw new ResponseStatusException(BAD_REQUEST, "to must not be before from");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_RANGE_DAYS) {
+            throw new ResponseStatusException(BAD_REQUEST, "Calendar range must be at most " + MAX_RANGE_DAYS + " days");
+        }
+
+        List<CalendarTaskCard> cards = new ArrayList<>();
+        for (Task t : taskRepository.findCalendarCards(userId, from, to)) {
+            LocalDate due = t.getDueDate();
+            if (due == null) continue;
+
+            if (!due.isBefore(from) && !due.isAfter(to)) {
+                cards.add(toCard(t, due, false));
+            }
+
+            if (isProjectable(t)) {
+                projectOccurrences(t, from, to, cards);
+            }
+        }
+
+        cards.sort(Comparator
+                .comparing(CalendarTaskCard::date)
+                .thenComparing(CalendarTaskCard::projected)
+                .thenComparing(CalendarTaskCard::pinned, Comparator.reverseOrder())
+                .thenComparing(CalendarTaskCard::title, Comparator.nullsLast(Comparator.naturalOrder())));
+        return cards;
+    }
+
+    private static boolean isProjectable(Task t) {
+        // DONE recurring tasks already materialized their next instance; archived ones are off the board.
+        return t.getRecurrence() != null
+                && t.getRecurrence().getFrequency() != null
+                && t.getStatus() != TaskStatus.DONE
+                && !t.isArchived();
+    }
+
+    private static void projectOccurrences(Task t, LocalDate from, LocalDate to, List<CalendarTaskCard> out) {
+        LocalDate current = t.getDueDate();
+        int emitted = 0;
+        for (int step = 0; step < MAX_RECURRENCE_STEPS && emitted < MAX_OCCURRENCES_PER_TASK; step++) {
+            LocalDate next = RecurrenceCalculator.nextDueDate(current, t.getRecurrence());
+            if (next == null || !next.isAfter(current) || next.isAfter(to)) {
+                return;
+            }
+            if (!next.isBefore(from)) {
+                out.add(toCard(t, next, true));
+                emitted++;
+            }
+            current = next;
+        }
+    }
+
+    private static CalendarTaskCard toCard(Task t, LocalDate date, boolean projected) {
+        boolean assigned = t.getCreatedByUserId() != null
+                && t.getOwnerUserId() != null
+                && !t.getCreatedByUserId().equals(t.getOwnerUserId());
+        return new CalendarTaskCard(
+                projected ? t.getId() + ":" + date : t.getId(),
+                t.getId(),
+                t.getTitle(),
+                projected ? TaskStatus.TODO : t.getStatus(),
+                t.getPriority(),
+                date,
+                t.getLabels() == null ? List.of() : t.getLabels(),
+                assigned,
+                t.isPinned(),
+                t.isFocus(),
+                !projected && t.isArchived(),
+                t.getRecurrence() != null,
+                projected
+        );
+    }
+}
@@ -0,0 +1,11 @@
+package com.glideclouds.taskmanagementsystem.tasks;
+
+/**
+ * Published after a task write that changed any {@link TaskSnapshot} field.
+ *
+ * @param userId owner of the task
+ * @param before state before the write, or null when the task was created
+ * @param after  state after the write, or null when the task was deleted
+ */
+public record TaskChangedEvent(String userId, TaskSnapshot before, TaskSnapshot after) {
+}
@@ -0,0 +1,28 @@
+package com.glideclouds.taskmanagementsystem.tasks;
+
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertCallback;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Recomputes checklistDone/checklistTotal whenever a whole task document is written, so full saves can never
+ * leave the counters out of step with the embedded checklist.
+ */
+@Component
+class TaskChecklistCountersCallback implements BeforeConvertCallback<Task> {
+
+    @Override
+    public Task onBeforeConvert(Task task, String collection) {
+        int total = 0;
+        int done = 0;
+        for (ChecklistItem item : task.getChecklist() == null ? List.<ChecklistItem>of() : task.getChecklist()) {
+            if (item == null) continue;
+            total++;
+            if (item.isDone()) done++;
+        }
+        task.setChecklistTotal(total);
+        task.setChecklistDone(done);
+        return task;
+    }
+}
@@ -0,0 +1,23 @@
+package com.glideclouds.taskmanagementsystem.tasks;
+
+/**
+ * Published after a comment was added to a task (or to the shared discussion it belongs to).
+ *
+ * @param taskId             task the comment was posted on
+ * @param taskTitle          its title
+ * @param ownerUserId        owner of that task
+ * @param createdByUserId    creator of that task (the admin for assigned tasks)
+ * @param sharedDiscussionId discussion shared by the assignees of a group task, or null
+ * @param authorUserId       who wrote the comment
+ * @param authorEmail        their email
+ */
+public record TaskCommentedEvent(
+        String taskId,
+        String taskTitle,
+        String ownerUserId,
+        String createdByUserId,
+        String sharedDiscussionId,
+        String authorUserId,
+        String authorEmail
+) {
+}
@@ -2,10 +2,12 @@ package com.glideclouds.taskmanagementsystem.tasks;
 
 import com.glideclouds.taskmanagementsystem.security.SecurityUtils;
 import com.glideclouds.taskmanagementsystem.tasks.dto.CreateTaskRequest;
+import com.glideclouds.taskmanagementsystem.tasks.dto.LabelFilterResponse;
 import com.glideclouds.taskmanagementsystem.tasks.dto.AddCommentRequest;
 import com.glideclouds.taskmanagementsystem.tasks.dto.AddChecklistItemRequest;
 import com.glideclouds.taskmanagementsystem.tasks.dto.AddDecisionRequest;
 import com.glideclouds.taskmanagementsystem.tasks.dto.BulkTaskActionRequest;
+import com.glideclouds.taskmanagementsystem.tasks.dto.CalendarTaskCard;
 import com.glideclouds.taskmanagementsystem.tasks.dto.MoveTaskRequest;
 import com.glideclouds.taskmanagementsystem.tasks.dto.ReorderChecklistRequest;
 import com.glideclouds.taskmanagementsystem.tasks.dto.TaskResponse;
@@ -22,10 +24,12 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -35,9 +39,13 @@ import java.util.List;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskCalendarService taskCalendarService;
+    private final LabelIndexService labelIndexService;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskCalendarService taskCalendarService, LabelIndexService labelIndexService) {
         this.taskService = taskService;
+        this.taskCalendarService = taskCalendarService;
+        this.labelIndexService = labelIndexService;
     }
 
     @GetMapping
@@ -61,6 +69,24 @@ public class TaskController {
         return taskService.searchForUser(userId, q);
     }
 
+    @GetMapping("/calendar")
+    @Operation(summary = "Calendar range", description = "Slim task cards due in [from, to], including projected occurrences of recurring tasks.")
+    public List<CalendarTaskCard> calendar(@RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                           @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        String userId = requireUserId();
+        return taskCalendarService.calendarForUser(userId, from, to);
+    }
+
+    @GetMapping("/label-filter")
+    @Operation(summary = "Filter by labels", description = "Ids of tasks carrying all of `all`, any of `any` (when given) and none of `none`; labels match case-insensitively.")
+    public LabelFilterResponse labelFilter(@RequestParam(name = "all", required = false) List<String> all,
+                                           @RequestParam(name = "any", required = false) List<String> any,
+                                           @RequestParam(name = "none", required = false) List<String> none) {
+        String userId = requireUserId();
+        List<String> ids = labelIndexService.filter(userId, orEmpty(all), orEmpty(any), orEmpty(none));
+        return new LabelFilterResponse(ids.size(), ids);
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     @Operation(summary = "Create task", description = "Creates a new task for the current user.")
@@ -193,6 +219,10 @@ public class TaskController {
         return taskService.bulkForUser(userId, request);
     }
 
+    private static List<String> orEmpty(List<String> labels) {
+        return labels == null ? List.of() : labels;
+    }
+
     private String requireUserId() {
         String userId = SecurityUtils.currentUserId();
         if (userId == null) {
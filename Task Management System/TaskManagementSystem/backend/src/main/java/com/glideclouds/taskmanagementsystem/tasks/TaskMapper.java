@@ -11,13 +11,21 @@ public final class TaskMapper {
     }
 
     public static TaskResponse toResponse(Task task) {
+        return toResponse(task, DependencyState.NONE);
+    }
+
+    public static TaskResponse toResponse(Task task, DependencyState dependencies) {
         boolean assigned = task.getCreatedByUserId() != null
                 && task.getOwnerUserId() != null
                 && !task.getCreatedByUserId().equals(task.getOwnerUserId());
-        return toResponse(task, assigned);
+        return toResponse(task, assigned, dependencies);
     }
 
     public static TaskResponse toResponse(Task task, boolean assigned) {
+        return toResponse(task, assigned, DependencyState.NONE);
+    }
+
+    public static TaskResponse toResponse(Task task, boolean assigned, DependencyState dependencies) {
         List<TaskCommentResponse> comments = (task.getComments() == null ? List.<TaskComment>of() : task.getComments())
                 .stream()
                 .sorted(Comparator.comparing(TaskComment::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder())))
@@ -60,7 +68,11 @@ public final class TaskMapper {
                 .map(l -> new TaskTimeLogResponse(l.getId(), l.getStartedAt(), l.getEndedAt(), l.getDurationMinutes(), l.getNote(), l.getCreatedAt()))
                 .toList();
 
-        long totalLoggedMinutes = timeLogs.stream().mapToLong(TaskTimeLogResponse::durationMinutes).sum();
+        long totalLoggedMinutes = task.getTotalLoggedMinutes();
+        if (totalLoggedMinutes == 0 && !timeLogs.isEmpty()) {
+            // Documents written before the counter existed (until the rollup rebuild backfills them).
+            totalLoggedMinutes = timeLogs.stream().mapToLong(TaskTimeLogResponse::durationMinutes).sum();
+        }
 
         return new TaskResponse(
                 task.getId(),
@@ -76,6 +88,9 @@ public final class TaskMapper {
                 task.getArchivedAt(),
                 task.getLabels() == null ? List.of() : task.getLabels(),
                 task.getBlockedByTaskIds() == null ? List.of() : task.getBlockedByTaskIds(),
+                dependencies.blocked(),
+                dependencies.blocksTaskIds(),
+                dependencies.criticalPath(),
                 checklist,
                 checklistDone,
                 checklistTotal,
@@ -1,15 +1,43 @@
 package com.glideclouds.taskmanagementsystem.tasks;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 public interface TaskRepository extends MongoRepository<Task, String> {
     List<Task> findByOwnerUserId(String ownerUserId);
     List<Task> findByOwnerUserIdAndStatusOrderByPositionAsc(String ownerUserId, TaskStatus status);
 
-    List<Task> findByDueDateAndStatusNot(LocalDate dueDate, TaskStatus status);
+    /**
+     * Calendar cards for a date range: tasks due inside [from, to] plus live recurring series (not DONE, not
+     * archived, not ended before {@code from}) due on or before {@code to}, so their future occurrences can be
+     * projected. Finished instances of a series stay out of the second branch, otherwise it would return every past
+     * occurrence. Both branches are served by the (ownerUserId, dueDate) index and only the card fields are returned.
+     */
+    @Query(value = "{ $or: [ { 'ownerUserId': ?0, 'dueDate': { $gte: ?1, $lte: ?2 } }, "
+            + "{ 'ownerUserId': ?0, 'dueDate': { $lte: ?2 }, 'recurrence.frequency': { $ne: null }, "
+            + "'status': { $ne: 'DONE' }, 'archived': { $ne: true }, "
+            + "$or: [ { 'recurrence.endDate': null }, { 'recurrence.endDate': { $gte: ?1 } } ] } ] }",
+            fields = "{ 'title': 1, 'status': 1, 'priority': 1, 'dueDate': 1, 'labels': 1, 'pinned': 1, 'focus': 1, "
+                    + "'archived': 1, 'recurrence': 1, 'ownerUserId': 1, 'createdByUserId': 1 }")
+    List<Task> findCalendarCards(String ownerUserId, LocalDate from, LocalDate to);
 
-    List<Task> findByDueDateBeforeAndStatusNot(LocalDate dueDate, TaskStatus status);
+    /** Dependency graph nodes for a user: only id, status and blockedByTaskIds are loaded. */
+    @Query(value = "{ 'ownerUserId': ?0 }", fields = "{ 'status': 1, 'blockedByTaskIds': 1 }")
+    List<Task> findDependencyNodesByOwnerUserId(String ownerUserId);
+
+    /** Label index nodes for a user: only id and labels are loaded. */
+    @Query(value = "{ 'ownerUserId': ?0 }", fields = "{ 'labels': 1 }")
+    List<Task> findLabelNodesByOwnerUserId(String ownerUserId);
+
+    /** Participants of a shared discussion: owner and creator of every task in it. */
+    @Query(value = "{ 'sharedDiscussionId': ?0 }", fields = "{ 'ownerUserId': 1, 'createdByUserId': 1 }")
+    List<Task> findParticipantsBySharedDiscussionId(String sharedDiscussionId);
+
+    /** Owner and checklist only (for building positional checklist updates). */
+    @Query(value = "{ '_id': ?0 }", fields = "{ 'ownerUserId': 1, 'checklist': 1 }")
+    Optional<Task> findChecklistById(String id);
 }
@@ -5,17 +5,25 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.FORBIDDEN;
@@ -51,6 +59,10 @@ public class TaskService {
 
     private final TaskRepository taskRepository;
     private final TaskDiscussionRepository taskDiscussionRepository;
+    private final DependencyGraphService dependencyGraphService;
+    private final MongoTemplate mongoTemplate;
+    private final TimeLogRollupService timeLogRollupService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${tasks.archive.done-after-days:1}")
     private long archiveDoneAfterDays;
@@ -63,9 +75,18 @@ public class TaskService {
     private static final int MAX_LABELS = 20;
     private static final int MAX_DEPENDENCIES = 20;
 
-    public TaskService(TaskRepository taskRepository, TaskDiscussionRepository taskDiscussionRepository) {
+    public TaskService(TaskRepository taskRepository,
+                       TaskDiscussionRepository taskDiscussionRepository,
+                       DependencyGraphService dependencyGraphService,
+                       MongoTemplate mongoTemplate,
+                       TimeLogRollupService timeLogRollupService,
+                       ApplicationEventPublisher eventPublisher) {
         this.taskRepository = taskRepository;
         this.taskDiscussionRepository = taskDiscussionRepository;
+        this.dependencyGraphService = dependencyGraphService;
+        this.mongoTemplate = mongoTemplate;
+        this.timeLogRollupService = timeLogRollupService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -75,7 +96,10 @@ public class TaskService {
         List<Task> tasks = taskRepository.findByOwnerUserId(userId);
         maybeAutoArchiveDoneTasks(tasks);
         tasks.sort(taskComparator());
-        return toResponsesWithSharedDiscussions(tasks);
+        // The board already has every node, so rebuild the graph here instead of issuing the projection query.
+        DependencyGraph dependencies = dependencyGraphService.refresh(userId, tasks);
+        dependencies.resolveAll();
+        return toResponsesWithSharedDiscussions(tasks, dependencies::stateOf);
     }
 
     /** Returns a single task, enforcing owner access. */
@@ -126,6 +150,7 @@ public class TaskService {
         appendActivity(task, TaskActivityType.CREATED, userId, null, "Task created", null, null);
 
         Task saved = taskRepository.save(task);
+        publishChanged(null, saved);
         return toResponseWithSharedDiscussion(saved);
     }
 
@@ -136,6 +161,7 @@ public class TaskService {
             throw new ResponseStatusException(FORBIDDEN, "Forbidden");
         }
 
+        TaskSnapshot before = TaskSnapshot.of(task);
         task.setTitle(request.title());
         task.setDescription(request.description());
         if (request.priority() != null) {
@@ -146,6 +172,7 @@ public class TaskService {
         appendActivity(task, TaskActivityType.UPDATED, userId, null, "Task updated", null, null);
 
         Task saved = taskRepository.save(task);
+        publishChanged(before, saved);
         return toResponseWithSharedDiscussion(saved);
     }
 
@@ -197,6 +224,8 @@ public class TaskService {
         appendActivity(task, TaskActivityType.COMMENTED, userId, userEmail, "Comment added", null, null);
 
         Task saved = taskRepository.save(task);
+        eventPublisher.publishEvent(new TaskCommentedEvent(saved.getId(), saved.getTitle(), saved.getOwnerUserId(),
+                saved.getCreatedByUserId(), saved.getSharedDiscussionId(), userId, userEmail));
         return toResponseWithSharedDiscussion(saved);
     }
 
@@ -210,6 +239,8 @@ public class TaskService {
             throw new ResponseStatusException(FORBIDDEN, "Assigned tasks cannot be deleted");
         }
         taskRepository.delete(task);
+        timeLogRollupService.forget(task);
+        publishChanged(TaskSnapshot.of(task), null);
 
         // Keep positions consistent in the column after deletion
         reindexColumn(userId, task.getStatus());
@@ -246,10 +277,12 @@ public class TaskService {
             throw new ResponseStatusException(FORBIDDEN, "Forbidden");
         }
 
+        TaskSnapshot before = TaskSnapshot.of(task);
         boolean focus = request.focus();
         task.setFocus(focus);
         appendActivity(task, TaskActivityType.FOCUS_UPDATED, userId, null, focus ? "Marked as focus" : "Unmarked as focus", null, null);
         Task saved = taskRepository.save(task);
+        publishChanged(before, saved);
         return toResponseWithSharedDiscussion(saved);
     }
 
@@ -329,11 +362,18 @@ public class TaskService {
             if (!allOwnedBySameUser) {
                 throw new ResponseStatusException(BAD_REQUEST, "Dependencies must belong to the same owner");
             }
+
+            List<String> cycle = dependencyGraphService.graphFor(userId).findCycle(taskId, cleaned);
+            if (!cycle.isEmpty()) {
+                throw new ResponseStatusException(BAD_REQUEST, "Dependencies would create a cycle: " + String.join(" -> ", cycle));
+            }
         }
 
+        TaskSnapshot before = TaskSnapshot.of(task);
         task.setBlockedByTaskIds(cleaned);
         appendActivity(task, TaskActivityType.DEPENDENCIES_UPDATED, userId, null, "Dependencies updated", null, null);
         Task saved = taskRepository.save(task);
+        publishChanged(before, saved);
         return toResponseWithSharedDiscussion(saved);
     }
 
@@ -359,9 +399,11 @@ public class TaskService {
             if (cleaned.size() >= MAX_LABELS) break;
         }
 
+        TaskSnapshot before = TaskSnapshot.of(task);
         task.setLabels(cleaned);
         appendActivity(task, TaskActivityType.LABELS_UPDATED, userId, null, "Labels updated", null, null);
         Task saved = taskRepository.save(task);
+        publishChanged(before, saved);
         return toResponseWithSharedDiscussion(saved);
     }
 
@@ -397,76 +439,123 @@ public class TaskService {
         return toResponseWithSharedDiscussion(saved);
     }
 
+    /**
+     * Edits one checklist item in place with a positional update. Only the call that actually flips {@code done}
+     * moves the checklistDone counter (guarded by an elemMatch on the current value).
+     */
     public TaskResponse updateChecklistItemForUser(String userId, String taskId, String itemId, UpdateChecklistItemRequest request) {
-        Task task = taskRepository.findById(taskId).orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Task not found"));
-        if (!userId.equals(task.getOwnerUserId())) {
-            throw new ResponseStatusException(FORBIDDEN, "Forbidden");
-        }
-
-        if (task.getChecklist() == null || task.getChecklist().isEmpty()) {
-            throw new ResponseStatusException(NOT_FOUND, "Checklist item not found");
-        }
-
-        ChecklistItem item = task.getChecklist().stream()
-                .filter(i -> i.getId() != null && i.getId().equals(itemId))
-                .findFirst()
-                .orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Checklist item not found"));
-
+        String text = null;
         if (request.text() != null) {
-            String trimmed = request.text().trim();
-            if (trimmed.isBlank()) {
+            text = request.text().trim();
+            if (text.isBlank()) {
                 throw new ResponseStatusException(BAD_REQUEST, "Text is required");
             }
-            item.setText(trimmed);
         }
+
+        TaskActivity activity = newActivity(TaskActivityType.CHECKLIST_UPDATED, userId, null, "Checklist updated", null, null);
+        Task saved = null;
+
         if (request.done() != null) {
-            item.setDone(request.done());
+            boolean done = request.done();
+            Criteria flips = ownedTask(userId, taskId)
+                    .and("checklist").elemMatch(Criteria.where("_id").is(itemId).and("done").ne(done));
+            Update update = checklistItemUpdate(text, activity)
+                    .set("checklist.$.done", done)
+                    .inc("checklistDone", done ? 1 : -1);
+            saved = findAndModify(flips, update);
         }
 
-        appendActivity(task, TaskActivityType.CHECKLIST_UPDATED, userId, null, "Checklist updated", null, null);
-        Task saved = taskRepository.save(task);
+        if (saved == null) {
+            // No flip needed (or requested): still apply the text edit and record the activity.
+            saved = findAndModify(ownedTask(userId, taskId).and("checklist._id").is(itemId), checklistItemUpdate(text, activity));
+        }
+
+        if (saved == null) {
+            throw checklistTargetMissing(userId, taskId, "Checklist item not found");
+        }
         return toResponseWithSharedDiscussion(saved);
     }
 
+    /** Renumbers checklist positions with one arrayFilters update (the items themselves are not rewritten). */
     public TaskResponse reorderChecklistForUser(String userId, String taskId, ReorderChecklistRequest request) {
-        Task task = taskRepository.findById(taskId).orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Task not found"));
+        Task task = taskRepository.findChecklistById(taskId).orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Task not found"));
         if (!userId.equals(task.getOwnerUserId())) {
             throw new ResponseStatusException(FORBIDDEN, "Forbidden");
         }
 
-        if (task.getChecklist() == null) {
-            task.setChecklist(new ArrayList<>());
-        }
-
-        Map<String, ChecklistItem> byId = new HashMap<>();
-        for (ChecklistItem i : task.getChecklist()) {
-            if (i.getId() != null) byId.put(i.getId(), i);
+        List<ChecklistItem> items = task.getChecklist() == null ? List.of() : task.getChecklist();
+        Set<String> known = new HashSet<>();
+        for (ChecklistItem i : items) {
+            if (i.getId() != null) known.add(i.getId());
         }
 
+        Map<String, Integer> positions = new LinkedHashMap<>();
         int pos = 0;
-        Set<String> seen = new HashSet<>();
         for (String id : request.itemIds()) {
             if (id == null) continue;
-            ChecklistItem i = byId.get(id);
-            if (i == null) continue;
-            if (!seen.add(id)) continue;
-            i.setPosition(pos++);
+            if (!known.contains(id)) continue;
+            if (positions.containsKey(id)) continue;
+            positions.put(id, pos++);
         }
 
         // Append any missing items at the end (stable-ish)
-        List<ChecklistItem> missing = task.getChecklist().stream()
+        List<ChecklistItem> missing = items.stream()
             .sorted(Comparator.comparingInt(ChecklistItem::getPosition))
-            .filter(i -> i.getId() != null && !seen.contains(i.getId()))
+            .filter(i -> i.getId() != null && !positions.containsKey(i.getId()))
             .toList();
         for (ChecklistItem i : missing) {
-            i.setPosition(pos++);
+            positions.put(i.getId(), pos++);
         }
 
-        appendActivity(task, TaskActivityType.CHECKLIST_UPDATED, userId, null, "Checklist reordered", null, null);
-        Task saved = taskRepository.save(task);
+        Update update = new Update()
+                .push("activity").slice(-MAX_ACTIVITY).each(newActivity(TaskActivityType.CHECKLIST_UPDATED, userId, null, "Checklist reordered", null, null))
+                .set("updatedAt", Instant.now());
+        int n = 0;
+        for (Map.Entry<String, Integer> e : positions.entrySet()) {
+            String identifier = "i" + n++;
+            update.set("checklist.$[" + identifier + "].position", e.getValue());
+            update.filterArray(identifier + "._id", e.getKey());
+        }
+
+        Task saved = findAndModify(ownedTask(userId, taskId), update);
+        if (saved == null) {
+            throw checklistTargetMissing(userId, taskId, "Task not found");
+        }
         return toResponseWithSharedDiscussion(saved);
     }
 
+    private static Criteria ownedTask(String userId, String taskId) {
+        return Criteria.where("id").is(taskId).and("ownerUserId").is(userId);
+    }
+
+    private static Update checklistItemUpdate(String text, TaskActivity activity) {
+        Update update = new Update()
+                .push("activity").slice(-MAX_ACTIVITY).each(activity)
+                .set("updatedAt", Instant.now());
+        if (text != null) {
+            update.set("checklist.$.text", text);
+        }
+        return update;
+    }
+
+    /** Field-level update that also bumps the version, so stale whole-document saves cannot overwrite it. */
+    private Task findAndModify(Criteria criteria, Update update) {
+        update.inc("version", 1);
+        return mongoTemplate.findAndModify(Query.query(criteria), update, FindAndModifyOptions.options().returnNew(true), Task.class);
+    }
+
+    /** Works out why a guarded update matched nothing (only runs on the error path). */
+    private ResponseStatusException checklistTargetMissing(String userId, String taskId, String notFoundReason) {
+        Task task = taskRepository.findChecklistById(taskId).orElse(null);
+        if (task == null) {
+            return new ResponseStatusException(NOT_FOUND, "Task not found");
+        }
+        if (!userId.equals(task.getOwnerUserId())) {
+            return new ResponseStatusException(FORBIDDEN, "Forbidden");
+        }
+        return new ResponseStatusException(NOT_FOUND, notFoundReason);
+    }
+
     public TaskResponse addDecision(String userId, String userEmail, boolean isAdmin, String taskId, String message) {
         Task task = taskRepository.findById(taskId).orElseThrow(() -> new ResponseStatusException(NOT_FOUND, "Task not found"));
 
@@ -551,21 +640,25 @@ public class TaskService {
         log.setNote(request == null ? null : request.note());
         log.setCreatedAt(Instant.now());
 
-        if (task.getTimeLogs() == null) {
-            task.setTimeLogs(new ArrayList<>());
-        }
-        task.getTimeLogs().add(log);
-        if (task.getTimeLogs().size() > MAX_TIME_LOGS) {
-            task.setTimeLogs(task.getTimeLogs().subList(task.getTimeLogs().size() - MAX_TIME_LOGS, task.getTimeLogs().size()));
+        // Single atomic update: matching on the observed start time makes concurrent stops log the session once.
+        Criteria running = ownedTask(userId, taskId).and("activeTimerStartedAt").is(startedAt);
+        Update update = new Update()
+                .push("timeLogs").slice(-MAX_TIME_LOGS).each(log)
+                .push("activity").slice(-MAX_ACTIVITY).each(newActivity(TaskActivityType.TIMER_STOPPED, userId, null, "Timer stopped", null, null))
+                .unset("activeTimerStartedAt")
+                .inc("totalLoggedMinutes", minutes)
+                .set("updatedAt", endedAt);
+        Task saved = findAndModify(running, update);
+        if (saved == null) {
+            throw new ResponseStatusException(CONFLICT, "Timer is not running");
         }
 
-        task.setActiveTimerStartedAt(null);
-        appendActivity(task, TaskActivityType.TIMER_STOPPED, userId, null, "Timer stopped", null, null);
-        Task saved = taskRepository.save(task);
+        timeLogRollupService.record(userId, endedAt, minutes);
+        publishChanged(TaskSnapshot.of(task), saved);
         return toResponseWithSharedDiscussion(saved);
     }
 
-    private List<TaskResponse> toResponsesWithSharedDiscussions(List<Task> tasks) {
+    private List<TaskResponse> toResponsesWithSharedDiscussions(List<Task> tasks, Function<String, DependencyState> dependencies) {
         if (tasks == null || tasks.isEmpty()) {
             return List.of();
         }
@@ -581,7 +674,7 @@ public class TaskService {
 
         return tasks.stream()
                 .map(t -> {
-                    TaskResponse base = TaskMapper.toResponse(t);
+                    TaskResponse base = TaskMapper.toResponse(t, dependencies.apply(t.getId()));
                     String discussionId = t.getSharedDiscussionId();
                     if (discussionId == null || discussionId.isBlank()) return base;
                     TaskDiscussion discussion = byId.get(discussionId);
@@ -592,7 +685,7 @@ public class TaskService {
     }
 
     private TaskResponse toResponseWithSharedDiscussion(Task task) {
-        TaskResponse base = TaskMapper.toResponse(task);
+        TaskResponse base = TaskMapper.toResponse(task, dependencyStateOf(task));
         String discussionId = task.getSharedDiscussionId();
         if (discussionId == null || discussionId.isBlank()) {
             return base;
@@ -604,6 +697,13 @@ public class TaskService {
         return withSharedDiscussion(base, discussion);
     }
 
+    private DependencyState dependencyStateOf(Task task) {
+        if (task.getOwnerUserId() == null || task.getId() == null) {
+            return DependencyState.NONE;
+        }
+        return dependencyGraphService.graphFor(task.getOwnerUserId()).stateOf(task.getId());
+    }
+
     private static TaskResponse withSharedDiscussion(TaskResponse base, TaskDiscussion discussion) {
         List<com.glideclouds.taskmanagementsystem.tasks.dto.TaskCommentResponse> comments = (discussion.getComments() == null ? List.<TaskComment>of() : discussion.getComments())
                 .stream()
@@ -631,6 +731,9 @@ public class TaskService {
                 base.archivedAt(),
                 base.labels(),
                 base.blockedByTaskIds(),
+                base.blocked(),
+                base.blocksTaskIds(),
+                base.criticalPath(),
                 base.checklist(),
                 base.checklistDone(),
                 base.checklistTotal(),
@@ -658,6 +761,10 @@ public class TaskService {
 
         List<Task> tasks = taskRepository.findAllById(ids);
         List<Task> owned = tasks.stream().filter(t -> userId.equals(t.getOwnerUserId())).toList();
+        Map<String, TaskSnapshot> before = new LinkedHashMap<>();
+        for (Task t : owned) {
+            before.put(t.getId(), TaskSnapshot.of(t));
+        }
 
         Set<TaskStatus> statusesToReindex = new HashSet<>();
 
@@ -667,6 +774,8 @@ public class TaskService {
                     if (isAssignedFromAdmin(t)) continue;
                     statusesToReindex.add(t.getStatus());
                     taskRepository.delete(t);
+                    timeLogRollupService.forget(t);
+                    publishChanged(before.get(t.getId()), null);
                 }
             }
             case "SET_STATUS" -> {
@@ -683,6 +792,7 @@ public class TaskService {
                     statusesToReindex.add(target);
 
                     t.setStatus(target);
+                    markStarted(t);
 
                     if (target == TaskStatus.DONE && from != TaskStatus.DONE) {
                         t.setCompletedAt(Instant.now());
@@ -758,6 +868,12 @@ public class TaskService {
             default -> throw new ResponseStatusException(BAD_REQUEST, "Unsupported bulk action");
         }
 
+        if (!action.equals("DELETE")) {
+            for (Task t : owned) {
+                publishChanged(before.get(t.getId()), t);
+            }
+        }
+
         for (TaskStatus s : statusesToReindex) {
             reindexColumn(userId, s);
         }
@@ -798,8 +914,10 @@ public class TaskService {
         List<Task> fromCol = columnFor(userId, from);
         List<Task> toCol = columnFor(userId, to);
 
+        TaskSnapshot before = TaskSnapshot.of(task);
         fromCol.removeIf(t -> t.getId().equals(task.getId()));
         task.setStatus(to);
+        markStarted(task);
 
         if (to == TaskStatus.DONE && from != TaskStatus.DONE) {
             task.setCompletedAt(Instant.now());
@@ -818,6 +936,7 @@ public class TaskService {
 
         taskRepository.saveAll(fromCol);
         taskRepository.saveAll(toCol);
+        publishChanged(before, task);
 
         if (to == TaskStatus.DONE && from != TaskStatus.DONE) {
             maybeCreateNextRecurringInstance(userId, task);
@@ -830,8 +949,9 @@ public class TaskService {
         if (tasks == null || tasks.isEmpty()) return;
         if (archiveDoneAfterDays <= 0) return;
 
-        Instant cutoff = Instant.now().minus(Duration.ofDays(archiveDoneAfterDays));
-        List<Task> changed = new ArrayList<>();
+        Instant now = Instant.now();
+        Instant cutoff = now.minus(Duration.ofDays(archiveDoneAfterDays));
+        List<String> changed = new ArrayList<>();
 
         for (Task t : tasks) {
             if (t == null) continue;
@@ -846,14 +966,23 @@ public class TaskService {
             if (!completedAt.isAfter(cutoff)) {
                 t.setArchived(true);
                 if (t.getArchivedAt() == null) {
-                    t.setArchivedAt(Instant.now());
+                    t.setArchivedAt(now);
                 }
-                changed.add(t);
+                changed.add(t.getId());
             }
         }
 
         if (!changed.isEmpty()) {
-            taskRepository.saveAll(changed);
+            // One field-level update instead of saving the loaded copies: concurrent board loads archive the same
+            // tasks and a move may have saved them since, so a versioned saveAll would fail a plain GET with a 409.
+            Query stillDone = Query.query(Criteria.where("id").in(changed)
+                    .and("status").is(TaskStatus.DONE)
+                    .and("archived").ne(true));
+            Update update = new Update()
+                    .set("archived", true)
+                    .set("archivedAt", now)
+                    .inc("version", 1);
+            mongoTemplate.updateMulti(stillDone, update, Task.class);
         }
     }
 
@@ -898,7 +1027,8 @@ public class TaskService {
 
         appendActivity(next, TaskActivityType.CREATED, userId, null, "Recurring task created", null, null);
 
-        taskRepository.save(next);
+        Task savedNext = taskRepository.save(next);
+        publishChanged(null, savedNext);
         appendActivity(completedTask, TaskActivityType.RECURRENCE_NEXT_CREATED, userId, null, "Next recurring instance created", null, null);
         taskRepository.save(completedTask);
     }
@@ -1000,6 +1130,19 @@ public class TaskService {
             task.setActivity(new ArrayList<>());
         }
 
+        task.getActivity().add(newActivity(type, actorUserId, actorEmail, message, fromStatus, toStatus));
+
+        if (task.getActivity().size() > MAX_ACTIVITY) {
+            task.setActivity(task.getActivity().subList(task.getActivity().size() - MAX_ACTIVITY, task.getActivity().size()));
+        }
+    }
+
+    private static TaskActivity newActivity(TaskActivityType type,
+                                            String actorUserId,
+                                            String actorEmail,
+                                            String message,
+                                            TaskStatus fromStatus,
+                                            TaskStatus toStatus) {
         TaskActivity a = new TaskActivity();
         a.setId(UUID.randomUUID().toString());
         a.setType(type);
@@ -1009,12 +1152,24 @@ public class TaskService {
         a.setMessage(message);
         a.setFromStatus(fromStatus);
         a.setToStatus(toStatus);
+        return a;
+    }
 
-        task.getActivity().add(a);
+    /** Records the first time a task leaves TODO. */
+    private static void markStarted(Task task) {
+        if (task.getStartedAt() == null && task.getStatus() != TaskStatus.TODO) {
+            task.setStartedAt(Instant.now());
+        }
+    }
 
-        if (task.getActivity().size() > MAX_ACTIVITY) {
-            task.setActivity(task.getActivity().subList(task.getActivity().size() - MAX_ACTIVITY, task.getActivity().size()));
+    /** Publishes a {@link TaskChangedEvent} when the write touched any snapshot field. */
+    private void publishChanged(TaskSnapshot before, Task after) {
+        TaskSnapshot next = TaskSnapshot.of(after);
+        if (Objects.equals(before, next)) {
+            return;
         }
+        String ownerUserId = next != null ? next.ownerUserId() : before.ownerUserId();
+        eventPublisher.publishEvent(new TaskChangedEvent(ownerUserId, before, next));
     }
 
     private boolean isAssignedFromAdmin(Task task) {
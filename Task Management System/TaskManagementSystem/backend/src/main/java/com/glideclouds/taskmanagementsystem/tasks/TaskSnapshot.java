@@ -0,0 +1,47 @@
+package com.glideclouds.taskmanagementsystem.tasks;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The task fields that derived views (analytics counters, label indexes, dependency graphs) depend on, captured
+ * before/after a change.
+ */
+public record TaskSnapshot(
+        String id,
+        String ownerUserId,
+        String title,
+        TaskStatus status,
+        TaskPriority priority,
+        LocalDate dueDate,
+        boolean focus,
+        List<String> labels,
+        Instant createdAt,
+        Instant startedAt,
+        Instant completedAt,
+        long totalLoggedMinutes,
+        List<String> blockedByTaskIds
+) {
+
+    public static TaskSnapshot of(Task task) {
+        if (task == null) {
+            return null;
+        }
+        return new TaskSnapshot(
+                task.getId(),
+                task.getOwnerUserId(),
+                task.getTitle(),
+                task.getStatus(),
+                task.getPriority(),
+                task.getDueDate(),
+                task.isFocus(),
+                task.getLabels() == null ? List.of() : task.getLabels().stream().toList(),
+                task.getCreatedAt(),
+                task.getStartedAt(),
+                task.getCompletedAt(),
+                task.getTotalLoggedMinutes(),
+                task.getBlockedByTaskIds() == null ? List.of() : task.getBlockedByTaskIds().stream().toList()
+        );
+    }
+}
@@ -0,0 +1,75 @@
+package com.glideclouds.taskmanagementsystem.tasks;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Minutes logged by one user on one day (server zone), keyed by {@code userId:day}.
+ * Maintained with {@code $inc} when a timer stops; rebuilt from task time logs by {@link TimeLogRollupService#rebuild()}.
+ */
+@Document(collection = "time_log_rollups")
+@CompoundIndex(name = "user_day_idx", def = "{'userId': 1, 'day': 1}")
+public class TimeLogRollup {
+
+    @Id
+    private String id;
+
+    private String userId;
+
+    private LocalDate day;
+
+    private long minutes;
+
+    private Instant updatedAt;
+
+    public TimeLogRollup() {
+    }
+
+    public static String idFor(String userId, LocalDate day) {
+        return userId + ":" + day;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public long getMinutes() {
+        return minutes;
+    }
+
+    public void setMinutes(long minutes) {
+        this.minutes = minutes;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,14 @@
+package com.glideclouds.taskmanagementsystem.tasks;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface TimeLogRollupRepository extends MongoRepository<TimeLogRollup, String> {
+
+    /** Rollups for {@code from..to} inclusive (served by the (userId, day) index). */
+    @Query("{ 'userId': ?0, 'day': { $gte: ?1, $lte: ?2 } }")
+    List<TimeLogRollup> findForRange(String userId, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,215 @@
+package com.glideclouds.taskmanagementsystem.tasks;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Per-(user, day) logged-minute rollups.
+ * <p>
+ * Days are bucketed in the server zone, matching the analytics overview.
+ */
+@Service
+public class TimeLogRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(TimeLogRollupService.class);
+
+    private static final int BULK_BATCH = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final TimeLogRollupRepository rollupRepository;
+
+    public TimeLogRollupService(MongoTemplate mongoTemplate, TimeLogRollupRepository rollupRepository) {
+        this.mongoTemplate = mongoTemplate;
+        this.rollupRepository = rollupRepository;
+    }
+
+    /** Adds minutes to the user's rollup for the day the log ended (upsert + {@code $inc}). */
+    public void record(String userId, Instant endedAt, long minutes) {
+        if (userId == null || endedAt == null || minutes <= 0) {
+            return;
+        }
+        LocalDate day = LocalDate.ofInstant(endedAt, ZoneId.systemDefault());
+        Query query = Query.query(Criteria.where("id").is(TimeLogRollup.idFor(userId, day)));
+        Update update = new Update()
+                .setOnInsert("userId", userId)
+                .setOnInsert("day", day)
+                .inc("minutes", minutes)
+                .set("updatedAt", Instant.now());
+        mongoTemplate.upsert(query, update, TimeLogRollup.class);
+    }
+
+    /**
+     * Takes a deleted task's logged minutes back out of its owner's rollups ({@code $inc} by the negative per-day sum).
+     * <p>
+     * Only the embedded logs are known here; minutes of older stops that fell out of the capped array stay counted
+     * until the next {@link #rebuild()}.
+     */
+    public void forget(Task task) {
+        if (task == null || task.getOwnerUserId() == null || task.getTimeLogs() == null) {
+            return;
+        }
+        ZoneId zone = ZoneId.systemDefault();
+        Map<LocalDate, Long> days = new HashMap<>();
+        for (TaskTimeLog l : task.getTimeLogs()) {
+            if (l == null || l.getEndedAt() == null || l.getDurationMinutes() <= 0) continue;
+            days.merge(LocalDate.ofInstant(l.getEndedAt(), zone), l.getDurationMinutes(), Long::sum);
+        }
+        for (Map.Entry<LocalDate, Long> day : days.entrySet()) {
+            Query query = Query.query(Criteria.where("id").is(TimeLogRollup.idFor(task.getOwnerUserId(), day.getKey())));
+            Update update = new Update()
+                    .inc("minutes", -day.getValue())
+                    .set("updatedAt", Instant.now());
+            mongoTemplate.updateFirst(query, update, TimeLogRollup.class);
+        }
+    }
+
+    /** Logged minutes per day for {@code from..to} inclusive; days without logs are absent. */
+    public Map<LocalDate, Long> minutesByDay(String userId, LocalDate from, LocalDate to) {
+        Map<LocalDate, Long> out = new HashMap<>();
+        for (TimeLogRollup r : rollupRepository.findForRange(userId, from, to)) {
+            if (r.getDay() != null && r.getMinutes() > 0) {
+                out.merge(r.getDay(), r.getMinutes(), Long::sum);
+            }
+        }
+        return out;
+    }
+
+    public boolean isEmpty() {
+        return rollupRepository.count() == 0;
+    }
+
+    /**
+     * Recomputes every rollup from the stored time logs, and raises each task's totalLoggedMinutes to their sum.
+     * <p>
+     * Tasks are streamed in owner order and each owner's rollups are written as soon as the next owner starts, so
+     * memory is bounded by one user's days. Rollups are overwritten in place and stale ones (not touched by this run
+     * or by a concurrent stop) removed afterwards, so readers never see an empty collection. Minutes recorded for a
+     * day while it is being rewritten can be lost, and minutes of deleted tasks are no longer counted; run it when
+     * timers are quiet.
+     * <p>
+     * Task totals are only ever raised: the embedded logs are capped, so their sum undercounts tasks
+     * with more stops than the cap, and the {@code $inc}-maintained total is the complete one.
+     */
+    public RebuildResult rebuild() {
+        Instant startedAt = Instant.now();
+        ZoneId zone = ZoneId.systemDefault();
+
+        Query tasksWithLogs = Query.query(Criteria.where("timeLogs.0").exists(true))
+                .with(Sort.by("ownerUserId"));
+        tasksWithLogs.fields().include("ownerUserId").include("timeLogs");
+
+        Batch<Task> taskTotals = new Batch<>(Task.class);
+        Batch<TimeLogRollup> upserts = new Batch<>(TimeLogRollup.class);
+        Map<LocalDate, Long> ownerDays = new HashMap<>();
+        String owner = null;
+        long tasksScanned = 0;
+        long rollupsWritten = 0;
+        long totalMinutes = 0;
+
+        try (Stream<Task> tasks = mongoTemplate.stream(tasksWithLogs, Task.class)) {
+            for (Task t : (Iterable<Task>) tasks::iterator) {
+                if (!Objects.equals(owner, t.getOwnerUserId())) {
+                    rollupsWritten += writeRollups(upserts, owner, ownerDays);
+                    owner = t.getOwnerUserId();
+                }
+                tasksScanned++;
+                long taskMinutes = 0;
+                for (TaskTimeLog l : t.getTimeLogs() == null ? List.<TaskTimeLog>of() : t.getTimeLogs()) {
+                    if (l == null || l.getEndedAt() == null || l.getDurationMinutes() <= 0) continue;
+                    taskMinutes += l.getDurationMinutes();
+                    ownerDays.merge(LocalDate.ofInstant(l.getEndedAt(), zone), l.getDurationMinutes(), Long::sum);
+                }
+                totalMinutes += taskMinutes;
+                // Only raises the total; bumps the version so a stale whole-document save cannot undo it.
+                taskTotals.add(Query.query(Criteria.where("id").is(t.getId()).orOperator(
+                                Criteria.where("totalLoggedMinutes").lt(taskMinutes),
+                                Criteria.where("totalLoggedMinutes").exists(false))),
+                        new Update().set("totalLoggedMinutes", taskMinutes).inc("version", 1), false);
+            }
+        }
+        rollupsWritten += writeRollups(upserts, owner, ownerDays);
+        taskTotals.flush();
+        upserts.flush();
+
+        long removed = mongoTemplate.remove(
+                Query.query(new Criteria().orOperator(
+                        Criteria.where("updatedAt").lt(startedAt),
+                        Criteria.where("updatedAt").exists(false))),
+                TimeLogRollup.class).getDeletedCount();
+
+        log.info("Rebuilt time log rollups: tasks={}, rollups={}, removed={}, minutes={}",
+                tasksScanned, rollupsWritten, removed, totalMinutes);
+        return new RebuildResult(tasksScanned, rollupsWritten, removed, totalMinutes);
+    }
+
+    /** Queues one owner's day totals as rollup upserts and clears them; tasks without an owner get no rollups. */
+    private int writeRollups(Batch<TimeLogRollup> upserts, String userId, Map<LocalDate, Long> days) {
+        int written = 0;
+        if (userId != null) {
+            for (Map.Entry<LocalDate, Long> day : days.entrySet()) {
+                upserts.add(Query.query(Criteria.where("id").is(TimeLogRollup.idFor(userId, day.getKey()))),
+                        new Update()
+                                .set("userId", userId)
+                                .set("day", day.getKey())
+                                .set("minutes", day.getValue())
+                                .set("updatedAt", Instant.now()),
+                        true);
+                written++;
+            }
+        }
+        days.clear();
+        return written;
+    }
+
+    public record RebuildResult(long tasksScanned, long rollups, long staleRollupsRemoved, long loggedMinutes) {
+    }
+
+    /** Unordered bulk writes sent every {@code BULK_BATCH} operations. */
+    private final class Batch<T> {
+        private final Class<T> type;
+        private BulkOperations ops;
+        private int pending;
+
+        Batch(Class<T> type) {
+            this.type = type;
+        }
+
+        void add(Query query, Update update, boolean upsert) {
+            if (ops == null) {
+                ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+            }
+            if (upsert) {
+                ops.upsert(query, update);
+            } else {
+                ops.updateOne(query, update);
+            }
+            if (++pending >= BULK_BATCH) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (pending > 0) {
+                ops.execute();
+            }
+            ops = null;
+            pending = 0;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.glideclouds.taskmanagementsystem.tasks.dto;
+
+import com.glideclouds.taskmanagementsystem.tasks.TaskPriority;
+import com.glideclouds.taskmanagementsystem.tasks.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Slim task card for calendar views.
+ * Projected cards are virtual occurrences of a recurring task; they are not stored and their {@code id} is
+ * {@code taskId + ":" + date}.
+ */
+public record CalendarTaskCard(
+        String id,
+        String taskId,
+        String title,
+        TaskStatus status,
+        TaskPriority priority,
+        LocalDate date,
+        List<String> labels,
+        boolean assigned,
+        boolean pinned,
+        boolean focus,
+        boolean archived,
+        boolean recurring,
+        boolean projected
+) {
+}
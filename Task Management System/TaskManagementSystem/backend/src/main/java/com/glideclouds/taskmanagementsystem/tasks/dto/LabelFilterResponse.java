@@ -0,0 +1,9 @@
+package com.glideclouds.taskmanagementsystem.tasks.dto;
+
+import java.util.List;
+
+public record LabelFilterResponse(
+        int count,
+        List<String> taskIds
+) {
+}
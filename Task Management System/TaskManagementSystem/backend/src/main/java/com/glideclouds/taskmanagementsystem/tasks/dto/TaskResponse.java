@@ -21,6 +21,9 @@ public record TaskResponse(
         Instant archivedAt,
         List<String> labels,
         List<String> blockedByTaskIds,
+        boolean blocked,
+        List<String> blocksTaskIds,
+        List<String> criticalPath,
         List<ChecklistItemResponse> checklist,
         int checklistDone,
         int checklistTotal,
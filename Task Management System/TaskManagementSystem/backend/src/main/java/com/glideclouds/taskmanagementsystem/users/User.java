@@ -4,6 +4,9 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.Instant;
+import java.time.LocalTime;
+
 @Document(collection = "users")
 public class User {
 
@@ -17,6 +20,19 @@ public class User {
 
     private Role role;
 
+    /** Embedded in issued tokens; bumping it revokes every token issued before (role change, removal). */
+    private long securityEpoch;
+
+    /** IANA zone id for reminders; null means the server zone. */
+    private String timeZone;
+
+    /** Local time of the daily reminder; null means 08:00. */
+    private LocalTime reminderTime;
+
+    /** Next reminder instant; the reminder scheduler loads users from this index. */
+    @Indexed
+    private Instant nextReminderAt;
+
     public User() {
     }
 
@@ -57,4 +73,36 @@ public class User {
     public void setRole(Role role) {
         this.role = role;
     }
+
+    public long getSecurityEpoch() {
+        return securityEpoch;
+    }
+
+    public void setSecurityEpoch(long securityEpoch) {
+        this.securityEpoch = securityEpoch;
+    }
+
+    public String getTimeZone() {
+        return timeZone;
+    }
+
+    public void setTimeZone(String timeZone) {
+        this.timeZone = timeZone;
+    }
+
+    public LocalTime getReminderTime() {
+        return reminderTime;
+    }
+
+    public void setReminderTime(LocalTime reminderTime) {
+        this.reminderTime = reminderTime;
+    }
+
+    public Instant getNextReminderAt() {
+        return nextReminderAt;
+    }
+
+    public void setNextReminderAt(Instant nextReminderAt) {
+        this.nextReminderAt = nextReminderAt;
+    }
 }
@@ -5,6 +5,7 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -34,7 +35,8 @@ class AdminServiceTest {
         NotificationService notificationService = mock(NotificationService.class);
         TaskDiscussionRepository taskDiscussionRepository = mock(TaskDiscussionRepository.class);
 
-        AdminService service = new AdminService(userRepository, taskRepository, groupRepository, notificationService, taskDiscussionRepository);
+        AdminService service = new AdminService(userRepository, taskRepository, groupRepository, notificationService, taskDiscussionRepository,
+                mock(ApplicationEventPublisher.class));
 
         User assignee = new User("user@example.com", "hash", com.glideclouds.taskmanagementsystem.users.Role.USER);
         assignee.setId("assignee-1");
@@ -0,0 +1,96 @@
+package com.glideclouds.taskmanagementsystem.admin;
+
+import com.glideclouds.taskmanagementsystem.AbstractMongoIntegrationTest;
+import com.glideclouds.taskmanagementsystem.admin.dto.GroupAnalyticsRow;
+import com.glideclouds.taskmanagementsystem.admin.dto.OrgAnalyticsResponse;
+import com.glideclouds.taskmanagementsystem.admin.dto.UserAnalyticsRow;
+import com.glideclouds.taskmanagementsystem.admin.groups.Group;
+import com.glideclouds.taskmanagementsystem.admin.groups.GroupRepository;
+import com.glideclouds.taskmanagementsystem.tasks.Task;
+import com.glideclouds.taskmanagementsystem.tasks.TaskRepository;
+import com.glideclouds.taskmanagementsystem.tasks.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Tiny partitions so the run exercises several partitions and their merge.
+@SpringBootTest(properties = {"admin.analytics.partition-size=2", "admin.analytics.parallelism=2"})
+class OrgAnalyticsServiceIntegrationTest extends AbstractMongoIntegrationTest {
+
+    @Autowired OrgAnalyticsService orgAnalyticsService;
+    @Autowired TaskRepository taskRepository;
+    @Autowired GroupRepository groupRepository;
+    @Autowired MongoTemplate mongoTemplate;
+
+    @Test
+    void compute_aggregatesPerUserGroupAndOrgAcrossPartitions() {
+        LocalDate today = LocalDate.now();
+        List<Task> tasks = new ArrayList<>();
+        for (int u = 1; u <= 5; u++) {
+            String owner = "user-" + u;
+            tasks.add(task(owner, TaskStatus.TODO, today.minusDays(1), null));
+            tasks.add(task(owner, TaskStatus.IN_PROGRESS, today.plusDays(3), null));
+            tasks.add(task(owner, TaskStatus.DONE, null, Instant.now().minus(Duration.ofHours(u))));
+        }
+        tasks.add(task("user-1", TaskStatus.DONE, null, Instant.now().minus(Duration.ofDays(90))));
+        taskRepository.saveAll(tasks);
+        mongoTemplate.updateMulti(new Query(), Update.update("createdAt", Instant.now().minus(Duration.ofDays(2))), Task.class);
+
+        groupRepository.save(new Group("Team A", List.of("user-1", "user-2", "missing"), "admin"));
+
+        OrgAnalyticsResponse response = orgAnalyticsService.compute(30);
+
+        assertThat(response.tasksScanned()).isEqualTo(16);
+        assertThat(response.org().totalTasks()).isEqualTo(16);
+        assertThat(response.org().openTasks()).isEqualTo(10);
+        assertThat(response.org().overdueOpenTasks()).isEqualTo(5);
+        assertThat(response.org().completedInWindow()).isEqualTo(5);
+        assertThat(response.org().throughputPerDay()).isEqualTo(5 / 30.0);
+        assertThat(response.org().avgCycleTimeHours()).isNotNull();
+        assertThat(response.org().bottlenecks()).extracting("status").containsExactlyInAnyOrder("TODO", "IN_PROGRESS");
+        assertThat(response.org().bottlenecks()).allSatisfy(b -> assertThat(b.avgAgeDays()).isEqualTo(2));
+
+        assertThat(response.users()).hasSize(5);
+        UserAnalyticsRow user1 = response.users().stream().filter(r -> r.userId().equals("user-1")).findFirst().orElseThrow();
+        assertThat(user1.stats().totalTasks()).isEqualTo(4);
+        assertThat(user1.stats().completedInWindow()).isEqualTo(1);
+
+        GroupAnalyticsRow team = response.groups().getFirst();
+        assertThat(team.name()).isEqualTo("Team A");
+        assertThat(team.memberCount()).isEqualTo(3);
+        assertThat(team.stats().totalTasks()).isEqualTo(7);
+        assertThat(team.stats().overdueOpenTasks()).isEqualTo(2);
+    }
+
+    @Test
+    void compute_withoutTasksReturnsEmptyTotals() {
+        OrgAnalyticsResponse response = orgAnalyticsService.compute(null);
+
+        assertThat(response.days()).isEqualTo(OrgAnalyticsService.DEFAULT_DAYS);
+        assertThat(response.org().totalTasks()).isZero();
+        assertThat(response.org().avgCycleTimeHours()).isNull();
+        assertThat(response.users()).isEmpty();
+    }
+
+    private static Task task(String owner, TaskStatus status, LocalDate dueDate, Instant completedAt) {
+        Task t = new Task();
+        t.setOwnerUserId(owner);
+        t.setCreatedByUserId(owner);
+        t.setTitle("t");
+        t.setStatus(status);
+        t.setDueDate(dueDate);
+        t.setCompletedAt(completedAt);
+        return t;
+    }
+}
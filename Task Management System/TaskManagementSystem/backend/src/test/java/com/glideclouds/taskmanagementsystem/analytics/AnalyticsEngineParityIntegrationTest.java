@@ -0,0 +1,187 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import com.glideclouds.taskmanagementsystem.AbstractMongoIntegrationTest;
+import com.glideclouds.taskmanagementsystem.analytics.dto.AnalyticsOverviewResponse;
+import com.glideclouds.taskmanagementsystem.analytics.dto.StatusBottleneck;
+import com.glideclouds.taskmanagementsystem.tasks.Task;
+import com.glideclouds.taskmanagementsystem.tasks.TaskPriority;
+import com.glideclouds.taskmanagementsystem.tasks.TaskRepository;
+import com.glideclouds.taskmanagementsystem.tasks.TaskService;
+import com.glideclouds.taskmanagementsystem.tasks.TaskStatus;
+import com.glideclouds.taskmanagementsystem.tasks.dto.BulkTaskActionRequest;
+import com.glideclouds.taskmanagementsystem.tasks.dto.CreateTaskRequest;
+import com.glideclouds.taskmanagementsystem.tasks.dto.MoveTaskRequest;
+import com.glideclouds.taskmanagementsystem.tasks.dto.UpdateFocusRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+class AnalyticsEngineParityIntegrationTest extends AbstractMongoIntegrationTest {
+
+    private static final String USER = "user-1";
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Autowired
+    TaskService taskService;
+
+    @Autowired
+    MongoTemplate mongoTemplate;
+
+    @Autowired
+    TaskScanAnalyticsEngine scanEngine;
+
+    @Autowired
+    CounterAnalyticsEngine counterEngine;
+
+    @Autowired
+    FacetAnalyticsEngine facetEngine;
+
+    @Autowired
+    AnalyticsCounterService counterService;
+
+    @Test
+    void enginesMatchScanAfterRebuildEventsAndReconciliation() {
+        LocalDate today = LocalDate.now();
+        List<Task> seeded = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            Task t = task("seed-" + i, i % 3 == 0 ? TaskStatus.DONE : (i % 3 == 1 ? TaskStatus.TODO : TaskStatus.IN_PROGRESS));
+            t.setPriority(TaskPriority.values()[i % TaskPriority.values().length]);
+            t.setDueDate(today.plusDays(i - 8L));
+            t.setFocus(i % 4 == 0);
+            t.setLabels(new ArrayList<>(List.of("Work", i % 2 == 0 ? "v1.2" : "$cost", "work ")));
+            if (t.getStatus() == TaskStatus.DONE) {
+                t.setCompletedAt(Instant.now().minus(Duration.ofDays(i)));
+            }
+            seeded.add(taskRepository.save(t));
+        }
+        // Spread creation dates so ages and cycle times are non-trivial.
+        for (int i = 0; i < seeded.size(); i++) {
+            mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(seeded.get(i).getId())),
+                    Update.update("createdAt", Instant.now().minus(Duration.ofDays(20L + i))), Task.class);
+        }
+
+        assertSameOverview();
+
+        taskService.createForUser(USER, new CreateTaskRequest("fresh", null, TaskPriority.HIGH, today));
+        Task todo = seeded.get(1);
+        taskService.moveForUser(USER, new MoveTaskRequest(todo.getId(), TaskStatus.TODO, TaskStatus.DONE, 0));
+        Task reopened = seeded.get(3);
+        taskService.moveForUser(USER, new MoveTaskRequest(reopened.getId(), TaskStatus.DONE, TaskStatus.TODO, 0));
+        taskService.updateLabelsForUser(USER, seeded.get(4).getId(), List.of("Home", "a.b"));
+        taskService.updateFocusForUser(USER, seeded.get(5).getId(), new UpdateFocusRequest(true));
+        taskService.bulkForUser(USER, new BulkTaskActionRequest(
+                List.of(seeded.get(7).getId(), seeded.get(8).getId()), "SET_STATUS", null, null, null, TaskStatus.DONE, null));
+        taskService.deleteForUser(USER, seeded.get(10).getId());
+
+        assertSameOverview();
+
+        counterService.reconcileAll();
+        assertSameOverview();
+    }
+
+    @Test
+    void allEnginesMatchScanOnGeneratedDatasets() {
+        for (long seed : new long[]{1L, 7L, 42L}) {
+            mongoTemplate.getDb().drop();
+            generate(new Random(seed), 300);
+            assertSameOverview();
+        }
+    }
+
+    /** Random statuses, priorities (some missing), due dates, labels (case/blank variants), ages, starts and completions. */
+    private void generate(Random random, int count) {
+        LocalDate today = LocalDate.now();
+        String[] labels = {"Work", "work ", "HOME", "v1.2", "$cost", "  ", "ops", "Ops", "release"};
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            TaskStatus status = TaskStatus.values()[random.nextInt(TaskStatus.values().length)];
+            Task t = task("gen-" + random.nextInt(50), status);
+            if (random.nextInt(10) > 0) {
+                t.setPriority(TaskPriority.values()[random.nextInt(TaskPriority.values().length)]);
+            }
+            if (random.nextInt(4) > 0) {
+                t.setDueDate(today.plusDays(random.nextInt(30) - 20L));
+            }
+            t.setFocus(random.nextInt(5) == 0);
+            List<String> taskLabels = new ArrayList<>();
+            for (int l = random.nextInt(4); l > 0; l--) {
+                taskLabels.add(labels[random.nextInt(labels.length)]);
+            }
+            t.setLabels(taskLabels);
+            if (status == TaskStatus.DONE || random.nextInt(20) == 0) {
+                t.setCompletedAt(Instant.now().minus(Duration.ofMinutes(random.nextInt(90 * 24 * 60))));
+            }
+            tasks.add(t);
+        }
+        List<Task> saved = taskRepository.saveAll(tasks);
+        for (Task t : saved) {
+            Instant createdAt = t.getCompletedAt() != null && random.nextBoolean()
+                    ? t.getCompletedAt().minus(Duration.ofMinutes(random.nextInt(20 * 24 * 60)))
+                    : Instant.now().minus(Duration.ofMinutes(random.nextInt(120 * 24 * 60)));
+            Update update = Update.update("createdAt", createdAt);
+            if (t.getStatus() != TaskStatus.TODO && random.nextInt(4) > 0) {
+                Instant end = t.getCompletedAt() != null ? t.getCompletedAt() : Instant.now();
+                update.set("startedAt", end.minus(Duration.ofMinutes(random.nextInt(10 * 24 * 60))));
+            }
+            mongoTemplate.updateFirst(Query.query(Criteria.where("id").is(t.getId())), update, Task.class);
+        }
+    }
+
+    private void assertSameOverview() {
+        for (int days : new int[]{7, 14, 60}) {
+            AnalyticsWindow window = AnalyticsWindow.of(days);
+            AnalyticsOverviewResponse expected = scanEngine.overview(USER, window);
+            assertThat(facetEngine.overview(USER, window))
+                    .as("facet engine, %d days", days)
+                    .usingRecursiveComparison()
+                    .ignoringFields("generatedAt")
+                    .isEqualTo(expected);
+
+            // Counters keep open tasks per creation day, so their ages are calendar days: at most one more than
+            // the elapsed 24h periods. Everything else matches exactly.
+            AnalyticsOverviewResponse counters = counterEngine.overview(USER, window);
+            assertThat(counters)
+                    .as("counters engine, %d days", days)
+                    .usingRecursiveComparison()
+                    .ignoringFields("generatedAt", "bottlenecks")
+                    .isEqualTo(expected);
+            assertThat(counters.bottlenecks()).extracting(StatusBottleneck::status, StatusBottleneck::openCount)
+                    .containsExactlyInAnyOrderElementsOf(expected.bottlenecks().stream()
+                            .map(b -> tuple(b.status(), b.openCount())).toList());
+            for (StatusBottleneck b : counters.bottlenecks()) {
+                StatusBottleneck scanned = expected.bottlenecks().stream()
+                        .filter(e -> e.status().equals(b.status())).findFirst().orElseThrow();
+                assertThat(b.avgAgeDays()).as("avg age of %s", b.status())
+                        .isBetween(scanned.avgAgeDays(), scanned.avgAgeDays() + 1);
+                assertThat(b.oldestAgeDays()).as("oldest age of %s", b.status())
+                        .isBetween(scanned.oldestAgeDays(), scanned.oldestAgeDays() + 1);
+            }
+        }
+    }
+
+    private static Task task(String title, TaskStatus status) {
+        Task t = new Task();
+        t.setOwnerUserId(USER);
+        t.setCreatedByUserId(USER);
+        t.setTitle(title);
+        t.setStatus(status);
+        return t;
+    }
+}
@@ -0,0 +1,118 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import com.glideclouds.taskmanagementsystem.analytics.dto.TaskQuickView;
+import com.glideclouds.taskmanagementsystem.tasks.Task;
+import com.glideclouds.taskmanagementsystem.tasks.TaskPriority;
+import com.glideclouds.taskmanagementsystem.tasks.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalyticsKernelTest {
+
+    @Test
+    void epochDayMatchesLocalDateInFixedAndDstZones() {
+        LocalDate today = LocalDate.of(2026, 3, 29);
+        Random random = new Random(5);
+        for (String zoneId : List.of("UTC", "+05:30", "Europe/Berlin", "America/St_Johns")) {
+            ZoneId zone = ZoneId.of(zoneId);
+            AnalyticsKernel kernel = new AnalyticsKernel(AnalyticsWindow.of(14, zone, today));
+            Instant from = today.minusDays(500).atStartOfDay(zone).toInstant();
+            for (int i = 0; i < 20_000; i++) {
+                Instant instant = from.plusSeconds(random.nextLong(505L * 86_400));
+                assertThat(kernel.epochDay(instant))
+                        .as("%s at %s", instant, zoneId)
+                        .isEqualTo(LocalDate.ofInstant(instant, zone).toEpochDay());
+            }
+            Instant midnight = today.atStartOfDay(zone).toInstant();
+            assertThat(kernel.epochDay(midnight)).isEqualTo(today.toEpochDay());
+            assertThat(kernel.epochDay(midnight.minusNanos(1))).isEqualTo(today.toEpochDay() - 1);
+        }
+    }
+
+    @Test
+    void normalizeLabelMatchesAssemblerAndKeepsNormalizedInstances() {
+        for (String raw : new String[]{"bug", " Bug ", "UX", "\t", "", "\u2003", "stra\u00dfe", "\u0130stanbul", "ops team"}) {
+            assertThat(AnalyticsKernel.normalizeLabel(raw)).isEqualTo(AnalyticsOverviewAssembler.normalizeLabel(raw));
+        }
+        String normalized = "backend";
+        assertThat(AnalyticsKernel.normalizeLabel(normalized)).isSameAs(normalized);
+        assertThat(AnalyticsKernel.normalizeLabel(null)).isNull();
+    }
+
+    @Test
+    void keepsTopOverdueInStableOrderAndCountsEverything() {
+        LocalDate today = LocalDate.of(2026, 5, 10);
+        AnalyticsKernel kernel = new AnalyticsKernel(AnalyticsWindow.of(14, ZoneId.of("UTC"), today));
+        kernel.accept(task("a", TaskPriority.LOW, today.minusDays(1), "bug"));
+        kernel.accept(task("b", TaskPriority.HIGH, today.minusDays(1), "Bug"));
+        kernel.accept(task("c", TaskPriority.HIGH, today.minusDays(3), " bug "));
+        kernel.accept(task("d", TaskPriority.MEDIUM, today.minusDays(1), null));
+        kernel.accept(task("e", TaskPriority.HIGH, today.minusDays(1), null));
+        kernel.accept(task("e", TaskPriority.HIGH, today.minusDays(1), null));
+        kernel.accept(task("f", TaskPriority.LOW, today.minusDays(9), null));
+        kernel.accept(task("today", TaskPriority.LOW, today, "ops"));
+
+        AnalyticsFacts facts = kernel.toFacts();
+
+        assertThat(facts.totalTasks).isEqualTo(8);
+        assertThat(facts.overdueOpenTasks).isEqualTo(7);
+        assertThat(facts.dueTodayOpenTasks).isEqualTo(1);
+        assertThat(facts.statusCounts).containsEntry("TODO", 8L);
+        assertThat(facts.openLabelCounts).containsEntry("bug", 3L).containsEntry("ops", 1L);
+        assertThat(facts.overdue).extracting(TaskQuickView::title).containsExactly("f", "c", "b", "e", "e");
+        assertThat(facts.overdue).extracting(TaskQuickView::id).containsExactly("f", "c", "b", "e-1", "e-2");
+        assertThat(facts.dueToday).extracting(TaskQuickView::title).containsExactly("today");
+
+        kernel.reset(AnalyticsWindow.of(14, ZoneId.of("UTC"), today));
+        AnalyticsFacts empty = kernel.toFacts();
+        assertThat(empty.totalTasks).isZero();
+        assertThat(empty.statusCounts).isEmpty();
+        assertThat(empty.openLabelCounts).isEmpty();
+        assertThat(empty.overdue).isEmpty();
+    }
+
+    @Test
+    void openAgeCountsElapsedWholeDaysNotCalendarDays() {
+        ZoneId zone = ZoneId.of("UTC");
+        Instant now = Instant.parse("2026-05-10T09:00:00.000000500Z");
+        AnalyticsKernel kernel = new AnalyticsKernel(AnalyticsWindow.of(14, zone, now));
+        // Created yesterday evening: one calendar day back, but less than 24h ago.
+        kernel.accept(created(now.minus(Duration.ofHours(23))));
+        kernel.accept(created(now.minus(Duration.ofDays(1))));
+        kernel.accept(created(now.minus(Duration.ofDays(3)).plusMillis(1)));
+        kernel.accept(created(now.plusSeconds(60)));
+
+        assertThat(kernel.toFacts().openAgeDaysByStatus.get("TODO"))
+                .containsOnly(Map.entry(0L, 2L), Map.entry(1L, 1L), Map.entry(2L, 1L));
+    }
+
+    private int ids;
+
+    private static Task created(Instant createdAt) {
+        Task t = new Task();
+        t.setStatus(TaskStatus.TODO);
+        ReflectionTestUtils.setField(t, "createdAt", createdAt);
+        return t;
+    }
+
+    private Task task(String title, TaskPriority priority, LocalDate due, String label) {
+        Task t = new Task();
+        t.setId(title.equals("e") ? "e-" + ++ids : title);
+        t.setTitle(title);
+        t.setStatus(TaskStatus.TODO);
+        t.setPriority(priority);
+        t.setDueDate(due);
+        t.setLabels(label == null ? List.of() : List.of(label));
+        return t;
+    }
+}
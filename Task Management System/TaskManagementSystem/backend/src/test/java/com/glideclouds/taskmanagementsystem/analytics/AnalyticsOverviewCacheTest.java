@@ -0,0 +1,154 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import com.glideclouds.taskmanagementsystem.analytics.dto.AnalyticsOverviewResponse;
+import com.glideclouds.taskmanagementsystem.config.AnalyticsCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalyticsOverviewCacheTest {
+
+    // Platform threads of its own, so refreshes do not depend on the JVM-wide virtual-thread scheduler.
+    private final ExecutorService refreshes = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void stopRefreshes() {
+        refreshes.shutdownNow();
+    }
+
+    @Test
+    void freshEntryIsServedWithoutRecompute() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AnalyticsOverviewCache cache = cache(Duration.ofMinutes(1), Duration.ofMinutes(10), registry);
+        AtomicInteger computes = new AtomicInteger();
+
+        AnalyticsOverviewResponse first = cache.get("u1", 14, () -> response(computes.incrementAndGet()));
+        AnalyticsOverviewResponse second = cache.get("u1", 14, () -> response(computes.incrementAndGet()));
+
+        assertThat(second).isSameAs(first);
+        assertThat(computes).hasValue(1);
+        assertThat(cache.hitRatio()).isEqualTo(0.5);
+        assertThat(registry.get("analytics.overview.recompute").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidatedEntryIsServedStaleWhileOneRefreshRuns() throws Exception {
+        AnalyticsOverviewCache cache = cache(Duration.ofMinutes(1), Duration.ofMinutes(10), new SimpleMeterRegistry());
+        cache.get("u1", 14, () -> response(1));
+        cache.invalidate("u1");
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger refreshes = new AtomicInteger();
+        Supplier<AnalyticsOverviewResponse> slow = () -> {
+            refreshes.incrementAndGet();
+            started.countDown();
+            await(release);
+            return response(2);
+        };
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(cache.get("u1", 14, slow).totalTasks()).isEqualTo(1);
+        }
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cache.get("u1", 14, slow).totalTasks() != 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(cache.get("u1", 14, slow).totalTasks()).isEqualTo(2);
+        assertThat(refreshes).hasValue(1);
+    }
+
+    @Test
+    void concurrentMissesShareOneComputation() throws Exception {
+        AnalyticsOverviewCache cache = cache(Duration.ofMinutes(1), Duration.ofMinutes(10), new SimpleMeterRegistry());
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger computes = new AtomicInteger();
+        Supplier<AnalyticsOverviewResponse> slow = () -> {
+            computes.incrementAndGet();
+            await(release);
+            return response(7);
+        };
+
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<AnalyticsOverviewResponse>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(callers.submit(() -> cache.get("u1", 30, slow)));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<AnalyticsOverviewResponse> r : results) {
+                assertThat(r.get(5, TimeUnit.SECONDS).totalTasks()).isEqualTo(7);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertThat(computes).hasValue(1);
+    }
+
+    @Test
+    void staleReadRightAfterAJoinedRefreshStartsANewOne() throws Exception {
+        AnalyticsOverviewCache cache = cache(Duration.ofMinutes(1), Duration.ofMinutes(10), new SimpleMeterRegistry());
+
+        // The caller of a miss wakes up when its refresh completes; that refresh must no longer count as in flight.
+        for (int days = 1; days <= 50; days++) {
+            cache.get("u1", days, () -> response(1));
+            cache.invalidate("u1");
+            CountDownLatch started = new CountDownLatch(1);
+            cache.get("u1", days, () -> {
+                started.countDown();
+                return response(2);
+            });
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    @Test
+    void entriesOlderThanMaxStaleAreRecomputedBeforeResponding() {
+        AnalyticsOverviewCache cache = cache(Duration.ZERO, Duration.ZERO, new SimpleMeterRegistry());
+        AtomicInteger computes = new AtomicInteger();
+
+        cache.get("u1", 14, () -> response(computes.incrementAndGet()));
+        AnalyticsOverviewResponse second = cache.get("u1", 14, () -> response(computes.incrementAndGet()));
+
+        assertThat(second.totalTasks()).isEqualTo(2);
+        assertThat(cache.hitRatio()).isZero();
+    }
+
+    private AnalyticsOverviewCache cache(Duration freshFor, Duration maxStale, SimpleMeterRegistry registry) {
+        return new AnalyticsOverviewCache(new AnalyticsCacheProperties(true, freshFor, maxStale, 100), registry, refreshes);
+    }
+
+    private static AnalyticsOverviewResponse response(long totalTasks) {
+        return new AnalyticsOverviewResponse(Instant.now(), LocalDate.now(), totalTasks, 0, 0, Map.of(),
+                0, 0, 0, 0, 0, 0, 0, 0, null, null, null, 0, 0, 0,
+                List.of(), List.of(), List.of(), List.of(), List.of());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,19 +1,25 @@
 package com.glideclouds.taskmanagementsystem.analytics;
 
 import com.glideclouds.taskmanagementsystem.analytics.dto.AnalyticsOverviewResponse;
+import com.glideclouds.taskmanagementsystem.config.AnalyticsCacheProperties;
 import com.glideclouds.taskmanagementsystem.tasks.Task;
 import com.glideclouds.taskmanagementsystem.tasks.TaskRepository;
 import com.glideclouds.taskmanagementsystem.tasks.TaskStatus;
-import com.glideclouds.taskmanagementsystem.tasks.TaskTimeLog;
+import com.glideclouds.taskmanagementsystem.tasks.TimeLogRollupService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -22,7 +28,10 @@ class AnalyticsServiceTest {
     @Test
     void overview_countsDueOverdueCompletedAndLoggedMinutes() throws Exception {
         TaskRepository repo = mock(TaskRepository.class);
-        AnalyticsService service = new AnalyticsService(repo);
+        TimeLogRollupService rollups = mock(TimeLogRollupService.class);
+        AnalyticsService service = new AnalyticsService(List.of(new TaskScanAnalyticsEngine(repo, rollups)), "scan",
+                new AnalyticsOverviewCache(new AnalyticsCacheProperties(false, Duration.ZERO, Duration.ZERO, 0), new SimpleMeterRegistry(),
+                        Runnable::run));
 
         ZoneId zone = ZoneId.systemDefault();
         LocalDate today = LocalDate.now(zone);
@@ -53,13 +62,9 @@ class AnalyticsServiceTest {
         withLog.setId("t4");
         withLog.setOwnerUserId("u1");
         withLog.setStatus(TaskStatus.TODO);
-        TaskTimeLog log = new TaskTimeLog();
-        log.setId("l1");
-        log.setEndedAt(Instant.now());
-        log.setDurationMinutes(25);
-        withLog.setTimeLogs(List.of(log));
 
         when(repo.findByOwnerUserId("u1")).thenReturn(List.of(overdue, dueToday, doneToday, withLog));
+        when(rollups.minutesByDay(eq("u1"), any(), eq(today))).thenReturn(Map.of(today, 25L, today.minusDays(40), 90L));
 
         AnalyticsOverviewResponse r = service.overviewForUser("u1", 14);
 
@@ -70,6 +75,8 @@ class AnalyticsServiceTest {
         assertThat(r.completedToday()).isEqualTo(1);
         assertThat(r.focusOpenTasks()).isEqualTo(1);
         assertThat(r.loggedMinutesToday()).isEqualTo(25);
+        assertThat(r.loggedMinutesLast30Days()).isEqualTo(25);
+        assertThat(r.trend().getLast().loggedMinutes()).isEqualTo(25);
 
         assertThat(r.topOpenLabels()).isNotEmpty();
         assertThat(r.statusCounts()).containsKeys("TODO", "IN_PROGRESS", "DONE");
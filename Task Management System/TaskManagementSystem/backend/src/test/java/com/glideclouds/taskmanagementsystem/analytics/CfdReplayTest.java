@@ -0,0 +1,78 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import com.glideclouds.taskmanagementsystem.tasks.TaskActivity;
+import com.glideclouds.taskmanagementsystem.tasks.TaskActivityType;
+import com.glideclouds.taskmanagementsystem.tasks.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static com.glideclouds.taskmanagementsystem.tasks.TaskStatus.DONE;
+import static com.glideclouds.taskmanagementsystem.tasks.TaskStatus.IN_PROGRESS;
+import static com.glideclouds.taskmanagementsystem.tasks.TaskStatus.TODO;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CfdReplayTest {
+
+    @Test
+    void replaysTransitionsOntoDaysAfterTheBase() {
+        CfdReplay replay = new CfdReplay(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 5), ZoneOffset.UTC);
+
+        // Started on the 2nd, completed on the 4th (COMPLETED and MOVED both recorded).
+        replay.accept(at("2026-02-20T09:00:00Z"), DONE, List.of(
+                move(TaskActivityType.MOVED, TODO, IN_PROGRESS, "2026-03-02T10:00:00Z"),
+                move(TaskActivityType.COMPLETED, IN_PROGRESS, DONE, "2026-03-04T16:00:00Z"),
+                move(TaskActivityType.MOVED, IN_PROGRESS, DONE, "2026-03-04T16:00:00Z")));
+        // Created inside the replayed range.
+        replay.accept(at("2026-03-03T08:00:00Z"), TODO, List.of());
+        // Moved before the base: only its current status matters.
+        replay.accept(at("2026-02-10T08:00:00Z"), IN_PROGRESS, List.of(
+                move(TaskActivityType.MOVED, TODO, IN_PROGRESS, "2026-02-15T08:00:00Z")));
+
+        assertThat(replay.base()).containsExactly(counts(1, 1, 0));
+        long[][] series = replay.series(replay.base());
+        assertThat(series).hasNumberOfRows(4);
+        assertThat(series[0]).containsExactly(counts(0, 2, 0));
+        assertThat(series[1]).containsExactly(counts(1, 2, 0));
+        assertThat(series[2]).containsExactly(counts(1, 1, 1));
+        assertThat(series[3]).containsExactly(counts(1, 1, 1));
+    }
+
+    @Test
+    void reopenedTaskMovesBackAndSameStatusReordersAreIgnored() {
+        CfdReplay replay = new CfdReplay(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 3), ZoneOffset.UTC);
+
+        replay.accept(at("2026-02-01T00:00:00Z"), TODO, List.of(
+                move(TaskActivityType.REORDERED, DONE, DONE, "2026-03-02T09:00:00Z"),
+                move(TaskActivityType.MOVED, DONE, TODO, "2026-03-03T09:00:00Z")));
+
+        long[][] series = replay.series(replay.base());
+        assertThat(replay.base()).containsExactly(counts(0, 0, 1));
+        assertThat(series[0]).containsExactly(counts(0, 0, 1));
+        assertThat(series[1]).containsExactly(counts(1, 0, 0));
+    }
+
+    private static long[] counts(long todo, long inProgress, long done) {
+        long[] out = new long[TaskStatus.values().length];
+        out[TODO.ordinal()] = todo;
+        out[IN_PROGRESS.ordinal()] = inProgress;
+        out[DONE.ordinal()] = done;
+        return out;
+    }
+
+    private static TaskActivity move(TaskActivityType type, TaskStatus from, TaskStatus to, String at) {
+        TaskActivity a = new TaskActivity();
+        a.setType(type);
+        a.setFromStatus(from);
+        a.setToStatus(to);
+        a.setCreatedAt(at(at));
+        return a;
+    }
+
+    private static Instant at(String instant) {
+        return Instant.parse(instant);
+    }
+}
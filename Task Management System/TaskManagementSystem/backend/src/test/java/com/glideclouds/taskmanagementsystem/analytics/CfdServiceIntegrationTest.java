@@ -0,0 +1,115 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import com.glideclouds.taskmanagementsystem.AbstractMongoIntegrationTest;
+import com.glideclouds.taskmanagementsystem.analytics.dto.CfdPoint;
+import com.glideclouds.taskmanagementsystem.analytics.dto.CfdResponse;
+import com.glideclouds.taskmanagementsystem.tasks.Task;
+import com.glideclouds.taskmanagementsystem.tasks.TaskActivity;
+import com.glideclouds.taskmanagementsystem.tasks.TaskActivityType;
+import com.glideclouds.taskmanagementsystem.tasks.TaskChangedEvent;
+import com.glideclouds.taskmanagementsystem.tasks.TaskRepository;
+import com.glideclouds.taskmanagementsystem.tasks.TaskSnapshot;
+import com.glideclouds.taskmanagementsystem.tasks.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class CfdServiceIntegrationTest extends AbstractMongoIntegrationTest {
+
+    private static final String USER = "user-1";
+    private static final ZoneId ZONE = ZoneOffset.UTC;
+
+    @Autowired CfdService cfdService;
+    @Autowired CfdSnapshotRepository snapshotRepository;
+    @Autowired TaskRepository taskRepository;
+    @Autowired MongoTemplate mongoTemplate;
+
+    @Test
+    void rebuildsOnceThenReplaysOnlyTheTail() {
+        LocalDate today = LocalDate.now(ZONE);
+        Task started = save(TaskStatus.IN_PROGRESS, today.minusDays(10),
+                move(TaskStatus.TODO, TaskStatus.IN_PROGRESS, today.minusDays(3)));
+        save(TaskStatus.TODO, today.minusDays(5));
+
+        CfdResponse first = cfdService.compute(USER, 7, ZONE, today);
+
+        assertThat(first.points()).hasSize(7);
+        assertThat(first.statuses()).containsExactly("TODO", "IN_PROGRESS", "DONE");
+        assertThat(point(first, today.minusDays(6)).counts()).containsEntry("TODO", 1L).containsEntry("IN_PROGRESS", 0L);
+        assertThat(point(first, today.minusDays(4)).counts()).containsEntry("TODO", 2L);
+        assertThat(point(first, today).counts()).containsEntry("TODO", 1L).containsEntry("IN_PROGRESS", 1L);
+        assertThat(snapshotRepository.count()).isEqualTo(CfdService.MAX_DAYS);
+
+        // A stored day is trusted as is: a later request replays only activity after it.
+        CfdSnapshot yesterday = snapshotRepository.findById(CfdSnapshot.idFor(USER, today.minusDays(1))).orElseThrow();
+        yesterday.getCounts().put("DONE", 40L);
+        snapshotRepository.save(yesterday);
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(started.getId())),
+                new Update().set("status", TaskStatus.DONE)
+                        .push("activity", move(TaskStatus.IN_PROGRESS, TaskStatus.DONE, today)), Task.class);
+
+        CfdResponse second = cfdService.compute(USER, 7, ZONE, today);
+
+        assertThat(point(second, today.minusDays(1)).counts()).containsEntry("DONE", 40L);
+        assertThat(point(second, today).counts())
+                .containsEntry("TODO", 1L).containsEntry("IN_PROGRESS", 0L).containsEntry("DONE", 41L);
+    }
+
+    @Test
+    void deletingATaskDropsTheSnapshots() {
+        LocalDate today = LocalDate.now(ZONE);
+        Task task = save(TaskStatus.TODO, today.minusDays(2));
+        cfdService.compute(USER, 30, ZONE, today);
+        assertThat(snapshotRepository.count()).isPositive();
+
+        taskRepository.delete(task);
+        cfdService.onTaskChanged(new TaskChangedEvent(USER, TaskSnapshot.of(task), null));
+        assertThat(snapshotRepository.count()).isZero();
+
+        CfdResponse rebuilt = cfdService.compute(USER, 30, ZONE, today);
+        assertThat(point(rebuilt, today).counts()).containsEntry("TODO", 0L);
+    }
+
+    private Task save(TaskStatus status, LocalDate createdOn, TaskActivity... activity) {
+        Task t = new Task();
+        t.setOwnerUserId(USER);
+        t.setCreatedByUserId(USER);
+        t.setTitle("t");
+        t.setStatus(status);
+        t.getActivity().addAll(List.of(activity));
+        Task saved = taskRepository.save(t);
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(saved.getId())),
+                Update.update("createdAt", noonOf(createdOn)), Task.class);
+        return taskRepository.findById(saved.getId()).orElseThrow();
+    }
+
+    private static TaskActivity move(TaskStatus from, TaskStatus to, LocalDate on) {
+        TaskActivity a = new TaskActivity();
+        a.setType(TaskActivityType.MOVED);
+        a.setFromStatus(from);
+        a.setToStatus(to);
+        a.setCreatedAt(on.equals(LocalDate.now(ZONE)) ? Instant.now() : noonOf(on));
+        return a;
+    }
+
+    private static Instant noonOf(LocalDate day) {
+        return day.atTime(12, 0).toInstant(ZoneOffset.UTC);
+    }
+
+    private static CfdPoint point(CfdResponse response, LocalDate day) {
+        return response.points().stream().filter(p -> p.date().equals(day)).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,57 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import com.glideclouds.taskmanagementsystem.tasks.TaskSnapshot;
+import com.glideclouds.taskmanagementsystem.tasks.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CounterContributionTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Europe/Berlin");
+
+    @Test
+    void openTasksAreBucketedPerStatusAndCreationDay() {
+        CounterContribution all = new CounterContribution(ZONE);
+        Instant morning = Instant.parse("2026-05-10T06:00:00Z");
+        for (int i = 0; i < 1_000; i++) {
+            all.add(open("t" + i, TaskStatus.TODO, morning.plusSeconds(i * 30L)), 1);
+        }
+        all.add(open("late", TaskStatus.TODO, Instant.parse("2026-05-10T22:30:00Z")), 1);
+        all.add(open("ip", TaskStatus.IN_PROGRESS, morning), 1);
+        all.compact();
+
+        long may10 = LocalDate.of(2026, 5, 10).toEpochDay();
+        assertThat(all.openCreatedEpochDays).containsOnlyKeys("TODO", "IN_PROGRESS");
+        // 22:30 UTC is already May 11 in Berlin.
+        assertThat(all.openCreatedEpochDays.get("TODO"))
+                .containsOnly(Map.entry(String.valueOf(may10), 1_000L), Map.entry(String.valueOf(may10 + 1), 1L));
+        assertThat(all.openCreatedEpochDays.get("IN_PROGRESS")).containsOnly(Map.entry(String.valueOf(may10), 1L));
+    }
+
+    @Test
+    void moveToDoneRemovesTheTaskFromItsDayBucket() {
+        Instant created = Instant.parse("2026-05-10T06:00:00Z");
+        TaskSnapshot before = open("t1", TaskStatus.TODO, created);
+        TaskSnapshot after = new TaskSnapshot("t1", "u1", "t1", TaskStatus.DONE, null, null, false, List.of(),
+                created, null, created.plusSeconds(3_600), 0, List.of());
+
+        CounterContribution delta = new CounterContribution(ZONE);
+        delta.add(before, -1);
+        delta.add(after, 1);
+        delta.compact();
+
+        assertThat(delta.openCreatedEpochDays.get("TODO"))
+                .containsOnly(Map.entry(String.valueOf(LocalDate.of(2026, 5, 10).toEpochDay()), -1L));
+    }
+
+    private static TaskSnapshot open(String id, TaskStatus status, Instant createdAt) {
+        return new TaskSnapshot(id, "u1", id, status, null, null, false, List.of(), createdAt, null, null, 0, List.of());
+    }
+}
@@ -0,0 +1,32 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class ForecastServiceTest {
+
+    @Test
+    void trialsOutsideTheAllowedRangeAreRejectedNotClamped() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        ForecastService service = new ForecastService(mongoTemplate, null, 10_000, 100_000, 90);
+        ZoneId zone = ZoneId.of("UTC");
+        LocalDate today = LocalDate.of(2026, 5, 10);
+
+        for (int trials : new int[]{0, -5, 100_001}) {
+            assertThatThrownBy(() -> service.forecast("u1", 10, null, trials, 1L, zone, today))
+                    .isInstanceOfSatisfying(ResponseStatusException.class,
+                            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        }
+        verifyNoInteractions(mongoTemplate);
+    }
+}
@@ -0,0 +1,102 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import com.glideclouds.taskmanagementsystem.common.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MonteCarloForecasterTest {
+
+    @Test
+    void constantThroughputGivesExactDays() {
+        MonteCarloForecaster forecaster = new MonteCarloForecaster(new long[]{2, 2, 2, 2});
+
+        int[] days = forecaster.simulate(9, 1_000, 1L, 365);
+
+        assertThat(days).containsOnly(5);
+    }
+
+    @Test
+    void sameSeedGivesSameResultsAcrossChunks() {
+        long[] history = new long[90];
+        for (int i = 0; i < history.length; i += 3) {
+            history[i] = i % 7;
+        }
+        MonteCarloForecaster forecaster = new MonteCarloForecaster(history);
+        int trials = MonteCarloForecaster.CHUNK_SIZE * 5 + 17;
+
+        int[] first = forecaster.simulate(120, trials, 42L, 3_650);
+        int[] second = forecaster.simulate(120, trials, 42L, 3_650);
+
+        assertThat(first).isEqualTo(second);
+        assertThat(MonteCarloForecaster.percentile(first, 50)).isLessThanOrEqualTo(MonteCarloForecaster.percentile(first, 95));
+    }
+
+    @Test
+    void sparseHistoryMatchesMeanThroughput() {
+        // One task every tenth day: 50 tasks take ~500 days on average.
+        long[] history = new long[100];
+        for (int i = 0; i < history.length; i += 10) {
+            history[i] = 1;
+        }
+        int[] days = new MonteCarloForecaster(history).simulate(50, 100_000, 7L, 3_650);
+
+        assertThat(MonteCarloForecaster.percentile(days, 50)).isBetween(470, 530);
+    }
+
+    @Test
+    void withoutThroughputNothingFinishesAndNoItemsFinishToday() {
+        MonteCarloForecaster idle = new MonteCarloForecaster(new long[30]);
+
+        assertThat(idle.canForecast()).isFalse();
+        assertThat(idle.simulate(3, 10, 1L, 100)).containsOnly(101);
+        assertThat(new MonteCarloForecaster(new long[]{1}).simulate(0, 10, 1L, 100)).containsOnly(0);
+    }
+
+    @Test
+    void poolAndCallerThreadGiveTheSameResults() {
+        long[] history = {0, 3, 1, 0, 0, 5, 2, 0, 1};
+        MonteCarloForecaster forecaster = new MonteCarloForecaster(history);
+        int trials = MonteCarloForecaster.CHUNK_SIZE * 3 + 5;
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(3)) {
+            assertThat(forecaster.simulate(200, trials, 9L, 3_650, pool))
+                    .isEqualTo(forecaster.simulate(200, trials, 9L, 3_650));
+        }
+    }
+
+    @Test
+    void refusedChunkCancelsTheAcceptedOnesAndRethrows() {
+        MonteCarloForecaster forecaster = new MonteCarloForecaster(new long[]{1, 2});
+        List<Runnable> accepted = new ArrayList<>();
+
+        assertThatThrownBy(() -> forecaster.simulate(50, MonteCarloForecaster.CHUNK_SIZE * 4, 1L, 365, chunk -> {
+            if (accepted.size() == 2) {
+                throw new TooManyRequestsException("busy", Duration.ofSeconds(1));
+            }
+            accepted.add(chunk);
+        })).isInstanceOf(TooManyRequestsException.class);
+
+        // Queued chunks that start after the refusal find their future cancelled and do nothing.
+        assertThat(accepted).hasSize(2);
+        accepted.forEach(Runnable::run);
+    }
+
+    @Test
+    void trialsThatCannotReachTheHorizonStopEarly() {
+        // At most 2 a day: 10 000 items cannot be done in 3650 days, and 7 000 never in 3 000.
+        MonteCarloForecaster forecaster = new MonteCarloForecaster(new long[]{1, 2, 0});
+
+        assertThat(forecaster.simulate(10_000, 100, 1L, 3_650)).containsOnly(3_651);
+        assertThat(forecaster.simulate(7_000, 100, 1L, 3_000)).containsOnly(3_001);
+        assertThat(Arrays.stream(forecaster.simulate(10, 100, 1L, 3_650))).allMatch(d -> d >= 5 && d <= 3_650);
+    }
+}
@@ -0,0 +1,71 @@
+package com.glideclouds.taskmanagementsystem.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class QuantileSketchTest {
+
+    @Test
+    void smallValuesAreExact() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (long v = 1; v <= 10; v++) {
+            sketch.add(v);
+        }
+
+        assertThat(sketch.quantile(0.5)).isEqualTo(5.0);
+        assertThat(sketch.quantile(0.9)).isEqualTo(9.0);
+        assertThat(sketch.quantile(0.99)).isEqualTo(10.0);
+        assertThat(new QuantileSketch().quantile(0.5)).isNull();
+    }
+
+    @Test
+    void quantilesStayWithinRelativeError() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (long v = 1; v <= 100_000; v++) {
+            sketch.add(v);
+        }
+
+        assertThat(sketch.count()).isEqualTo(100_000);
+        assertThat(sketch.quantile(0.50)).isCloseTo(50_000, within(50_000 / 16.0));
+        assertThat(sketch.quantile(0.90)).isCloseTo(90_000, within(90_000 / 16.0));
+        assertThat(sketch.quantile(0.99)).isCloseTo(99_000, within(99_000 / 16.0));
+    }
+
+    @Test
+    void mergeEqualsSketchOfUnionAndMemoryIsBounded() {
+        Random random = new Random(3);
+        QuantileSketch a = new QuantileSketch();
+        QuantileSketch b = new QuantileSketch();
+        QuantileSketch union = new QuantileSketch();
+        for (int i = 0; i < 50_000; i++) {
+            long v = (long) Math.abs(random.nextGaussian() * 5_000);
+            (i % 2 == 0 ? a : b).add(v);
+            union.add(v);
+        }
+        union.add(Long.MAX_VALUE);
+        a.add(Long.MAX_VALUE);
+
+        QuantileSketch merged = a.merge(b);
+
+        assertThat(merged.buckets()).isEqualTo(union.buckets());
+        assertThat(merged.buckets()).hasSizeLessThanOrEqualTo(QuantileSketch.BUCKETS);
+        for (double q : new double[]{0.5, 0.9, 0.99}) {
+            assertThat(merged.quantile(q)).isEqualTo(union.quantile(q));
+        }
+    }
+
+    @Test
+    void bucketBoundsRoundTrip() {
+        for (int i = 0; i < QuantileSketch.BUCKETS; i++) {
+            assertThat(QuantileSketch.indexOf(QuantileSketch.lowerBound(i))).isEqualTo(i);
+            if (i + 1 < QuantileSketch.BUCKETS) {
+                assertThat(QuantileSketch.indexOf(QuantileSketch.lowerBound(i + 1) - 1)).isEqualTo(i);
+            }
+        }
+        assertThat(QuantileSketch.boundaries()).hasSize(QuantileSketch.BUCKETS + 1).isSorted();
+    }
+}
@@ -1,5 +1,6 @@
 package com.glideclouds.taskmanagementsystem.auth;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.glideclouds.taskmanagementsystem.AbstractMongoIntegrationTest;
 import org.junit.jupiter.api.Test;
@@ -9,7 +10,10 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -99,5 +103,92 @@ class AuthControllerTest extends AbstractMongoIntegrationTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    void login_repeatedFailures_areThrottledWithRetryAfter() throws Exception {
+        String email = "throttled@example.com";
+        String password = "Password123!";
+
+        mvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new Body(email, password))))
+                .andExpect(status().isCreated());
+
+        for (int i = 0; i < 6; i++) {
+            mvc.perform(post("/api/auth/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new Body(email, "WrongOne!"))))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        // Even the right password is refused while the email backs off.
+        mvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new Body(email, password))))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"));
+    }
+
+    @Test
+    void refresh_rotatesTokens_andReuseRevokesTheFamily() throws Exception {
+        JsonNode login = registerAndLogin("refresh@example.com");
+        String first = login.get("refreshToken").asText();
+
+        JsonNode refreshed = refresh(first, 200);
+        String second = refreshed.get("refreshToken").asText();
+        assertThat(second).isNotEqualTo(first);
+        assertThat(refreshed.get("token").asText()).isNotBlank();
+
+        // The consumed token comes back: the family ends, so its successor stops working too.
+        refresh(first, 401);
+        refresh(second, 401);
+    }
+
+    @Test
+    void logout_revokesAccessAndRefreshTokens() throws Exception {
+        JsonNode login = registerAndLogin("logout@example.com");
+        String token = login.get("token").asText();
+        String refreshToken = login.get("refreshToken").asText();
+
+        mvc.perform(get("/api/auth/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        mvc.perform(post("/api/auth/logout")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TokenBody(refreshToken))))
+                .andExpect(status().isNoContent());
+
+        mvc.perform(get("/api/auth/me").header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+        refresh(refreshToken, 401);
+    }
+
+    private JsonNode registerAndLogin(String email) throws Exception {
+        String password = "Password123!";
+        mvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new Body(email, password))))
+                .andExpect(status().isCreated());
+        String body = mvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Body(email, password))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.refreshToken").isString())
+                .andExpect(jsonPath("$.expiresIn").isNumber())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private JsonNode refresh(String refreshToken, int expectedStatus) throws Exception {
+        String body = mvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TokenBody(refreshToken))))
+                .andExpect(status().is(expectedStatus))
+                .andReturn().getResponse().getContentAsString();
+        return body.isEmpty() ? null : objectMapper.readTree(body);
+    }
+
     private record Body(String email, String password) {}
+
+    private record TokenBody(String refreshToken) {}
 }
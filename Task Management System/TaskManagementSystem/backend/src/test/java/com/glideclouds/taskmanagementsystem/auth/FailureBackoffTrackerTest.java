@@ -0,0 +1,90 @@
+package com.glideclouds.taskmanagementsystem.auth;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FailureBackoffTrackerTest {
+
+    private final FailureBackoffTracker tracker =
+            new FailureBackoffTracker(3, Duration.ofSeconds(1), Duration.ofSeconds(10), Duration.ofMinutes(15), 100);
+
+    @Test
+    void blocksOnlyAfterTheFreeFailuresWithDoublingDelays() {
+        long now = 1_000_000;
+        for (int i = 0; i < 3; i++) {
+            tracker.recordFailure("a", now);
+        }
+        assertThat(tracker.blockedFor("a", now)).isZero();
+
+        tracker.recordFailure("a", now);
+        assertThat(tracker.blockedFor("a", now)).isEqualTo(Duration.ofSeconds(1));
+        tracker.recordFailure("a", now);
+        assertThat(tracker.blockedFor("a", now)).isEqualTo(Duration.ofSeconds(2));
+        assertThat(tracker.blockedFor("a", now + 2_000)).isZero();
+
+        assertThat(tracker.delayAfter(7)).isEqualTo(8_000);
+        assertThat(tracker.delayAfter(50)).isEqualTo(10_000);
+    }
+
+    @Test
+    void failuresOutsideTheWindowStartOverAndResetClears() {
+        long now = 1_000_000;
+        for (int i = 0; i < 5; i++) {
+            tracker.recordFailure("a", now);
+        }
+        long later = now + Duration.ofMinutes(16).toMillis();
+        tracker.recordFailure("a", later);
+        assertThat(tracker.blockedFor("a", later)).isZero();
+
+        for (int i = 0; i < 5; i++) {
+            tracker.recordFailure("b", now);
+        }
+        tracker.reset("b");
+        assertThat(tracker.blockedFor("b", now)).isZero();
+    }
+
+    @Test
+    void concurrentFailuresAreAllCounted() throws Exception {
+        FailureBackoffTracker shared =
+                new FailureBackoffTracker(1_000, Duration.ofSeconds(1), Duration.ofHours(1), Duration.ofHours(1), 100);
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService pool = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                pool.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    for (int i = 0; i < 125; i++) {
+                        shared.recordFailure("k", 1_000_000);
+                    }
+                });
+            }
+            start.countDown();
+        }
+        // Exactly 1000 failures are still free; one more must block.
+        assertThat(shared.blockedFor("k", 1_000_000)).isZero();
+        shared.recordFailure("k", 1_000_000);
+        assertThat(shared.blockedFor("k", 1_000_000)).isEqualTo(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void stopsTrackingNewKeysWhenFullOfLiveOnes() {
+        FailureBackoffTracker small =
+                new FailureBackoffTracker(0, Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofMinutes(1), 2);
+        small.recordFailure("a", 0);
+        small.recordFailure("b", 0);
+        small.recordFailure("c", 0);
+
+        assertThat(small.size()).isEqualTo(2);
+        assertThat(small.blockedFor("a", 0)).isPositive();
+        assertThat(small.evictExpired(Duration.ofMinutes(2).toMillis())).isEqualTo(2);
+    }
+}
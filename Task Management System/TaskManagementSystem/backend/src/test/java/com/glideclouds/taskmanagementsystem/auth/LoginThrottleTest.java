@@ -0,0 +1,44 @@
+package com.glideclouds.taskmanagementsystem.auth;
+
+import com.glideclouds.taskmanagementsystem.common.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginThrottleTest {
+
+    @Test
+    void failuresFromOneAddressBackOffThatAddress() {
+        LoginThrottle throttle = throttle(true);
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("user" + i + "@example.com", "10.0.0.1");
+        }
+
+        assertThatThrownBy(() -> throttle.check("fresh@example.com", "10.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThatCode(() -> throttle.check("fresh@example.com", "10.0.0.2")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void withoutAddressThrottlingASharedProxyAddressBlocksNobody() {
+        LoginThrottle throttle = throttle(false);
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure("user" + i + "@example.com", "10.0.0.1");
+        }
+
+        assertThatCode(() -> throttle.check("fresh@example.com", "10.0.0.1")).doesNotThrowAnyException();
+        throttle.recordFailure("fresh@example.com", "10.0.0.1");
+        throttle.recordFailure("fresh@example.com", "10.0.0.1");
+        assertThatThrownBy(() -> throttle.check("fresh@example.com", "10.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    private static LoginThrottle throttle(boolean byAddress) {
+        return new LoginThrottle(new SimpleMeterRegistry(), 1, 2, Duration.ofMinutes(1), Duration.ofMinutes(15),
+                Duration.ofMinutes(15), 1_000, byAddress);
+    }
+}
@@ -0,0 +1,94 @@
+package com.glideclouds.taskmanagementsystem.auth;
+
+import com.glideclouds.taskmanagementsystem.common.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingExecutorTest {
+
+    @Test
+    void hashesOnThePoolAndRecordsLatency() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PasswordHashingExecutor hashing = new PasswordHashingExecutor(new BlockingEncoder(null), registry, 1, 4, Duration.ofSeconds(5));
+        try {
+            assertThat(hashing.encode("secret")).isEqualTo("hash:secret");
+            assertThat(hashing.matches("secret", "hash:secret")).isTrue();
+            assertThat(registry.get("auth.password.hash").tag("op", "encode").timer().count()).isEqualTo(1);
+        } finally {
+            hashing.destroy();
+        }
+    }
+
+    @Test
+    void refusesWith429WhenTheQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PasswordHashingExecutor hashing = new PasswordHashingExecutor(new BlockingEncoder(release), registry, 1, 1, Duration.ofSeconds(30));
+        try {
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hashing.encode("a"));
+            awaitQueue(registry, 0, true);
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hashing.encode("b"));
+            awaitQueue(registry, 1, false);
+
+            assertThatThrownBy(() -> hashing.encode("c"))
+                    .isInstanceOfSatisfying(TooManyRequestsException.class,
+                            e -> assertThat(e.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1"));
+            assertThat(registry.get("auth.password.hash.rejected").counter().count()).isEqualTo(1);
+
+            release.countDown();
+            assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash:a");
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash:b");
+        } finally {
+            release.countDown();
+            hashing.destroy();
+        }
+    }
+
+    /** Waits until the worker is busy (when {@code active}) and {@code depth} hashes are queued. */
+    private static void awaitQueue(SimpleMeterRegistry registry, int depth, boolean active) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            boolean busy = registry.get("auth.password.hash.active").gauge().value() == 1;
+            if ((!active || busy) && registry.get("auth.password.hash.queue").gauge().value() == depth) {
+                return;
+            }
+            Thread.sleep(5);
+        }
+        throw new AssertionError("hashing pool did not reach the expected state");
+    }
+
+    /** Fake encoder; blocks each call until {@code release} opens (when given). */
+    private record BlockingEncoder(CountDownLatch release) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            await();
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            await();
+            return encodedPassword.equals("hash:" + rawPassword);
+        }
+
+        private void await() {
+            if (release == null) return;
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
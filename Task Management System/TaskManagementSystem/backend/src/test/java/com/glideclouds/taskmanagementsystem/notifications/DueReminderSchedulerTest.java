@@ -1,89 +1,117 @@
 package com.glideclouds.taskmanagementsystem.notifications;
 
 import com.glideclouds.taskmanagementsystem.config.ClientProperties;
-import com.glideclouds.taskmanagementsystem.tasks.Task;
-import com.glideclouds.taskmanagementsystem.tasks.TaskRepository;
-import com.glideclouds.taskmanagementsystem.tasks.TaskStatus;
-import com.glideclouds.taskmanagementsystem.users.User;
-import com.glideclouds.taskmanagementsystem.users.UserRepository;
+import com.glideclouds.taskmanagementsystem.notifications.DueReminderScheduler.ReminderTarget;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.Collections;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class DueReminderSchedulerTest {
 
+    private static final ZoneId TOKYO = ZoneId.of("Asia/Tokyo");
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
     @Mock private EmailService emailService;
-    @Mock private TaskRepository taskRepository;
-    @Mock private UserRepository userRepository;
+    @Mock private NotificationFeedService feedService;
+    @Mock private MongoTemplate mongoTemplate;
     @Mock private ClientProperties clientProperties;
 
     private DueReminderScheduler scheduler;
 
     @BeforeEach
     void setUp() {
-        scheduler = new DueReminderScheduler(emailService, taskRepository, userRepository, clientProperties);
+        scheduler = new DueReminderScheduler(emailService, feedService, mongoTemplate, clientProperties, true, 15, 5, 100);
     }
 
     @Test
-    void sendDailyDueReminders_doesNothing_whenNoTasksDue() {
-        when(taskRepository.findByDueDateAndStatusNot(any(LocalDate.class), eq(TaskStatus.DONE)))
-                .thenReturn(Collections.emptyList());
-        when(taskRepository.findByDueDateBeforeAndStatusNot(any(LocalDate.class), eq(TaskStatus.DONE)))
-                .thenReturn(Collections.emptyList());
-
-        scheduler.sendDailyDueReminders();
+    void sendDigests_doesNothing_whenNoTasksDue() {
+        int sent = scheduler.sendDigests(Map.of("u1", target("u1", "u1@test.com", TOKYO, LocalDate.now())),
+                Collections.emptyIterator());
 
-        verifyNoInteractions(emailService);
-        verifyNoInteractions(userRepository);
+        assertThat(sent).isZero();
+        verifyNoInteractions(emailService, feedService);
     }
 
     @Test
-    void sendDailyDueReminders_sendsEmails_whenTasksAreDue() {
-        LocalDate today = LocalDate.now();
-        LocalDate tomorrow = today.plusDays(1);
-
-        Task t1 = new Task(); t1.setTitle("Due Today"); t1.setDueDate(today); t1.setOwnerUserId("u1");
-        Task t2 = new Task(); t2.setTitle("Due Tomorrow"); t2.setDueDate(tomorrow); t2.setOwnerUserId("u1");
-        Task t3 = new Task(); t3.setTitle("Overdue"); t3.setDueDate(today.minusDays(1)); t3.setOwnerUserId("u2");
-
-        when(taskRepository.findByDueDateAndStatusNot(eq(today), eq(TaskStatus.DONE))).thenReturn(List.of(t1));
-        when(taskRepository.findByDueDateAndStatusNot(eq(tomorrow), eq(TaskStatus.DONE))).thenReturn(List.of(t2));
-        when(taskRepository.findByDueDateBeforeAndStatusNot(eq(today), eq(TaskStatus.DONE))).thenReturn(List.of(t3));
-
-        User u1 = new User(); u1.setId("u1"); u1.setEmail("u1@test.com");
-        User u2 = new User(); u2.setId("u2"); u2.setEmail("u2@test.com");
-
-        when(userRepository.findAllById(any(Set.class))).thenReturn(List.of(u1, u2));
+    void sendDigests_splitsEachOwnersTasksByTheirOwnLocalToday() {
+        // Same instant, different local dates: Tokyo is already on the 5th, New York still on the 4th.
+        LocalDate tokyoToday = LocalDate.of(2026, 5, 5);
+        LocalDate newYorkToday = LocalDate.of(2026, 5, 4);
+        Map<String, ReminderTarget> targets = Map.of(
+                "u1", target("u1", "u1@test.com", TOKYO, tokyoToday),
+                "u2", target("u2", "u2@test.com", NEW_YORK, newYorkToday));
+        List<DueReminderRow> rows = List.of(
+                new DueReminderRow("t1", "u1", "Was due yesterday", LocalDate.of(2026, 5, 4)),
+                new DueReminderRow("t2", "u1", "Due Tomorrow", LocalDate.of(2026, 5, 6)),
+                new DueReminderRow("t3", "u2", "Due Today", LocalDate.of(2026, 5, 4)),
+                new DueReminderRow("t4", "u2", "Day after tomorrow", LocalDate.of(2026, 5, 6)),
+                new DueReminderRow("t5", "u3", "Not in this batch", LocalDate.of(2026, 5, 4))
+        );
         when(clientProperties.baseUrl()).thenReturn("http://app");
 
-        scheduler.sendDailyDueReminders();
-
+        int sent = scheduler.sendDigests(targets, rows.iterator());
+
+        assertThat(sent).isEqualTo(2);
+        ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+        verify(emailService).send(eq("u1@test.com"), eq("Task reminders"), body.capture());
+        assertThat(body.getValue())
+                .startsWith("Here are your task reminders for 2026-05-05.")
+                .contains("Overdue:\n- Was due yesterday (due 2026-05-04)")
+                .contains("Due tomorrow:\n- Due Tomorrow")
+                .endsWith("http://app/board");
+
+        verify(emailService).send(eq("u2@test.com"), eq("Task reminders"), body.capture());
+        assertThat(body.getValue())
+                .contains("Due today:\n- Due Today")
+                .doesNotContain("Day after tomorrow");
         verify(emailService, times(2)).send(anyString(), anyString(), anyString());
+        verify(feedService).publish(List.of("u1"), NotificationType.TASKS_DUE, "2 tasks need attention",
+                "1 overdue, 0 due today, 1 due tomorrow", null);
+        verify(feedService).publish(List.of("u2"), NotificationType.TASKS_DUE, "1 task needs attention",
+                "0 overdue, 1 due today, 0 due tomorrow", "t3");
+    }
+
+    @Test
+    void sendDigests_postsToTheFeedOnly_whenUserHasNoEmail_andSkipsUsersWithoutDueTasks() {
+        LocalDate today = LocalDate.of(2026, 5, 4);
+        Map<String, ReminderTarget> targets = Map.of(
+                "u1", target("u1", " ", NEW_YORK, today),
+                "u2", target("u2", "u2@test.com", NEW_YORK, today));
+        List<DueReminderRow> rows = List.of(
+                new DueReminderRow("t1", "u1", "No address", today),
+                new DueReminderRow("t2", "u2", "Next week", today.plusDays(7)));
+
+        int sent = scheduler.sendDigests(targets, rows.iterator());
+
+        assertThat(sent).isEqualTo(1);
+        verify(feedService).publish(List.of("u1"), NotificationType.TASKS_DUE, "1 task needs attention",
+                "0 overdue, 1 due today, 0 due tomorrow", "t1");
+        verifyNoMoreInteractions(feedService);
+        verifyNoInteractions(emailService);
+    }
 
-        // Verify u1 email
-        ArgumentCaptor<String> bodyCaptor = ArgumentCaptor.forClass(String.class);
-        verify(emailService).send(eq("u1@test.com"), eq("Task reminders"), bodyCaptor.capture());
-        String body1 = bodyCaptor.getValue();
-        assertThat(body1).contains("Due today:");
-        assertThat(body1).contains("Due Tomorrow");
-        assertThat(body1).doesNotContain("Overdue:"); // u1 has no overdue
-
-        // Verify u2 email relies on another capture or knowing mockito orders
-        // Simpler to just verify generic send happened for u2
-         verify(emailService).send(eq("u2@test.com"), eq("Task reminders"), anyString());
+    private static ReminderTarget target(String userId, String email, ZoneId zone, LocalDate day) {
+        Instant fireAt = ZonedDateTime.of(day, LocalTime.of(8, 0), zone).toInstant();
+        return new ReminderTarget(userId, email, zone, LocalTime.of(8, 0), Duration.ZERO, fireAt);
     }
 }
@@ -0,0 +1,94 @@
+package com.glideclouds.taskmanagementsystem.notifications;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares one SMTP session per message with batched sessions over a few parallel lanes, against GreenMail as the
+ * local SMTP stand-in. Run with {@code ./gradlew perfTest}; numbers are printed, not asserted, since they depend on
+ * the machine.
+ */
+@Tag("perf")
+class EmailDeliveryThroughputPerfTest {
+
+    private static final int MESSAGES = 2_000;
+
+    @RegisterExtension
+    static GreenMailExtension smtp = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Test
+    void batchedLanesAgainstOneSessionPerMessage() throws Exception {
+        JavaMailSenderImpl sender = sender();
+        List<SimpleMailMessage> messages = messages();
+
+        long perMessage = run(messages, 1, 1, sender);
+        long batched1 = run(messages, 1, 50, sender);
+        long batched4 = run(messages, 4, 50, sender);
+        long batched8 = run(messages, 8, 100, sender);
+
+        report("1 lane, 1 message/session", perMessage);
+        report("1 lane, 50 messages/session", batched1);
+        report("4 lanes, 50 messages/session", batched4);
+        report("8 lanes, 100 messages/session", batched8);
+        assertThat(smtp.getReceivedMessages()).hasSize(MESSAGES * 4);
+    }
+
+    /** Sends every message in batches of {@code batchSize}, at most {@code lanes} batches at a time. */
+    private static long run(List<SimpleMailMessage> messages, int lanes, int batchSize, JavaMailSenderImpl sender) throws Exception {
+        long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(lanes, Thread.ofVirtual().factory())) {
+            List<Future<?>> batches = new ArrayList<>();
+            for (int from = 0; from < messages.size(); from += batchSize) {
+                SimpleMailMessage[] batch = messages.subList(from, Math.min(messages.size(), from + batchSize))
+                        .toArray(SimpleMailMessage[]::new);
+                batches.add(executor.submit(() -> sender.send(batch)));
+            }
+            for (Future<?> batch : batches) {
+                batch.get();
+            }
+        }
+        return System.nanoTime() - started;
+    }
+
+    private static JavaMailSenderImpl sender() {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("localhost");
+        sender.setPort(ServerSetupTest.SMTP.getPort());
+        Properties props = new Properties();
+        props.put("mail.smtp.auth", "false");
+        sender.setJavaMailProperties(props);
+        return sender;
+    }
+
+    private static List<SimpleMailMessage> messages() {
+        SimpleMailMessage[] messages = new SimpleMailMessage[MESSAGES];
+        for (int i = 0; i < MESSAGES; i++) {
+            SimpleMailMessage msg = new SimpleMailMessage();
+            msg.setFrom("noreply@test.local");
+            msg.setTo("user" + i + "@test.local");
+            msg.setSubject("Task reminders");
+            msg.setText("Here are your task reminders.\n\nDue today:\n- Task " + i + "\n");
+            messages[i] = msg;
+        }
+        return Arrays.asList(messages);
+    }
+
+    private static void report(String label, long nanos) {
+        System.out.printf("%-32s %8.1f ms %10.0f messages/s%n", label, nanos / 1e6, MESSAGES * 1e9 / nanos);
+    }
+}
@@ -0,0 +1,103 @@
+package com.glideclouds.taskmanagementsystem.notifications;
+
+import com.glideclouds.taskmanagementsystem.config.AppMailProperties;
+import com.glideclouds.taskmanagementsystem.config.EmailOutboxProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmailOutboxDispatcherTest {
+
+    private static final Duration INITIAL = Duration.ofSeconds(30);
+    private static final Duration MAX = Duration.ofMinutes(10);
+
+    @Test
+    void backoffDoublesPerAttemptUpToTheCap() {
+        assertThat(EmailOutboxDispatcher.backoff(1, INITIAL, MAX, 1.0)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(EmailOutboxDispatcher.backoff(2, INITIAL, MAX, 1.0)).isEqualTo(Duration.ofSeconds(60));
+        assertThat(EmailOutboxDispatcher.backoff(4, INITIAL, MAX, 1.0)).isEqualTo(Duration.ofSeconds(240));
+        assertThat(EmailOutboxDispatcher.backoff(10, INITIAL, MAX, 1.0)).isEqualTo(MAX);
+        assertThat(EmailOutboxDispatcher.backoff(100, INITIAL, MAX, 1.0)).isEqualTo(MAX);
+    }
+
+    @Test
+    void jitterRemovesUpToHalfOfTheDelay() {
+        assertThat(EmailOutboxDispatcher.backoff(2, INITIAL, MAX, 0.0)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(EmailOutboxDispatcher.backoff(2, INITIAL, MAX, 0.5)).isEqualTo(Duration.ofSeconds(45));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void batchClaimedAfterTheDrainTimeoutIsHandedBackInsteadOfStranded() throws Exception {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        ObjectProvider<JavaMailSender> mailSenders = mock(ObjectProvider.class);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        EmailOutboxDispatcher dispatcher = new EmailOutboxDispatcher(mongoTemplate, mock(EmailOutboxRepository.class),
+                mailSenders, new AppMailProperties(true, "noreply@test.local"),
+                new EmailOutboxProperties(1, 1, Duration.ofMillis(50), 3, INITIAL, MAX, Duration.ofMinutes(1),
+                        Duration.ofMillis(50), Duration.ofDays(1)),
+                registry);
+        dispatcher.registerInFlightGauge();
+
+        EmailOutboxMessage message = new EmailOutboxMessage();
+        message.setId("m1");
+        message.setStatus(EmailOutboxStatus.SENDING);
+        message.setAttempts(1);
+        message.setLockedUntil(Instant.now().plusSeconds(60));
+        CountDownLatch claiming = new CountDownLatch(1);
+        CountDownLatch stopped = new CountDownLatch(1);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(EmailOutboxMessage.class)))
+                .thenAnswer(invocation -> {
+                    // The claim outlives stop(): it only returns once the drain timeout has passed.
+                    claiming.countDown();
+                    boolean interrupted = false;
+                    while (true) {
+                        try {
+                            stopped.await();
+                            break;
+                        } catch (InterruptedException e) {
+                            interrupted = true;
+                        }
+                    }
+                    if (interrupted) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return message;
+                });
+
+        dispatcher.start();
+        assertThat(claiming.await(5, TimeUnit.SECONDS)).isTrue();
+        dispatcher.stop();
+        stopped.countDown();
+
+        ArgumentCaptor<Update> handedBack = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, timeout(5_000)).updateFirst(any(Query.class), handedBack.capture(), eq(EmailOutboxMessage.class));
+        Document update = handedBack.getValue().getUpdateObject();
+        assertThat(update.get("$set", Document.class)).containsEntry("status", EmailOutboxStatus.PENDING);
+        assertThat(update.get("$inc", Document.class)).containsEntry("attempts", -1);
+        assertThat(update.get("$unset", Document.class)).containsKey("lockedUntil");
+        verify(mailSenders, never()).getIfAvailable();
+        assertThat(registry.get("email.outbox.in.flight").gauge().value()).isZero();
+    }
+}
@@ -0,0 +1,119 @@
+package com.glideclouds.taskmanagementsystem.notifications;
+
+import com.glideclouds.taskmanagementsystem.AbstractMongoIntegrationTest;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// GreenMail is the local SMTP stand-in; short backoffs keep retries inside the test.
+@SpringBootTest(properties = {
+        "app.mail.enabled=true",
+        "app.mail.from=noreply@test.local",
+        "spring.mail.host=localhost",
+        "spring.mail.port=3025",
+        "spring.mail.properties.mail.smtp.auth=false",
+        "spring.mail.properties.mail.smtp.starttls.enable=false",
+        "app.mail.outbox.concurrency=4",
+        "app.mail.outbox.batch-size=5",
+        "app.mail.outbox.poll-interval=100ms",
+        "app.mail.outbox.max-attempts=2",
+        "app.mail.outbox.initial-backoff=50ms",
+        "app.mail.outbox.max-backoff=100ms",
+        "app.mail.outbox.lease=1m",
+        "app.mail.outbox.drain-timeout=5s",
+        "app.mail.outbox.sent-retention=1d"
+})
+class EmailOutboxIntegrationTest extends AbstractMongoIntegrationTest {
+
+    @RegisterExtension
+    static GreenMailExtension smtp = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired EmailService emailService;
+    @Autowired EmailOutboxRepository outboxRepository;
+    @Autowired EmailOutboxDispatcher dispatcher;
+    @Autowired MeterRegistry meterRegistry;
+
+    @Test
+    void queuedMessagesAreDeliveredInTheBackground() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            emailService.send("user" + i + "@test.local", "Subject " + i, "Body " + i);
+        }
+
+        assertThat(smtp.waitForIncomingEmail(10_000, 10)).isTrue();
+        MimeMessage[] received = smtp.getReceivedMessages();
+        assertThat(received).hasSize(10);
+        assertThat(GreenMailUtil.getBody(received[0])).startsWith("Body ");
+        awaitUntil(() -> outboxRepository.countByStatus(EmailOutboxStatus.SENT) == 10);
+        assertThat(outboxRepository.findAll()).allSatisfy(m -> assertThat(m.getExpireAt()).isAfter(m.getSentAt()));
+    }
+
+    @Test
+    void backlogIsSentInBatchesOverSharedSessions() {
+        // The registry outlives each test (cached context), so compare against the counts before this one.
+        DistributionSummary batchSizes = meterRegistry.get("email.outbox.batch.size").summary();
+        long batchesBefore = batchSizes.count();
+        double messagesBefore = batchSizes.totalAmount();
+
+        List<EmailOutboxMessage> backlog = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            backlog.add(EmailOutboxMessage.pending("user" + i + "@test.local", "Digest " + i, "Body " + i, Instant.now()));
+        }
+        outboxRepository.saveAll(backlog);
+        dispatcher.wakeUp();
+
+        assertThat(smtp.waitForIncomingEmail(10_000, 20)).isTrue();
+        awaitUntil(() -> outboxRepository.countByStatus(EmailOutboxStatus.SENT) == 20);
+        long batches = batchSizes.count() - batchesBefore;
+        assertThat(batchSizes.totalAmount() - messagesBefore).isEqualTo(20);
+        assertThat(batches).isBetween(4L, 19L);
+    }
+
+    @Test
+    void unreachableServerIsRetriedThenDeadLettered() {
+        smtp.stop();
+
+        emailService.send("user@test.local", "Unlucky", "Body");
+
+        awaitUntil(() -> outboxRepository.countByStatus(EmailOutboxStatus.DEAD) == 1);
+        List<EmailOutboxMessage> messages = outboxRepository.findAll();
+        assertThat(messages).singleElement().satisfies(m -> {
+            assertThat(m.getAttempts()).isEqualTo(2);
+            assertThat(m.getLastError()).isNotBlank();
+        });
+    }
+
+    @Test
+    void disabledRecipientIsNotQueued() {
+        emailService.send(" ", "Nobody", "Body");
+
+        assertThat(outboxRepository.count()).isZero();
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
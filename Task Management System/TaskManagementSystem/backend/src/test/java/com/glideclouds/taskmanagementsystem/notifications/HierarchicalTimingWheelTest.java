@@ -0,0 +1,87 @@
+package com.glideclouds.taskmanagementsystem.notifications;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    void itemsFireOnTheFirstAdvanceAtOrAfterTheirDeadline() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1_000, 60, 3, START);
+        wheel.schedule("5s", START + 5_000);
+        wheel.schedule("90s", START + 90_000);
+        wheel.schedule("2h", START + 7_200_000);
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(START + 4_999, fired::add);
+        assertThat(fired).isEmpty();
+        wheel.advance(START + 5_000, fired::add);
+        assertThat(fired).containsExactly("5s");
+        wheel.advance(START + 89_000, fired::add);
+        assertThat(fired).containsExactly("5s");
+        wheel.advance(START + 90_000, fired::add);
+        assertThat(fired).containsExactly("5s", "90s");
+        wheel.advance(START + 7_200_000, fired::add);
+        assertThat(fired).containsExactly("5s", "90s", "2h");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void pastDeadlinesFireOnTheNextAdvance() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1_000, 60, 3, START);
+        wheel.schedule("late", START - 60_000);
+
+        List<String> fired = new ArrayList<>();
+        assertThat(wheel.advance(START, fired::add)).isEqualTo(1);
+        assertThat(fired).containsExactly("late");
+    }
+
+    @Test
+    void deadlinesBeyondTheTopLevelWaitInOverflow() {
+        // 4 x 4 ticks of 1s: the wheel itself covers 16s.
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1_000, 4, 2, START);
+        wheel.schedule("far", START + 50_000);
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(START + 49_000, fired::add);
+        assertThat(fired).isEmpty();
+        assertThat(wheel.size()).isEqualTo(1);
+        wheel.advance(START + 50_000, fired::add);
+        assertThat(fired).containsExactly("far");
+    }
+
+    @Test
+    void randomDeadlinesFireInTickOrderAndNeverEarly() {
+        // 8 x 8 ticks of 1s, so most deadlines cascade through both levels and the overflow list.
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(1_000, 8, 2, START);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            long deadline = START + random.nextLong(200_000);
+            deadlines.add(deadline);
+            wheel.schedule(deadline, deadline);
+        }
+
+        List<Long> fired = new ArrayList<>();
+        for (long now = START; now <= START + 200_000; now += random.nextInt(3_000) + 1) {
+            long current = now;
+            wheel.advance(now, deadline -> {
+                assertThat(deadline).isLessThanOrEqualTo(current);
+                fired.add(deadline);
+            });
+        }
+        wheel.advance(START + 200_000, fired::add);
+
+        assertThat(fired).hasSameSizeAs(deadlines);
+        for (int i = 1; i < fired.size(); i++) {
+            assertThat((fired.get(i) + 999) / 1_000).isGreaterThanOrEqualTo((fired.get(i - 1) + 999) / 1_000);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.glideclouds.taskmanagementsystem.notifications;
+
+import com.glideclouds.taskmanagementsystem.AbstractMongoIntegrationTest;
+import com.glideclouds.taskmanagementsystem.notifications.dto.NotificationPageResponse;
+import com.glideclouds.taskmanagementsystem.notifications.dto.NotificationResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class NotificationFeedServiceIntegrationTest extends AbstractMongoIntegrationTest {
+
+    @Autowired NotificationFeedService feedService;
+
+    @Test
+    void pagesWalkTheFeedNewestFirstWithoutGapsOrRepeats() {
+        for (int i = 0; i < 7; i++) {
+            feedService.publish(List.of("u1"), NotificationType.TASK_ASSIGNED, "Task " + i, "", "t" + i);
+        }
+        feedService.publish(List.of("u2"), NotificationType.TASK_ASSIGNED, "Someone else's", "", "x");
+
+        List<String> titles = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            NotificationPageResponse page = feedService.list("u1", cursor, 3);
+            page.items().stream().map(NotificationResponse::title).forEach(titles::add);
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(titles).containsExactly("Task 6", "Task 5", "Task 4", "Task 3", "Task 2", "Task 1", "Task 0");
+    }
+
+    @Test
+    void unreadCounterFollowsPublishAndReads() {
+        feedService.publish(List.of("u1", "u2", "u1"), NotificationType.TASK_COMMENTED, "Comment", "", "t1");
+        feedService.publish(List.of("u1"), NotificationType.TASKS_DUE, "Due", "", null);
+
+        assertThat(feedService.unreadCount("u1")).isEqualTo(2);
+        assertThat(feedService.unreadCount("u2")).isEqualTo(1);
+        assertThat(feedService.unreadCount("nobody")).isZero();
+
+        String newest = feedService.list("u1", null, 1).items().getFirst().id();
+        assertThat(feedService.markRead("u2", newest)).isFalse();
+        assertThat(feedService.markRead("u1", newest)).isTrue();
+        assertThat(feedService.markRead("u1", newest)).isFalse();
+        assertThat(feedService.unreadCount("u1")).isEqualTo(1);
+
+        assertThat(feedService.markAllRead("u1")).isEqualTo(1);
+        assertThat(feedService.unreadCount("u1")).isZero();
+        assertThat(feedService.list("u1", null, 10).items()).allMatch(NotificationResponse::read);
+        assertThat(feedService.unreadCount("u2")).isEqualTo(1);
+    }
+}
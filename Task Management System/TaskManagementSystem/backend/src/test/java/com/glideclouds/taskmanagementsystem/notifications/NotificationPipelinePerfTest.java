@@ -0,0 +1,191 @@
+package com.glideclouds.taskmanagementsystem.notifications;
+
+import com.glideclouds.taskmanagementsystem.AbstractMongoIntegrationTest;
+import com.glideclouds.taskmanagementsystem.admin.AdminService;
+import com.glideclouds.taskmanagementsystem.admin.dto.AssignTaskToGroupRequest;
+import com.glideclouds.taskmanagementsystem.admin.groups.Group;
+import com.glideclouds.taskmanagementsystem.admin.groups.GroupRepository;
+import com.glideclouds.taskmanagementsystem.tasks.Task;
+import com.glideclouds.taskmanagementsystem.tasks.TaskPriority;
+import com.glideclouds.taskmanagementsystem.tasks.TaskStatus;
+import com.glideclouds.taskmanagementsystem.users.Role;
+import com.glideclouds.taskmanagementsystem.users.User;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end notification throughput against {@link SmtpSink}: seeds users with overdue tasks, then measures the
+ * reminder job (wheel, digest query, outbox, SMTP) and a run of group assignments. Prints messages/s, enqueue-to-SMTP
+ * latency, SMTP sessions and the heap high-water mark. Run with {@code ./gradlew perfTest} (-Dperf.users=N to resize);
+ * only delivery is asserted, since the numbers depend on the machine.
+ */
+@Tag("perf")
+@SpringBootTest(properties = {
+        "app.mail.enabled=true",
+        "app.mail.from=noreply@test.local",
+        "spring.mail.host=localhost",
+        "spring.mail.properties.mail.smtp.auth=false",
+        "spring.mail.properties.mail.smtp.starttls.enable=false",
+        "app.mail.outbox.concurrency=4",
+        "app.mail.outbox.batch-size=50",
+        "app.mail.outbox.poll-interval=100ms",
+        "app.mail.outbox.max-attempts=3",
+        "app.mail.outbox.initial-backoff=100ms",
+        "app.mail.outbox.max-backoff=1s",
+        "app.mail.outbox.lease=1m",
+        "app.mail.outbox.drain-timeout=10s",
+        "app.mail.outbox.sent-retention=1d",
+        "notifications.reminders.enabled=true",
+        "notifications.reminders.spread-minutes=0",
+        "notifications.reminders.batch-size=500",
+        // Refills are driven by the test.
+        "notifications.reminders.refill-interval-ms=3600000"
+})
+class NotificationPipelinePerfTest extends AbstractMongoIntegrationTest {
+
+    private static final int USERS = Integer.getInteger("perf.users", 2_000);
+    private static final int TASKS_PER_USER = 3;
+    private static final int ASSIGNMENTS = 3;
+    private static final List<String> ZONES = List.of("UTC", "Europe/Berlin", "America/New_York", "Asia/Kolkata");
+    private static final Duration TIMEOUT = Duration.ofMinutes(5);
+
+    private static final SmtpSink sink = startSink();
+
+    @DynamicPropertySource
+    static void smtpProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.port", sink::port);
+    }
+
+    @AfterAll
+    static void stopSink() throws IOException {
+        sink.close();
+    }
+
+    @Autowired MongoTemplate mongoTemplate;
+    @Autowired DueReminderScheduler scheduler;
+    @Autowired AdminService adminService;
+    @Autowired GroupRepository groupRepository;
+    @Autowired EmailOutboxRepository outboxRepository;
+
+    @Test
+    void reminderRunAndGroupAssignments() throws Exception {
+        List<User> users = seed();
+        sink.reset();
+
+        resetHeapPeaks();
+        long started = System.nanoTime();
+        scheduler.refill();
+        assertThat(sink.awaitCount(USERS, TIMEOUT)).as("reminder digests delivered").isTrue();
+        report("reminder run", System.nanoTime() - started);
+
+        Group group = groupRepository.save(new Group("perf-group", users.stream().map(User::getId).toList(), "perf-admin"));
+        sink.reset();
+        resetHeapPeaks();
+        started = System.nanoTime();
+        for (int i = 0; i < ASSIGNMENTS; i++) {
+            adminService.assignTaskToGroup("perf-admin", new AssignTaskToGroupRequest(
+                    group.getId(), "Perf assignment " + i, null, TaskPriority.MEDIUM, LocalDate.now().plusDays(1)));
+        }
+        assertThat(sink.awaitCount(USERS * ASSIGNMENTS, TIMEOUT)).as("assignment emails delivered").isTrue();
+        report("group assignments", System.nanoTime() - started);
+
+        assertThat(outboxRepository.countByStatus(EmailOutboxStatus.DEAD)).isZero();
+    }
+
+    /** Inserts the users (due a reminder a second ago, across a few zones) and their overdue tasks in bulk. */
+    private List<User> seed() {
+        Instant due = Instant.now().truncatedTo(ChronoUnit.SECONDS).minusSeconds(1);
+        List<User> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            User user = new User("perf" + i + "@test.local", "x", Role.USER);
+            user.setTimeZone(ZONES.get(i % ZONES.size()));
+            user.setNextReminderAt(due);
+            users.add(user);
+        }
+        users = new ArrayList<>(mongoTemplate.insertAll(users));
+
+        List<Task> tasks = new ArrayList<>(USERS * TASKS_PER_USER);
+        for (User user : users) {
+            for (int t = 0; t < TASKS_PER_USER; t++) {
+                Task task = new Task();
+                task.setOwnerUserId(user.getId());
+                task.setCreatedByUserId(user.getId());
+                task.setTitle("Overdue " + t);
+                task.setStatus(TaskStatus.TODO);
+                task.setPriority(TaskPriority.MEDIUM);
+                task.setDueDate(LocalDate.now().minusDays(t + 1));
+                tasks.add(task);
+            }
+        }
+        mongoTemplate.insertAll(tasks);
+        return users;
+    }
+
+    private void report(String phase, long nanos) {
+        List<SmtpSink.Received> received = sink.received();
+        Map<String, Instant> enqueuedAt = new HashMap<>();
+        for (EmailOutboxMessage message : outboxRepository.findAll()) {
+            enqueuedAt.put(message.getTo() + '\n' + message.getSubject(), message.getCreatedAt());
+        }
+        // Enqueue-to-SMTP latency, matching outbox rows to received mail by recipient and subject.
+        long[] latencies = received.stream()
+                .filter(r -> enqueuedAt.containsKey(r.to().getFirst() + '\n' + r.subject()))
+                .mapToLong(r -> Duration.between(enqueuedAt.get(r.to().getFirst() + '\n' + r.subject()), r.receivedAt()).toMillis())
+                .sorted()
+                .toArray();
+        int n = latencies.length;
+
+        System.out.printf("%-18s %6d messages %8.1f ms %8.0f messages/s  latency p50 %d ms p95 %d ms max %d ms"
+                        + "  sessions %d  heap peak %.0f MB%n",
+                phase, received.size(), nanos / 1e6, received.size() * 1e9 / nanos,
+                percentile(latencies, 0.50), percentile(latencies, 0.95), n == 0 ? 0 : latencies[n - 1],
+                sink.sessions(), heapPeakBytes() / (1024.0 * 1024.0));
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted.length == 0 ? 0 : sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private static void resetHeapPeaks() {
+        System.gc();
+        heapPools().forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    /** Sum of per-pool peaks: an upper bound on the heap high-water mark, as pools peak at different moments. */
+    private static long heapPeakBytes() {
+        return heapPools().stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream().filter(pool -> pool.getType() == MemoryType.HEAP).toList();
+    }
+
+    private static SmtpSink startSink() {
+        try {
+            return SmtpSink.start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start the SMTP sink", e);
+        }
+    }
+}
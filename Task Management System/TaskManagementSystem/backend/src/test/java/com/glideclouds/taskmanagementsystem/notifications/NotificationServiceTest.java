@@ -2,7 +2,9 @@ package com.glideclouds.taskmanagementsystem.notifications;
 
 import com.glideclouds.taskmanagementsystem.config.ClientProperties;
 import com.glideclouds.taskmanagementsystem.tasks.Task;
+import com.glideclouds.taskmanagementsystem.tasks.TaskCommentedEvent;
 import com.glideclouds.taskmanagementsystem.tasks.TaskPriority; // Correct import
+import com.glideclouds.taskmanagementsystem.tasks.TaskRepository;
 import com.glideclouds.taskmanagementsystem.users.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,10 +14,14 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -29,11 +35,17 @@ class NotificationServiceTest {
     @Mock
     private ClientProperties clientProperties;
 
+    @Mock
+    private NotificationFeedService feedService;
+
+    @Mock
+    private TaskRepository taskRepository;
+
     private NotificationService notificationService;
 
     @BeforeEach
     void setUp() {
-        notificationService = new NotificationService(emailService, clientProperties);
+        notificationService = new NotificationService(emailService, clientProperties, feedService, taskRepository);
     }
 
     @Test
@@ -60,10 +72,50 @@ class NotificationServiceTest {
         assertThat(body).contains("Open your board: http://localhost:5173/board");
     }
 
+    @Test
+    void taskAssigned_postsToTheAssigneesFeed() {
+        User assignee = new User();
+        assignee.setId("u1");
+        assignee.setEmail("user@example.com");
+        Task task = new Task();
+        task.setId("t1");
+        task.setTitle("Test Task");
+
+        notificationService.taskAssigned(assignee, task);
+
+        verify(feedService).publish(List.of("u1"), NotificationType.TASK_ASSIGNED, "New task assigned: Test Task",
+                "Priority MEDIUM, due \u2014", "t1");
+    }
+
+    @Test
+    void onTaskCommented_notifiesEveryParticipantButTheAuthor() {
+        Task mine = new Task();
+        mine.setOwnerUserId("u1");
+        mine.setCreatedByUserId("admin");
+        Task theirs = new Task();
+        theirs.setOwnerUserId("u2");
+        theirs.setCreatedByUserId("admin");
+        when(taskRepository.findParticipantsBySharedDiscussionId("d1")).thenReturn(List.of(mine, theirs));
+
+        notificationService.onTaskCommented(new TaskCommentedEvent("t1", "Launch", "u1", "admin", "d1", "u1", "u1@example.com"));
+
+        ArgumentCaptor<Collection<String>> recipients = ArgumentCaptor.captor();
+        verify(feedService).publish(recipients.capture(), eq(NotificationType.TASK_COMMENTED), eq("New comment on Launch"),
+                eq("u1@example.com commented"), eq("t1"));
+        assertThat(recipients.getValue()).containsExactlyInAnyOrder("admin", "u2");
+    }
+
+    @Test
+    void onTaskCommented_onOwnTaskWithoutOthers_writesNothing() {
+        notificationService.onTaskCommented(new TaskCommentedEvent("t1", "Solo", "u1", "u1", null, "u1", "u1@example.com"));
+
+        verify(feedService, never()).publish(any(), any(), anyString(), anyString(), anyString());
+    }
+
     @Test
     void taskAssigned_doesNothing_whenAssigneeIsNull() {
         notificationService.taskAssigned(null, new Task());
-        verifyNoInteractions(emailService);
+        verifyNoInteractions(emailService, feedService);
     }
 
     @Test
@@ -0,0 +1,68 @@
+package com.glideclouds.taskmanagementsystem.notifications;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReminderScheduleTest {
+
+    private static final ZoneId BERLIN = ZoneId.of("Europe/Berlin");
+
+    @Test
+    void nextFireIsTheLocalTimeTodayOrTomorrow() {
+        Instant morning = ZonedDateTime.of(2026, 5, 4, 6, 0, 0, 0, BERLIN).toInstant();
+        Instant evening = ZonedDateTime.of(2026, 5, 4, 20, 0, 0, 0, BERLIN).toInstant();
+
+        assertThat(ReminderSchedule.nextFire(BERLIN, LocalTime.of(8, 0), Duration.ZERO, morning))
+                .isEqualTo(ZonedDateTime.of(2026, 5, 4, 8, 0, 0, 0, BERLIN).toInstant());
+        assertThat(ReminderSchedule.nextFire(BERLIN, LocalTime.of(8, 0), Duration.ZERO, evening))
+                .isEqualTo(ZonedDateTime.of(2026, 5, 5, 8, 0, 0, 0, BERLIN).toInstant());
+    }
+
+    @Test
+    void nextFireIsStrictlyAfterTheGivenInstantAndKeepsTheOffset() {
+        Duration offset = Duration.ofMinutes(7);
+        Instant fired = ZonedDateTime.of(2026, 5, 4, 8, 7, 0, 0, BERLIN).toInstant();
+
+        Instant next = ReminderSchedule.nextFire(BERLIN, LocalTime.of(8, 0), offset, fired);
+
+        assertThat(next).isEqualTo(ZonedDateTime.of(2026, 5, 5, 8, 7, 0, 0, BERLIN).toInstant());
+        assertThat(ReminderSchedule.dayOf(next, BERLIN, offset)).isEqualTo(LocalDate.of(2026, 5, 5));
+    }
+
+    @Test
+    void reminderInsideADaylightSavingGapMovesForward() {
+        // 2026-03-29 02:30 does not exist in Berlin; clocks jump from 02:00 to 03:00.
+        Instant before = ZonedDateTime.of(2026, 3, 29, 0, 0, 0, 0, BERLIN).toInstant();
+
+        Instant next = ReminderSchedule.nextFire(BERLIN, LocalTime.of(2, 30), Duration.ZERO, before);
+
+        assertThat(next).isEqualTo(ZonedDateTime.of(2026, 3, 29, 3, 30, 0, 0, BERLIN).toInstant());
+    }
+
+    @Test
+    void offsetsAreStablePerUserAndInsideTheSpread() {
+        Duration spread = Duration.ofMinutes(15);
+
+        assertThat(ReminderSchedule.offsetOf("user-1", spread)).isEqualTo(ReminderSchedule.offsetOf("user-1", spread));
+        for (int i = 0; i < 1_000; i++) {
+            Duration offset = ReminderSchedule.offsetOf("user-" + i, spread);
+            assertThat(offset).isGreaterThanOrEqualTo(Duration.ZERO).isLessThan(spread);
+        }
+        assertThat(ReminderSchedule.offsetOf("user-1", Duration.ZERO)).isZero();
+    }
+
+    @Test
+    void unknownOrMissingZonesFallBackToTheServerZone() {
+        assertThat(ReminderSchedule.zoneOf(null)).isEqualTo(ZoneId.systemDefault());
+        assertThat(ReminderSchedule.zoneOf("Mars/Olympus")).isEqualTo(ZoneId.systemDefault());
+        assertThat(ReminderSchedule.zoneOf("Asia/Tokyo")).isEqualTo(ZoneId.of("Asia/Tokyo"));
+    }
+}
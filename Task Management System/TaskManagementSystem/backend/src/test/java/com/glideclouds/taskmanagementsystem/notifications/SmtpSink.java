@@ -0,0 +1,194 @@
+package com.glideclouds.taskmanagementsystem.notifications;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process SMTP server for tests and benchmarks. It accepts every message and keeps only the envelope, subject and
+ * receive time; bodies are discarded, so large runs neither fill the heap nor skew heap measurements (unlike a full
+ * mailbox server). An optional delay per message stands in for a slow relay.
+ * <p>
+ * Speaks just enough SMTP for JavaMail without TLS or AUTH: EHLO/HELO, MAIL, RCPT, DATA, RSET, NOOP and QUIT.
+ */
+public final class SmtpSink implements AutoCloseable {
+
+    /** One accepted message; {@code receivedNanos} is {@link System#nanoTime()} at the end of DATA. */
+    public record Received(String from, List<String> to, String subject, Instant receivedAt, long receivedNanos) {
+    }
+
+    private final ServerSocket server;
+    private final Duration perMessageDelay;
+    private final Queue<Received> received = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger count = new AtomicInteger();
+    private final AtomicInteger sessions = new AtomicInteger();
+    private final Thread acceptor;
+
+    private SmtpSink(Duration perMessageDelay) throws IOException {
+        this.server = new ServerSocket(0, 512, InetAddress.getLoopbackAddress());
+        this.perMessageDelay = perMessageDelay;
+        this.acceptor = Thread.ofVirtual().name("smtp-sink-accept").start(this::acceptLoop);
+    }
+
+    /** Starts a sink on a free loopback port. */
+    public static SmtpSink start() throws IOException {
+        return new SmtpSink(Duration.ZERO);
+    }
+
+    /** Starts a sink that waits {@code perMessageDelay} before acknowledging each message. */
+    public static SmtpSink start(Duration perMessageDelay) throws IOException {
+        return new SmtpSink(perMessageDelay);
+    }
+
+    public int port() {
+        return server.getLocalPort();
+    }
+
+    public int count() {
+        return count.get();
+    }
+
+    /** SMTP connections opened so far. */
+    public int sessions() {
+        return sessions.get();
+    }
+
+    public List<Received> received() {
+        return new ArrayList<>(received);
+    }
+
+    /** Waits until at least {@code expected} messages have arrived; false on timeout. */
+    public boolean awaitCount(int expected, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (count.get() < expected) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+        return true;
+    }
+
+    public void reset() {
+        received.clear();
+        count.set(0);
+        sessions.set(0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+        acceptor.interrupt();
+    }
+
+    private void acceptLoop() {
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                sessions.incrementAndGet();
+                Thread.ofVirtual().name("smtp-sink-session").start(() -> serve(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+             OutputStream out = socket.getOutputStream()) {
+            reply(out, "220 smtp-sink ready");
+            String from = null;
+            List<String> to = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() < 4 ? line.toUpperCase(Locale.ROOT) : line.substring(0, 4).toUpperCase(Locale.ROOT);
+                switch (command) {
+                    case "EHLO", "HELO" -> reply(out, "250 smtp-sink");
+                    case "MAIL" -> {
+                        from = address(line);
+                        to = new ArrayList<>();
+                        reply(out, "250 OK");
+                    }
+                    case "RCPT" -> {
+                        to.add(address(line));
+                        reply(out, "250 OK");
+                    }
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        String subject = readData(in);
+                        if (!perMessageDelay.isZero()) {
+                            Thread.sleep(perMessageDelay);
+                        }
+                        received.add(new Received(from, List.copyOf(to), subject, Instant.now(), System.nanoTime()));
+                        count.incrementAndGet();
+                        reply(out, "250 OK");
+                    }
+                    case "RSET" -> {
+                        from = null;
+                        to = new ArrayList<>();
+                        reply(out, "250 OK");
+                    }
+                    case "NOOP" -> reply(out, "250 OK");
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            // Client went away.
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Reads the message up to the lone dot and returns its Subject header (unfolded), or null. */
+    private static String readData(BufferedReader in) throws IOException {
+        String subject = null;
+        boolean inHeaders = true;
+        boolean inSubject = false;
+        String line;
+        while ((line = in.readLine()) != null && !line.equals(".")) {
+            if (!inHeaders) {
+                continue;
+            }
+            if (line.isEmpty()) {
+                inHeaders = false;
+            } else if (inSubject && (line.startsWith(" ") || line.startsWith("\t"))) {
+                subject += line.substring(1);
+            } else {
+                inSubject = line.regionMatches(true, 0, "Subject:", 0, 8);
+                if (inSubject) {
+                    subject = line.substring(8).trim();
+                }
+            }
+        }
+        return subject;
+    }
+
+    private static String address(String line) {
+        int open = line.indexOf('<');
+        int close = line.indexOf('>', open + 1);
+        return open >= 0 && close > open ? line.substring(open + 1, close) : line.substring(line.indexOf(':') + 1).trim();
+    }
+
+    private static void reply(OutputStream out, String line) throws IOException {
+        out.write((line + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+}
@@ -0,0 +1,39 @@
+package com.glideclouds.taskmanagementsystem.notifications;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SmtpSinkTest {
+
+    @Test
+    void acceptsBatchedMessagesOverOneSession() throws Exception {
+        try (SmtpSink sink = SmtpSink.start()) {
+            JavaMailSenderImpl sender = new JavaMailSenderImpl();
+            sender.setHost("localhost");
+            sender.setPort(sink.port());
+
+            SimpleMailMessage[] batch = new SimpleMailMessage[3];
+            for (int i = 0; i < batch.length; i++) {
+                batch[i] = new SimpleMailMessage();
+                batch[i].setFrom("noreply@test.local");
+                batch[i].setTo("user" + i + "@test.local");
+                batch[i].setSubject("Subject " + i);
+                batch[i].setText("Body " + i + "\n.\nwith a dot line");
+            }
+            sender.send(batch);
+
+            assertThat(sink.awaitCount(3, Duration.ofSeconds(5))).isTrue();
+            assertThat(sink.sessions()).isEqualTo(1);
+            List<SmtpSink.Received> received = sink.received();
+            assertThat(received).extracting(SmtpSink.Received::subject).containsExactly("Subject 0", "Subject 1", "Subject 2");
+            assertThat(received.getFirst().from()).isEqualTo("noreply@test.local");
+            assertThat(received.getFirst().to()).containsExactly("user0@test.local");
+        }
+    }
+}
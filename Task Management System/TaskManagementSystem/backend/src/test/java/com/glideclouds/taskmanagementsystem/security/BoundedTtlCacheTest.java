@@ -0,0 +1,44 @@
+package com.glideclouds.taskmanagementsystem.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedTtlCacheTest {
+
+    @Test
+    void loadsOncePerKeyWithinTheTtl() {
+        BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(Duration.ofMinutes(1), 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get("a", k -> loads.incrementAndGet())).isEqualTo(1);
+        assertThat(cache.get("a", k -> loads.incrementAndGet())).isEqualTo(1);
+        cache.invalidate("a");
+        assertThat(cache.get("a", k -> loads.incrementAndGet())).isEqualTo(2);
+    }
+
+    @Test
+    void expiredEntriesAreReloaded() throws InterruptedException {
+        BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(Duration.ofMillis(20), 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("a", k -> loads.incrementAndGet());
+        Thread.sleep(40);
+
+        assertThat(cache.get("a", k -> loads.incrementAndGet())).isEqualTo(2);
+    }
+
+    @Test
+    void neverGrowsPastMaxSize() {
+        BoundedTtlCache<Integer, Integer> cache = new BoundedTtlCache<>(Duration.ofMinutes(1), 100);
+
+        for (int i = 0; i < 1_000; i++) {
+            cache.get(i, k -> k);
+            assertThat(cache.size()).isLessThanOrEqualTo(100);
+        }
+        assertThat(cache.get(999, k -> -1)).isEqualTo(999);
+    }
+}
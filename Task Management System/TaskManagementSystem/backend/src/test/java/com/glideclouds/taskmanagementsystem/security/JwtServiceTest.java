@@ -5,21 +5,74 @@ import com.glideclouds.taskmanagementsystem.users.Role;
 import com.glideclouds.taskmanagementsystem.users.User;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 class JwtServiceTest {
 
+    private final JwtService jwtService =
+            new JwtService(new JwtProperties("0123456789abcdef0123456789abcdef0123456789abcdef", 60_000), 100);
+
     @Test
     void generatesAndValidatesToken() {
-        JwtProperties props = new JwtProperties("0123456789abcdef0123456789abcdef0123456789abcdef", 60_000);
-        JwtService jwtService = new JwtService(props);
-
         User user = new User("user@example.com", "hash", Role.USER);
         user.setId("user-123");
 
         String token = jwtService.generateToken(user);
         assertThat(token).isNotBlank();
-        assertThat(jwtService.isTokenValid(token)).isTrue();
-        assertThat(jwtService.extractUserId(token)).isEqualTo("user-123");
+        assertThat(jwtService.verify(token).userId()).isEqualTo("user-123");
+    }
+
+    @Test
+    void repeatedVerificationIsServedFromTheCache() {
+        User user = new User("user@example.com", "hash", Role.USER);
+        user.setId("user-123");
+        String token = jwtService.generateToken(user);
+
+        VerifiedToken first = jwtService.verify(token);
+        assertThat(jwtService.verify(token)).isSameAs(first);
+
+        JwtService uncached = new JwtService(new JwtProperties("0123456789abcdef0123456789abcdef0123456789abcdef", 60_000), 0);
+        assertThat(uncached.verify(token)).isEqualTo(first).isNotSameAs(uncached.verify(token));
+    }
+
+    @Test
+    void verifyReturnsIdentityClaimsIncludingTheSecurityEpoch() {
+        User user = new User("admin@example.com", "hash", Role.ADMIN);
+        user.setId("user-456");
+        user.setSecurityEpoch(3);
+
+        VerifiedToken verified = jwtService.verify(jwtService.generateToken(user));
+
+        assertThat(verified.userId()).isEqualTo("user-456");
+        assertThat(verified.email()).isEqualTo("admin@example.com");
+        assertThat(verified.role()).isEqualTo(Role.ADMIN);
+        assertThat(verified.securityEpoch()).isEqualTo(3);
+        assertThat(verified.tokenId()).isNotBlank();
+        assertThat(verified.expiresAt()).isAfter(Instant.now());
+        assertThat(verified.toPrincipal().getId()).isEqualTo("user-456");
+        assertThat(verified.toPrincipal().getAuthorities()).extracting(Object::toString).containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    void everyTokenGetsItsOwnId() {
+        User user = new User("user@example.com", "hash", Role.USER);
+        user.setId("user-123");
+
+        assertThat(jwtService.verify(jwtService.generateToken(user)).tokenId())
+                .isNotEqualTo(jwtService.verify(jwtService.generateToken(user)).tokenId());
+    }
+
+    @Test
+    void verifyRejectsTamperedAndForeignTokens() {
+        User user = new User("user@example.com", "hash", Role.USER);
+        user.setId("user-123");
+        String token = jwtService.generateToken(user);
+        JwtService other = new JwtService(new JwtProperties("fedcba9876543210fedcba9876543210fedcba9876543210", 60_000), 100);
+
+        assertThat(jwtService.verify(token.substring(0, token.length() - 2) + "xx")).isNull();
+        assertThat(jwtService.verify(other.generateToken(user))).isNull();
+        assertThat(jwtService.verify("not-a-jwt")).isNull();
     }
 }
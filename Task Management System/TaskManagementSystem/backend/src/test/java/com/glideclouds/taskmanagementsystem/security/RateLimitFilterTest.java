@@ -0,0 +1,113 @@
+package com.glideclouds.taskmanagementsystem.security;
+
+import com.glideclouds.taskmanagementsystem.common.TooManyRequestsException;
+import com.glideclouds.taskmanagementsystem.config.RateLimitProperties;
+import com.glideclouds.taskmanagementsystem.users.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class RateLimitFilterTest {
+
+    private final HandlerExceptionResolver resolver = mock(HandlerExceptionResolver.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void movesAreChargedByTheirRuleAndRefusedWith429OnceTheBudgetIsSpent() throws Exception {
+        RateLimitFilter filter = filter(true);
+        signIn("u1");
+
+        assertThat(send(filter, "POST", "/api/tasks/move").getRequest()).isNotNull();
+        assertThat(send(filter, "POST", "/api/tasks/move").getRequest()).isNotNull();
+        MockFilterChain refused = send(filter, "POST", "/api/tasks/move");
+
+        assertThat(refused.getRequest()).isNull();
+        ArgumentCaptor<Exception> error = ArgumentCaptor.forClass(Exception.class);
+        verify(resolver).resolveException(any(), any(), isNull(), error.capture());
+        assertThat(error.getValue()).isInstanceOf(TooManyRequestsException.class);
+        assertThat(((TooManyRequestsException) error.getValue()).getRetryAfterSeconds()).isEqualTo(2);
+        assertThat(registry.get("http.rate_limit.throttled").tag("endpoint", "/api/tasks/move").counter().count())
+                .isEqualTo(1);
+
+        // Two tokens are left, enough for a read.
+        assertThat(send(filter, "GET", "/api/tasks").getRequest()).isNotNull();
+    }
+
+    @Test
+    void bucketsArePerUser() throws Exception {
+        RateLimitFilter filter = filter(true);
+        signIn("u1");
+        send(filter, "POST", "/api/tasks/bulk");
+
+        signIn("u2");
+        assertThat(send(filter, "POST", "/api/tasks/bulk").getRequest()).isNotNull();
+        verify(resolver, never()).resolveException(any(), any(), any(), any());
+    }
+
+    @Test
+    void unmatchedRequestsUseTheReadAndWriteCosts() {
+        RateLimitFilter filter = filter(true);
+
+        assertThat(filter.costOf(new MockHttpServletRequest("GET", "/api/tasks/abc")).tokens()).isEqualTo(1);
+        assertThat(filter.costOf(new MockHttpServletRequest("PUT", "/api/tasks/abc")).tokens()).isEqualTo(2);
+        assertThat(filter.costOf(new MockHttpServletRequest("GET", "/api/tasks/move")).endpoint()).isEqualTo("read");
+        assertThat(filter.costOf(new MockHttpServletRequest("POST", "/api/tasks/bulk")).tokens()).isEqualTo(10);
+    }
+
+    @Test
+    void anonymousDisabledAndNonApiRequestsPassThrough() throws Exception {
+        RateLimitFilter enabled = filter(true);
+        for (int i = 0; i < 5; i++) {
+            assertThat(send(enabled, "POST", "/api/tasks/bulk").getRequest()).isNotNull();
+        }
+
+        signIn("u1");
+        RateLimitFilter disabled = filter(false);
+        for (int i = 0; i < 5; i++) {
+            assertThat(send(disabled, "POST", "/api/tasks/bulk").getRequest()).isNotNull();
+            assertThat(send(enabled, "GET", "/swagger-ui.html").getRequest()).isNotNull();
+        }
+        verify(resolver, never()).resolveException(any(), any(), any(), any());
+    }
+
+    private RateLimitFilter filter(boolean enabled) {
+        RateLimitProperties properties = new RateLimitProperties(enabled, 10, 1, 1, 2, 100, List.of(
+                new RateLimitProperties.Rule("POST", "/api/tasks/move", 4),
+                new RateLimitProperties.Rule("post", "/api/tasks/bulk", 10)));
+        return new RateLimitFilter(properties, resolver, registry);
+    }
+
+    private static void signIn(String userId) {
+        CustomUserDetails user = new CustomUserDetails(userId, userId + "@example.com", null, Role.USER);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    /** Runs one request through the filter; the chain's request is null when it was refused. */
+    private static MockFilterChain send(RateLimitFilter filter, String method, String uri) throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest(method, uri), new MockHttpServletResponse(), chain);
+        return chain;
+    }
+}
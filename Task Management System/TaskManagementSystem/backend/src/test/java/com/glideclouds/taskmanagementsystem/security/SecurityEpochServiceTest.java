@@ -0,0 +1,41 @@
+package com.glideclouds.taskmanagementsystem.security;
+
+import com.glideclouds.taskmanagementsystem.users.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SecurityEpochServiceTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final SecurityEpochService service = new SecurityEpochService(mongoTemplate, Duration.ofMinutes(1), 100);
+
+    @Test
+    void acceptsOnlyTheCurrentEpochAndCachesTheLookup() {
+        User user = new User();
+        user.setSecurityEpoch(2);
+        when(mongoTemplate.findOne(any(Query.class), eq(User.class))).thenReturn(user);
+
+        assertThat(service.isCurrent("u1", 2)).isTrue();
+        assertThat(service.isCurrent("u1", 1)).isFalse();
+        assertThat(service.isCurrent("u1", 2)).isTrue();
+        verify(mongoTemplate, times(1)).findOne(any(Query.class), eq(User.class));
+    }
+
+    @Test
+    void rejectsTokensOfUsersThatNoLongerExist() {
+        when(mongoTemplate.findOne(any(Query.class), eq(User.class))).thenReturn(null);
+
+        assertThat(service.isCurrent("gone", 0)).isFalse();
+    }
+}
@@ -0,0 +1,85 @@
+package com.glideclouds.taskmanagementsystem.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void allowsABurstOfCapacityThenRefusesWithTheWaitForTheMissingTokens() {
+        TokenBucket bucket = new TokenBucket(10, 2, 0);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(bucket.tryConsume(1, 0)).isZero();
+        }
+        assertThat(bucket.tryConsume(1, 0)).isEqualTo(SECOND / 2);
+        assertThat(bucket.tryConsume(3, 0)).isEqualTo(3 * SECOND / 2);
+    }
+
+    @Test
+    void refillsAtTheConfiguredRateUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(10, 2, 0);
+        assertThat(bucket.tryConsume(10, 0)).isZero();
+
+        assertThat(bucket.tryConsume(2, SECOND)).isZero();
+        assertThat(bucket.tryConsume(1, SECOND)).isPositive();
+
+        // A long pause refills to capacity, not beyond.
+        long later = 3_600 * SECOND;
+        assertThat(bucket.isFull(later)).isTrue();
+        assertThat(bucket.tryConsume(10, later)).isZero();
+        assertThat(bucket.tryConsume(1, later)).isPositive();
+    }
+
+    @Test
+    void refusedRequestsDoNotSpendTokens() {
+        TokenBucket bucket = new TokenBucket(10, 1, 0);
+        assertThat(bucket.tryConsume(8, 0)).isZero();
+
+        assertThat(bucket.tryConsume(5, 0)).isPositive();
+        assertThat(bucket.tryConsume(2, 0)).isZero();
+    }
+
+    @Test
+    void costAboveCapacityIsChargedAsAFullBucket() {
+        TokenBucket bucket = new TokenBucket(5, 1, 0);
+
+        assertThat(bucket.tryConsume(50, 0)).isZero();
+        assertThat(bucket.isFull(0)).isFalse();
+        assertThat(bucket.isFull(5 * SECOND)).isTrue();
+    }
+
+    @Test
+    void concurrentCallersNeverOverspend() throws Exception {
+        TokenBucket bucket = new TokenBucket(1_000, 1, 0);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 500; i++) {
+                    if (bucket.tryConsume(1, 0) == 0) granted.incrementAndGet();
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(granted.get()).isEqualTo(1_000);
+    }
+}
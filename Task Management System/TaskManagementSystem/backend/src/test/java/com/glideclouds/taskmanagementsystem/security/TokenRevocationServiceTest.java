@@ -0,0 +1,69 @@
+package com.glideclouds.taskmanagementsystem.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationServiceTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final TokenRevocationService service =
+            new TokenRevocationService(mongoTemplate, new SimpleMeterRegistry(), 10_000, Duration.ofHours(1));
+
+    @BeforeEach
+    void storeHoldsOneRevokedToken() {
+        when(mongoTemplate.count(any(Query.class), eq(RevokedToken.class))).thenReturn(1L);
+        when(mongoTemplate.stream(any(Query.class), eq(RevokedToken.class)))
+                .thenReturn(Stream.of(new RevokedToken("revoked-elsewhere", "u1", Instant.now(), Instant.now().plusSeconds(60))));
+        when(mongoTemplate.find(any(Query.class), eq(RevokedToken.class))).thenReturn(List.of());
+    }
+
+    @Test
+    void checksTheStoreUntilTheFilterIsLoaded() {
+        service.isRevoked("jti-1");
+
+        verify(mongoTemplate).exists(any(Query.class), eq(RevokedToken.class));
+    }
+
+    @Test
+    void tokensTheFilterHasNotSeenAreAcceptedWithoutIo() {
+        service.sync();
+
+        assertThat(service.isRevoked("jti-1")).isFalse();
+        verify(mongoTemplate, never()).exists(any(Query.class), eq(RevokedToken.class));
+    }
+
+    @Test
+    void filterHitsAreConfirmedAgainstTheStore() {
+        service.sync();
+        when(mongoTemplate.exists(any(Query.class), eq(RevokedToken.class))).thenReturn(true);
+
+        assertThat(service.isRevoked("revoked-elsewhere")).isTrue();
+
+        service.revoke("jti-2", "u1", Instant.now().plusSeconds(60));
+        verify(mongoTemplate).save(any(RevokedToken.class));
+        assertThat(service.isRevoked("jti-2")).isTrue();
+    }
+
+    @Test
+    void expiredTokensAreNotStored() {
+        service.revoke("jti-3", "u1", Instant.now().minusSeconds(1));
+
+        verify(mongoTemplate, never()).save(any(RevokedToken.class));
+    }
+}
@@ -0,0 +1,40 @@
+package com.glideclouds.taskmanagementsystem.security;
+
+import com.glideclouds.taskmanagementsystem.users.Role;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedClaimsCacheTest {
+
+    private static final VerifiedToken TOKEN = new VerifiedToken("u1", "u1@example.com", Role.USER, 0, "jti-1", null);
+
+    @Test
+    void servesEntriesOnlyUntilTheTokenExpires() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(10);
+        cache.put("h", TOKEN, 1_000);
+
+        assertThat(cache.get("h", 999)).isSameAs(TOKEN);
+        assertThat(cache.get("h", 1_000)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(2);
+        cache.put("a", TOKEN, Long.MAX_VALUE);
+        cache.put("b", TOKEN, Long.MAX_VALUE);
+        cache.get("a", 0);
+        cache.put("c", TOKEN, Long.MAX_VALUE);
+
+        assertThat(cache.get("a", 0)).isNotNull();
+        assertThat(cache.get("b", 0)).isNull();
+        assertThat(cache.get("c", 0)).isNotNull();
+    }
+
+    @Test
+    void hashesTokensToFixedLengthHex() {
+        assertThat(VerifiedClaimsCache.hash("a.b.c")).hasSize(64).isEqualTo(VerifiedClaimsCache.hash("a.b.c"))
+                .isNotEqualTo(VerifiedClaimsCache.hash("a.b.d"));
+    }
+}
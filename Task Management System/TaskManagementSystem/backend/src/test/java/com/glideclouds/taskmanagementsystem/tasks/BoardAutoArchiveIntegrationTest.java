@@ -0,0 +1,93 @@
+package com.glideclouds.taskmanagementsystem.tasks;
+
+import com.glideclouds.taskmanagementsystem.AbstractMongoIntegrationTest;
+import com.glideclouds.taskmanagementsystem.tasks.dto.MoveTaskRequest;
+import com.glideclouds.taskmanagementsystem.tasks.dto.UpdateArchivedRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class BoardAutoArchiveIntegrationTest extends AbstractMongoIntegrationTest {
+
+    private static final String USER = "user-1";
+    private static final int LOADERS = 8;
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Autowired
+    TaskService taskService;
+
+    @Test
+    void concurrentBoardLoadsAndMoves_archiveStaleDoneTasksWithoutFailingTheLoad() throws Exception {
+        List<String> done = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            done.add(taskRepository.save(doneTwoDaysAgo(i)).getId());
+        }
+
+        for (int round = 0; round < 5; round++) {
+            for (String id : done) {
+                taskService.updateArchivedForUser(USER, id, new UpdateArchivedRequest(false));
+            }
+
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> loads = new ArrayList<>();
+            try (ExecutorService pool = Executors.newFixedThreadPool(LOADERS + 1)) {
+                for (int i = 0; i < LOADERS; i++) {
+                    loads.add(pool.submit(() -> {
+                        start.await();
+                        return taskService.listForUser(USER);
+                    }));
+                }
+                // Reorders save the whole DONE column, racing the sweep over the same tasks.
+                Future<?> mover = pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < 5; i++) {
+                        try {
+                            taskService.moveForUser(USER, new MoveTaskRequest(done.get(i), TaskStatus.DONE, TaskStatus.DONE, 9));
+                        } catch (ResponseStatusException | OptimisticLockingFailureException conflict) {
+                            // A move may lose to a concurrent write; the client refreshes and retries.
+                        }
+                    }
+                    return null;
+                });
+                start.countDown();
+                for (Future<?> load : loads) {
+                    load.get();
+                }
+                mover.get();
+            }
+
+            taskService.listForUser(USER);
+            assertThat(taskRepository.findAllById(done)).allSatisfy(t -> {
+                assertThat(t.isArchived()).isTrue();
+                assertThat(t.getArchivedAt()).isNotNull();
+            });
+        }
+    }
+
+    private static Task doneTwoDaysAgo(int position) {
+        Task t = new Task();
+        t.setOwnerUserId(USER);
+        t.setCreatedByUserId(USER);
+        t.setTitle("Done " + position);
+        t.setStatus(TaskStatus.DONE);
+        t.setPriority(TaskPriority.MEDIUM);
+        t.setPosition(position);
+        t.setCompletedAt(Instant.now().minusSeconds(2 * 24 * 60 * 60));
+        return t;
+    }
+}
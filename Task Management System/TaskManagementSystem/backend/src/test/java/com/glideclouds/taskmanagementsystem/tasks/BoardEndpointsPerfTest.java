@@ -0,0 +1,216 @@
+package com.glideclouds.taskmanagementsystem.tasks;
+
+import com.glideclouds.taskmanagementsystem.AbstractMongoIntegrationTest;
+import com.glideclouds.taskmanagementsystem.security.JwtService;
+import com.glideclouds.taskmanagementsystem.users.Role;
+import com.glideclouds.taskmanagementsystem.users.User;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Board ({@code GET /api/tasks}) and move ({@code POST /api/tasks/move}) under concurrency, over real HTTP so that
+ * Tomcat's request threads are part of the measurement. Runs once with platform threads and once with
+ * {@code spring.threads.virtual.enabled=true} (the nested classes) and prints requests/s and p50/p99 latency per
+ * endpoint. Run with {@code ./gradlew perfTest}; resize with -Dperf.clients, -Dperf.boardUsers, -Dperf.tasksPerUser
+ * and -Dperf.seconds. Concurrent reorders of the same board can lose the optimistic lock and get a 409; those are
+ * counted and printed. Only the absence of other errors is asserted, since the numbers depend on the machine.
+ */
+@Tag("perf")
+abstract class BoardEndpointsPerfTest extends AbstractMongoIntegrationTest {
+
+    private static final int CLIENTS = Integer.getInteger("perf.clients", 400);
+    private static final int USERS = Integer.getInteger("perf.boardUsers", 50);
+    private static final int TASKS_PER_USER = Integer.getInteger("perf.tasksPerUser", 50);
+    private static final Duration MEASURE = Duration.ofSeconds(Integer.getInteger("perf.seconds", 15));
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+            "spring.threads.virtual.enabled=false",
+            "app.jwt.expiration-ms=3600000"
+    })
+    static class PlatformThreads extends BoardEndpointsPerfTest {
+    }
+
+    @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+            "spring.threads.virtual.enabled=true",
+            "app.jwt.expiration-ms=3600000"
+    })
+    static class VirtualThreads extends BoardEndpointsPerfTest {
+    }
+
+    @LocalServerPort int port;
+    @Value("${spring.threads.virtual.enabled}") boolean virtualThreads;
+    @Autowired MongoTemplate mongoTemplate;
+    @Autowired JwtService jwtService;
+
+    @Test
+    void boardAndMoveUnderConcurrency() throws Exception {
+        List<Board> boards = seed();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().executor(clients).build()) {
+            run(http, clients, boards, WARMUP);
+            Result result = run(http, clients, boards, MEASURE);
+
+            String mode = virtualThreads ? "virtual threads" : "platform threads";
+            report(mode, "board", result.board(), MEASURE);
+            report(mode, "move", result.move(), MEASURE);
+            System.out.printf("%-16s %d move conflicts (409)%n", mode, result.conflicts());
+            assertThat(result.errors()).as("non-2xx responses other than 409").isZero();
+        }
+    }
+
+    /** Each client loops over load-board-then-move (a reorder within TODO, so it never conflicts) until time is up. */
+    private Result run(HttpClient http, ExecutorService clients, List<Board> boards, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicInteger errors = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        Queue<long[]> boardLatencies = new ConcurrentLinkedQueue<>();
+        Queue<long[]> moveLatencies = new ConcurrentLinkedQueue<>();
+        CountDownLatch done = new CountDownLatch(CLIENTS);
+        for (int c = 0; c < CLIENTS; c++) {
+            Board board = boards.get(c % boards.size());
+            LatencyLog boardLog = new LatencyLog();
+            LatencyLog moveLog = new LatencyLog();
+            clients.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    while (System.nanoTime() - deadline < 0) {
+                        boardLog.add(send(http, get(board), errors, conflicts));
+                        String taskId = board.taskIds().get(random.nextInt(board.taskIds().size()));
+                        moveLog.add(send(http, move(board, taskId, random.nextInt(board.taskIds().size())), errors, conflicts));
+                    }
+                } catch (Exception e) {
+                    errors.incrementAndGet();
+                } finally {
+                    boardLatencies.add(boardLog.toArray());
+                    moveLatencies.add(moveLog.toArray());
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        return new Result(merge(boardLatencies), merge(moveLatencies), errors.get(), conflicts.get());
+    }
+
+    private static long send(HttpClient http, HttpRequest request, AtomicInteger errors, AtomicInteger conflicts)
+            throws Exception {
+        long started = System.nanoTime();
+        HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+        long elapsed = System.nanoTime() - started;
+        if (response.statusCode() == 409) {
+            conflicts.incrementAndGet();
+        } else if (response.statusCode() / 100 != 2) {
+            errors.incrementAndGet();
+        }
+        return elapsed;
+    }
+
+    private HttpRequest get(Board board) {
+        return HttpRequest.newBuilder(uri("/api/tasks"))
+                .header("Authorization", "Bearer " + board.token())
+                .GET()
+                .build();
+    }
+
+    private HttpRequest move(Board board, String taskId, int toIndex) {
+        String body = "{\"taskId\":\"" + taskId + "\",\"fromStatus\":\"TODO\",\"toStatus\":\"TODO\",\"toIndex\":" + toIndex + "}";
+        return HttpRequest.newBuilder(uri("/api/tasks/move"))
+                .header("Authorization", "Bearer " + board.token())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    /** Inserts the users and a TODO column per user in bulk and signs a token for each. */
+    private List<Board> seed() {
+        List<User> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(new User("board" + i + "@test.local", "x", Role.USER));
+        }
+        users = new ArrayList<>(mongoTemplate.insertAll(users));
+
+        List<Board> boards = new ArrayList<>(USERS);
+        for (User user : users) {
+            List<Task> tasks = new ArrayList<>(TASKS_PER_USER);
+            for (int t = 0; t < TASKS_PER_USER; t++) {
+                Task task = new Task();
+                task.setOwnerUserId(user.getId());
+                task.setCreatedByUserId(user.getId());
+                task.setTitle("Task " + t);
+                task.setStatus(TaskStatus.TODO);
+                task.setPriority(TaskPriority.MEDIUM);
+                task.setPosition(t);
+                tasks.add(task);
+            }
+            List<String> taskIds = mongoTemplate.insertAll(tasks).stream().map(Task::getId).toList();
+            boards.add(new Board(jwtService.generateToken(user), taskIds));
+        }
+        return boards;
+    }
+
+    private static void report(String mode, String endpoint, long[] sorted, Duration duration) {
+        System.out.printf("%-16s %-5s %8d requests %9.1f req/s  p50 %7.2f ms  p99 %7.2f ms  max %8.2f ms%n",
+                mode, endpoint, sorted.length, sorted.length / (duration.toNanos() / 1e9),
+                percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6,
+                (sorted.length == 0 ? 0 : sorted[sorted.length - 1]) / 1e6);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted.length == 0 ? 0 : sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private static long[] merge(Collection<long[]> parts) {
+        return parts.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+    }
+
+    private record Board(String token, List<String> taskIds) {
+    }
+
+    private record Result(long[] board, long[] move, int errors, int conflicts) {
+    }
+
+    /** Growable per-client latency buffer, so the hot loop does not box or contend. */
+    private static final class LatencyLog {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.glideclouds.taskmanagementsystem.tasks;
+
+import com.glideclouds.taskmanagementsystem.AbstractMongoIntegrationTest;
+import com.glideclouds.taskmanagementsystem.tasks.dto.ChecklistItemResponse;
+import com.glideclouds.taskmanagementsystem.tasks.dto.ReorderChecklistRequest;
+import com.glideclouds.taskmanagementsystem.tasks.dto.TaskResponse;
+import com.glideclouds.taskmanagementsystem.tasks.dto.UpdateChecklistItemRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class ChecklistPositionalUpdateIntegrationTest extends AbstractMongoIntegrationTest {
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Autowired
+    TaskService taskService;
+
+    @Test
+    void toggleDone_movesCounterOnlyWhenFlagFlips() {
+        Task t = taskWithChecklist("user-1");
+        String itemId = t.getChecklist().getFirst().getId();
+
+        taskService.updateChecklistItemForUser("user-1", t.getId(), itemId, new UpdateChecklistItemRequest(null, true));
+        TaskResponse twice = taskService.updateChecklistItemForUser("user-1", t.getId(), itemId, new UpdateChecklistItemRequest("Renamed", true));
+
+        assertThat(twice.checklist()).filteredOn(i -> i.id().equals(itemId))
+                .singleElement()
+                .satisfies(i -> {
+                    assertThat(i.done()).isTrue();
+                    assertThat(i.text()).isEqualTo("Renamed");
+                });
+
+        Task stored = taskRepository.findById(t.getId()).orElseThrow();
+        assertThat(stored.getChecklistDone()).isEqualTo(1);
+        assertThat(stored.getChecklistTotal()).isEqualTo(3);
+
+        taskService.updateChecklistItemForUser("user-1", t.getId(), itemId, new UpdateChecklistItemRequest(null, false));
+        assertThat(taskRepository.findById(t.getId()).orElseThrow().getChecklistDone()).isZero();
+    }
+
+    @Test
+    void toggleDone_rejectsUnknownItemAndForeignOwner() {
+        Task t = taskWithChecklist("user-1");
+        String itemId = t.getChecklist().getFirst().getId();
+
+        assertThatThrownBy(() -> taskService.updateChecklistItemForUser("user-1", t.getId(), "nope", new UpdateChecklistItemRequest(null, true)))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Checklist item not found");
+        assertThatThrownBy(() -> taskService.updateChecklistItemForUser("user-2", t.getId(), itemId, new UpdateChecklistItemRequest(null, true)))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Forbidden");
+    }
+
+    @Test
+    void reorder_renumbersPositionsAndAppendsMissingItems() {
+        Task t = taskWithChecklist("user-1");
+        String a = t.getChecklist().get(0).getId();
+        String b = t.getChecklist().get(1).getId();
+        String c = t.getChecklist().get(2).getId();
+
+        TaskResponse res = taskService.reorderChecklistForUser("user-1", t.getId(), new ReorderChecklistRequest(List.of(c, a)));
+
+        assertThat(res.checklist()).extracting(ChecklistItemResponse::id).containsExactly(c, a, b);
+        assertThat(res.checklist()).extracting(ChecklistItemResponse::position).containsExactly(0, 1, 2);
+    }
+
+    private Task taskWithChecklist(String owner) {
+        Task t = new Task();
+        t.setOwnerUserId(owner);
+        t.setCreatedByUserId(owner);
+        t.setTitle("Checklist");
+        t.setStatus(TaskStatus.TODO);
+        t.setPriority(TaskPriority.MEDIUM);
+        t.setChecklist(new java.util.ArrayList<>(List.of(item("one", 0), item("two", 1), item("three", 2))));
+        return taskRepository.save(t);
+    }
+
+    private static ChecklistItem item(String text, int position) {
+        ChecklistItem i = new ChecklistItem();
+        i.setId(java.util.UUID.randomUUID().toString());
+        i.setText(text);
+        i.setPosition(position);
+        i.setCreatedAt(java.time.Instant.now());
+        return i;
+    }
+}
@@ -0,0 +1,59 @@
+package com.glideclouds.taskmanagementsystem.tasks;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DependencyGraphServiceTest {
+
+    @Test
+    void onTaskChanged_patchesCachedGraphsForCreatesStatusAndBlockerEditsMovesAndDeletes() {
+        TaskRepository repo = mock(TaskRepository.class);
+        when(repo.findDependencyNodesByOwnerUserId("u1")).thenReturn(List.of(task("a", "u1", TaskStatus.TODO)));
+        when(repo.findDependencyNodesByOwnerUserId("u2")).thenReturn(List.of(task("c", "u2", TaskStatus.TODO)));
+        DependencyGraphService service = new DependencyGraphService(repo, 300);
+        service.graphFor("u1");
+        service.graphFor("u2");
+
+        // Created by an admin for u1: no TaskService call involved, only the event.
+        TaskSnapshot created = TaskSnapshot.of(task("b", "u1", TaskStatus.TODO, "a"));
+        service.onTaskChanged(new TaskChangedEvent("u1", null, created));
+        assertThat(service.graphFor("u1").stateOf("b").blocked()).isTrue();
+        assertThat(service.graphFor("u1").stateOf("a").blocksTaskIds()).containsExactly("b");
+
+        TaskSnapshot blockerDone = TaskSnapshot.of(task("a", "u1", TaskStatus.DONE));
+        service.onTaskChanged(new TaskChangedEvent("u1", TaskSnapshot.of(task("a", "u1", TaskStatus.TODO)), blockerDone));
+        assertThat(service.graphFor("u1").stateOf("b").blocked()).isFalse();
+
+        TaskSnapshot unblocked = TaskSnapshot.of(task("b", "u1", TaskStatus.TODO));
+        service.onTaskChanged(new TaskChangedEvent("u1", created, unblocked));
+        assertThat(service.graphFor("u1").stateOf("a").blocksTaskIds()).isEmpty();
+
+        TaskSnapshot moved = TaskSnapshot.of(task("b", "u2", TaskStatus.TODO, "c"));
+        service.onTaskChanged(new TaskChangedEvent("u2", unblocked, moved));
+        assertThat(service.graphFor("u1").stateOf("b")).isEqualTo(DependencyState.NONE);
+        assertThat(service.graphFor("u2").stateOf("b").blocked()).isTrue();
+
+        service.onTaskChanged(new TaskChangedEvent("u2", moved, null));
+        assertThat(service.graphFor("u2").stateOf("b")).isEqualTo(DependencyState.NONE);
+
+        // Every change above was patched into the cached graphs rather than reloaded.
+        verify(repo, times(1)).findDependencyNodesByOwnerUserId("u1");
+        verify(repo, times(1)).findDependencyNodesByOwnerUserId("u2");
+    }
+
+    private static Task task(String id, String owner, TaskStatus status, String... blockedBy) {
+        Task t = new Task();
+        t.setId(id);
+        t.setOwnerUserId(owner);
+        t.setStatus(status);
+        t.setBlockedByTaskIds(List.of(blockedBy));
+        return t;
+    }
+}
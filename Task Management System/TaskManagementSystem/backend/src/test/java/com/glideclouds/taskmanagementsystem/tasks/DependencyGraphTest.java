@@ -0,0 +1,114 @@
+package com.glideclouds.taskmanagementsystem.tasks;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DependencyGraphTest {
+
+    @Test
+    void findCycle_returnsPathThroughExistingEdges() {
+        DependencyGraph graph = DependencyGraph.build(List.of(
+                node("a", TaskStatus.TODO),
+                node("b", TaskStatus.TODO, "a"),
+                node("c", TaskStatus.TODO, "b")
+        ));
+
+        assertThat(graph.findCycle("a", List.of("c"))).containsExactly("a", "c", "b", "a");
+        assertThat(graph.findCycle("c", List.of("a"))).isEmpty();
+    }
+
+    @Test
+    void stateOf_resolvesTransitiveCriticalPath() {
+        DependencyGraph graph = DependencyGraph.build(List.of(
+                node("a", TaskStatus.TODO),
+                node("b", TaskStatus.IN_PROGRESS, "a"),
+                node("c", TaskStatus.TODO, "b"),
+                node("d", TaskStatus.DONE),
+                node("e", TaskStatus.TODO, "d")
+        ));
+
+        assertThat(graph.stateOf("c").blocked()).isTrue();
+        assertThat(graph.stateOf("c").criticalPath()).containsExactly("b", "a");
+        assertThat(graph.stateOf("a").blocksTaskIds()).containsExactly("b");
+        assertThat(graph.stateOf("e").blocked()).isFalse();
+        assertThat(graph.stateOf("missing")).isEqualTo(DependencyState.NONE);
+    }
+
+    @Test
+    void withStatus_invalidatesOnlyDependents() {
+        DependencyGraph graph = DependencyGraph.build(List.of(
+                node("a", TaskStatus.TODO),
+                node("b", TaskStatus.TODO, "a"),
+                node("x", TaskStatus.TODO)
+        ));
+        graph.resolveAll();
+
+        DependencyGraph next = graph.withStatus("a", TaskStatus.DONE);
+
+        assertThat(next.isResolved("x")).isTrue();
+        assertThat(next.isResolved("a")).isFalse();
+        assertThat(next.isResolved("b")).isFalse();
+        assertThat(next.stateOf("b").blocked()).isFalse();
+        assertThat(next.stateOf("b").criticalPath()).isEmpty();
+        assertThat(graph.stateOf("b").blocked()).isTrue();
+    }
+
+    @Test
+    void withBlockersAndWithoutTask_updateReverseIndex() {
+        DependencyGraph graph = DependencyGraph.build(List.of(
+                node("a", TaskStatus.TODO),
+                node("b", TaskStatus.TODO)
+        ));
+        graph.resolveAll();
+
+        DependencyGraph linked = graph.withBlockers("b", List.of("a"));
+        assertThat(linked.stateOf("a").blocksTaskIds()).containsExactly("b");
+        assertThat(linked.stateOf("b").blocked()).isTrue();
+
+        DependencyGraph removed = linked.withoutTask("a");
+        assertThat(removed.stateOf("b").blocked()).isFalse();
+    }
+
+    @Test
+    void stateOf_resolvesLongChainsWithoutRecursion() {
+        int length = 100_000;
+        List<Task> chain = new ArrayList<>(length);
+        chain.add(node("t0", TaskStatus.TODO));
+        for (int i = 1; i < length; i++) {
+            chain.add(node("t" + i, TaskStatus.TODO, "t" + (i - 1)));
+        }
+        DependencyGraph graph = DependencyGraph.build(chain);
+
+        DependencyState last = graph.stateOf("t" + (length - 1));
+
+        assertThat(last.blocked()).isTrue();
+        assertThat(last.criticalPath()).hasSize(length - 1);
+        assertThat(last.criticalPath().get(0)).isEqualTo("t" + (length - 2));
+        assertThat(last.criticalPath().get(length - 2)).isEqualTo("t0");
+        assertThat(graph.stateOf("t1").criticalPath()).containsExactly("t0");
+    }
+
+    @Test
+    void stateOf_ignoresLegacyCycles() {
+        DependencyGraph graph = DependencyGraph.build(List.of(
+                node("a", TaskStatus.TODO, "b"),
+                node("b", TaskStatus.TODO, "a")
+        ));
+
+        assertThat(graph.stateOf("a").blocked()).isTrue();
+        assertThat(graph.stateOf("a").criticalPath()).containsExactly("b");
+        assertThat(graph.stateOf("b").blocked()).isTrue();
+    }
+
+    private static Task node(String id, TaskStatus status, String... blockedBy) {
+        Task t = new Task();
+        t.setId(id);
+        t.setStatus(status);
+        t.setBlockedByTaskIds(List.of(blockedBy));
+        return t;
+    }
+}
@@ -0,0 +1,47 @@
+package com.glideclouds.taskmanagementsystem.tasks;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LabelIndexServiceTest {
+
+    @Test
+    void onTaskChanged_patchesCachedIndexesForCreatesLabelEditsMovesAndDeletes() {
+        TaskRepository repo = mock(TaskRepository.class);
+        when(repo.findLabelNodesByOwnerUserId("u1")).thenReturn(List.of(task("a", "u1", "bug")));
+        when(repo.findLabelNodesByOwnerUserId("u2")).thenReturn(List.of());
+        LabelIndexService service = new LabelIndexService(repo, 300);
+        service.filter("u1", List.of(), List.of(), List.of());
+        service.filter("u2", List.of(), List.of(), List.of());
+
+        // Created by an admin for u1: no TaskService call involved, only the event.
+        TaskSnapshot created = TaskSnapshot.of(task("b", "u1", "bug"));
+        service.onTaskChanged(new TaskChangedEvent("u1", null, created));
+        assertThat(service.filter("u1", List.of("bug"), List.of(), List.of())).containsExactly("a", "b");
+
+        TaskSnapshot relabeled = TaskSnapshot.of(task("b", "u1", "docs"));
+        service.onTaskChanged(new TaskChangedEvent("u1", created, relabeled));
+        assertThat(service.filter("u1", List.of("bug"), List.of(), List.of())).containsExactly("a");
+
+        TaskSnapshot moved = TaskSnapshot.of(task("b", "u2", "docs"));
+        service.onTaskChanged(new TaskChangedEvent("u2", relabeled, moved));
+        assertThat(service.filter("u1", List.of("docs"), List.of(), List.of())).isEmpty();
+        assertThat(service.filter("u2", List.of("docs"), List.of(), List.of())).containsExactly("b");
+
+        service.onTaskChanged(new TaskChangedEvent("u2", moved, null));
+        assertThat(service.filter("u2", List.of(), List.of(), List.of())).isEmpty();
+    }
+
+    private static Task task(String id, String owner, String... labels) {
+        Task t = new Task();
+        t.setId(id);
+        t.setOwnerUserId(owner);
+        t.setLabels(List.of(labels));
+        return t;
+    }
+}
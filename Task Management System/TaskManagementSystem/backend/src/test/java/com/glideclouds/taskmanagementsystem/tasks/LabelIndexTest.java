@@ -0,0 +1,64 @@
+package com.glideclouds.taskmanagementsystem.tasks;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LabelIndexTest {
+
+    @Test
+    void filter_combinesAllAnyAndNoneCaseInsensitively() {
+        LabelIndex index = LabelIndex.build(List.of(
+                node("a", "Bug", "backend"),
+                node("b", "bug", "frontend"),
+                node("c", "backend"),
+                node("d", " BUG ", "backend", "urgent")
+        ));
+
+        assertThat(index.filter(List.of("bug"), List.of(), List.of())).containsExactly("a", "b", "d");
+        assertThat(index.filter(List.of("bug", "Backend"), List.of(), List.of("urgent"))).containsExactly("a");
+        assertThat(index.filter(List.of(), List.of("frontend", "urgent"), List.of())).containsExactly("b", "d");
+        assertThat(index.filter(List.of(), List.of(), List.of("bug"))).containsExactly("c");
+        assertThat(index.filter(List.of("missing"), List.of(), List.of())).isEmpty();
+        assertThat(index.filter(List.of(), List.of("missing"), List.of())).isEmpty();
+    }
+
+    @Test
+    void setLabelsAndRemove_patchTheIndexInPlace() {
+        LabelIndex index = LabelIndex.build(List.of(node("a", "bug"), node("b", "bug")));
+
+        index.setLabels("a", List.of("docs"));
+        index.setLabels("c", List.of("bug", "BUG"));
+        index.remove("b");
+
+        assertThat(index.filter(List.of("bug"), List.of(), List.of())).containsExactly("c");
+        assertThat(index.filter(List.of("docs"), List.of(), List.of())).containsExactly("a");
+        assertThat(index.filter(List.of(), List.of(), List.of())).containsExactly("a", "c");
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void isFragmented_onceMostOrdinalsAreDead() {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            tasks.add(node("t" + i, "x"));
+        }
+        LabelIndex index = LabelIndex.build(tasks);
+        for (int i = 0; i < 60; i++) {
+            index.remove("t" + i);
+        }
+
+        assertThat(index.isFragmented()).isTrue();
+        assertThat(index.filter(List.of("x"), List.of(), List.of())).hasSize(40);
+    }
+
+    private static Task node(String id, String... labels) {
+        Task t = new Task();
+        t.setId(id);
+        t.setLabels(List.of(labels));
+        return t;
+    }
+}
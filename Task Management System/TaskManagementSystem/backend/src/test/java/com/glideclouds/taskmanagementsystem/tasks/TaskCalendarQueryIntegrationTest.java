@@ -0,0 +1,53 @@
+package com.glideclouds.taskmanagementsystem.tasks;
+
+import com.glideclouds.taskmanagementsystem.AbstractMongoIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class TaskCalendarQueryIntegrationTest extends AbstractMongoIntegrationTest {
+
+    private static final LocalDate FROM = LocalDate.of(2026, 3, 1);
+    private static final LocalDate TO = LocalDate.of(2026, 3, 31);
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Test
+    void findCalendarCards_returnsInRangeTasksAndOnlyLiveSeriesBeforeTheRange() {
+        save("in-range", TaskStatus.DONE, FROM.plusDays(3), false, null);
+        save("live-series", TaskStatus.TODO, FROM.minusDays(40), false, weekly(null));
+        save("done-instance", TaskStatus.DONE, FROM.minusDays(47), false, weekly(null));
+        save("archived-series", TaskStatus.TODO, FROM.minusDays(40), true, weekly(null));
+        save("ended-series", TaskStatus.TODO, FROM.minusDays(40), false, weekly(FROM.minusDays(1)));
+        save("one-off-before", TaskStatus.TODO, FROM.minusDays(1), false, null);
+        save("after-range", TaskStatus.TODO, TO.plusDays(1), false, weekly(null));
+
+        assertThat(taskRepository.findCalendarCards("user-1", FROM, TO))
+                .extracting(Task::getTitle)
+                .containsExactlyInAnyOrder("in-range", "live-series");
+    }
+
+    private void save(String title, TaskStatus status, LocalDate due, boolean archived, RecurrenceRule recurrence) {
+        Task t = new Task();
+        t.setOwnerUserId("user-1");
+        t.setTitle(title);
+        t.setStatus(status);
+        t.setDueDate(due);
+        t.setArchived(archived);
+        t.setRecurrence(recurrence);
+        taskRepository.save(t);
+    }
+
+    private static RecurrenceRule weekly(LocalDate endDate) {
+        RecurrenceRule rule = new RecurrenceRule();
+        rule.setFrequency(RecurrenceFrequency.WEEKLY);
+        rule.setEndDate(endDate);
+        return rule;
+    }
+}
@@ -0,0 +1,66 @@
+package com.glideclouds.taskmanagementsystem.tasks;
+
+import com.glideclouds.taskmanagementsystem.tasks.dto.CalendarTaskCard;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskCalendarServiceTest {
+
+    @Test
+    void calendar_includesDueTasksAndProjectsRecurringOccurrences() {
+        TaskRepository repo = mock(TaskRepository.class);
+        TaskCalendarService service = new TaskCalendarService(repo);
+
+        LocalDate from = LocalDate.of(2026, 2, 1);
+        LocalDate to = LocalDate.of(2026, 2, 28);
+
+        Task oneOff = task("t1", LocalDate.of(2026, 2, 10));
+
+        // Weekly on Mondays, first due before the range.
+        Task weekly = task("t2", LocalDate.of(2026, 1, 26));
+        RecurrenceRule rule = new RecurrenceRule();
+        rule.setFrequency(RecurrenceFrequency.WEEKLY);
+        rule.setInterval(1);
+        weekly.setRecurrence(rule);
+
+        when(repo.findCalendarCards("u1", from, to)).thenReturn(List.of(oneOff, weekly));
+
+        List<CalendarTaskCard> cards = service.calendarForUser("u1", from, to);
+
+        assertThat(cards).extracting(CalendarTaskCard::date).containsExactly(
+                LocalDate.of(2026, 2, 2),
+                LocalDate.of(2026, 2, 9),
+                LocalDate.of(2026, 2, 10),
+                LocalDate.of(2026, 2, 16),
+                LocalDate.of(2026, 2, 23));
+        assertThat(cards).filteredOn(CalendarTaskCard::projected).allMatch(c -> c.taskId().equals("t2"));
+        assertThat(cards).filteredOn(c -> !c.projected()).extracting(CalendarTaskCard::id).containsExactly("t1");
+    }
+
+    @Test
+    void calendar_rejectsOversizedRange() {
+        TaskCalendarService service = new TaskCalendarService(mock(TaskRepository.class));
+
+        assertThatThrownBy(() -> service.calendarForUser("u1", LocalDate.of(2026, 1, 1), LocalDate.of(2026, 6, 1)))
+                .isInstanceOf(org.springframework.web.server.ResponseStatusException.class);
+    }
+
+    private static Task task(String id, LocalDate due) {
+        Task t = new Task();
+        t.setId(id);
+        t.setOwnerUserId("u1");
+        t.setCreatedByUserId("u1");
+        t.setTitle("title" + id);
+        t.setStatus(TaskStatus.TODO);
+        t.setPriority(TaskPriority.MEDIUM);
+        t.setDueDate(due);
+        return t;
+    }
+}
@@ -4,6 +4,10 @@ import com.glideclouds.taskmanagementsystem.tasks.dto.MoveTaskRequest;
 import com.glideclouds.taskmanagementsystem.tasks.dto.UpdateArchivedRequest;
 import com.glideclouds.taskmanagementsystem.tasks.dto.UpdateDependenciesRequest;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.Instant;
@@ -22,7 +26,7 @@ class TaskServiceTest {
     void updateArchived_archivesAndSetsArchivedAt() {
         TaskRepository repo = mock(TaskRepository.class);
         TaskDiscussionRepository discussionRepo = mock(TaskDiscussionRepository.class);
-        TaskService service = new TaskService(repo, discussionRepo);
+        TaskService service = service(repo, discussionRepo);
 
         String userId = "u1";
         Task t = task("t1", userId, TaskStatus.TODO, 0);
@@ -43,7 +47,7 @@ class TaskServiceTest {
     void updateArchived_unarchivesAndClearsArchivedAt() {
         TaskRepository repo = mock(TaskRepository.class);
         TaskDiscussionRepository discussionRepo = mock(TaskDiscussionRepository.class);
-        TaskService service = new TaskService(repo, discussionRepo);
+        TaskService service = service(repo, discussionRepo);
 
         String userId = "u1";
         Task t = task("t1", userId, TaskStatus.DONE, 0);
@@ -64,7 +68,9 @@ class TaskServiceTest {
     void listForUser_autoArchivesDoneTasksOlderThanCutoff() {
         TaskRepository repo = mock(TaskRepository.class);
         TaskDiscussionRepository discussionRepo = mock(TaskDiscussionRepository.class);
-        TaskService service = new TaskService(repo, discussionRepo);
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        TaskService service = new TaskService(repo, discussionRepo, new DependencyGraphService(repo, 300), mongoTemplate,
+                mock(TimeLogRollupService.class), mock(ApplicationEventPublisher.class));
         ReflectionTestUtils.setField(service, "archiveDoneAfterDays", 1L);
 
         String userId = "u1";
@@ -87,14 +93,34 @@ class TaskServiceTest {
         assertThat(doneOld.isArchived()).isTrue();
         assertThat(doneOld.getArchivedAt()).isNotNull();
         assertThat(doneNew.isArchived()).isFalse();
-        verify(repo, atLeastOnce()).saveAll(any());
+        // Archived in place, so a board load never trips over a concurrent save of the same task.
+        verify(mongoTemplate).updateMulti(any(Query.class), any(Update.class), eq(Task.class));
+        verify(repo, never()).saveAll(any());
+    }
+
+    @Test
+    void delete_takesTheTaskLoggedMinutesOutOfTheRollups() {
+        TaskRepository repo = mock(TaskRepository.class);
+        TaskDiscussionRepository discussionRepo = mock(TaskDiscussionRepository.class);
+        TimeLogRollupService rollups = mock(TimeLogRollupService.class);
+        TaskService service = new TaskService(repo, discussionRepo, new DependencyGraphService(repo, 300),
+                mock(MongoTemplate.class), rollups, mock(ApplicationEventPublisher.class));
+
+        String userId = "u1";
+        Task t = task("t1", userId, TaskStatus.TODO, 0);
+        when(repo.findById("t1")).thenReturn(Optional.of(t));
+
+        service.deleteForUser(userId, "t1");
+
+        verify(repo).delete(t);
+        verify(rollups).forget(t);
     }
 
     @Test
     void moveAcrossColumns_reindexesBothColumns() {
         TaskRepository repo = mock(TaskRepository.class);
         TaskDiscussionRepository discussionRepo = mock(TaskDiscussionRepository.class);
-        TaskService service = new TaskService(repo, discussionRepo);
+        TaskService service = service(repo, discussionRepo);
 
         String userId = "u1";
 
@@ -125,7 +151,7 @@ class TaskServiceTest {
     void reorderWithinColumn_reindexesPositions() {
         TaskRepository repo = mock(TaskRepository.class);
         TaskDiscussionRepository discussionRepo = mock(TaskDiscussionRepository.class);
-        TaskService service = new TaskService(repo, discussionRepo);
+        TaskService service = service(repo, discussionRepo);
 
         String userId = "u1";
 
@@ -150,7 +176,7 @@ class TaskServiceTest {
     void search_matchesCommentMessages() {
         TaskRepository repo = mock(TaskRepository.class);
         TaskDiscussionRepository discussionRepo = mock(TaskDiscussionRepository.class);
-        TaskService service = new TaskService(repo, discussionRepo);
+        TaskService service = service(repo, discussionRepo);
 
         String userId = "u1";
 
@@ -174,7 +200,7 @@ class TaskServiceTest {
     void updateDependencies_savesBlockedByTaskIds() {
         TaskRepository repo = mock(TaskRepository.class);
         TaskDiscussionRepository discussionRepo = mock(TaskDiscussionRepository.class);
-        TaskService service = new TaskService(repo, discussionRepo);
+        TaskService service = service(repo, discussionRepo);
 
         String userId = "u1";
 
@@ -196,7 +222,7 @@ class TaskServiceTest {
     void updateDependencies_rejectsMissingDependencyTask() {
         TaskRepository repo = mock(TaskRepository.class);
         TaskDiscussionRepository discussionRepo = mock(TaskDiscussionRepository.class);
-        TaskService service = new TaskService(repo, discussionRepo);
+        TaskService service = service(repo, discussionRepo);
 
         String userId = "u1";
         Task t = task("t-main", userId, TaskStatus.TODO, 0);
@@ -208,6 +234,55 @@ class TaskServiceTest {
                 .isInstanceOf(org.springframework.web.server.ResponseStatusException.class);
     }
 
+    @Test
+    void updateDependencies_rejectsCycle() {
+        TaskRepository repo = mock(TaskRepository.class);
+        TaskDiscussionRepository discussionRepo = mock(TaskDiscussionRepository.class);
+        TaskService service = service(repo, discussionRepo);
+
+        String userId = "u1";
+        Task a = task("a", userId, TaskStatus.TODO, 0);
+        Task b = task("b", userId, TaskStatus.TODO, 1);
+        b.setBlockedByTaskIds(List.of("a"));
+
+        when(repo.findById("a")).thenReturn(Optional.of(a));
+        when(repo.findAllById(List.of("b"))).thenReturn(List.of(b));
+        when(repo.findDependencyNodesByOwnerUserId(userId)).thenReturn(List.of(a, b));
+
+        assertThatThrownBy(() -> service.updateDependenciesForUser(userId, "a", new UpdateDependenciesRequest(List.of("b"))))
+                .isInstanceOf(org.springframework.web.server.ResponseStatusException.class)
+                .hasMessageContaining("a -> b -> a");
+        verify(repo, never()).save(any());
+    }
+
+    @Test
+    void listForUser_resolvesBlockedStateAndReverseIndex() {
+        TaskRepository repo = mock(TaskRepository.class);
+        TaskDiscussionRepository discussionRepo = mock(TaskDiscussionRepository.class);
+        TaskService service = service(repo, discussionRepo);
+
+        String userId = "u1";
+        Task done = task("done", userId, TaskStatus.DONE, 0);
+        Task open = task("open", userId, TaskStatus.TODO, 0);
+        Task child = task("child", userId, TaskStatus.TODO, 1);
+        child.setBlockedByTaskIds(List.of("done", "open"));
+
+        when(repo.findByOwnerUserId(userId)).thenReturn(new java.util.ArrayList<>(List.of(done, open, child)));
+
+        List<com.glideclouds.taskmanagementsystem.tasks.dto.TaskResponse> res = service.listForUser(userId);
+
+        var byId = res.stream().collect(java.util.stream.Collectors.toMap(r -> r.id(), r -> r));
+        assertThat(byId.get("child").blocked()).isTrue();
+        assertThat(byId.get("child").criticalPath()).containsExactly("open");
+        assertThat(byId.get("open").blocked()).isFalse();
+        assertThat(byId.get("open").blocksTaskIds()).containsExactly("child");
+    }
+
+    private static TaskService service(TaskRepository repo, TaskDiscussionRepository discussionRepo) {
+        return new TaskService(repo, discussionRepo, new DependencyGraphService(repo, 300), mock(MongoTemplate.class),
+                mock(TimeLogRollupService.class), mock(ApplicationEventPublisher.class));
+    }
+
     private static Task task(String id, String owner, TaskStatus status, int position) {
         Task t = new Task();
         t.setId(id);
@@ -0,0 +1,162 @@
+package com.glideclouds.taskmanagementsystem.tasks;
+
+import com.glideclouds.taskmanagementsystem.AbstractMongoIntegrationTest;
+import com.glideclouds.taskmanagementsystem.tasks.dto.TaskResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class TimeLogRollupIntegrationTest extends AbstractMongoIntegrationTest {
+
+    @Autowired
+    TaskRepository taskRepository;
+
+    @Autowired
+    TimeLogRollupRepository rollupRepository;
+
+    @Autowired
+    TimeLogRollupService rollupService;
+
+    @Autowired
+    TaskService taskService;
+
+    @Test
+    void stopTimer_incrementsTaskTotalAndDailyRollupOnce() {
+        Task t = task("user-1");
+        t.setActiveTimerStartedAt(Instant.now().minusSeconds(30 * 60));
+        t = taskRepository.save(t);
+
+        TaskResponse stopped = taskService.stopTimerForUser("user-1", t.getId(), null);
+
+        assertThat(stopped.activeTimerStartedAt()).isNull();
+        assertThat(stopped.timeLogs()).hasSize(1);
+        assertThat(stopped.totalLoggedMinutes()).isEqualTo(30);
+
+        String taskId = t.getId();
+        assertThatThrownBy(() -> taskService.stopTimerForUser("user-1", taskId, null))
+                .isInstanceOf(ResponseStatusException.class);
+
+        LocalDate today = LocalDate.now(ZoneId.systemDefault());
+        assertThat(rollupService.minutesByDay("user-1", today, today)).containsEntry(today, 30L);
+    }
+
+    @Test
+    void staleWholeDocumentSave_cannotOverwriteAStoppedTimer() {
+        Task t = task("user-3");
+        t.setActiveTimerStartedAt(Instant.now().minusSeconds(10 * 60));
+        t = taskRepository.save(t);
+        Task staleCopy = taskRepository.findById(t.getId()).orElseThrow();
+
+        taskService.stopTimerForUser("user-3", t.getId(), null);
+
+        staleCopy.setLabels(List.of("edited"));
+        assertThatThrownBy(() -> taskRepository.save(staleCopy))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        Task stored = taskRepository.findById(t.getId()).orElseThrow();
+        assertThat(stored.getTotalLoggedMinutes()).isEqualTo(10);
+        assertThat(stored.getTimeLogs()).hasSize(1);
+    }
+
+    @Test
+    void deletingATask_takesItsMinutesOutOfTheRollups() {
+        Instant endedAt = Instant.now();
+        LocalDate day = LocalDate.ofInstant(endedAt, ZoneId.systemDefault());
+        Task kept = task("user-4");
+        kept.setActiveTimerStartedAt(endedAt.minusSeconds(5 * 60));
+        kept = taskRepository.save(kept);
+        taskService.stopTimerForUser("user-4", kept.getId(), null);
+        Task deleted = task("user-4");
+        deleted.setActiveTimerStartedAt(endedAt.minusSeconds(25 * 60));
+        deleted = taskRepository.save(deleted);
+        taskService.stopTimerForUser("user-4", deleted.getId(), null);
+
+        taskService.deleteForUser("user-4", deleted.getId());
+
+        assertThat(rollupService.minutesByDay("user-4", day, day)).containsEntry(day, 5L);
+    }
+
+    @Test
+    void rebuild_reconstructsRollupsAndTotalsFromTimeLogs() {
+        Instant endedAt = Instant.now();
+        Task t = task("user-2");
+        t.setTimeLogs(List.of(log(endedAt, 20), log(endedAt, 15)));
+        t = taskRepository.save(t);
+
+        TimeLogRollup stale = new TimeLogRollup();
+        stale.setId(TimeLogRollup.idFor("user-2", LocalDate.of(2000, 1, 1)));
+        stale.setUserId("user-2");
+        stale.setDay(LocalDate.of(2000, 1, 1));
+        stale.setMinutes(999);
+        rollupRepository.save(stale);
+
+        TimeLogRollupService.RebuildResult result = rollupService.rebuild();
+
+        LocalDate day = LocalDate.ofInstant(endedAt, ZoneId.systemDefault());
+        assertThat(result.loggedMinutes()).isEqualTo(35);
+        assertThat(rollupRepository.findAll()).singleElement().satisfies(r -> {
+            assertThat(r.getDay()).isEqualTo(day);
+            assertThat(r.getMinutes()).isEqualTo(35);
+        });
+        assertThat(taskRepository.findById(t.getId()).orElseThrow().getTotalLoggedMinutes()).isEqualTo(35);
+    }
+
+    @Test
+    void rebuild_groupsRollupsPerOwnerAndNeverLowersATaskTotal() {
+        Instant endedAt = Instant.now();
+        LocalDate day = LocalDate.ofInstant(endedAt, ZoneId.systemDefault());
+
+        // Older logs of this task fell out of the capped array; its $inc-maintained total is the complete one.
+        Task capped = task("user-b");
+        capped.setTimeLogs(List.of(log(endedAt, 10)));
+        capped.setTotalLoggedMinutes(900);
+        capped = taskRepository.save(capped);
+        Task other = task("user-a");
+        other.setTimeLogs(List.of(log(endedAt, 5), log(endedAt.minusSeconds(86_400), 7)));
+        taskRepository.save(other);
+        Task second = task("user-b");
+        second.setTimeLogs(List.of(log(endedAt, 4)));
+        second = taskRepository.save(second);
+
+        TimeLogRollupService.RebuildResult result = rollupService.rebuild();
+
+        assertThat(result.tasksScanned()).isEqualTo(3);
+        assertThat(result.rollups()).isEqualTo(3);
+        assertThat(rollupService.minutesByDay("user-b", day, day)).containsEntry(day, 14L);
+        assertThat(rollupService.minutesByDay("user-a", day.minusDays(1), day))
+                .containsEntry(day, 5L)
+                .containsEntry(day.minusDays(1), 7L);
+        assertThat(taskRepository.findById(capped.getId()).orElseThrow().getTotalLoggedMinutes()).isEqualTo(900);
+        assertThat(taskRepository.findById(second.getId()).orElseThrow().getTotalLoggedMinutes()).isEqualTo(4);
+    }
+
+    private static Task task(String owner) {
+        Task t = new Task();
+        t.setOwnerUserId(owner);
+        t.setCreatedByUserId(owner);
+        t.setTitle("Timed");
+        t.setStatus(TaskStatus.TODO);
+        t.setPriority(TaskPriority.MEDIUM);
+        return t;
+    }
+
+    private static TaskTimeLog log(Instant endedAt, long minutes) {
+        TaskTimeLog l = new TaskTimeLog();
+        l.setId(java.util.UUID.randomUUID().toString());
+        l.setStartedAt(endedAt.minusSeconds(minutes * 60));
+        l.setEndedAt(endedAt);
+        l.setDurationMinutes(minutes);
+        l.setCreatedAt(endedAt);
+        return l;
+    }
+}
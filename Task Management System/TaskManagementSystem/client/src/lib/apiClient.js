@@ -1,5 +1,5 @@
 import axios from "axios";
-import { getToken, clearToken } from "./auth";
+import { getToken, getRefreshToken, setToken, clearToken } from "./auth";
 import { installOfflineSupport } from "./offlineQueue";
 
 // In dev, Vite proxies /api to the backend (see vite.config.js).
@@ -22,9 +22,57 @@ api.interceptors.request.use((config) => {
   return config;
 });
 
+// One refresh at a time: concurrent 401s wait for the same call, since a refresh token works only once.
+let refreshing = null;
+
+function postRefresh() {
+  return axios
+    .post(`${baseURL}/api/auth/refresh`, { refreshToken: getRefreshToken() })
+    .then((res) => {
+      setToken(res.data.token, res.data.refreshToken);
+      return res.data.token;
+    });
+}
+
+// Tabs share the refresh token through localStorage, so they take a cross-tab lock too. A tab that waited for it
+// finds a rotated token and reuses the new pair instead of presenting the old one again (which revokes the family).
+function refreshAcrossTabs() {
+  if (!navigator.locks) {
+    return postRefresh();
+  }
+  const presented = getRefreshToken();
+  return navigator.locks.request("tms.refresh", () =>
+    getRefreshToken() !== presented && getToken() ? getToken() : postRefresh()
+  );
+}
+
+function refreshTokens() {
+  if (!refreshing) {
+    refreshing = refreshAcrossTabs().finally(() => {
+      refreshing = null;
+    });
+  }
+  return refreshing;
+}
+
 api.interceptors.response.use(
   (res) => res,
-  (err) => {
+  async (err) => {
+    const original = err?.config;
+    const isAuthCall = /^\/api\/auth\/(login|register|refresh|logout)/.test(original?.url || "");
+    if (err?.response?.status === 401 && original && !original._retried && !isAuthCall && getRefreshToken()) {
+      // Access tokens are short-lived: renew once and replay the request.
+      original._retried = true;
+      try {
+        const token = await refreshTokens();
+        original.headers = original.headers || {};
+        original.headers.Authorization = `Bearer ${token}`;
+        return api(original);
+      } catch {
+        clearToken();
+        return Promise.reject(err);
+      }
+    }
     if (err?.response?.status === 401) {
       // Basic capstone UX: clear token on unauthorized.
       clearToken();
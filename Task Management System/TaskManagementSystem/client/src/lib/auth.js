@@ -1,15 +1,39 @@
 const TOKEN_KEY = "tms.jwt";
+const REFRESH_KEY = "tms.refresh";
 
 export function getToken() {
   return localStorage.getItem(TOKEN_KEY);
 }
 
-export function setToken(token) {
+export function getRefreshToken() {
+  return localStorage.getItem(REFRESH_KEY);
+}
+
+export function setToken(token, refreshToken) {
   localStorage.setItem(TOKEN_KEY, token);
+  if (refreshToken) {
+    localStorage.setItem(REFRESH_KEY, refreshToken);
+  }
 }
 
 export function clearToken() {
+  const token = getToken();
+  const refreshToken = getRefreshToken();
   localStorage.removeItem(TOKEN_KEY);
+  localStorage.removeItem(REFRESH_KEY);
+  if (refreshToken) {
+    // Best effort: revoke server-side too; the local session is gone either way.
+    const baseURL = import.meta.env.VITE_API_BASE_URL || "";
+    fetch(`${baseURL}/api/auth/logout`, {
+      method: "POST",
+      keepalive: true,
+      headers: {
+        "Content-Type": "application/json",
+        ...(token ? { Authorization: `Bearer ${token}` } : {}),
+      },
+      body: JSON.stringify({ refreshToken }),
+    }).catch(() => {});
+  }
 }
 
 export function isAuthenticated() {
@@ -29,7 +29,7 @@ export default function LoginPage() {
     setLoading(true);
     try {
       const res = await api.post("/api/auth/login", { email, password });
-      setToken(res.data.token);
+      setToken(res.data.token, res.data.refreshToken);
 
       try {
         const me = await fetchMe();